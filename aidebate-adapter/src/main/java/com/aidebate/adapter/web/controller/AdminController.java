@@ -1,6 +1,7 @@
 package com.aidebate.adapter.web.controller;
 
 import com.aidebate.app.service.AdminService;
+import com.aidebate.app.service.BatchDebateService;
 import com.aidebate.domain.model.SensitiveWord;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -8,8 +9,12 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Admin Controller
@@ -25,6 +30,7 @@ import java.util.Map;
 public class AdminController {
 
     private final AdminService adminService;
+    private final BatchDebateService batchDebateService;
 
     /**
      * Admin login
@@ -84,20 +90,40 @@ public class AdminController {
     }
 
     /**
-     * Export debates
-     * GET /api/admin/debates/export?status=COMPLETED&userId=1
+     * Export debates, streamed as the rows are read
+     * GET /api/admin/debates/export?status=COMPLETED&userId=1&format=csv|ndjson&gzip=true
      */
     @GetMapping("/debates/export")
-    public ResponseEntity<String> exportDebates(
+    public ResponseEntity<StreamingResponseBody> exportDebates(
             @RequestParam(required = false) String status,
-            @RequestParam(required = false) Long userId) {
-        
-        String csv = adminService.exportDebates(status, userId);
-        
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false, defaultValue = "csv") String format,
+            @RequestParam(required = false, defaultValue = "false") boolean gzip) {
+
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        if (!ndjson && !"csv".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+        String filename = ndjson ? "debates.ndjson" : "debates.csv";
+        MediaType contentType = MediaType.parseMediaType(ndjson ? "application/x-ndjson" : "text/csv");
+        if (gzip) {
+            filename += ".gz";
+            contentType = MediaType.parseMediaType("application/gzip");
+        }
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                adminService.exportDebates(status, userId, format, compressed);
+                compressed.finish();
+            } else {
+                adminService.exportDebates(status, userId, format, out);
+            }
+        };
         return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=debates.csv")
-                .contentType(MediaType.parseMediaType("text/csv"))
-                .body(csv);
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
+                .contentType(contentType)
+                .body(body);
     }
 
     /**
@@ -152,6 +178,113 @@ public class AdminController {
         return Map.of("message", "Sensitive word deleted successfully");
     }
 
+    /**
+     * Get streaming moderation statistics (per-chunk latency, masked words, cut streams)
+     * GET /api/admin/moderation/stats
+     */
+    @GetMapping("/moderation/stats")
+    public Map<String, Object> getModerationStatistics() {
+        return adminService.getModerationStatistics();
+    }
+
+    /**
+     * Get debate journal statistics (pending writes, batch sizes, failures)
+     * GET /api/admin/journal/stats
+     */
+    @GetMapping("/journal/stats")
+    public Map<String, Object> getJournalStatistics() {
+        return adminService.getJournalStatistics();
+    }
+
+    /**
+     * Write the dead-lettered journal entries again once what the database rejected is fixed
+     * POST /api/admin/journal/dead-letters/replay
+     */
+    @PostMapping("/journal/dead-letters/replay")
+    public Map<String, Object> replayJournalDeadLetters() {
+        return Map.of("queued", adminService.replayJournalDeadLetters());
+    }
+
+    /**
+     * Get debate state store statistics (node id, leases held, event subscribers)
+     * GET /api/admin/debate-state/stats
+     */
+    @GetMapping("/debate-state/stats")
+    public Map<String, Object> getDebateStateStatistics() {
+        return adminService.getDebateStateStatistics();
+    }
+
+    /**
+     * Get running state of a debate (position, pause flag, scores, lease owner)
+     * GET /api/admin/debate-state/{sessionId}
+     */
+    @GetMapping("/debate-state/{sessionId}")
+    public Map<String, Object> getDebateState(@PathVariable Long sessionId) {
+        return adminService.getDebateState(sessionId);
+    }
+
+    /**
+     * Run debates headless in bulk (no pacing, no SSE)
+     * POST /api/admin/batch
+     * Body: {debates: [{topicId, aiConfigs}], topicIds: [..], aiConfigs, repeat, concurrency, language, userId}
+     */
+    @PostMapping("/batch")
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> submitBatch(@RequestBody Map<String, Object> request) {
+        Map<String, Map<String, String>> sharedConfigs = (Map<String, Map<String, String>>) request.get("aiConfigs");
+        int repeat = request.get("repeat") != null ? ((Number) request.get("repeat")).intValue() : 1;
+
+        List<BatchDebateService.DebateSpec> debates = new ArrayList<>();
+        for (int i = 0; i < repeat; i++) {
+            if (request.get("debates") instanceof List<?> list) {
+                for (Object item : list) {
+                    Map<String, Object> debate = (Map<String, Object>) item;
+                    Map<String, Map<String, String>> aiConfigs = (Map<String, Map<String, String>>) debate.get("aiConfigs");
+                    debates.add(new BatchDebateService.DebateSpec(toLong(debate.get("topicId")),
+                            aiConfigs != null ? aiConfigs : sharedConfigs));
+                }
+            }
+            if (request.get("topicIds") instanceof List<?> topicIds) {
+                for (Object topicId : topicIds) {
+                    debates.add(new BatchDebateService.DebateSpec(toLong(topicId), sharedConfigs));
+                }
+            }
+        }
+
+        Integer concurrency = request.get("concurrency") != null ? ((Number) request.get("concurrency")).intValue() : null;
+        String language = request.get("language") != null ? request.get("language").toString() : "en";
+        Long userId = request.get("userId") != null ? toLong(request.get("userId")) : 1L;
+        return batchDebateService.submit(debates, concurrency, language, userId);
+    }
+
+    /**
+     * List batch jobs with LLM backend load
+     * GET /api/admin/batch
+     */
+    @GetMapping("/batch")
+    public Map<String, Object> listBatches() {
+        return batchDebateService.listJobs();
+    }
+
+    /**
+     * Get batch job progress and throughput, per-debate results included
+     * GET /api/admin/batch/{jobId}?results=true
+     */
+    @GetMapping("/batch/{jobId}")
+    public Map<String, Object> getBatch(@PathVariable String jobId,
+                                        @RequestParam(defaultValue = "true") boolean results) {
+        return batchDebateService.getJob(jobId, results);
+    }
+
+    /**
+     * Cancel the debates of a batch job that have not started
+     * DELETE /api/admin/batch/{jobId}
+     */
+    @DeleteMapping("/batch/{jobId}")
+    public Map<String, Object> cancelBatch(@PathVariable String jobId) {
+        return batchDebateService.cancel(jobId);
+    }
+
     /**
      * Get system configuration
      * GET /api/admin/config
@@ -174,4 +307,11 @@ public class AdminController {
                 "config", config
         );
     }
+
+    private static Long toLong(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof Number number ? number.longValue() : Long.valueOf(value.toString());
+    }
 }
@@ -1,13 +1,20 @@
 package com.aidebate.adapter.web.controller;
 
+import com.aidebate.app.service.DebateEventBus;
 import com.aidebate.app.service.DebateSessionService;
 import com.aidebate.app.service.DebateOrchestrationService;
+import com.aidebate.app.service.DebateReplayLog;
+import com.aidebate.app.service.DebateTracer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.Map;
 
 /**
@@ -25,6 +32,9 @@ public class DebateSessionController {
 
     private final DebateSessionService debateSessionService;
     private final DebateOrchestrationService debateOrchestrationService;
+    private final DebateTracer debateTracer;
+    private final DebateReplayLog debateReplayLog;
+    private final DebateEventBus debateEventBus;
 
     /**
      * Initialize a new debate session for AI vs AI debate
@@ -177,25 +187,36 @@ public class DebateSessionController {
      * Stream automated AI vs AI debate
      * GET /api/debates/{sessionId}/stream-debate
      * Query params: language (optional, default: "en")
+     * Viewers get the events already published first, those after Last-Event-ID when reconnecting
      */
     @GetMapping(value = "/{sessionId}/stream-debate", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     public SseEmitter streamDebate(
             @PathVariable Long sessionId,
-            @RequestParam(required = false, defaultValue = "en") String language) {
+            @RequestParam(required = false, defaultValue = "en") String language,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
         
         log.info("Starting automated debate stream for session: {}, language: {}", sessionId, language);
         
         SseEmitter emitter = new SseEmitter(10 * 60 * 1000L); // 10 minutes timeout
         
-        // Handle completion and errors
-        emitter.onCompletion(() -> log.info("Debate stream completed for session: {}", sessionId));
-        emitter.onTimeout(() -> log.warn("Debate stream timeout for session: {}", sessionId));
-        emitter.onError(e -> log.error("Debate stream error for session: {}", sessionId, e));
+        // Handle completion and errors; the orchestrator subscribes the emitter to the session's events
+        emitter.onCompletion(() -> {
+            log.info("Debate stream completed for session: {}", sessionId);
+            debateEventBus.unsubscribe(sessionId, emitter);
+        });
+        emitter.onTimeout(() -> {
+            log.warn("Debate stream timeout for session: {}", sessionId);
+            debateEventBus.unsubscribe(sessionId, emitter);
+        });
+        emitter.onError(e -> {
+            log.error("Debate stream error for session: {}", sessionId, e);
+            debateEventBus.unsubscribe(sessionId, emitter);
+        });
         
         // Start streaming in a separate thread
         new Thread(() -> {
             try {
-                debateOrchestrationService.streamAutomatedDebate(sessionId, language, emitter);
+                debateOrchestrationService.streamAutomatedDebate(sessionId, language, emitter, lastEventId);
             } catch (Exception e) {
                 log.error("Error during automated debate streaming", e);
                 try {
@@ -215,6 +236,55 @@ public class DebateSessionController {
         return emitter;
     }
 
+    /**
+     * Replay a finished debate from its recorded events, without the LLM or database
+     * GET /api/debates/{sessionId}/replay?speed=1
+     * speed: 1 original pace, 2 twice as fast, 0 all at once; Last-Event-ID resumes after that event
+     * 503 when debate.replay.max-viewers replays are running
+     */
+    @GetMapping(value = "/{sessionId}/replay", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> replayDebate(
+            @PathVariable Long sessionId,
+            @RequestParam(required = false, defaultValue = "1") double speed,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+
+        if (!(speed >= 0) || Double.isInfinite(speed)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!debateReplayLog.hasReplay(sessionId)) {
+            return ResponseEntity.notFound().build();
+        }
+        log.info("Replaying debate {} at speed {}", sessionId, speed);
+
+        // Frames are already SSE-formatted and written as they are
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(60 * 60 * 1000L);
+        DebateReplayLog.Replay replay;
+        try {
+            replay = debateReplayLog.replay(sessionId, speed, lastEventId == null ? 0 : lastEventId,
+                    frame -> emitter.send(frame, MediaType.TEXT_EVENT_STREAM),
+                    error -> {
+                        if (error == null) {
+                            emitter.complete();
+                        } else {
+                            // Usually the client went away
+                            log.debug("Replay of session {} ended: {}", sessionId, error.getMessage());
+                            emitter.completeWithError(error);
+                        }
+                    });
+        } catch (IllegalStateException e) {
+            log.warn("Rejected replay of session {}: {}", sessionId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (IOException e) {
+            log.error("Failed to open replay of session {}", sessionId, e);
+            return ResponseEntity.internalServerError().build();
+        }
+        emitter.onCompletion(replay::cancel);
+        emitter.onTimeout(replay::cancel);
+        emitter.onError(e -> replay.cancel());
+
+        return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(emitter);
+    }
+
     /**
      * Pause automated debate
      * POST /api/debates/{sessionId}/pause
@@ -244,4 +314,20 @@ public class DebateSessionController {
         log.info("Skipping to end for debate session: {}", sessionId);
         return debateOrchestrationService.skipToEnd(sessionId);
     }
+
+    /**
+     * Get the trace waterfall of a debate run on this node
+     * GET /api/debates/{sessionId}/trace
+     * Spans of orchestrator stages, LLM, mapper and TTS calls, with start
+     * offsets and durations in milliseconds
+     */
+    @GetMapping("/{sessionId}/trace")
+    public ResponseEntity<Map<String, Object>> getTrace(@PathVariable Long sessionId) {
+        Map<String, Object> waterfall = debateTracer.getWaterfall(sessionId);
+        if (waterfall == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("sessionId", sessionId, "error", "No trace of this debate on this node"));
+        }
+        return ResponseEntity.ok(waterfall);
+    }
 }
@@ -1,5 +1,6 @@
 package com.aidebate.adapter.web.controller;
 
+import com.aidebate.app.service.DebateEventBus;
 import com.aidebate.app.service.DebateSessionService;
 import com.aidebate.app.service.ModeratorService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -28,6 +29,7 @@ public class StreamingController {
 
     private final ModeratorService moderatorService;
     private final DebateSessionService debateSessionService;
+    private final DebateEventBus debateEventBus;
     private final ObjectMapper objectMapper = new ObjectMapper();
     
     // Store active SSE connections
@@ -173,6 +175,28 @@ public class StreamingController {
         }
     }
 
+    /**
+     * Watch a running automated debate without starting it, from any node
+     * GET /api/stream/debate/{sessionId}
+     * Reconnecting clients send Last-Event-ID and get the missed events first
+     */
+    @GetMapping(value = "/debate/{sessionId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter watchDebate(
+            @PathVariable Long sessionId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+
+        log.info("Watching debate session: {}, last event: {}", sessionId, lastEventId);
+
+        SseEmitter emitter = new SseEmitter(30 * 60 * 1000L); // 30 minutes timeout
+
+        emitter.onCompletion(() -> debateEventBus.unsubscribe(sessionId, emitter));
+        emitter.onTimeout(() -> debateEventBus.unsubscribe(sessionId, emitter));
+        emitter.onError(e -> debateEventBus.unsubscribe(sessionId, emitter));
+
+        debateEventBus.subscribe(sessionId, emitter, lastEventId);
+        return emitter;
+    }
+
     /**
      * Get session state
      * GET /api/stream/state/{sessionId}
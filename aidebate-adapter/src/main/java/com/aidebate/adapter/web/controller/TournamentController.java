@@ -0,0 +1,117 @@
+package com.aidebate.adapter.web.controller;
+
+import com.aidebate.app.service.TournamentService;
+import com.aidebate.domain.model.TournamentMatch;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tournament Controller
+ * Handles tournaments between AI debater configs
+ *
+ * @author AI Debate Team
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/tournaments")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class TournamentController {
+
+    private final TournamentService tournamentService;
+
+    /**
+     * Create and start a tournament
+     * POST /api/tournaments
+     * Body: {name, format: ROUND_ROBIN|SWISS, entrants: [{label, personality, expertiseLevel}],
+     *        personalities: [..], expertiseLevels: [..], topicIds: [..], rounds, kFactor, language}
+     * personalities x expertiseLevels adds one entrant per combination
+     */
+    @PostMapping
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> createTournament(@RequestBody Map<String, Object> request) {
+        log.info("Creating tournament: {}", request);
+
+        List<TournamentService.EntrantSpec> entrants = new ArrayList<>();
+        if (request.get("entrants") instanceof List<?> list) {
+            for (Object item : list) {
+                Map<String, Object> entrant = (Map<String, Object>) item;
+                entrants.add(new TournamentService.EntrantSpec(
+                        (String) entrant.get("label"),
+                        entrant.getOrDefault("personality", "Analytical").toString(),
+                        entrant.getOrDefault("expertiseLevel", "Expert").toString()));
+            }
+        }
+        if (request.get("personalities") instanceof List<?> personalities) {
+            List<?> levels = request.get("expertiseLevels") instanceof List<?> list ? list : List.of("Expert");
+            for (Object personality : personalities) {
+                for (Object level : levels) {
+                    entrants.add(new TournamentService.EntrantSpec(null, personality.toString(), level.toString()));
+                }
+            }
+        }
+
+        List<Long> topicIds = new ArrayList<>();
+        if (request.get("topicIds") instanceof List<?> list) {
+            list.forEach(topicId -> topicIds.add(Long.parseLong(topicId.toString())));
+        }
+        Integer rounds = request.get("rounds") != null ? ((Number) request.get("rounds")).intValue() : null;
+        Double kFactor = request.get("kFactor") != null ? ((Number) request.get("kFactor")).doubleValue() : null;
+
+        return tournamentService.createTournament(
+                (String) request.get("name"),
+                request.getOrDefault("format", "ROUND_ROBIN").toString(),
+                entrants, topicIds, rounds, kFactor,
+                (String) request.get("language"));
+    }
+
+    /**
+     * List tournaments
+     * GET /api/tournaments
+     */
+    @GetMapping
+    public List<Map<String, Object>> listTournaments() {
+        return tournamentService.listTournaments();
+    }
+
+    /**
+     * Get tournament progress and standings
+     * GET /api/tournaments/{tournamentId}
+     */
+    @GetMapping("/{tournamentId}")
+    public Map<String, Object> getTournament(@PathVariable Long tournamentId) {
+        return tournamentService.getTournament(tournamentId);
+    }
+
+    /**
+     * Get tournament matches with results and rating changes
+     * GET /api/tournaments/{tournamentId}/matches
+     */
+    @GetMapping("/{tournamentId}/matches")
+    public List<TournamentMatch> getMatches(@PathVariable Long tournamentId) {
+        return tournamentService.getMatches(tournamentId);
+    }
+
+    /**
+     * Resume an interrupted or cancelled tournament without replaying finished matches
+     * POST /api/tournaments/{tournamentId}/resume
+     */
+    @PostMapping("/{tournamentId}/resume")
+    public Map<String, Object> resumeTournament(@PathVariable Long tournamentId) {
+        return tournamentService.resumeTournament(tournamentId);
+    }
+
+    /**
+     * Cancel a tournament; matches being played finish
+     * POST /api/tournaments/{tournamentId}/cancel
+     */
+    @PostMapping("/{tournamentId}/cancel")
+    public Map<String, Object> cancelTournament(@PathVariable Long tournamentId) {
+        return tournamentService.cancelTournament(tournamentId);
+    }
+}
@@ -1,6 +1,11 @@
 package com.aidebate.adapter.web.controller;
 
+import com.aidebate.app.service.AudioEncoder;
+import com.aidebate.app.service.DebateMetrics;
+import com.aidebate.app.service.DebateTracer;
+import com.aidebate.app.service.TtsScheduler;
 import com.aidebate.app.service.VoiceAIService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
@@ -8,9 +13,16 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 /**
  * Voice Controller
@@ -26,6 +38,9 @@ import java.util.Map;
 public class VoiceController {
 
     private final VoiceAIService voiceAIService;
+    private final TtsScheduler ttsScheduler;
+    private final DebateTracer debateTracer;
+    private final DebateMetrics debateMetrics;
 
     /**
      * Generate speech from text with streaming response
@@ -36,14 +51,26 @@ public class VoiceController {
      * {
      *   "text": "Content to read aloud",
      *   "role": "AFFIRMATIVE",
-     *   "language": "zh"
+     *   "language": "zh",
+     *   "sessionId": "123",        (optional, debate being listened to)
+     *   "priority": "PREFETCH"     (optional, PLAYING by default)
      * }
      * 
+     * Requests go through the TTS scheduler: 503 when its queue is full, and a
+     * queued request is withdrawn if the client goes away before it starts
+     * 
+     * The output codec follows the Accept header: audio/mpeg streams MP3 frames
+     * as they are encoded, audio/wav (or no preference) returns a complete WAV file
+     * 
      * @param request Request containing text, role, and language
-     * @return Streaming audio data as WAV
+     * @param accept  Accept header used to negotiate the audio codec
+     * @param servletRequest Used to key fairness by client address
+     * @return Streaming audio data in the negotiated format
      */
     @PostMapping("/generate-speech")
-    public ResponseEntity<StreamingResponseBody> generateSpeech(@RequestBody Map<String, String> request) {
+    public ResponseEntity<StreamingResponseBody> generateSpeech(@RequestBody Map<String, String> request,
+                                                                @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                                HttpServletRequest servletRequest) {
         try {
             String text = request.get("text");
             String role = request.get("role");
@@ -65,26 +92,79 @@ public class VoiceController {
                 language = "zh";
             }
 
+            AudioEncoder encoder = voiceAIService.negotiateEncoder(accept);
+            if (encoder == null) {
+                log.warn("No supported audio format in Accept header: {}", accept);
+                return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+            }
+
             // Check if service is available
             if (!voiceAIService.isServiceAvailable()) {
                 log.error("Voice service is not available");
                 return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
             }
 
-            log.info("Generating speech - Role: {}, Language: {}, Text length: {}", 
-                    role, language, text.length());
+            log.info("Generating speech - Role: {}, Language: {}, Format: {}, Text length: {}", 
+                    role, language, encoder.getFormat(), text.length());
+
+            // Reserve a place in the TTS queue before committing to a streaming response
+            TtsScheduler.Priority priority = "PREFETCH".equalsIgnoreCase(request.get("priority"))
+                    ? TtsScheduler.Priority.PREFETCH
+                    : TtsScheduler.Priority.PLAYING;
+            TtsScheduler.Ticket ticket;
+            long submittedAt = System.nanoTime();
+            try {
+                ticket = ttsScheduler.submit(servletRequest.getRemoteAddr(), request.get("sessionId"), priority);
+            } catch (TtsScheduler.TtsRejectedException e) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "2")
+                        .build();
+            }
+            // The body runs on the TTS executor with the TTS timeout, leaving the MVC defaults alone.
+            // It may never run (executor rejection) or be cut short (timeout, client gone),
+            // so the ticket is also released when the async request ends
+            WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(servletRequest);
+            asyncManager.setTaskExecutor(ttsScheduler.getExecutor());
+            asyncManager.registerCallableInterceptor("ttsTicket",
+                    new CallableProcessingInterceptor() {
+                        @Override
+                        public <T> void beforeConcurrentHandling(NativeWebRequest webRequest, Callable<T> task) {
+                            if (webRequest instanceof AsyncWebRequest asyncWebRequest) {
+                                asyncWebRequest.setTimeout(ttsScheduler.getRequestTimeoutMillis());
+                            }
+                        }
+
+                        @Override
+                        public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                            ticket.close();
+                        }
+                    });
 
             // Capture parameters for lambda
             final String finalRole = role;
             final String finalLanguage = language;
+            final Long sessionId = parseSessionId(request.get("sessionId"));
 
-            // Create streaming response
+            // Create streaming response; runs on the MVC async executor, not a servlet request thread
             StreamingResponseBody responseBody = outputStream -> {
-                try {
+                // Speech for a debate shows in its trace
+                DebateTracer.Scope trace = debateTracer.join(sessionId);
+                try (TtsScheduler.Ticket slot = ticket) {
+                    // Async timeout or client disconnect interrupts the wait and withdraws the ticket
+                    slot.await();
+                    long queueNanos = System.nanoTime() - submittedAt;
+                    debateMetrics.recordTtsQueueWait(priority, queueNanos);
+                    debateTracer.record("tts queue", queueNanos).tag("priority", priority);
+
                     // Use streaming generation from service
-                    voiceAIService.generateSpeechStream(text, finalRole, finalLanguage, (chunk, isComplete) -> {
-                        if (chunk.length > 0) {
-                            outputStream.write(chunk);
+                    // A failed write (client gone) aborts the TTS session and frees the slot
+                    // Segments are pooled buffers, so write the slice straight through without copying
+                    voiceAIService.generateSpeechStream(text, finalRole, finalLanguage, encoder, (buffer, offset, length, isComplete) -> {
+                        if (length > 0) {
+                            outputStream.write(buffer, offset, length);
+                        }
+                        // Compressed formats arrive frame by frame, push them to the client as they come
+                        if (isComplete || !"wav".equals(encoder.getFormat())) {
                             outputStream.flush();
                         }
                         if (isComplete) {
@@ -92,15 +172,23 @@ public class VoiceController {
                         }
                     });
                     
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.info("Speech request cancelled while queued");
+                } catch (TtsScheduler.TtsRejectedException e) {
+                    throw e;
                 } catch (Exception e) {
                     log.error("Error during audio streaming", e);
                     throw new RuntimeException("Failed to stream audio: " + e.getMessage(), e);
+                } finally {
+                    trace.close();
                 }
             };
 
             // Prepare response headers
             HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.parseMediaType("audio/wav"));
+            headers.setContentType(MediaType.parseMediaType(encoder.getContentType()));
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
             headers.setCacheControl("no-cache, no-store, must-revalidate");
             headers.setPragma("no-cache");
             headers.setExpires(0);
@@ -141,10 +229,26 @@ public class VoiceController {
     public ResponseEntity<Map<String, Object>> getServiceStatus() {
         boolean available = voiceAIService.isServiceAvailable();
         
-        return ResponseEntity.ok(Map.of(
-                "available", available,
-                "supportedRoles", voiceAIService.getSupportedRoles(),
-                "supportedLanguages", voiceAIService.getSupportedLanguages()
-        ));
+        Map<String, Object> status = new HashMap<>();
+        status.put("available", available);
+        status.put("supportedRoles", voiceAIService.getSupportedRoles());
+        status.put("supportedLanguages", voiceAIService.getSupportedLanguages());
+        status.put("supportedFormats", voiceAIService.getSupportedFormats());
+        status.put("scheduler", ttsScheduler.getStatistics());
+        return ResponseEntity.ok(status);
+    }
+
+    /**
+     * Optional debate id of a speech request, null if absent or malformed
+     */
+    private static Long parseSessionId(String sessionId) {
+        if (sessionId == null || sessionId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(sessionId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
 }
@@ -0,0 +1,29 @@
+package com.aidebate.adapter.web.stub;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * TTS Realtime Stub Configuration
+ * Serves the stub realtime TTS service at /stub/tts/realtime under the
+ * fake-tts profile, which also points voice.tts.url at it
+ *
+ * @author AI Debate Team
+ */
+@Configuration
+@EnableWebSocket
+@Profile("fake-tts")
+@RequiredArgsConstructor
+public class TtsRealtimeStubConfig implements WebSocketConfigurer {
+
+    private final TtsRealtimeStubHandler handler;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(handler, "/stub/tts/realtime").setAllowedOrigins("*");
+    }
+}
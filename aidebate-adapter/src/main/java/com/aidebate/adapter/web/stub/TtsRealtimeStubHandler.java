@@ -0,0 +1,156 @@
+package com.aidebate.adapter.web.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TTS Realtime Stub Handler
+ * Local stand-in for the Qwen realtime TTS service (profile fake-tts) that
+ * speaks the same WebSocket protocol as QwenTtsRealtime: session.created,
+ * session.update, input_text_buffer.append, session.finish, then
+ * response.audio.delta chunks of 24kHz 16-bit mono PCM, response.done and
+ * session.finished
+ *
+ * The audio is a quiet tone lasting voice.tts.stub.ms-per-char per
+ * character, delivered after voice.tts.stub.first-audio-ms at
+ * voice.tts.stub.speed times real time; voice.tts.stub.error-rate of the
+ * requests (chosen from the text, so reproducibly) end in an error event
+ *
+ * @author AI Debate Team
+ */
+@Slf4j
+@Component
+@Profile("fake-tts")
+public class TtsRealtimeStubHandler extends TextWebSocketHandler {
+
+    private static final int SAMPLE_RATE = 24000;
+    private static final int BYTES_PER_MS = SAMPLE_RATE * 2 / 1000;
+    private static final int CHUNK_MS = 100;
+
+    private final ObjectMapper objectMapper;
+    private final long firstAudioMs;
+    private final long msPerChar;
+    private final double speed;
+    private final double errorRate;
+
+    /**
+     * Text appended so far, per connection
+     */
+    private final Map<String, StringBuilder> texts = new ConcurrentHashMap<>();
+
+    public TtsRealtimeStubHandler(ObjectMapper objectMapper,
+                                  @Value("${voice.tts.stub.first-audio-ms:150}") long firstAudioMs,
+                                  @Value("${voice.tts.stub.ms-per-char:180}") long msPerChar,
+                                  @Value("${voice.tts.stub.speed:4.0}") double speed,
+                                  @Value("${voice.tts.stub.error-rate:0}") double errorRate) {
+        this.objectMapper = objectMapper;
+        this.firstAudioMs = firstAudioMs;
+        this.msPerChar = msPerChar;
+        this.speed = speed;
+        this.errorRate = errorRate;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        texts.put(session.getId(), new StringBuilder());
+        send(session, event("session.created", "session", Map.of("id", "sess_" + session.getId())));
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        JsonNode request = objectMapper.readTree(message.getPayload());
+        String type = request.path("type").asText();
+        switch (type) {
+            case "session.update" -> send(session, event("session.updated", "session", request.path("session")));
+            case "input_text_buffer.append" -> texts.get(session.getId()).append(request.path("text").asText());
+            case "input_text_buffer.commit" -> send(session, event("input_text_buffer.committed", null, null));
+            case "session.finish" -> {
+                String text = texts.get(session.getId()).toString();
+                Thread.ofVirtual().name("tts-stub-" + session.getId()).start(() -> synthesize(session, text));
+            }
+            default -> log.debug("TTS stub ignoring {}", type);
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        texts.remove(session.getId());
+    }
+
+    /**
+     * Stream the audio of the text, paced as configured
+     */
+    private void synthesize(WebSocketSession session, String text) {
+        String responseId = "resp_" + session.getId();
+        try {
+            send(session, event("response.created", "response", Map.of("id", responseId)));
+            Thread.sleep(firstAudioMs);
+
+            if (new Random(text.hashCode()).nextDouble() < errorRate) {
+                send(session, event("error", "error", Map.of("message", "Stub TTS error (voice.tts.stub.error-rate)")));
+                return;
+            }
+
+            long totalMs = Math.max(CHUNK_MS, text.length() * msPerChar);
+            long sentMs = 0;
+            while (sentMs < totalMs && session.isOpen()) {
+                int chunkMs = (int) Math.min(CHUNK_MS, totalMs - sentMs);
+                String delta = Base64.getEncoder().encodeToString(tone(sentMs, chunkMs));
+                send(session, event("response.audio.delta", "delta", delta));
+                sentMs += chunkMs;
+                Thread.sleep(Math.round(chunkMs / speed));
+            }
+
+            send(session, event("response.audio.done", null, null));
+            send(session, event("response.done", "response", Map.of("id", responseId)));
+            send(session, event("session.finished", null, null));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.debug("TTS stub connection {} gone: {}", session.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 220Hz tone at low volume, continuing from {@code offsetMs}
+     */
+    private static byte[] tone(long offsetMs, int lengthMs) {
+        ByteBuffer pcm = ByteBuffer.allocate(lengthMs * BYTES_PER_MS).order(ByteOrder.LITTLE_ENDIAN);
+        long firstSample = offsetMs * SAMPLE_RATE / 1000;
+        for (int i = 0; i < lengthMs * SAMPLE_RATE / 1000; i++) {
+            double t = (firstSample + i) / (double) SAMPLE_RATE;
+            pcm.putShort((short) (Math.sin(2 * Math.PI * 220 * t) * 2000));
+        }
+        return pcm.array();
+    }
+
+    private Map<String, Object> event(String type, String field, Object value) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("event_id", "event_" + UUID.randomUUID().toString().replace("-", ""));
+        event.put("type", type);
+        if (field != null) {
+            event.put(field, value);
+        }
+        return event;
+    }
+
+    private void send(WebSocketSession session, Map<String, Object> event) throws Exception {
+        String json = objectMapper.writeValueAsString(event);
+        synchronized (session) {
+            session.sendMessage(new TextMessage(json));
+        }
+    }
+}
@@ -9,12 +9,16 @@ import com.aidebate.infrastructure.mapper.SensitiveWordMapper;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.*;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -33,9 +37,33 @@ public class AdminService {
     private final DebateSessionMapper debateSessionMapper;
     private final SensitiveWordMapper sensitiveWordMapper;
     private final ContentModerationService contentModerationService;
-    
-    // Simple in-memory session storage (in production, use Redis)
-    private final Map<String, Long> adminSessions = new HashMap<>();
+    private final DebateJournal debateJournal;
+    private final DebateStateStore debateStateStore;
+    private final DebateEventBus debateEventBus;
+    private final DebateTracer debateTracer;
+    private final AdminTokenStore adminTokenStore;
+    private final ObjectMapper objectMapper;
+
+    private static final int EXPORT_PAGE_SIZE = 1000;
+
+    /**
+     * Export column: query column, NDJSON field and CSV header
+     */
+    private record ExportColumn(String column, String field, String header) {
+    }
+
+    private static final List<ExportColumn> EXPORT_COLUMNS = List.of(
+            new ExportColumn("session_id", "sessionId", "Session ID"),
+            new ExportColumn("topic_id", "topicId", "Topic ID"),
+            new ExportColumn("topic_title", "topicTitle", "Topic Title"),
+            new ExportColumn("user_id", "userId", "User ID"),
+            new ExportColumn("status", "status", "Status"),
+            new ExportColumn("winner", "winner", "Winner"),
+            new ExportColumn("final_score_affirmative", "affirmativeScore", "Affirmative Score"),
+            new ExportColumn("final_score_negative", "negativeScore", "Negative Score"),
+            new ExportColumn("auto_play_speed", "autoPlaySpeed", "Auto Play Speed"),
+            new ExportColumn("started_at", "startedAt", "Started At"),
+            new ExportColumn("completed_at", "completedAt", "Completed At"));
 
     /**
      * Admin authentication
@@ -62,7 +90,7 @@ public class AdminService {
         
         // Generate session token
         String token = UUID.randomUUID().toString();
-        adminSessions.put(token, admin.getAdminId());
+        adminTokenStore.put(token, admin.getAdminId());
         
         Map<String, Object> result = new HashMap<>();
         result.put("token", token);
@@ -77,14 +105,14 @@ public class AdminService {
      * Logout admin
      */
     public void logout(String token) {
-        adminSessions.remove(token);
+        adminTokenStore.remove(token);
     }
 
     /**
      * Validate admin token
      */
     public boolean validateToken(String token) {
-        return adminSessions.containsKey(token);
+        return adminTokenStore.contains(token);
     }
 
     /**
@@ -137,29 +165,31 @@ public class AdminService {
         
         double winRate = totalDebates > 0 ? (wins * 100.0 / totalDebates) : 0.0;
         
-        // Updated: Changed from getFinalScoreUser to getFinalScoreAffirmative
-        double avgAffirmativeScore = completedDebates.stream()
-                .map(DebateSession::getFinalScoreAffirmative)
-                .filter(Objects::nonNull)
-                .mapToDouble(BigDecimal::doubleValue)
-                .average()
-                .orElse(0.0);
-        
-        // Updated: Changed from getFinalScoreAi to getFinalScoreNegative
-        double avgNegativeScore = completedDebates.stream()
-                .map(DebateSession::getFinalScoreNegative)
-                .filter(Objects::nonNull)
-                .mapToDouble(BigDecimal::doubleValue)
-                .average()
-                .orElse(0.0);
+        // Final score averages in fixed-point hundredths, one pass over the debates
+        long affirmativeSum = 0;
+        long negativeSum = 0;
+        int affirmativeCount = 0;
+        int negativeCount = 0;
+        for (DebateSession debate : completedDebates) {
+            if (debate.getFinalScoreAffirmative() != null) {
+                affirmativeSum += FixedScore.of(debate.getFinalScoreAffirmative());
+                affirmativeCount++;
+            }
+            if (debate.getFinalScoreNegative() != null) {
+                negativeSum += FixedScore.of(debate.getFinalScoreNegative());
+                negativeCount++;
+            }
+        }
+        BigDecimal avgAffirmativeScore = FixedScore.toBigDecimal(FixedScore.average(affirmativeSum, affirmativeCount));
+        BigDecimal avgNegativeScore = FixedScore.toBigDecimal(FixedScore.average(negativeSum, negativeCount));
         
         Map<String, Object> stats = new HashMap<>();
         stats.put("userId", userId);
         stats.put("totalDebates", totalDebates);
         stats.put("wins", wins);
         stats.put("winRate", String.format("%.2f%%", winRate));
-        stats.put("avgAffirmativeScore", String.format("%.2f", avgAffirmativeScore));
-        stats.put("avgNegativeScore", String.format("%.2f", avgNegativeScore));
+        stats.put("avgAffirmativeScore", avgAffirmativeScore.toPlainString());
+        stats.put("avgNegativeScore", avgNegativeScore.toPlainString());
         stats.put("recentDebates", completedDebates.stream()
                 .limit(10)
                 .map(d -> Map.of(
@@ -174,38 +204,79 @@ public class AdminService {
     }
 
     /**
-     * Export debates as CSV
+     * Export debates as CSV or newline-delimited JSON with topic titles,
+     * written to the stream page by page (keyset on session id) so memory
+     * use does not grow with the history
+     *
+     * @param format csv or ndjson
      */
-    public String exportDebates(String status, Long userId) {
-        QueryWrapper<DebateSession> wrapper = new QueryWrapper<>();
-        
-        if (status != null && !status.isEmpty()) {
-            wrapper.eq("status", status);
+    public void exportDebates(String status, Long userId, String format, OutputStream out) throws IOException {
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        String statusFilter = status != null && !status.isEmpty() ? status : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+
+        if (!ndjson) {
+            writer.write(String.join(",", EXPORT_COLUMNS.stream().map(ExportColumn::header).toList()));
+            writer.write('\n');
         }
-        if (userId != null) {
-            wrapper.eq("user_id", userId);
+        long afterId = 0;
+        long rows = 0;
+        while (true) {
+            List<Map<String, Object>> page = debateSessionMapper.selectExportPage(afterId, statusFilter, userId, EXPORT_PAGE_SIZE);
+            for (Map<String, Object> row : page) {
+                if (ndjson) {
+                    Map<String, Object> record = new LinkedHashMap<>();
+                    for (ExportColumn column : EXPORT_COLUMNS) {
+                        record.put(column.field(), exportValue(row.get(column.column())));
+                    }
+                    writer.write(objectMapper.writeValueAsString(record));
+                    writer.write('\n');
+                } else {
+                    for (int i = 0; i < EXPORT_COLUMNS.size(); i++) {
+                        if (i > 0) {
+                            writer.write(',');
+                        }
+                        writer.write(csvField(exportValue(row.get(EXPORT_COLUMNS.get(i).column()))));
+                    }
+                    writer.write('\n');
+                }
+            }
+            rows += page.size();
+            // Each page goes out before the next is fetched
+            writer.flush();
+            if (page.size() < EXPORT_PAGE_SIZE) {
+                break;
+            }
+            afterId = ((Number) page.get(page.size() - 1).get("session_id")).longValue();
         }
-        
-        List<DebateSession> debates = debateSessionMapper.selectList(wrapper);
-        
-        StringBuilder csv = new StringBuilder();
-        // Updated CSV header for AI vs AI debates
-        csv.append("Session ID,Topic ID,User ID,Status,Winner,Affirmative Score,Negative Score,Auto Play Speed,Started At,Completed At\n");
-        
-        for (DebateSession session : debates) {
-            csv.append(session.getSessionId()).append(",")
-               .append(session.getTopicId()).append(",")
-               .append(session.getUserId()).append(",")
-               .append(session.getStatus()).append(",")
-               .append(session.getWinner() != null ? session.getWinner() : "").append(",")
-               .append(session.getFinalScoreAffirmative() != null ? session.getFinalScoreAffirmative() : "").append(",")
-               .append(session.getFinalScoreNegative() != null ? session.getFinalScoreNegative() : "").append(",")
-               .append(session.getAutoPlaySpeed() != null ? session.getAutoPlaySpeed() : "").append(",")
-               .append(session.getStartedAt() != null ? session.getStartedAt() : "").append(",")
-               .append(session.getCompletedAt() != null ? session.getCompletedAt() : "").append("\n");
+        log.info("Exported {} debates as {}", rows, ndjson ? "ndjson" : "csv");
+    }
+
+    /**
+     * Date-times as ISO local date-time, everything else as read
+     */
+    private static Object exportValue(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
         }
-        
-        return csv.toString();
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime.toString();
+        }
+        return value;
+    }
+
+    /**
+     * RFC 4180 field: quoted when it contains a comma, quote or line break
+     */
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
     }
 
     /**
@@ -248,7 +319,7 @@ public class AdminService {
         
         sensitiveWordMapper.insert(sensitiveWord);
         
-        // Invalidate cache
+        // Rebuilt in the background after commit, other nodes are notified
         contentModerationService.invalidateCache();
         
         return sensitiveWord;
@@ -263,6 +334,46 @@ public class AdminService {
         contentModerationService.invalidateCache();
     }
 
+    /**
+     * Get streaming moderation statistics and the dictionary snapshot in use
+     */
+    public Map<String, Object> getModerationStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>(contentModerationService.getStreamStatistics());
+        stats.put("dictionary", contentModerationService.getDictionaryStatus());
+        return stats;
+    }
+
+    /**
+     * Get write-behind journal statistics
+     */
+    public Map<String, Object> getJournalStatistics() {
+        return debateJournal.getStatistics();
+    }
+
+    /**
+     * Queue the dead-lettered journal entries for writing again
+     */
+    public int replayJournalDeadLetters() {
+        return debateJournal.replayDeadLetters();
+    }
+
+    /**
+     * Get debate state store node and lease statistics
+     */
+    public Map<String, Object> getDebateStateStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>(debateStateStore.getStatistics());
+        stats.put("events", debateEventBus.getStatistics());
+        stats.put("traces", debateTracer.getStatistics());
+        return stats;
+    }
+
+    /**
+     * Get running state and lease owner of a debate
+     */
+    public Map<String, Object> getDebateState(Long sessionId) {
+        return debateStateStore.getState(sessionId);
+    }
+
     /**
      * Get system configuration
      */
@@ -0,0 +1,89 @@
+package com.aidebate.app.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Admin Token Store
+ * Admin login tokens, shared by all nodes through Redis when
+ * debate.state.redis.enabled is set so a login works behind a load
+ * balancer; kept in memory otherwise
+ *
+ * @author AI Debate Team
+ */
+@Slf4j
+@Component
+public class AdminTokenStore {
+
+    private final ObjectProvider<RedisConnectionFactory> connectionFactory;
+    private final boolean enabled;
+    private final String keyPrefix;
+    private final Duration ttl;
+    private final Map<String, Long> localTokens = new ConcurrentHashMap<>();
+
+    private StringRedisTemplate redisTemplate;
+
+    public AdminTokenStore(ObjectProvider<RedisConnectionFactory> connectionFactory,
+                           @Value("${debate.state.redis.enabled:false}") boolean enabled,
+                           @Value("${admin.session.key-prefix:aidebate:admin:token:}") String keyPrefix,
+                           @Value("${admin.session.ttl-hours:12}") long ttlHours) {
+        this.connectionFactory = connectionFactory;
+        this.enabled = enabled;
+        this.keyPrefix = keyPrefix;
+        this.ttl = Duration.ofHours(ttlHours);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        RedisConnectionFactory factory = connectionFactory.getIfAvailable();
+        if (factory == null) {
+            log.warn("Redis state enabled but no Redis connection factory, keeping admin tokens in memory");
+            return;
+        }
+        redisTemplate = new StringRedisTemplate(factory);
+    }
+
+    /**
+     * Store a token; in Redis it expires after admin.session.ttl-hours
+     */
+    public void put(String token, Long adminId) {
+        if (redisTemplate != null) {
+            redisTemplate.opsForValue().set(keyPrefix + token, String.valueOf(adminId), ttl);
+        } else {
+            localTokens.put(token, adminId);
+        }
+    }
+
+    public boolean contains(String token) {
+        if (token == null) {
+            return false;
+        }
+        if (redisTemplate != null) {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(keyPrefix + token));
+        }
+        return localTokens.containsKey(token);
+    }
+
+    public void remove(String token) {
+        if (token == null) {
+            return;
+        }
+        if (redisTemplate != null) {
+            redisTemplate.delete(keyPrefix + token);
+        } else {
+            localTokens.remove(token);
+        }
+    }
+}
@@ -8,7 +8,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.chat.prompt.ChatOptions;
 import org.springframework.ai.chat.prompt.Prompt;
-import org.springframework.ai.ollama.OllamaChatModel;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.SystemMessage;
@@ -39,8 +38,14 @@ public class AlibabaAIService {
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final DashScopeChatModel chatModel;
 
-    private final OllamaChatModel ollamaChatModel;
+    /**
+     * Ollama backends, or the fake model when the fake-llm profile is active
+     */
+    private final LlmBackendPool llmBackendPool;
+
+    private final ContentModerationService contentModerationService;
 
+    private final DebateMetrics debateMetrics;
 
     @Value("${spring.ai.alibaba.model:qwen-max}")
     private String model;
@@ -52,9 +57,12 @@ public class AlibabaAIService {
     private Integer maxTokens;
 
     @Autowired
-    public AlibabaAIService(DashScopeChatModel chatModel,OllamaChatModel ollamaChatModel) {
+    public AlibabaAIService(DashScopeChatModel chatModel, LlmBackendPool llmBackendPool,
+                            ContentModerationService contentModerationService, DebateMetrics debateMetrics) {
         this.chatModel = chatModel;
-        this.ollamaChatModel = ollamaChatModel;
+        this.llmBackendPool = llmBackendPool;
+        this.contentModerationService = contentModerationService;
+        this.debateMetrics = debateMetrics;
     }
 
     /**
@@ -92,7 +100,7 @@ public class AlibabaAIService {
             String userPrompt = buildOpponentUserPrompt(topic, "", side, roundNumber, argumentHistory);
 
             // Call Qwen API with retry logic
-            String argument = callQwenAPIWithRetry(systemPrompt, userPrompt, 3);
+            String argument = callQwenAPIWithRetry("opponent_argument", systemPrompt, userPrompt, 3);
 
             // Apply character limit
             if (argument.length() > 500) {
@@ -101,6 +109,7 @@ public class AlibabaAIService {
             return argument;
         } catch (Exception e) {
             log.error("Error generating opponent argument, using fallback", e);
+            debateMetrics.countLlmFallback("opponent_argument");
             return getFallbackOpponentArgument(side);
         }
     }
@@ -120,7 +129,7 @@ public class AlibabaAIService {
             String userPrompt = buildSimulationUserPrompt(topic, side, roundNumber, argumentHistory, moderatorInstruction);
 
             // Call Qwen API with retry logic
-            String suggestion = callQwenAPIWithRetry(systemPrompt, userPrompt, 2);
+            String suggestion = callQwenAPIWithRetry("simulate_argument", systemPrompt, userPrompt, 2);
 
             // Apply character limit
             if (suggestion.length() > 500) {
@@ -129,6 +138,7 @@ public class AlibabaAIService {
             return suggestion;
         } catch (Exception e) {
             log.error("Error generating user argument simulation", e);
+            debateMetrics.countLlmFallback("simulate_argument");
             return "";
         }
     }
@@ -146,13 +156,14 @@ public class AlibabaAIService {
                 topic, argumentText
             );
 
-            String summary = callQwenAPIWithRetry(systemPrompt, userPrompt, 2);
+            String summary = callQwenAPIWithRetry("argument_summary", systemPrompt, userPrompt, 2);
             if (summary.length() > 200) {
                 summary = summary.substring(0, 197) + "...";
             }
             return summary;
         } catch (Exception e) {
             log.error("Error generating argument summary", e);
+            debateMetrics.countLlmFallback("argument_summary");
             return "zh".equals(language) ? "论述已接收。" : "Argument received.";
         }
     }
@@ -179,13 +190,14 @@ public class AlibabaAIService {
             userPrompt.append("Current argument to evaluate:\n").append(argumentText).append("\n\n");
             userPrompt.append("Provide a balanced evaluation (max 300 characters) considering logic, relevance, and persuasiveness.");
 
-            String evaluation = callQwenAPIWithRetry(systemPrompt, userPrompt.toString(), 2);
+            String evaluation = callQwenAPIWithRetry("argument_evaluation", systemPrompt, userPrompt.toString(), 2);
             if (evaluation.length() > 300) {
                 evaluation = evaluation.substring(0, 297) + "...";
             }
             return evaluation;
         } catch (Exception e) {
             log.error("Error generating argument evaluation", e);
+            debateMetrics.countLlmFallback("argument_evaluation");
             return "zh".equals(language) ? "论述具有良好的逻辑结构。" : "Argument shows good logical structure.";
         }
     }
@@ -209,13 +221,14 @@ public class AlibabaAIService {
             
             userPrompt.append("Generate an announcement inviting the next speaker with guidance (max 200 characters).");
 
-            String announcement = callQwenAPIWithRetry(systemPrompt, userPrompt.toString(), 2);
+            String announcement = callQwenAPIWithRetry("speaker_announcement", systemPrompt, userPrompt.toString(), 2);
             if (announcement.length() > 200) {
                 announcement = announcement.substring(0, 197) + "...";
             }
             return announcement;
         } catch (Exception e) {
             log.error("Error generating speaker announcement", e);
+            debateMetrics.countLlmFallback("speaker_announcement");
             String speaker = translateSide(nextSpeaker, language);
             return "zh".equals(language) ? 
                 String.format("%s，请陈述您的论点。", speaker) :
@@ -253,9 +266,10 @@ public class AlibabaAIService {
                 topic, argumentText
             );
 
-            callQwenAPIStream(systemPrompt, userPrompt, callback, 200);
+            callQwenAPIStream("argument_summary", systemPrompt, userPrompt, callback, 200);
         } catch (Exception e) {
             log.error("Error generating argument summary stream", e);
+            debateMetrics.countLlmFallback("argument_summary");
             String fallback = "zh".equals(language) ? "论述已接收。" : "Argument received.";
             callback.onChunk(fallback, true);
         }
@@ -283,9 +297,10 @@ public class AlibabaAIService {
             userPrompt.append("Current argument to evaluate:\n").append(argumentText).append("\n\n");
             userPrompt.append("Provide a balanced evaluation (max 300 characters) considering logic, relevance, and persuasiveness.");
 
-            callQwenAPIStream(systemPrompt, userPrompt.toString(), callback, 300);
+            callQwenAPIStream("argument_evaluation", systemPrompt, userPrompt.toString(), callback, 300);
         } catch (Exception e) {
             log.error("Error generating argument evaluation stream", e);
+            debateMetrics.countLlmFallback("argument_evaluation");
             String fallback = "zh".equals(language) ? "论述具有良好的逻辑结构。" : "Argument shows good logical structure.";
             callback.onChunk(fallback, true);
         }
@@ -315,9 +330,10 @@ public class AlibabaAIService {
             
             userPrompt.append("Generate an announcement inviting the speaker and explaining the round format's strategic focus (max 300 characters).");
 
-            callQwenAPIStream(systemPrompt, userPrompt.toString(), callback, 300);
+            callQwenAPIStream("speaker_announcement", systemPrompt, userPrompt.toString(), callback, 300);
         } catch (Exception e) {
             log.error("Error generating speaker announcement stream", e);
+            debateMetrics.countLlmFallback("speaker_announcement");
             String speaker = translateSide(nextSpeaker, language);
             String fallback = "zh".equals(language) ? 
                 String.format("%s，请陈述您的论点。", speaker) :
@@ -341,9 +357,10 @@ public class AlibabaAIService {
             String systemPrompt = buildOpponentSystemPrompt(topic, side, personality, expertiseLevel);
             String userPrompt = buildOpponentUserPrompt(topic, "", side, roundNumber, argumentHistory);
 
-            callQwenAPIStream(systemPrompt, userPrompt, callback, 500);
+            callQwenAPIStream("opponent_argument", systemPrompt, userPrompt, callback, 500);
         } catch (Exception e) {
             log.error("Error generating opponent argument stream, using fallback", e);
+            debateMetrics.countLlmFallback("opponent_argument");
             String fallback = getFallbackOpponentArgument(side);
             callback.onChunk(fallback, true);
         }
@@ -371,9 +388,10 @@ public class AlibabaAIService {
             String systemPrompt = buildDebateArgumentSystemPrompt(topic, side, personality, expertiseLevel);
             String userPrompt = buildDebateArgumentUserPrompt(topic, side, roundNumber, historyTexts, moderatorInstruction);
 
-            callQwenAPIStream(systemPrompt, userPrompt, callback, 500);
+            callQwenAPIStream("debate_argument", systemPrompt, userPrompt, callback, 500);
         } catch (Exception e) {
             log.error("Error generating debate argument stream, using fallback", e);
+            debateMetrics.countLlmFallback("debate_argument");
             String fallback = getFallbackOpponentArgument(side);
             callback.onChunk(fallback, true);
         }
@@ -386,7 +404,16 @@ public class AlibabaAIService {
      * @param maxLength Parameter retained for backward compatibility but not enforced as hard limit.
      *                  Prompt-level guidance ("最多500字") encourages conciseness while allowing complete content transmission.
      */
-    private void callQwenAPIStream(String systemPrompt, String userPrompt, StreamCallback callback, int maxLength) {
+    private void callQwenAPIStream(String operation, String systemPrompt, String userPrompt, StreamCallback callback, int maxLength) {
+        long startNanos = System.nanoTime();
+        // Ollama streams one token per chunk
+        int[] tokens = {0};
+        long[] firstTokenNanos = {0};
+        boolean success = false;
+        LlmCallEvent event = new LlmCallEvent();
+        event.begin();
+        StringBuilder accumulated = new StringBuilder();
+        LlmBackendPool.Backend backend = null;
         try {
             SystemMessage systemMessage = new SystemMessage(systemPrompt);
             UserMessage userMessage = new UserMessage(userPrompt);
@@ -394,40 +421,91 @@ public class AlibabaAIService {
             Prompt prompt = new Prompt(List.of(systemMessage, userMessage));
 
             // Use streaming API with blocking to ensure sequential execution
-            Flux<String> stream = ollamaChatModel.stream(prompt)
+            backend = llmBackendPool.acquire();
+            String model = backend.getModel();
+            Flux<String> stream = backend.getChatModel().stream(prompt)
                 .map(chatResponse -> chatResponse.getResult().getOutput().getText());
 
-            StringBuilder accumulated = new StringBuilder();
+            // Moderate chunks before they reach the callback (and the SSE emitter behind it)
+            ModerationStream moderation = contentModerationService.openStream();
             
             // Block and wait for streaming to complete
             stream.doOnNext(chunk -> {
                 if (chunk != null && !chunk.isEmpty()) {
-                    accumulated.append(chunk);
+                    if (tokens[0]++ == 0) {
+                        firstTokenNanos[0] = System.nanoTime() - startNanos;
+                        debateMetrics.recordFirstToken(operation, model, firstTokenNanos[0]);
+                    }
+                    String safeChunk = moderation != null ? moderation.accept(chunk) : chunk;
+                    accumulated.append(safeChunk);
                     
                     // Send chunk regardless of accumulated length
                     // Frontend will handle display truncation for UX purposes
                     // This ensures complete content reaches the user
-                    callback.onChunk(chunk, false);
+                    if (!safeChunk.isEmpty()) {
+                        callback.onChunk(safeChunk, false);
+                    }
                 }
             })
+            // A CRITICAL word cuts the stream and cancels generation upstream
+            .takeUntil(chunk -> moderation != null && moderation.isCut())
             .doOnError(error -> {
                 log.error("Error during streaming", error);
+                flushModeration(moderation, accumulated, callback);
                 // On error, mark as complete with current accumulated text
                 callback.onChunk("", true);
             })
             .doOnComplete(() -> {
+                flushModeration(moderation, accumulated, callback);
                 // On complete, just signal completion without sending text again
                 // The accumulated text has already been sent chunk by chunk
                 callback.onChunk("", true);  // ✅ Signal completion only, no duplicate text
                 log.debug("Streaming completed: {} characters", accumulated.length());
             })
             .blockLast(); // Block until streaming completes
+            success = true;
             
         } catch (Exception e) {
             log.error("Error in streaming API call", e);
             throw new RuntimeException("Failed to stream AI response", e);
+        } finally {
+            if (backend != null) {
+                llmBackendPool.release(backend);
+            }
+            String model = backend == null ? llmBackendPool.getDefaultModel() : backend.getModel();
+            debateMetrics.recordLlmCall(operation, model, System.nanoTime() - startNanos, tokens[0], success);
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operation;
+                event.model = model;
+                event.streamed = true;
+                event.promptChars = systemPrompt.length() + userPrompt.length();
+                event.outputChars = accumulated.length();
+                event.timeToFirstToken = firstTokenNanos[0];
+                event.success = success;
+                event.commit();
+            }
         }
     }
+
+    /**
+     * Release text held back by streaming moderation at the end of a response
+     */
+    private void flushModeration(ModerationStream moderation, StringBuilder accumulated, StreamCallback callback) {
+        if (moderation == null) {
+            return;
+        }
+        String tail = moderation.finish();
+        if (!tail.isEmpty()) {
+            accumulated.append(tail);
+            callback.onChunk(tail, false);
+        }
+        if (moderation.getMaxSeverity() != null) {
+            log.warn("Streaming moderation flagged words {} (max severity: {}, cut: {})",
+                    moderation.getViolatedWords(), moderation.getMaxSeverity(), moderation.isCut());
+        }
+    }
+
     public Map<String, Object> judgeArgument(String argumentText, String criteriaName,
                                              int maxScore, String criteriaDescription) {
         log.info("Judging argument for criterion: {}", criteriaName);
@@ -474,18 +552,31 @@ public class AlibabaAIService {
     /**
      * Call Qwen API with retry logic
      */
-    private String callQwenAPIWithRetry(String systemPrompt, String userPrompt, int maxRetries) {
+    private String callQwenAPIWithRetry(String operation, String systemPrompt, String userPrompt, int maxRetries) {
         int attempts = 0;
         Exception lastException = null;
+        long startNanos = System.nanoTime();
+        String model = llmBackendPool.getDefaultModel();
 
         while (attempts < maxRetries) {
             try {
                 log.debug("Calling Qwen API (attempt {}/{})", attempts + 1, maxRetries);
-                return callQwenAPI(systemPrompt, userPrompt);
+                // Each attempt takes a backend slot of its own and gives it back before any backoff
+                String content;
+                LlmBackendPool.Backend backend = llmBackendPool.acquire();
+                try {
+                    model = backend.getModel();
+                    content = callQwenAPI(operation, backend, systemPrompt, userPrompt);
+                } finally {
+                    llmBackendPool.release(backend);
+                }
+                debateMetrics.recordLlmCall(operation, model, System.nanoTime() - startNanos, 0, true);
+                return content;
             } catch (Exception e) {
                 lastException = e;
                 attempts++;
                 if (attempts < maxRetries) {
+                    debateMetrics.countLlmRetry(operation, model);
                     long waitTime = (long) Math.pow(2, attempts) * 1000; // Exponential backoff
                     log.warn("API call failed, retrying in {}ms (attempt {}/{})", waitTime, attempts, maxRetries);
                     try {
@@ -498,14 +589,18 @@ public class AlibabaAIService {
             }
         }
 
+        debateMetrics.recordLlmCall(operation, model, System.nanoTime() - startNanos, 0, false);
         log.error("Failed to call Qwen API after {} attempts", maxRetries, lastException);
         throw new RuntimeException("Failed to generate AI response after " + maxRetries + " attempts", lastException);
     }
 
     /**
-     * Call Qwen API using Spring AI
+     * Call Qwen API using Spring AI on a backend slot held by the caller
      */
-    private String callQwenAPI(String systemPrompt, String userPrompt) {
+    private String callQwenAPI(String operation, LlmBackendPool.Backend backend, String systemPrompt, String userPrompt) {
+        LlmCallEvent event = new LlmCallEvent();
+        event.begin();
+        String content = null;
         try {
             SystemMessage systemMessage = new SystemMessage(systemPrompt);
             UserMessage userMessage = new UserMessage(userPrompt);
@@ -513,16 +608,26 @@ public class AlibabaAIService {
 
             Prompt prompt = new Prompt(List.of(systemMessage, userMessage));
 
-            var response = ollamaChatModel.call(prompt);
+            var response = backend.getChatModel().call(prompt);
             // Get the content from the assistant message
             var output = response.getResult().getOutput();
-            String content = output.getText();
+            content = output.getText();
             
             log.debug("Qwen API response received: {} characters", content.length());
             return content.trim();
         } catch (Exception e) {
             log.error("Error calling Qwen API", e);
             throw new RuntimeException("Failed to call Qwen API", e);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operation;
+                event.model = backend.getModel();
+                event.promptChars = systemPrompt.length() + userPrompt.length();
+                event.outputChars = content == null ? 0 : content.length();
+                event.success = content != null;
+                event.commit();
+            }
         }
     }
 
@@ -849,11 +954,12 @@ public class AlibabaAIService {
                 topic, roundNumber, sideArgument, opponentArgument, previousRoundContext, language
             );
             
-            String response = callQwenAPIWithRetry(systemPrompt, userPrompt, 2);
+            String response = callQwenAPIWithRetry("round_evaluation", systemPrompt, userPrompt, 2);
             return parseJudgmentResponse(response, 100);
             
         } catch (Exception e) {
             log.error("Error evaluating round performance", e);
+            debateMetrics.countLlmFallback("round_evaluation");
             // Fallback score
             Map<String, Object> fallback = new HashMap<>();
             fallback.put("score", 75.0);
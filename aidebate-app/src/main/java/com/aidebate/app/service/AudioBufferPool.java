@@ -0,0 +1,76 @@
+package com.aidebate.app.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Audio Buffer Pool
+ * Recycles fixed-size PCM segments between TTS requests so long arguments
+ * do not churn the heap with growing ByteArrayOutputStream copies
+ *
+ * @author AI Debate Team
+ */
+@Slf4j
+@Component
+public class AudioBufferPool {
+
+    /**
+     * Segment size in bytes (~0.7s of 24kHz 16-bit mono PCM)
+     */
+    public static final int SEGMENT_SIZE = 32 * 1024;
+
+    private final ConcurrentLinkedDeque<byte[]> freeSegments = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger retainedSegments = new AtomicInteger();
+    private final int maxRetainedSegments;
+
+    public AudioBufferPool(@Value("${voice.audio.pool-max-segments:256}") int maxRetainedSegments) {
+        this.maxRetainedSegments = maxRetainedSegments;
+    }
+
+    /**
+     * Create an empty PCM buffer sized for the expected amount of audio
+     *
+     * @param estimatedPcmBytes Expected PCM size, used to pre-size the segment table
+     * @return New buffer; caller must {@link PcmAudioBuffer#release()} it
+     */
+    public PcmAudioBuffer newBuffer(int estimatedPcmBytes) {
+        return new PcmAudioBuffer(this, estimatedPcmBytes);
+    }
+
+    /**
+     * Take a segment from the pool, allocating a new one if the pool is empty
+     */
+    byte[] acquire() {
+        byte[] segment = freeSegments.pollFirst();
+        if (segment != null) {
+            retainedSegments.decrementAndGet();
+            return segment;
+        }
+        return new byte[SEGMENT_SIZE];
+    }
+
+    /**
+     * Return a segment to the pool; segments beyond the retention cap are left to GC
+     */
+    void release(byte[] segment) {
+        if (segment == null || segment.length != SEGMENT_SIZE) {
+            return;
+        }
+        if (retainedSegments.incrementAndGet() <= maxRetainedSegments) {
+            freeSegments.offerFirst(segment);
+        } else {
+            retainedSegments.decrementAndGet();
+        }
+    }
+
+    /**
+     * Number of idle segments currently held by the pool
+     */
+    public int getRetainedSegments() {
+        return retainedSegments.get();
+    }
+}
@@ -0,0 +1,53 @@
+package com.aidebate.app.service;
+
+/**
+ * Audio Encoder
+ * Output stage of the TTS pipeline; turns 24kHz 16-bit mono PCM into the
+ * codec negotiated with the client
+ *
+ * @author AI Debate Team
+ */
+public interface AudioEncoder {
+
+    /**
+     * Short format name (e.g., wav, mp3)
+     */
+    String getFormat();
+
+    /**
+     * Content type written on the HTTP response (e.g., audio/wav)
+     */
+    String getContentType();
+
+    /**
+     * Open an encoding session for one utterance
+     *
+     * @param sink              Receives encoded bytes; the last call is flagged complete
+     * @param estimatedPcmBytes Expected PCM size, used to pre-size buffers
+     * @return Session to feed PCM into; caller must close it
+     */
+    Session open(VoiceAIService.AudioStreamCallback sink, int estimatedPcmBytes);
+
+    /**
+     * Per-utterance encoder state
+     * Called from the TTS websocket thread, one delta at a time
+     */
+    interface Session extends AutoCloseable {
+
+        /**
+         * Feed a Base64 PCM delta as received from the TTS service
+         */
+        void appendBase64(String base64) throws Exception;
+
+        /**
+         * Flush remaining audio to the sink and signal completion
+         */
+        void finish() throws Exception;
+
+        /**
+         * Release encoder resources
+         */
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,257 @@
+package com.aidebate.app.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Batch Debate Service
+ * Runs lists of AI vs AI debates headless (no pacing delays, no SSE) for
+ * dataset generation and topic evaluation. Debates of a job run on a fixed
+ * number of threads, by default as many as the LLM backends can serve at
+ * once, and their LLM calls are spread over the backends by the pool
+ *
+ * Content is written through the journal and per-round batches as in a
+ * streamed debate; the job keeps one result row per debate and reports
+ * throughput in debates per hour
+ *
+ * @author AI Debate Team
+ */
+@Slf4j
+@Service
+public class BatchDebateService {
+
+    private static final Map<String, Map<String, String>> DEFAULT_AI_CONFIGS = Map.of(
+            "affirmative", Map.of("personality", "Analytical", "expertiseLevel", "Expert"),
+            "negative", Map.of("personality", "Passionate", "expertiseLevel", "Expert"));
+
+    /**
+     * One debate of a batch, default AI configs when null
+     */
+    public record DebateSpec(Long topicId, Map<String, Map<String, String>> aiConfigs) {
+    }
+
+    /**
+     * A submitted batch and its progress
+     */
+    private static final class Job {
+        private final String id;
+        private final int total;
+        private final int concurrency;
+        private final String language;
+        private final Instant submittedAt = Instant.now();
+        private final long startNanos = System.nanoTime();
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        private final List<Map<String, Object>> results = Collections.synchronizedList(new ArrayList<>());
+        private final ExecutorService executor;
+        private volatile long endNanos;
+        private volatile boolean cancelled;
+
+        private Job(String id, int total, int concurrency, String language) {
+            this.id = id;
+            this.total = total;
+            this.concurrency = concurrency;
+            this.language = language;
+            AtomicInteger threads = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+                Thread thread = new Thread(runnable, "batch-" + id + "-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        private int finished() {
+            return completed.get() + failed.get() + skipped.get();
+        }
+    }
+
+    private final DebateSessionService debateSessionService;
+    private final DebateOrchestrationService debateOrchestrationService;
+    private final LlmBackendPool llmBackendPool;
+    private final int defaultConcurrency;
+    private final int maxConcurrency;
+    private final int maxJobs;
+
+    private final Map<String, Job> jobs;
+
+    public BatchDebateService(DebateSessionService debateSessionService,
+                              DebateOrchestrationService debateOrchestrationService,
+                              LlmBackendPool llmBackendPool,
+                              @Value("${debate.batch.concurrency:0}") int defaultConcurrency,
+                              @Value("${debate.batch.max-concurrency:32}") int maxConcurrency,
+                              @Value("${debate.batch.max-jobs:20}") int maxJobs) {
+        this.debateSessionService = debateSessionService;
+        this.debateOrchestrationService = debateOrchestrationService;
+        this.llmBackendPool = llmBackendPool;
+        this.defaultConcurrency = defaultConcurrency;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.maxJobs = maxJobs;
+        // Finished jobs beyond max-jobs are forgotten, oldest first
+        this.jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Job> eldest) {
+                return size() > BatchDebateService.this.maxJobs && eldest.getValue().endNanos != 0;
+            }
+        });
+    }
+
+    /**
+     * Start a batch job
+     *
+     * @param concurrency debates run at once, null for the configured default;
+     *                    capped at debate.batch.max-concurrency
+     */
+    public Map<String, Object> submit(List<DebateSpec> debates, Integer concurrency, String language, Long userId) {
+        if (debates == null || debates.isEmpty()) {
+            throw new IllegalArgumentException("A batch needs at least one debate");
+        }
+        for (DebateSpec debate : debates) {
+            if (debate.topicId() == null) {
+                throw new IllegalArgumentException("Every debate needs a topicId");
+            }
+        }
+        int requested = concurrency != null && concurrency > 0 ? concurrency : defaultConcurrency();
+        int threads = Math.min(Math.min(requested, maxConcurrency), debates.size());
+        String id = UUID.randomUUID().toString().substring(0, 8);
+        Job job = new Job(id, debates.size(), threads, language);
+        jobs.put(id, job);
+        log.info("Batch {}: {} debates, {} at a time, language {}", id, debates.size(), threads, language);
+
+        for (int i = 0; i < debates.size(); i++) {
+            int index = i;
+            DebateSpec debate = debates.get(i);
+            job.executor.execute(() -> runDebate(job, index, debate, userId));
+        }
+        job.executor.shutdown();
+        return summary(job, false);
+    }
+
+    /**
+     * Job progress, with the per-debate results when asked
+     */
+    public Map<String, Object> getJob(String jobId, boolean includeResults) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new RuntimeException("Batch job not found: " + jobId);
+        }
+        return summary(job, includeResults);
+    }
+
+    public Map<String, Object> listJobs() {
+        List<Map<String, Object>> summaries;
+        synchronized (jobs) {
+            summaries = jobs.values().stream().map(job -> summary(job, false)).toList();
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("jobs", summaries);
+        result.put("backends", llmBackendPool.getStatistics());
+        return result;
+    }
+
+    /**
+     * Skip the debates of a job that have not started; running ones finish
+     */
+    public Map<String, Object> cancel(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new RuntimeException("Batch job not found: " + jobId);
+        }
+        job.cancelled = true;
+        log.info("Batch {} cancelled at {}/{}", jobId, job.finished(), job.total);
+        return summary(job, false);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (jobs) {
+            jobs.values().forEach(job -> {
+                job.cancelled = true;
+                job.executor.shutdownNow();
+            });
+        }
+    }
+
+    private void runDebate(Job job, int index, DebateSpec debate, Long userId) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("index", index);
+        result.put("topicId", debate.topicId());
+        if (job.cancelled) {
+            result.put("error", "cancelled");
+            job.results.add(result);
+            job.skipped.incrementAndGet();
+            finish(job);
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        try {
+            Map<String, Object> session = debateSessionService.initializeSession(debate.topicId(), userId,
+                    debate.aiConfigs() != null ? debate.aiConfigs() : DEFAULT_AI_CONFIGS, "FAST");
+            Long sessionId = (Long) session.get("sessionId");
+            result.put("sessionId", sessionId);
+            debateSessionService.startSession(sessionId);
+            result.putAll(debateOrchestrationService.runHeadless(sessionId, job.language));
+            job.completed.incrementAndGet();
+        } catch (Exception e) {
+            log.error("Batch {} debate {} (topic {}) failed", job.id, index, debate.topicId(), e);
+            result.put("error", e.getMessage());
+            job.failed.incrementAndGet();
+        }
+        result.put("durationMs", (System.nanoTime() - startNanos) / 1_000_000);
+        job.results.add(result);
+        finish(job);
+    }
+
+    private void finish(Job job) {
+        if (job.finished() == job.total) {
+            job.endNanos = System.nanoTime();
+            Map<String, Object> summary = summary(job, false);
+            log.info("Batch {} finished: {} completed, {} failed, {} skipped, {} debates/hour",
+                    job.id, job.completed.get(), job.failed.get(), job.skipped.get(), summary.get("debatesPerHour"));
+        }
+    }
+
+    private int defaultConcurrency() {
+        if (defaultConcurrency > 0) {
+            return defaultConcurrency;
+        }
+        return llmBackendPool.getDebateParallelism(4);
+    }
+
+    private Map<String, Object> summary(Job job, boolean includeResults) {
+        long endNanos = job.endNanos != 0 ? job.endNanos : System.nanoTime();
+        double elapsedSeconds = (endNanos - job.startNanos) / 1e9;
+        int completed = job.completed.get();
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("jobId", job.id);
+        summary.put("status", job.endNanos != 0 ? (job.cancelled ? "CANCELLED" : "COMPLETED") : "RUNNING");
+        summary.put("submittedAt", job.submittedAt.toString());
+        summary.put("language", job.language);
+        summary.put("concurrency", job.concurrency);
+        summary.put("total", job.total);
+        summary.put("completed", completed);
+        summary.put("failed", job.failed.get());
+        summary.put("skipped", job.skipped.get());
+        summary.put("pending", job.total - job.finished());
+        summary.put("elapsedSeconds", Math.round(elapsedSeconds * 10) / 10.0);
+        summary.put("debatesPerHour", elapsedSeconds > 0 ? Math.round(completed * 3600 / elapsedSeconds * 10) / 10.0 : 0.0);
+        if (includeResults) {
+            synchronized (job.results) {
+                List<Map<String, Object>> results = new ArrayList<>(job.results);
+                results.sort(Comparator.comparingInt(result -> (Integer) result.get("index")));
+                summary.put("results", results);
+            }
+        }
+        return summary;
+    }
+}
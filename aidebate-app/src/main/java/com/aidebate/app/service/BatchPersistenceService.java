@@ -0,0 +1,83 @@
+package com.aidebate.app.service;
+
+import com.baomidou.mybatisplus.extension.toolkit.Db;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+/**
+ * Batch Persistence Service
+ * Writes collections of rows with JDBC batching; with rewriteBatchedStatements
+ * on the connection URL each batch becomes a single multi-row INSERT
+ *
+ * @author AI Debate Team
+ */
+@Slf4j
+@Service
+public class BatchPersistenceService {
+
+    /**
+     * Write everything a round produced in one transaction
+     *
+     * @param batch Pending rows; they leave the batch only once committed, so
+     *              after a failed flush the next flush writes them again
+     */
+    @Transactional
+    public void flush(DebateWriteBatch batch) {
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        DebateWriteBatch rows = batch.snapshot();
+        saveAll(rows.getModeratorMessages());
+        saveAll(rows.getRoundScoreRecords());
+        afterCommit(() -> batch.remove(rows));
+        rows.getAfterFlush().forEach(this::afterCommit);
+        log.debug("Flushed {} moderator messages and {} round scores in {}ms",
+                rows.getModeratorMessages().size(), rows.getRoundScoreRecords().size(),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Run an action once the current transaction commits, or right away outside one
+     */
+    public void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Insert rows as one JDBC batch; generated ids are set on the entities
+     */
+    @Transactional
+    public <T> void saveAll(Collection<T> entities) {
+        if (entities != null && !entities.isEmpty()) {
+            Db.saveBatch(entities);
+        }
+    }
+
+    /**
+     * Update rows by id as JDBC batches, all groups in one transaction;
+     * null fields are left unchanged
+     */
+    @Transactional
+    public void updateAll(Collection<?>... groups) {
+        for (Collection<?> entities : groups) {
+            if (entities != null && !entities.isEmpty()) {
+                Db.updateBatchById(entities);
+            }
+        }
+    }
+}
@@ -2,18 +2,30 @@ package com.aidebate.app.service;
 
 import com.aidebate.domain.model.SensitiveWord;
 import com.aidebate.infrastructure.mapper.SensitiveWordMapper;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Content Moderation Service
@@ -27,18 +39,34 @@ import java.util.concurrent.TimeUnit;
 public class ContentModerationService {
 
     private final SensitiveWordMapper sensitiveWordMapper;
-    
+    private final SensitiveWordChangeBus changeBus;
+
     /**
-     * Cache for sensitive words (1 hour TTL)
+     * Compiled dictionary with the version it was built from, swapped as a
+     * whole once a rebuild finishes; readers never lock or wait
      */
-    private final LoadingCache<String, List<SensitiveWord>> sensitiveWordCache = CacheBuilder.newBuilder()
-            .expireAfterWrite(1, TimeUnit.HOURS)
-            .build(new CacheLoader<String, List<SensitiveWord>>() {
-                @Override
-                public List<SensitiveWord> load(String key) {
-                    return sensitiveWordMapper.selectAllActive();
-                }
-            });
+    private volatile DictionarySnapshot snapshot;
+
+    // Single rebuild thread; requests arriving while one is queued coalesce into it
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sensitive-word-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private final AtomicBoolean rebuildForced = new AtomicBoolean();
+    private volatile boolean versionUnavailableLogged;
+
+    @Value("${moderation.stream.enabled:true}")
+    private boolean streamModerationEnabled;
+
+    @Value("${moderation.stream.mask-min-severity:HIGH}")
+    private SensitiveWord.Severity streamMaskMinSeverity;
+
+    @Value("${moderation.stream.cut-on-critical:true}")
+    private boolean streamCutOnCritical;
+
+    private final StreamStatistics streamStatistics = new StreamStatistics();
 
     /**
      * Validate content against sensitive word dictionary
@@ -52,33 +80,8 @@ public class ContentModerationService {
         }
 
         try {
-            List<SensitiveWord> sensitiveWords = sensitiveWordCache.get("active");
-            List<String> violations = new ArrayList<>();
-            SensitiveWord.Severity maxSeverity = null;
-
-            String lowerText = text.toLowerCase();
-
-            for (SensitiveWord word : sensitiveWords) {
-                if (word.isActive()) {
-                    String pattern = word.getWord().toLowerCase();
-                    
-                    // Simple pattern matching (case-insensitive)
-                    if (lowerText.contains(pattern)) {
-                        violations.add(word.getWord());
-                        
-                        if (maxSeverity == null || word.getSeverity().ordinal() > maxSeverity.ordinal()) {
-                            maxSeverity = word.getSeverity();
-                        }
-                    }
-                }
-            }
-
-            if (!violations.isEmpty()) {
-                return ValidationResult.invalid(violations, maxSeverity);
-            }
-
-            return ValidationResult.valid();
-
+            // Single pass over the text for the whole dictionary (case-insensitive)
+            return currentMatcher().validate(text);
         } catch (Exception e) {
             log.error("Error validating content", e);
             // On error, allow content but log the issue
@@ -87,13 +90,234 @@ public class ContentModerationService {
     }
 
     /**
-     * Invalidate the sensitive word cache
+     * Invalidate the sensitive word cache after a local change
+     * The automaton is rebuilt in the background once the surrounding transaction
+     * commits; validations keep using the previous snapshot until the swap.
+     * Other nodes are told through the change bus
      */
     public void invalidateCache() {
-        sensitiveWordCache.invalidateAll();
+        Runnable invalidate = () -> {
+            scheduleRebuild("local change", true);
+            changeBus.publish();
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate.run();
+                }
+            });
+        } else {
+            invalidate.run();
+        }
         log.info("Sensitive word cache invalidated");
     }
 
+    @PostConstruct
+    public void subscribeToRemoteChanges() {
+        changeBus.subscribe(() -> scheduleRebuild("remote change", false));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        scheduleRebuild("startup", false);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * Change detection for edits made on other nodes or directly in the database
+     */
+    @Scheduled(initialDelayString = "${moderation.sensitive-word.poll-interval-ms:30000}",
+            fixedDelayString = "${moderation.sensitive-word.poll-interval-ms:30000}")
+    public void pollDictionaryVersion() {
+        DictionarySnapshot current = snapshot;
+        Long version = readVersion();
+        if (current != null && version != null && version != current.version) {
+            scheduleRebuild("version " + current.version + " -> " + version, false);
+        }
+    }
+
+    /**
+     * Open an incremental moderation stream for one LLM response
+     * The stream keeps the dictionary snapshot it was opened with
+     *
+     * @return Stream, or null when streaming moderation is disabled
+     */
+    public ModerationStream openStream() {
+        if (!streamModerationEnabled) {
+            return null;
+        }
+        return new ModerationStream(currentMatcher(), streamMaskMinSeverity, streamCutOnCritical, streamStatistics);
+    }
+
+    /**
+     * Streaming moderation statistics (per-chunk latency, masks, cuts)
+     */
+    public Map<String, Object> getStreamStatistics() {
+        return streamStatistics.snapshot();
+    }
+
+    /**
+     * Dictionary snapshot currently in use
+     */
+    public Map<String, Object> getDictionaryStatus() {
+        DictionarySnapshot current = snapshot;
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("loaded", current != null);
+        if (current != null) {
+            status.put("version", current.version);
+            status.put("words", current.matcher.size());
+            status.put("states", current.matcher.stateCount());
+            status.put("builtAt", current.builtAt);
+        }
+        return status;
+    }
+
+    /**
+     * Get the compiled matcher; only the very first call before warm-up blocks on the database
+     */
+    SensitiveWordMatcher currentMatcher() {
+        DictionarySnapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot != null ? snapshot : rebuild(true);
+            }
+        }
+        return current.matcher;
+    }
+
+    /**
+     * Queue a rebuild unless one is already queued; a forced request forces
+     * the queued rebuild it is coalesced into
+     */
+    private void scheduleRebuild(String reason, boolean force) {
+        if (force) {
+            rebuildForced.set(true);
+        }
+        if (!rebuildQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuildExecutor.execute(() -> {
+                // Cleared before reading so a change during this rebuild queues another one
+                rebuildQueued.set(false);
+                boolean forced = rebuildForced.getAndSet(false);
+                try {
+                    log.debug("Rebuilding sensitive words ({})", reason);
+                    synchronized (this) {
+                        rebuild(forced);
+                    }
+                } catch (Exception e) {
+                    if (forced) {
+                        rebuildForced.set(true);
+                    }
+                    log.warn("Failed to rebuild sensitive words, keeping previous dictionary: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rebuildQueued.set(false);
+        }
+    }
+
+    /**
+     * Load and compile the dictionary unless the snapshot is already at the current version
+     * Must be called while holding the monitor
+     */
+    private DictionarySnapshot rebuild(boolean force) {
+        DictionarySnapshot current = snapshot;
+        // Read the version first: a change racing with the load leaves a newer version for the next poll
+        Long version = readVersion();
+        if (!force && current != null && version != null && version == current.version) {
+            return current;
+        }
+
+        long start = System.currentTimeMillis();
+        List<SensitiveWord> words = sensitiveWordMapper.selectAllActive();
+        SensitiveWordMatcher compiled = SensitiveWordMatcher.compile(words);
+        DictionarySnapshot built = new DictionarySnapshot(version != null ? version : -1L, compiled,
+                System.currentTimeMillis());
+        snapshot = built;
+        log.info("Compiled {} sensitive words (version {}) into {} states in {}ms",
+                compiled.size(), built.version, compiled.stateCount(), built.builtAt - start);
+        return built;
+    }
+
+    private Long readVersion() {
+        try {
+            return sensitiveWordMapper.selectDictionaryVersion();
+        } catch (Exception e) {
+            if (!versionUnavailableLogged) {
+                versionUnavailableLogged = true;
+                log.warn("Sensitive word version not available (apply migration_v4_dictionary_version.sql), "
+                        + "changes on other nodes will not be detected: {}", e.getMessage());
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Immutable compiled dictionary and the version it was built from
+     */
+    private static final class DictionarySnapshot {
+        private final long version;
+        private final SensitiveWordMatcher matcher;
+        private final long builtAt;
+
+        private DictionarySnapshot(long version, SensitiveWordMatcher matcher, long builtAt) {
+            this.version = version;
+            this.matcher = matcher;
+            this.builtAt = builtAt;
+        }
+    }
+
+    /**
+     * Counters shared by all moderation streams
+     */
+    static class StreamStatistics {
+        private final LongAdder chunks = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder masked = new LongAdder();
+        private final LongAdder cut = new LongAdder();
+
+        void recordChunk(long nanos) {
+            chunks.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        void recordMask() {
+            masked.increment();
+        }
+
+        void recordCut() {
+            cut.increment();
+        }
+
+        long getChunks() {
+            return chunks.sum();
+        }
+
+        long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        Map<String, Object> snapshot() {
+            long count = chunks.sum();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("chunks", count);
+            stats.put("avgChunkLatencyMicros", count > 0 ? totalNanos.sum() / count / 1000.0 : 0.0);
+            stats.put("maxChunkLatencyMicros", maxNanos.get() / 1000.0);
+            stats.put("maskedWords", masked.sum());
+            stats.put("cutStreams", cut.sum());
+            return stats;
+        }
+    }
+
     /**
      * Validation result
      */
@@ -0,0 +1,30 @@
+package com.aidebate.app.service;
+
+import jdk.jfr.*;
+
+/**
+ * DB Write Event
+ * JDK Flight Recorder event for one mapper insert, update or delete, or a
+ * flush of batched statements
+ *
+ * @author AI Debate Team
+ */
+@Name(DbWriteEvent.NAME)
+@Label("DB Write")
+@Category({"AI Debate", "Database"})
+@Description("Mapper write statement or batch flush")
+@StackTrace(false)
+public class DbWriteEvent extends Event {
+
+    public static final String NAME = "aidebate.DbWrite";
+
+    @Label("Statement")
+    String statement;
+
+    @Label("Command")
+    String command;
+
+    @Label("Rows")
+    @Description("Rows affected, -1 when deferred to a batch flush")
+    int rows;
+}
@@ -0,0 +1,410 @@
+package com.aidebate.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Debate Event Bus
+ * Delivers the events of a debate to every SSE subscriber of the session,
+ * on whichever node the debate runs and the subscriber is connected
+ *
+ * Each event gets a per-session sequence number (the SSE id) and is kept
+ * in a ring buffer of the last events. A subscriber that sees a gap, or
+ * reconnects with Last-Event-ID, gets the missing events replayed from the
+ * ring first. With debate.state.redis.enabled the sequence, ring and
+ * per-session channel are in Redis; otherwise delivery is node-local.
+ * Either way the sequence and ring outlive an error (a resumed run goes on
+ * numbering) and expire once the session has published nothing for the
+ * retention period; the in-memory ones also go when the debate completes
+ *
+ * Events published on this node are also recorded in the session's
+ * {@link DebateReplayLog} for replay once the debate is over
+ *
+ * @author AI Debate Team
+ */
+@Slf4j
+@Component
+public class DebateEventBus {
+
+    /**
+     * Events after which a debate stream ends
+     */
+    private static final Set<String> TERMINAL_EVENTS = Set.of("debate_complete", "error");
+    private static final String COMPLETE_EVENT = "debate_complete";
+
+    /**
+     * Assigns the sequence number, appends to the ring and publishes in one round trip
+     */
+    private static final DefaultRedisScript<Long> PUBLISH_EVENT = new DefaultRedisScript<>(
+            "local seq = redis.call('incr', KEYS[1]) "
+                    + "local message = seq .. '|' .. ARGV[2] "
+                    + "redis.call('rpush', KEYS[2], message) "
+                    + "redis.call('ltrim', KEYS[2], -tonumber(ARGV[3]), -1) "
+                    + "redis.call('pexpire', KEYS[1], ARGV[4]) "
+                    + "redis.call('pexpire', KEYS[2], ARGV[4]) "
+                    + "redis.call('publish', ARGV[1], message) "
+                    + "return seq",
+            Long.class);
+
+    /**
+     * Event as published: seq|origin|event|json
+     */
+    private record Event(long seq, String origin, String name, String json) {
+
+        static Event parse(String message) {
+            String[] parts = message.split("\\|", 4);
+            return new Event(Long.parseLong(parts[0]), parts[1], parts[2], parts[3]);
+        }
+
+        String format() {
+            return seq + "|" + origin + "|" + name + "|" + json;
+        }
+    }
+
+    /**
+     * SSE connection and the last sequence number sent to it, -1 before the first
+     */
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private long lastSeq;
+
+        private Subscriber(SseEmitter emitter, long lastSeq) {
+            this.emitter = emitter;
+            this.lastSeq = lastSeq;
+        }
+    }
+
+    /**
+     * Sequence and ring of a session when Redis is not used
+     */
+    private static final class LocalStream {
+        private final AtomicLong seq = new AtomicLong();
+        private final Deque<String> ring = new ArrayDeque<>();
+        private volatile long lastPublished;
+    }
+
+    private final ObjectMapper objectMapper;
+    private final DebateReplayLog debateReplayLog;
+    private final ObjectProvider<RedisConnectionFactory> connectionFactory;
+    private final boolean enabled;
+    private final String keyPrefix;
+    private final int ringSize;
+    private final long retentionMs;
+    private final String nodeId;
+
+    private final Map<Long, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Map<Long, MessageListener> channelListeners = new ConcurrentHashMap<>();
+    private final Map<Long, LocalStream> localStreams = new ConcurrentHashMap<>();
+
+    private StringRedisTemplate redisTemplate;
+    private RedisMessageListenerContainer container;
+
+    public DebateEventBus(ObjectMapper objectMapper,
+                          ObjectProvider<RedisConnectionFactory> connectionFactory,
+                          DebateStateStore debateStateStore,
+                          DebateReplayLog debateReplayLog,
+                          @Value("${debate.state.redis.enabled:false}") boolean enabled,
+                          @Value("${debate.state.redis.key-prefix:aidebate:debate:}") String keyPrefix,
+                          @Value("${debate.events.ring-size:1000}") int ringSize,
+                          @Value("${debate.state.ttl-hours:24}") long retentionHours) {
+        this.objectMapper = objectMapper;
+        this.debateReplayLog = debateReplayLog;
+        this.connectionFactory = connectionFactory;
+        this.enabled = enabled;
+        this.keyPrefix = keyPrefix;
+        this.ringSize = ringSize;
+        this.retentionMs = retentionHours * 3_600_000L;
+        this.nodeId = debateStateStore.getNodeId();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        RedisConnectionFactory factory = connectionFactory.getIfAvailable();
+        if (factory == null) {
+            log.warn("Debate event bus enabled but no Redis connection factory, delivering events locally");
+            return;
+        }
+        redisTemplate = new StringRedisTemplate(factory);
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        container.afterPropertiesSet();
+        container.start();
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        if (container != null) {
+            container.destroy();
+        }
+    }
+
+    /**
+     * Publish a debate event to all subscribers of the session
+     */
+    public void publish(Long sessionId, String eventName, Map<String, Object> data) {
+        SseSendEvent sendEvent = new SseSendEvent();
+        sendEvent.begin();
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(data);
+        } catch (Exception e) {
+            log.error("Failed to serialize event {} of session {}", eventName, sessionId, e);
+            return;
+        }
+
+        Event event;
+        if (redisTemplate != null) {
+            try {
+                Long seq = redisTemplate.execute(PUBLISH_EVENT,
+                        List.of(keyPrefix + sessionId + ":seq", ringKey(sessionId)),
+                        channel(sessionId), nodeId + "|" + eventName + "|" + json,
+                        String.valueOf(ringSize), String.valueOf(retentionMs));
+                event = new Event(seq, nodeId, eventName, json);
+            } catch (Exception e) {
+                // Local subscribers still get it, without a sequence number
+                log.warn("Failed to publish event {} of session {}: {}", eventName, sessionId, e.getMessage());
+                event = new Event(-1, nodeId, eventName, json);
+            }
+        } else {
+            LocalStream stream = localStreams.computeIfAbsent(sessionId, id -> new LocalStream());
+            stream.lastPublished = System.currentTimeMillis();
+            event = new Event(stream.seq.incrementAndGet(), nodeId, eventName, json);
+            synchronized (stream.ring) {
+                stream.ring.addLast(event.format());
+                if (stream.ring.size() > ringSize) {
+                    stream.ring.removeFirst();
+                }
+            }
+        }
+
+        deliver(sessionId, event);
+        debateReplayLog.record(sessionId, event.seq(), eventName, json);
+        if (redisTemplate == null && COMPLETE_EVENT.equals(eventName)) {
+            // Nothing follows a completed debate; an error may be followed by a resumed run
+            localStreams.remove(sessionId);
+        }
+
+        sendEvent.end();
+        if (sendEvent.shouldCommit()) {
+            List<Subscriber> list = subscribers.get(sessionId);
+            sendEvent.sessionId = sessionId;
+            sendEvent.eventName = eventName;
+            sendEvent.payloadBytes = json.getBytes(StandardCharsets.UTF_8).length;
+            sendEvent.sequence = event.seq();
+            sendEvent.subscribers = list == null ? 0 : list.size();
+            sendEvent.commit();
+        }
+    }
+
+    /**
+     * Subscribe an SSE connection to a session's events
+     *
+     * @param lastEventId last event the client has seen (Last-Event-ID), null to start with the next event
+     */
+    public void subscribe(Long sessionId, SseEmitter emitter, Long lastEventId) {
+        Subscriber subscriber = new Subscriber(emitter, lastEventId == null ? -1 : lastEventId);
+        // Added inside compute so a concurrent unsubscribe cannot drop the list in between
+        subscribers.compute(sessionId, (id, list) -> {
+            if (list == null) {
+                listen(id);
+                list = new CopyOnWriteArrayList<>();
+            }
+            list.add(subscriber);
+            return list;
+        });
+
+        if (lastEventId != null) {
+            synchronized (subscriber) {
+                replay(sessionId, subscriber, Long.MAX_VALUE);
+            }
+        }
+    }
+
+    /**
+     * Sequence number of the last event published for a session, 0 if none
+     */
+    public long getLastSeq(Long sessionId) {
+        try {
+            if (redisTemplate != null) {
+                String seq = redisTemplate.opsForValue().get(keyPrefix + sessionId + ":seq");
+                return seq == null ? 0 : Long.parseLong(seq);
+            }
+            LocalStream stream = localStreams.get(sessionId);
+            return stream == null ? 0 : stream.seq.get();
+        } catch (Exception e) {
+            log.warn("Failed to read event sequence of session {}: {}", sessionId, e.getMessage());
+            return 0;
+        }
+    }
+
+    public void unsubscribe(Long sessionId, SseEmitter emitter) {
+        subscribers.computeIfPresent(sessionId, (id, list) -> {
+            list.removeIf(subscriber -> subscriber.emitter == emitter);
+            if (list.isEmpty()) {
+                unlisten(id);
+                return null;
+            }
+            return list;
+        });
+    }
+
+    /**
+     * Drop the in-memory sequence and ring of sessions idle for the retention
+     * period (paused, abandoned or failed debates), like the Redis keys expire
+     */
+    @Scheduled(fixedDelayString = "${debate.events.sweep-ms:60000}")
+    public void expireLocalStreams() {
+        long cutoff = System.currentTimeMillis() - retentionMs;
+        localStreams.values().removeIf(stream -> stream.lastPublished < cutoff);
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("backend", redisTemplate != null ? "redis" : "memory");
+        stats.put("sessions", subscribers.size());
+        stats.put("subscribers", getSubscriberCount());
+        stats.put("ringSize", ringSize);
+        stats.put("replay", debateReplayLog.getStatistics());
+        return stats;
+    }
+
+    /**
+     * SSE connections subscribed on this node
+     */
+    public int getSubscriberCount() {
+        return subscribers.values().stream().mapToInt(List::size).sum();
+    }
+
+    private void deliver(Long sessionId, Event event) {
+        List<Subscriber> list = subscribers.get(sessionId);
+        if (list == null) {
+            return;
+        }
+        for (Subscriber subscriber : list) {
+            synchronized (subscriber) {
+                if (event.seq() > 0) {
+                    if (event.seq() <= subscriber.lastSeq) {
+                        continue;
+                    }
+                    if (subscriber.lastSeq >= 0 && event.seq() > subscriber.lastSeq + 1) {
+                        replay(sessionId, subscriber, event.seq());
+                    }
+                }
+                send(sessionId, subscriber, event);
+            }
+        }
+    }
+
+    /**
+     * Send the ring's events after the subscriber's last one and before {@code untilSeq}
+     */
+    private void replay(Long sessionId, Subscriber subscriber, long untilSeq) {
+        List<String> ring;
+        try {
+            ring = ring(sessionId);
+        } catch (Exception e) {
+            log.warn("Failed to read event ring of session {}: {}", sessionId, e.getMessage());
+            return;
+        }
+        if (!ring.isEmpty() && Event.parse(ring.get(0)).seq() > subscriber.lastSeq + 1) {
+            log.warn("Events {}-{} of session {} are no longer in the ring", subscriber.lastSeq + 1,
+                    Event.parse(ring.get(0)).seq() - 1, sessionId);
+        }
+        for (String message : ring) {
+            Event event = Event.parse(message);
+            if (event.seq() > subscriber.lastSeq && event.seq() < untilSeq) {
+                send(sessionId, subscriber, event);
+            }
+        }
+    }
+
+    private void send(Long sessionId, Subscriber subscriber, Event event) {
+        try {
+            SseEmitter.SseEventBuilder builder = SseEmitter.event().name(event.name())
+                    .data(event.json(), MediaType.APPLICATION_JSON);
+            if (event.seq() > 0) {
+                builder.id(String.valueOf(event.seq()));
+                subscriber.lastSeq = event.seq();
+            }
+            subscriber.emitter.send(builder);
+            if (TERMINAL_EVENTS.contains(event.name())) {
+                subscriber.emitter.complete();
+                unsubscribe(sessionId, subscriber.emitter);
+            }
+        } catch (Exception e) {
+            // Client went away
+            log.debug("Dropping subscriber of session {}: {}", sessionId, e.getMessage());
+            unsubscribe(sessionId, subscriber.emitter);
+        }
+    }
+
+    private List<String> ring(Long sessionId) {
+        if (redisTemplate != null) {
+            List<String> ring = redisTemplate.opsForList().range(ringKey(sessionId), 0, -1);
+            return ring == null ? List.of() : ring;
+        }
+        LocalStream stream = localStreams.get(sessionId);
+        if (stream == null) {
+            return List.of();
+        }
+        synchronized (stream.ring) {
+            return new ArrayList<>(stream.ring);
+        }
+    }
+
+    /**
+     * Listen on the session's channel while it has local subscribers;
+     * events published by this node are delivered directly instead
+     */
+    private void listen(Long sessionId) {
+        if (container == null) {
+            return;
+        }
+        MessageListener listener = (message, pattern) -> {
+            Event event = Event.parse(new String(message.getBody(), StandardCharsets.UTF_8));
+            if (!nodeId.equals(event.origin())) {
+                deliver(sessionId, event);
+            }
+        };
+        channelListeners.put(sessionId, listener);
+        container.addMessageListener(listener, new ChannelTopic(channel(sessionId)));
+    }
+
+    private void unlisten(Long sessionId) {
+        MessageListener listener = channelListeners.remove(sessionId);
+        if (listener != null) {
+            container.removeMessageListener(listener, new ChannelTopic(channel(sessionId)));
+        }
+    }
+
+    private String channel(Long sessionId) {
+        return keyPrefix + sessionId + ":channel";
+    }
+
+    private String ringKey(Long sessionId) {
+        return keyPrefix + sessionId + ":events";
+    }
+}
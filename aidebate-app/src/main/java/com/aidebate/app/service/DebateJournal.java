@@ -0,0 +1,667 @@
+package com.aidebate.app.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.extension.toolkit.Db;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Debate Journal
+ * Write-behind persistence for debate rows written on the streaming path:
+ * each write is appended to a local journal file and queued, and a background
+ * writer drains the queue to MySQL in batched transactions
+ *
+ * Ids stay database generated: the writer sets them on the caller's entity,
+ * so callers {@link #sync(long)} before they use the id or read the rows back.
+ * Journaled entities carry a journal key column that identifies the row
+ * instead.
+ *
+ * On startup, entries after the last checkpoint are replayed by the writer;
+ * replay is idempotent (rows whose journal key exists are skipped). Transient
+ * failures (connection loss, timeouts) are retried until the database is
+ * back. An entry the database rejects (constraint or data errors) is moved to
+ * a dead-letter file after max-attempts so it does not hold up every debate
+ * behind it; dead letters are replayed on startup and through
+ * {@link #replayDeadLetters()} once the cause is fixed
+ *
+ * @author AI Debate Team
+ */
+@Slf4j
+@Component
+public class DebateJournal {
+
+    private static final String JOURNAL_FILE = "debate.journal";
+    private static final String CHECKPOINT_FILE = "debate.checkpoint";
+    private static final String DEAD_LETTER_FILE = "debate.deadletter";
+    private static final String DEAD_LETTER_REPLAY_FILE = "debate.deadletter.replay";
+    private static final String ENTITY_PACKAGE = "com.aidebate.domain.model.";
+    private static final String JOURNAL_KEY = "journalKey";
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Path directory;
+    private final boolean fsync;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long syncTimeoutMillis;
+    private final long maxFileBytes;
+    private final int maxAttempts;
+
+    private final LinkedBlockingQueue<Entry> queue;
+    // Entries of a previous run and dead letters, written by the writer before anything queued
+    private final Queue<Entry> recovered = new ConcurrentLinkedQueue<>();
+    // Guards the dead-letter files
+    private final Object deadLetterLock = new Object();
+
+    // Guards the journal file and sequence numbers
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private FileChannel journal;
+    private volatile long appendedSeq;
+
+    // Writer progress
+    private final ReentrantLock writtenLock = new ReentrantLock();
+    private final Condition writtenAdvanced = writtenLock.newCondition();
+    private volatile long writtenSeq;
+    private volatile boolean running;
+    private Thread writer;
+
+    // Statistics
+    private volatile long batches;
+    private volatile long rowsWritten;
+    private volatile long failures;
+    private volatile long replayed;
+    private volatile long deadLettered;
+    private volatile String lastError;
+
+    public DebateJournal(ObjectMapper objectMapper,
+                         TransactionTemplate transactionTemplate,
+                         @Value("${debate.journal.enabled:true}") boolean enabled,
+                         @Value("${debate.journal.dir:./data/journal}") String directory,
+                         @Value("${debate.journal.fsync:false}") boolean fsync,
+                         @Value("${debate.journal.batch-size:200}") int batchSize,
+                         @Value("${debate.journal.flush-interval-ms:50}") long flushIntervalMillis,
+                         @Value("${debate.journal.sync-timeout-ms:30000}") long syncTimeoutMillis,
+                         @Value("${debate.journal.max-pending:10000}") int maxPending,
+                         @Value("${debate.journal.max-file-mb:16}") int maxFileMb,
+                         @Value("${debate.journal.max-attempts:10}") int maxAttempts) {
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.fsync = fsync;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.syncTimeoutMillis = syncTimeoutMillis;
+        this.maxFileBytes = maxFileMb * 1024L * 1024L;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.queue = new LinkedBlockingQueue<>(maxPending);
+    }
+
+    /**
+     * A journaled write
+     */
+    private static final class Entry {
+        private final long seq;
+        private final Object entity;
+        private final boolean recovered;
+        private int attempts;
+
+        private Entry(long seq, Object entity, boolean recovered) {
+            this.seq = seq;
+            this.entity = entity;
+            this.recovered = recovered;
+        }
+    }
+
+    /**
+     * Open the journal and load entries that were not written before the last shutdown
+     * The writer replays them once the application is ready
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(directory);
+        long checkpoint = readCheckpoint();
+        long maxSeq = checkpoint;
+
+        Path file = directory.resolve(JOURNAL_FILE);
+        byte[] content = Files.exists(file) ? Files.readAllBytes(file) : new byte[0];
+        if (content.length > 0) {
+            for (String line : new String(content, StandardCharsets.UTF_8).split("\n")) {
+                Entry entry = parse(line);
+                if (entry == null) {
+                    continue;
+                }
+                maxSeq = Math.max(maxSeq, entry.seq);
+                if (entry.seq > checkpoint) {
+                    recovered.add(entry);
+                }
+            }
+        }
+
+        journal = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        if (content.length > 0 && content[content.length - 1] != '\n') {
+            // Close off a line cut short by a crash so the next append starts on its own line
+            journal.write(ByteBuffer.wrap(new byte[]{'\n'}));
+        }
+        appendedSeq = maxSeq;
+        writtenSeq = checkpoint;
+        if (!recovered.isEmpty()) {
+            log.warn("Debate journal has {} unwritten entries after seq {}, replaying on startup",
+                    recovered.size(), checkpoint);
+        }
+        loadDeadLetters();
+    }
+
+    /**
+     * Write the dead-lettered entries again, e.g. after fixing what the
+     * database rejected; rows already written are skipped, and entries that
+     * still fail are dead-lettered again
+     *
+     * @return Number of entries queued for replay
+     */
+    public int replayDeadLetters() {
+        if (!enabled) {
+            return 0;
+        }
+        synchronized (deadLetterLock) {
+            if (Files.exists(directory.resolve(DEAD_LETTER_REPLAY_FILE))) {
+                throw new IllegalStateException("A dead-letter replay is already in progress");
+            }
+            try {
+                return loadDeadLetters();
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to replay debate journal dead letters", e);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        // Entries appended meanwhile are all newer and queue up behind the recovered ones
+        running = true;
+        writer = new Thread(this::drainLoop, "debate-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Debate journal started at {} (seq {})", directory.toAbsolutePath(), writtenSeq);
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        if (!running) {
+            return;
+        }
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        journal.close();
+    }
+
+    /**
+     * Insert an entity behind the caller's back; its generated id is set once
+     * the row is written. An entity whose journal key is already in the
+     * database, e.g. an argument written by the run a debate was taken over
+     * from, is not written again and gets the existing row's id
+     *
+     * @return Sequence number to {@link #sync(long)} on
+     */
+    public long insert(Object entity) {
+        TableInfo tableInfo = tableInfo(entity);
+        if (tableInfo.getPropertyValue(entity, JOURNAL_KEY) == null) {
+            tableInfo.setPropertyValue(entity, JOURNAL_KEY, UUID.randomUUID().toString());
+        }
+        return append(entity);
+    }
+
+    /**
+     * Wait until every entry up to {@code seq} is in the database (or dead-lettered)
+     *
+     * @throws RuntimeException after the sync timeout, so the caller's step fails
+     *                          instead of going on without the rows
+     */
+    public void sync(long seq) {
+        if (!enabled || writtenSeq >= seq) {
+            return;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(syncTimeoutMillis);
+        writtenLock.lock();
+        try {
+            while (writtenSeq < seq) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new RuntimeException("Timed out waiting for debate journal seq " + seq
+                            + " (written " + writtenSeq + "): " + lastError);
+                }
+                writtenAdvanced.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for debate journal seq " + seq, e);
+        } finally {
+            writtenLock.unlock();
+        }
+    }
+
+    /**
+     * Journal state and writer statistics
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("appendedSeq", appendedSeq);
+        stats.put("writtenSeq", writtenSeq);
+        stats.put("pending", queue.size() + recovered.size());
+        stats.put("batches", batches);
+        stats.put("rowsWritten", rowsWritten);
+        stats.put("avgBatchSize", batches > 0 ? (double) rowsWritten / batches : 0.0);
+        stats.put("failures", failures);
+        stats.put("replayedOnStartup", replayed);
+        stats.put("deadLettered", deadLettered);
+        stats.put("lastError", lastError);
+        return stats;
+    }
+
+    private long append(Object entity) {
+        if (!enabled) {
+            // Write-through
+            Entry entry = new Entry(0, entity, false);
+            try {
+                writeBatch(List.of(entry));
+            } catch (RuntimeException e) {
+                if (!isRejected(e) || !adoptExisting(entry)) {
+                    throw e;
+                }
+            }
+            return 0;
+        }
+
+        Entry entry;
+        appendLock.lock();
+        try {
+            entry = new Entry(appendedSeq + 1, entity, false);
+            byte[] line = serialize(entry);
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                journal.write(buffer);
+            }
+            if (fsync) {
+                journal.force(false);
+            }
+            appendedSeq = entry.seq;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to append to debate journal", e);
+        } finally {
+            appendLock.unlock();
+        }
+
+        try {
+            // Blocks only when the writer is far behind (bounded queue)
+            queue.put(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while queueing debate journal entry", e);
+        }
+        return entry.seq;
+    }
+
+    private void drainLoop() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        long backoff = flushIntervalMillis;
+        while (running || !queue.isEmpty() || !recovered.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    if (!recovered.isEmpty()) {
+                        while (batch.size() < batchSize && !recovered.isEmpty()) {
+                            batch.add(recovered.poll());
+                        }
+                    } else {
+                        Entry first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                        if (first == null) {
+                            continue;
+                        }
+                        batch.add(first);
+                        queue.drainTo(batch, batchSize - 1);
+                    }
+                }
+
+                write(batch);
+                backoff = flushIntervalMillis;
+            } catch (InterruptedException e) {
+                if (!running && queue.isEmpty() && batch.isEmpty()) {
+                    break;
+                }
+            } catch (Exception e) {
+                // Keep the rest of the batch and retry; the journal still holds it if we crash meanwhile
+                failures++;
+                lastError = e.getMessage();
+                log.warn("Debate journal write failed ({} entries), retrying in {}ms: {}",
+                        batch.size(), backoff, e.getMessage());
+                if (!running) {
+                    break;
+                }
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ignored) {
+                    // Shutting down; loop condition decides
+                }
+                backoff = Math.min(backoff * 2, 5000);
+            }
+        }
+    }
+
+    /**
+     * Write a batch and advance past it, emptying it
+     * When the batch fails its entries are written one at a time, so a bad
+     * entry only holds up itself until it is dead-lettered; a transient
+     * failure leaves the entry and the checkpoint where they are
+     */
+    private void write(List<Entry> batch) {
+        long lastSeq = batch.get(batch.size() - 1).seq;
+        int recoveredCount = (int) batch.stream().filter(entry -> entry.recovered).count();
+        if (recoveredCount > 0) {
+            // Rows of a previous run that made it to the database
+            batch.removeIf(entry -> entry.recovered && adoptExisting(entry));
+        }
+        if (batch.size() > 1) {
+            try {
+                writeBatch(batch);
+                completed(batch, lastSeq, recoveredCount);
+                return;
+            } catch (Exception e) {
+                log.warn("Debate journal batch of {} entries failed, writing them one at a time: {}",
+                        batch.size(), e.getMessage());
+            }
+        }
+        while (!batch.isEmpty()) {
+            Entry entry = batch.get(0);
+            try {
+                writeBatch(List.of(entry));
+                batches++;
+                rowsWritten++;
+            } catch (RuntimeException e) {
+                if (isRejected(e) && adoptExisting(entry)) {
+                    // Written under the same key by another run
+                    log.info("Debate journal entry {} was already written, skipping it", entry.seq);
+                } else if (!isRejected(e) || ++entry.attempts < maxAttempts) {
+                    throw e;
+                } else {
+                    deadLetter(entry, e);
+                }
+            }
+            batch.remove(0);
+            if (!batch.isEmpty()) {
+                advance(entry.seq);
+            }
+        }
+        replayed += recoveredCount;
+        advance(lastSeq);
+        recoveredWritten();
+    }
+
+    private void completed(List<Entry> batch, long lastSeq, int recoveredCount) {
+        batches++;
+        rowsWritten += batch.size();
+        replayed += recoveredCount;
+        batch.clear();
+        advance(lastSeq);
+        recoveredWritten();
+    }
+
+    /**
+     * Whether the database rejected the rows themselves, so retrying cannot help
+     */
+    private static boolean isRejected(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataIntegrityViolationException
+                    || cause instanceof SQLIntegrityConstraintViolationException
+                    || cause instanceof SQLDataException) {
+                return true;
+            }
+            if (cause instanceof SQLException sql && sql.getNextException() != null
+                    && isRejected(sql.getNextException())) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Drop the dead letters being replayed once all of them are written or dead-lettered again
+     */
+    private void recoveredWritten() {
+        synchronized (deadLetterLock) {
+            if (!recovered.isEmpty()) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(directory.resolve(DEAD_LETTER_REPLAY_FILE));
+            } catch (IOException e) {
+                log.warn("Failed to delete replayed debate journal dead letters: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Write inserts in one transaction, batched per table; generated ids are set on the entities
+     */
+    private void writeBatch(List<Entry> entries) {
+        Map<Class<?>, List<Object>> inserts = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            inserts.computeIfAbsent(entry.entity.getClass(), k -> new ArrayList<>()).add(entry.entity);
+        }
+        transactionTemplate.executeWithoutResult(status -> inserts.values().forEach(Db::saveBatch));
+    }
+
+    /**
+     * Whether a row with the entry's journal key is already in the database;
+     * if so its id is set on the entity, as if the entry had been written
+     */
+    @SuppressWarnings("unchecked")
+    private boolean adoptExisting(Entry entry) {
+        TableInfo tableInfo = tableInfo(entry.entity);
+        Object key = tableInfo.getPropertyValue(entry.entity, JOURNAL_KEY);
+        if (key == null) {
+            return false;
+        }
+        QueryWrapper<Object> query = new QueryWrapper<>();
+        query.setEntityClass((Class<Object>) entry.entity.getClass());
+        query.eq(journalKeyColumn(tableInfo), key);
+        Object existing = Db.getOne(query, false);
+        if (existing == null) {
+            return false;
+        }
+        tableInfo.setPropertyValue(entry.entity, tableInfo.getKeyProperty(),
+                tableInfo.getPropertyValue(existing, tableInfo.getKeyProperty()));
+        return true;
+    }
+
+    /**
+     * Set an entry that keeps failing aside, so the entries behind it get written
+     */
+    private void deadLetter(Entry entry, Exception e) {
+        deadLettered++;
+        log.error("Debate journal entry {} failed {} times, moving it to {}: {}",
+                entry.seq, entry.attempts, DEAD_LETTER_FILE, e.getMessage());
+        synchronized (deadLetterLock) {
+            try {
+                Files.write(directory.resolve(DEAD_LETTER_FILE), serialize(entry),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            } catch (IOException io) {
+                log.error("Failed to dead-letter debate journal entry {}: {}", entry.seq, io.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Queue the dead letters (and those of a replay cut short) for the writer
+     * The dead-letter file is set aside until they are all written
+     */
+    private int loadDeadLetters() throws IOException {
+        synchronized (deadLetterLock) {
+            Path deadLetters = directory.resolve(DEAD_LETTER_FILE);
+            Path replay = directory.resolve(DEAD_LETTER_REPLAY_FILE);
+            if (Files.exists(deadLetters)) {
+                Files.write(replay, Files.readAllBytes(deadLetters),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                Files.delete(deadLetters);
+            }
+            if (!Files.exists(replay)) {
+                return 0;
+            }
+            int count = 0;
+            for (String line : Files.readString(replay).split("\n")) {
+                Entry entry = parse(line);
+                if (entry != null) {
+                    recovered.add(entry);
+                    count++;
+                }
+            }
+            log.warn("Replaying {} dead-lettered debate journal entries", count);
+            return count;
+        }
+    }
+
+    private void advance(long seq) {
+        writtenLock.lock();
+        try {
+            // Replayed dead letters are older than the checkpoint
+            if (seq <= writtenSeq) {
+                return;
+            }
+            writtenSeq = seq;
+            writtenAdvanced.signalAll();
+        } finally {
+            writtenLock.unlock();
+        }
+        writeCheckpoint(seq);
+        truncateIfDrained();
+    }
+
+    private void writeCheckpoint(long seq) {
+        try {
+            Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+            Files.writeString(temp, Long.toString(seq));
+            Files.move(temp, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Only costs an idempotent replay after a crash
+            log.warn("Failed to write debate journal checkpoint: {}", e.getMessage());
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(Files.readString(file).trim());
+        } catch (NumberFormatException e) {
+            log.warn("Corrupt debate journal checkpoint, replaying the whole journal");
+            return 0;
+        }
+    }
+
+    /**
+     * Start a fresh journal file once everything in it is in the database
+     */
+    private void truncateIfDrained() {
+        appendLock.lock();
+        try {
+            if (appendedSeq == writtenSeq && journal.size() > maxFileBytes) {
+                journal.truncate(0);
+                log.debug("Debate journal truncated at seq {}", writtenSeq);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to truncate debate journal: {}", e.getMessage());
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private byte[] serialize(Entry entry) throws IOException {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("seq", entry.seq);
+        node.put("type", entry.entity.getClass().getName());
+        node.set("data", objectMapper.valueToTree(entry.entity));
+        return (objectMapper.writeValueAsString(node) + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Entry parse(String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            String type = node.get("type").asText();
+            if (!type.startsWith(ENTITY_PACKAGE)) {
+                log.warn("Skipping debate journal entry with unexpected type {}", type);
+                return null;
+            }
+            Object entity = objectMapper.treeToValue(node.get("data"), Class.forName(type));
+            return new Entry(node.get("seq").asLong(), entity, true);
+        } catch (Exception e) {
+            // A torn last line from a crash mid-append
+            log.warn("Skipping unreadable debate journal entry: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static TableInfo tableInfo(Object entity) {
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(entity.getClass());
+        if (tableInfo == null || journalKeyColumn(tableInfo) == null) {
+            throw new IllegalArgumentException("Not a journaled entity: " + entity.getClass().getName());
+        }
+        return tableInfo;
+    }
+
+    private static String journalKeyColumn(TableInfo tableInfo) {
+        return tableInfo.getFieldList().stream()
+                .filter(field -> JOURNAL_KEY.equals(field.getProperty()))
+                .map(TableFieldInfo::getColumn)
+                .findFirst()
+                .orElse(null);
+    }
+}
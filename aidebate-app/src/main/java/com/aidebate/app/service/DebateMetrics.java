@@ -0,0 +1,196 @@
+package com.aidebate.app.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Debate Metrics
+ * Micrometer meters for where a debate's wall-clock time goes: orchestrator
+ * stages, LLM calls and TTS synthesis, plus gauges for running debates and
+ * connected SSE subscribers
+ *
+ * Timers and summaries publish percentile histograms, exported through
+ * /actuator/prometheus. Stages and LLM calls are also recorded as spans of
+ * the debate's trace
+ *
+ * @author AI Debate Team
+ */
+@Component
+public class DebateMetrics {
+
+    /**
+     * Running stage, timed for both the stage timer and the debate trace
+     */
+    public final class Stage {
+        private final Timer.Sample sample;
+        private final DebateTracer.Span span;
+        private final String stage;
+        private final String side;
+
+        private Stage(String stage, String side) {
+            this.sample = Timer.start(registry);
+            this.span = debateTracer.start("stage " + stage).tag("side", side);
+            this.stage = stage;
+            this.side = side;
+        }
+
+        public void stop() {
+            span.end();
+            sample.stop(Timer.builder("debate.stage")
+                    .description("Orchestrator stage duration")
+                    .tag("stage", stage)
+                    .tag("side", side == null ? "none" : side)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final DebateTracer debateTracer;
+    private final LlmBackendPool llmBackendPool;
+    private final AtomicInteger activeDebates = new AtomicInteger();
+
+    public DebateMetrics(MeterRegistry registry, DebateEventBus debateEventBus, TtsScheduler ttsScheduler,
+                         DebateTracer debateTracer, LlmBackendPool llmBackendPool) {
+        this.registry = registry;
+        this.debateTracer = debateTracer;
+        this.llmBackendPool = llmBackendPool;
+
+        Gauge.builder("debate.active", activeDebates, AtomicInteger::get)
+                .description("Debates run by this node")
+                .register(registry);
+        Gauge.builder("debate.emitters", debateEventBus, DebateEventBus::getSubscriberCount)
+                .description("SSE subscribers connected to this node")
+                .register(registry);
+        Gauge.builder("tts.sessions.running", ttsScheduler, TtsScheduler::getRunning).register(registry);
+        Gauge.builder("tts.sessions.queued", ttsScheduler, TtsScheduler::getQueued).register(registry);
+    }
+
+    // ========== Debate ==========
+
+    public void debateStarted() {
+        activeDebates.incrementAndGet();
+    }
+
+    public void debateEnded() {
+        activeDebates.decrementAndGet();
+    }
+
+    /**
+     * Start a stage: opening, speaker, summary, evaluation, scoring or judging
+     *
+     * @param side AFFIRMATIVE or NEGATIVE for per-speaker stages, null otherwise
+     */
+    public Stage startStage(String stage, String side) {
+        return new Stage(stage, side);
+    }
+
+    // ========== LLM ==========
+
+    /**
+     * Time from request to first streamed chunk
+     *
+     * @param model model of the backend that served the call
+     */
+    public void recordFirstToken(String operation, String model, long nanos) {
+        Timer.builder("llm.first_token")
+                .tag("operation", operation)
+                .tag("model", model)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Total latency of an LLM call; streamed calls also record their token rate
+     *
+     * @param model  model of the backend that served the call (the last attempt's after retries)
+     * @param tokens streamed chunks, one token each; 0 for blocking calls
+     */
+    public void recordLlmCall(String operation, String model, long nanos, int tokens, boolean success) {
+        Timer.builder("llm.latency")
+                .tag("operation", operation)
+                .tag("model", model)
+                .tag("outcome", success ? "success" : "error")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        if (tokens > 0 && nanos > 0) {
+            DistributionSummary.builder("llm.tokens_per_second")
+                    .tag("operation", operation)
+                    .tag("model", model)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(tokens * 1e9 / nanos);
+        }
+        debateTracer.record("llm " + operation, nanos)
+                .tag("model", model)
+                .tag("outcome", success ? "success" : "error")
+                .tag("tokens", tokens > 0 ? tokens : null);
+    }
+
+    public void countLlmRetry(String operation, String model) {
+        Counter.builder("llm.retries")
+                .tag("operation", operation)
+                .tag("model", model)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * A canned response was returned instead of model output
+     * Tagged with the primary backend's model, no call having produced one
+     */
+    public void countLlmFallback(String operation) {
+        Counter.builder("llm.fallbacks")
+                .tag("operation", operation)
+                .tag("model", llmBackendPool.getDefaultModel())
+                .register(registry)
+                .increment();
+    }
+
+    // ========== TTS ==========
+
+    /**
+     * Time a TTS request waited in the scheduler queue for its slot
+     */
+    public void recordTtsQueueWait(TtsScheduler.Priority priority, long nanos) {
+        Timer.builder("tts.queue_wait")
+                .tag("priority", priority.name())
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Time from request to first audio delta
+     *
+     * @param mode buffered (complete WAV) or stream
+     */
+    public void recordFirstAudio(String mode, long nanos) {
+        Timer.builder("tts.first_audio")
+                .tag("mode", mode)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * PCM bytes synthesized for one request
+     */
+    public void recordAudioBytes(String mode, long bytes) {
+        DistributionSummary.builder("tts.audio_bytes")
+                .tag("mode", mode)
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(bytes);
+    }
+}
@@ -10,6 +10,7 @@ import com.aidebate.infrastructure.mapper.DebateTopicMapper;
 import com.aidebate.infrastructure.mapper.RoleMapper;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
@@ -18,6 +19,8 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Debate Orchestration Service
@@ -36,6 +39,17 @@ public class DebateOrchestrationService {
     private final AlibabaAIService alibabaAIService;
     private final ModeratorService moderatorService;
     private final ScoringService scoringService;
+    private final BatchPersistenceService batchPersistenceService;
+    private final DebateJournal debateJournal;
+    private final DebateStateStore debateStateStore;
+    private final DebateEventBus debateEventBus;
+    private final DebateMetrics debateMetrics;
+    private final DebateTracer debateTracer;
+
+    /**
+     * Sessions run by {@link #runHeadless}, whose events are not published
+     */
+    private final Set<Long> headlessSessions = ConcurrentHashMap.newKeySet();
 
     public DebateOrchestrationService(
             DebateSessionMapper debateSessionMapper,
@@ -44,7 +58,13 @@ public class DebateOrchestrationService {
             ArgumentMapper argumentMapper,
             AlibabaAIService alibabaAIService,
             ModeratorService moderatorService,
-            ScoringService scoringService) {
+            ScoringService scoringService,
+            BatchPersistenceService batchPersistenceService,
+            DebateJournal debateJournal,
+            DebateStateStore debateStateStore,
+            DebateEventBus debateEventBus,
+            DebateMetrics debateMetrics,
+            DebateTracer debateTracer) {
         this.debateSessionMapper = debateSessionMapper;
         this.topicMapper = topicMapper;
         this.roleMapper = roleMapper;
@@ -52,27 +72,97 @@ public class DebateOrchestrationService {
         this.alibabaAIService = alibabaAIService;
         this.moderatorService = moderatorService;
         this.scoringService = scoringService;
+        this.batchPersistenceService = batchPersistenceService;
+        this.debateJournal = debateJournal;
+        this.debateStateStore = debateStateStore;
+        this.debateEventBus = debateEventBus;
+        this.debateMetrics = debateMetrics;
+        this.debateTracer = debateTracer;
     }
 
     /**
      * Stream automated debate flow
+     * The emitter is subscribed to the session's events, starting with those
+     * still retained after {@code lastEventId}; if the debate is already
+     * running, here or on another node, it only watches
+     *
+     * @param lastEventId last event the viewer has seen, null if none
      */
-    public void streamAutomatedDebate(Long sessionId, String language, SseEmitter emitter) {
+    public void streamAutomatedDebate(Long sessionId, String language, SseEmitter emitter, Long lastEventId) {
         log.info("Starting automated debate streaming for session: {}", sessionId);
 
-        try {
-            DebateSession session = debateSessionMapper.selectById(sessionId);
-            if (session == null) {
-                sendError(emitter, "Session not found");
-                return;
+        DebateSession session = debateSessionMapper.selectById(sessionId);
+        if (session == null) {
+            sendError(emitter, "Session not found");
+            return;
+        }
+
+        // Only one run per debate across all nodes; taken before subscribing
+        // so the viewer gets everything the run publishes
+        String leaseToken = debateStateStore.acquireLease(sessionId);
+        debateEventBus.subscribe(sessionId, emitter, lastEventId == null ? 0L : lastEventId);
+        if (leaseToken == null) {
+            log.info("Session {} is running on node {}, watching", sessionId, debateStateStore.getLeaseOwner(sessionId));
+            return;
+        }
+        runWithLease(sessionId, language, session, leaseToken);
+    }
+
+    /**
+     * Take over debates whose node died mid-run, watched or not
+     */
+    @Scheduled(fixedDelayString = "${debate.state.sweep-ms:15000}")
+    public void takeOverExpiredRuns() {
+        for (Long sessionId : debateStateStore.findExpiredRuns()) {
+            try {
+                DebateSession session = debateSessionMapper.selectById(sessionId);
+                if (session == null || session.isCompleted() || session.isPaused()) {
+                    continue;
+                }
+                String leaseToken = debateStateStore.acquireLease(sessionId);
+                if (leaseToken == null) {
+                    continue;
+                }
+                String language = debateStateStore.getLanguage(sessionId);
+                log.info("Lease of session {} expired mid-run, taking it over", sessionId);
+                Thread runner = new Thread(() -> runWithLease(sessionId, language, session, leaseToken),
+                        "debate-takeover-" + sessionId);
+                runner.setDaemon(true);
+                runner.start();
+            } catch (Exception e) {
+                log.warn("Failed to take over session {}: {}", sessionId, e.getMessage());
             }
+        }
+    }
+
+    /**
+     * Run a debate, from where it was left if it was started before, and
+     * release the lease when done
+     */
+    private void runWithLease(Long sessionId, String language, DebateSession session, String leaseToken) {
+        DebateTracer.Scope trace = null;
+        try {
+            debateMetrics.debateStarted();
+            trace = debateTracer.begin(sessionId);
+            debateStateStore.recordLanguage(sessionId, language);
 
             // Check if paused
             if (session.isPaused()) {
                 log.info("Session {} is paused, resuming from position: {}", sessionId, session.getCurrentPosition());
-                resumeFromPosition(sessionId, language, emitter, session.getCurrentPosition());
+                resumeFromPosition(sessionId, language, session.getCurrentPosition());
+                return;
+            }
+
+            // Take over a run that stopped without pausing, e.g. on a node that went down
+            String lastPosition = debateStateStore.getPosition(sessionId);
+            if (lastPosition != null && !session.isCompleted()) {
+                long afterSeq = debateStateStore.getEventSeq(sessionId);
+                log.info("Session {} was left at position {} after event {}, taking over", sessionId, lastPosition, afterSeq);
+                sendEvent(sessionId, "debate_resumed", Map.of("position", lastPosition, "afterSeq", afterSeq));
+                resumeFromPosition(sessionId, language, lastPosition);
                 return;
             }
+            debateStateStore.setPaused(sessionId, false, null);
 
             // Get topic
             DebateTopic topic = topicMapper.selectById(session.getTopicId());
@@ -81,42 +171,102 @@ public class DebateOrchestrationService {
             long delayMs = getDelayForSpeed(session.getAutoPlaySpeed());
 
             // Opening sequence
-            generateOpeningSequence(sessionId, topic, language, emitter);
-            Thread.sleep(delayMs);
+            generateOpeningSequence(sessionId, topic, language);
+            delay(delayMs);
 
             // 5 rounds of debate
             for (int round = 1; round <= 5; round++) {
-                if (checkPaused(sessionId)) {
+                if (checkPaused(sessionId, "round_" + round)) {
                     session.pause("round_" + round);
                     debateSessionMapper.updateById(session);
-                    sendEvent(emitter, "debate_paused", Map.of("round", round, "position", "round_" + round));
+                    sendEvent(sessionId, "debate_paused", Map.of("round", round, "position", "round_" + round));
                     return;
                 }
 
-                generateRound(sessionId, round, language, emitter, delayMs);
+                if (!generateRound(sessionId, round, language, delayMs)) {
+                    return;
+                }
             }
 
             // Final judging
-            generateJudgingSequence(sessionId, language, emitter);
+            generateJudgingSequence(sessionId, language);
 
             // Complete
-            sendEvent(emitter, "debate_complete", Map.of("sessionId", sessionId, "timestamp", LocalDateTime.now().toString()));
-            emitter.complete();
+            sendEvent(sessionId, "debate_complete", Map.of("sessionId", sessionId, "timestamp", LocalDateTime.now().toString()));
 
         } catch (Exception e) {
             log.error("Error in automated debate streaming", e);
-            sendError(emitter, "Debate streaming failed: " + e.getMessage());
+            publishError(sessionId, "Debate streaming failed: " + e.getMessage());
+        } finally {
+            if (trace != null) {
+                trace.close();
+            }
+            debateMetrics.debateEnded();
+            // Whoever runs it next rebuilds the running scores from the database
+            scoringService.releaseSession(sessionId);
+            debateStateStore.releaseLease(sessionId, leaseToken);
+        }
+    }
+
+    /**
+     * Run a whole debate on the calling thread with no pacing delays and no
+     * SSE events, for batch generation. Arguments, moderator messages and
+     * scores are written as in a streamed debate
+     *
+     * @return winner and final scores
+     */
+    public Map<String, Object> runHeadless(Long sessionId, String language) {
+        DebateSession session = debateSessionMapper.selectById(sessionId);
+        if (session == null) {
+            throw new RuntimeException("Session not found: " + sessionId);
+        }
+        String leaseToken = debateStateStore.acquireLease(sessionId);
+        if (leaseToken == null) {
+            throw new RuntimeException("Session " + sessionId + " is already running");
+        }
+        headlessSessions.add(sessionId);
+        debateMetrics.debateStarted();
+        DebateTracer.Scope trace = debateTracer.begin(sessionId);
+        try {
+            DebateTopic topic = topicMapper.selectById(session.getTopicId());
+            generateOpeningSequence(sessionId, topic, language);
+            for (int round = 1; round <= 5; round++) {
+                if (!generateRound(sessionId, round, language, 0)) {
+                    // Judging now would complete the debate with arguments missing
+                    throw new RuntimeException("Debate " + sessionId + " stopped in round " + round
+                            + " (paused or taken over)");
+                }
+            }
+            generateJudgingSequence(sessionId, language);
+
+            DebateSession completed = debateSessionMapper.selectById(sessionId);
+            Map<String, Object> result = new HashMap<>();
+            result.put("sessionId", sessionId);
+            result.put("winner", completed.getWinner() == null ? null : completed.getWinner().name());
+            result.put("affirmativeScore", completed.getFinalScoreAffirmative());
+            result.put("negativeScore", completed.getFinalScoreNegative());
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Debate " + sessionId + " interrupted", e);
+        } finally {
+            trace.close();
+            debateMetrics.debateEnded();
+            headlessSessions.remove(sessionId);
+            scoringService.releaseSession(sessionId);
+            debateStateStore.releaseLease(sessionId, leaseToken);
         }
     }
 
     /**
      * Generate opening sequence
      */
-    private void generateOpeningSequence(Long sessionId, DebateTopic topic, String language, SseEmitter emitter) {
+    private void generateOpeningSequence(Long sessionId, DebateTopic topic, String language) {
         log.info("Generating opening sequence for session: {}", sessionId);
+        DebateMetrics.Stage stage = debateMetrics.startStage("opening", null);
 
         // Debate start event
-        sendEvent(emitter, "debate_start", Map.of(
+        sendEvent(sessionId, "debate_start", Map.of(
                 "sessionId", sessionId,
                 "topic", topic.getTitle(),
                 "timestamp", LocalDateTime.now().toString()
@@ -124,7 +274,7 @@ public class DebateOrchestrationService {
 
         // Organizer rules announcement (streamed)
         moderatorService.generateOrganizerRulesStream(sessionId, language, (chunk, isComplete) -> {
-            sendEvent(emitter, "organizer_rules", Map.of(
+            sendEvent(sessionId, "organizer_rules", Map.of(
                     "chunk", chunk,
                     "complete", isComplete,
                     "timestamp", LocalDateTime.now().toString()
@@ -133,22 +283,39 @@ public class DebateOrchestrationService {
 
         // Moderator introduction (streamed)
         moderatorService.generateDebateIntroductionStream(sessionId, topic.getTitle(), language, (chunk, isComplete) -> {
-            sendEvent(emitter, "moderator_introduction", Map.of(
+            sendEvent(sessionId, "moderator_introduction", Map.of(
                     "chunk", chunk,
                     "complete", isComplete,
                     "timestamp", LocalDateTime.now().toString()
             ));
         });
+
+        stage.stop();
     }
 
     /**
      * Generate single round
+     * Moderator messages and round scores are collected and written in one
+     * flush, also when the round stops early on pause or error
+     *
+     * @return false if the round stopped at a pause (or a lost lease); the
+     *         debate must not go on past it
      */
-    private void generateRound(Long sessionId, int roundNumber, String language, SseEmitter emitter, long delayMs) throws InterruptedException {
+    private boolean generateRound(Long sessionId, int roundNumber, String language, long delayMs) throws InterruptedException {
+        DebateWriteBatch batch = new DebateWriteBatch();
+        try {
+            return playRound(sessionId, roundNumber, language, delayMs, batch);
+        } finally {
+            flushQuietly(batch);
+        }
+    }
+
+    private boolean playRound(Long sessionId, int roundNumber, String language, long delayMs,
+                           DebateWriteBatch batch) throws InterruptedException {
         log.info("Generating round {} for session: {}", roundNumber, sessionId);
 
         // Round start
-        sendEvent(emitter, "round_start", Map.of("round", roundNumber, "timestamp", LocalDateTime.now().toString()));
+        sendEvent(sessionId, "round_start", Map.of("round", roundNumber, "timestamp", LocalDateTime.now().toString()));
 
         DebateSession session = debateSessionMapper.selectById(sessionId);
         DebateTopic topic = topicMapper.selectById(session.getTopicId());
@@ -164,16 +331,18 @@ public class DebateOrchestrationService {
         List<Argument> history = getSessionArguments(sessionId);
 
         // Check pause before affirmative argument
-        if (checkPaused(sessionId)) {
-            session.pause(String.format("round_%d_affirmative_before", roundNumber));
+        String affirmativeBeforePosition = String.format("round_%d_affirmative_before", roundNumber);
+        if (checkPaused(sessionId, affirmativeBeforePosition)) {
+            session.pause(affirmativeBeforePosition);
             debateSessionMapper.updateById(session);
-            sendEvent(emitter, "debate_paused", Map.of("round", roundNumber, "position", "affirmative_before", "speaker", "AFFIRMATIVE"));
-            return;
+            sendEvent(sessionId, "debate_paused", Map.of("round", roundNumber, "position", "affirmative_before", "speaker", "AFFIRMATIVE"));
+            return false;
         }
 
         // ===== AFFIRMATIVE ARGUMENT =====
         StringBuilder affirmativeArg = new StringBuilder();
         
+        DebateMetrics.Stage affirmativeSpeech = debateMetrics.startStage("speaker", "AFFIRMATIVE");
         alibabaAIService.generateDebateArgumentStream(
                 sessionId,
                 roundNumber,
@@ -184,7 +353,7 @@ public class DebateOrchestrationService {
                 "",
                 (chunk, isComplete) -> {
                     affirmativeArg.append(chunk);
-                    sendEvent(emitter, "ai_argument", Map.of(
+                    sendEvent(sessionId, "ai_argument", Map.of(
                             "side", "AFFIRMATIVE",
                             "chunk", isComplete ? affirmativeArg.toString() : chunk,
                             "complete", isComplete,
@@ -193,10 +362,12 @@ public class DebateOrchestrationService {
                     ));
                 }
         );
+        affirmativeSpeech.stop();
 
         // Store affirmative argument
         Argument affirmativeArgument = Argument.builder()
                 .sessionId(sessionId)
+                .journalKey(journalKey(sessionId, roundNumber, "affirmative"))
                 .roleId(affirmativeRole.getRoleId())
                 .roundNumber(roundNumber)
                 .argumentText(affirmativeArg.toString())
@@ -205,25 +376,30 @@ public class DebateOrchestrationService {
                 .isPreview(false)
                 .submittedAt(LocalDateTime.now())
                 .build();
-        argumentMapper.insert(affirmativeArgument);
+        // Written behind the stream during the pause; the moderator needs its generated id
+        long affirmativeSeq = debateJournal.insert(affirmativeArgument);
 
-        Thread.sleep(delayMs / 2);
+        delay(delayMs / 2);
+        awaitWritten(affirmativeSeq, affirmativeArgument);
 
         // Check pause before affirmative moderator feedback
-        if (checkPaused(sessionId)) {
-            session.pause(String.format("round_%d_affirmative_after", roundNumber));
+        String affirmativeAfterPosition = String.format("round_%d_affirmative_after", roundNumber);
+        if (checkPaused(sessionId, affirmativeAfterPosition)) {
+            session.pause(affirmativeAfterPosition);
             debateSessionMapper.updateById(session);
-            sendEvent(emitter, "debate_paused", Map.of("round", roundNumber, "position", "affirmative_after", "speaker", "MODERATOR"));
-            return;
+            sendEvent(sessionId, "debate_paused", Map.of("round", roundNumber, "position", "affirmative_after", "speaker", "MODERATOR"));
+            return false;
         }
 
         // Moderator summary for affirmative
+        DebateMetrics.Stage affirmativeSummary = debateMetrics.startStage("summary", "AFFIRMATIVE");
         moderatorService.generateArgumentSummaryStream(
-                affirmativeArgument.getArgumentId(),
+                affirmativeArgument,
                 sessionId,
                 language,
+                batch,
                 (chunk, isComplete) -> {
-                    sendEvent(emitter, "moderator_summary", Map.of(
+                    sendEvent(sessionId, "moderator_summary", Map.of(
                             "side", "AFFIRMATIVE",
                             "chunk", chunk,
                             "complete", isComplete,
@@ -232,14 +408,18 @@ public class DebateOrchestrationService {
                     ));
                 }
         );
+        affirmativeSummary.stop();
 
         // Moderator evaluation for affirmative
+        // Evaluation reads the argument history back from the database
+        DebateMetrics.Stage affirmativeEvaluation = debateMetrics.startStage("evaluation", "AFFIRMATIVE");
         moderatorService.generateArgumentEvaluationStream(
-                affirmativeArgument.getArgumentId(),
+                affirmativeArgument,
                 sessionId,
                 language,
+                batch,
                 (chunk, isComplete) -> {
-                    sendEvent(emitter, "moderator_evaluation", Map.of(
+                    sendEvent(sessionId, "moderator_evaluation", Map.of(
                             "side", "AFFIRMATIVE",
                             "chunk", chunk,
                             "complete", isComplete,
@@ -248,15 +428,17 @@ public class DebateOrchestrationService {
                     ));
                 }
         );
+        affirmativeEvaluation.stop();
 
-        Thread.sleep(delayMs);
+        delay(delayMs);
 
         // Check pause before negative argument
-        if (checkPaused(sessionId)) {
-            session.pause(String.format("round_%d_negative_before", roundNumber));
+        String negativeBeforePosition = String.format("round_%d_negative_before", roundNumber);
+        if (checkPaused(sessionId, negativeBeforePosition)) {
+            session.pause(negativeBeforePosition);
             debateSessionMapper.updateById(session);
-            sendEvent(emitter, "debate_paused", Map.of("round", roundNumber, "position", "negative_before", "speaker", "NEGATIVE"));
-            return;
+            sendEvent(sessionId, "debate_paused", Map.of("round", roundNumber, "position", "negative_before", "speaker", "NEGATIVE"));
+            return false;
         }
 
         // ===== NEGATIVE ARGUMENT =====
@@ -265,6 +447,7 @@ public class DebateOrchestrationService {
         
         StringBuilder negativeArg = new StringBuilder();
         
+        DebateMetrics.Stage negativeSpeech = debateMetrics.startStage("speaker", "NEGATIVE");
         alibabaAIService.generateDebateArgumentStream(
                 sessionId,
                 roundNumber,
@@ -275,7 +458,7 @@ public class DebateOrchestrationService {
                 "",
                 (chunk, isComplete) -> {
                     negativeArg.append(chunk);
-                    sendEvent(emitter, "ai_argument", Map.of(
+                    sendEvent(sessionId, "ai_argument", Map.of(
                             "side", "NEGATIVE",
                             "chunk", isComplete ? negativeArg.toString() : chunk,
                             "complete", isComplete,
@@ -284,10 +467,12 @@ public class DebateOrchestrationService {
                     ));
                 }
         );
+        negativeSpeech.stop();
 
         // Store negative argument
         Argument negativeArgument = Argument.builder()
                 .sessionId(sessionId)
+                .journalKey(journalKey(sessionId, roundNumber, "negative"))
                 .roleId(negativeRole.getRoleId())
                 .roundNumber(roundNumber)
                 .argumentText(negativeArg.toString())
@@ -296,25 +481,29 @@ public class DebateOrchestrationService {
                 .isPreview(false)
                 .submittedAt(LocalDateTime.now())
                 .build();
-        argumentMapper.insert(negativeArgument);
+        long negativeSeq = debateJournal.insert(negativeArgument);
 
-        Thread.sleep(delayMs / 2);
+        delay(delayMs / 2);
+        awaitWritten(negativeSeq, negativeArgument);
 
         // Check pause before negative moderator feedback
-        if (checkPaused(sessionId)) {
-            session.pause(String.format("round_%d_negative_after", roundNumber));
+        String negativeAfterPosition = String.format("round_%d_negative_after", roundNumber);
+        if (checkPaused(sessionId, negativeAfterPosition)) {
+            session.pause(negativeAfterPosition);
             debateSessionMapper.updateById(session);
-            sendEvent(emitter, "debate_paused", Map.of("round", roundNumber, "position", "negative_after", "speaker", "MODERATOR"));
-            return;
+            sendEvent(sessionId, "debate_paused", Map.of("round", roundNumber, "position", "negative_after", "speaker", "MODERATOR"));
+            return false;
         }
 
         // Moderator summary for negative
+        DebateMetrics.Stage negativeSummary = debateMetrics.startStage("summary", "NEGATIVE");
         moderatorService.generateArgumentSummaryStream(
-                negativeArgument.getArgumentId(),
+                negativeArgument,
                 sessionId,
                 language,
+                batch,
                 (chunk, isComplete) -> {
-                    sendEvent(emitter, "moderator_summary", Map.of(
+                    sendEvent(sessionId, "moderator_summary", Map.of(
                             "side", "NEGATIVE",
                             "chunk", chunk,
                             "complete", isComplete,
@@ -323,14 +512,18 @@ public class DebateOrchestrationService {
                     ));
                 }
         );
+        negativeSummary.stop();
 
         // Moderator evaluation for negative
+        // Evaluation reads the argument history back from the database
+        DebateMetrics.Stage negativeEvaluation = debateMetrics.startStage("evaluation", "NEGATIVE");
         moderatorService.generateArgumentEvaluationStream(
-                negativeArgument.getArgumentId(),
+                negativeArgument,
                 sessionId,
                 language,
+                batch,
                 (chunk, isComplete) -> {
-                    sendEvent(emitter, "moderator_evaluation", Map.of(
+                    sendEvent(sessionId, "moderator_evaluation", Map.of(
                             "side", "NEGATIVE",
                             "chunk", chunk,
                             "complete", isComplete,
@@ -339,13 +532,19 @@ public class DebateOrchestrationService {
                     ));
                 }
         );
+        negativeEvaluation.stop();
 
         // ========== PER-ROUND SCORING (v3) ==========
         // Score the round (both sides evaluated by all judges)
-        Map<String, BigDecimal> roundScores = scoringService.scoreRound(sessionId, roundNumber, language);
+        DebateMetrics.Stage scoring = debateMetrics.startStage("scoring", null);
+        Map<String, BigDecimal> roundScores = scoringService.scoreRound(sessionId, roundNumber, language, batch);
+
+        // Write the round before cumulative scores read it back
+        batchPersistenceService.flush(batch);
+        scoring.stop();
         
         // Send round scores
-        sendEvent(emitter, "round_scores_update", Map.of(
+        sendEvent(sessionId, "round_scores_update", Map.of(
             "round", roundNumber,
             "affirmativeScore", roundScores.get("affirmativeScore"),
             "negativeScore", roundScores.get("negativeScore"),
@@ -354,7 +553,8 @@ public class DebateOrchestrationService {
         
         // Get and send cumulative scores
         Map<String, BigDecimal> cumulativeScores = scoringService.getCumulativeScores(sessionId);
-        sendEvent(emitter, "cumulative_scores_update", Map.of(
+        debateStateStore.recordScores(sessionId, cumulativeScores.get("affirmativeTotal"), cumulativeScores.get("negativeTotal"));
+        sendEvent(sessionId, "cumulative_scores_update", Map.of(
             "affirmativeTotal", cumulativeScores.get("affirmativeTotal"),
             "negativeTotal", cumulativeScores.get("negativeTotal"),
             "maxPossible", cumulativeScores.get("maxPossible"),
@@ -362,18 +562,20 @@ public class DebateOrchestrationService {
         ));
 
         // Round complete
-        sendEvent(emitter, "round_complete", Map.of("round", roundNumber, "timestamp", LocalDateTime.now().toString()));
+        sendEvent(sessionId, "round_complete", Map.of("round", roundNumber, "timestamp", LocalDateTime.now().toString()));
 
-        Thread.sleep(delayMs);
+        delay(delayMs);
+        return true;
     }
 
     /**
      * Generate final judging sequence
      */
-    private void generateJudgingSequence(Long sessionId, String language, SseEmitter emitter) {
+    private void generateJudgingSequence(Long sessionId, String language) {
         log.info("Generating judging sequence for session: {}", sessionId);
+        DebateMetrics.Stage stage = debateMetrics.startStage("judging", null);
 
-        sendEvent(emitter, "judging_start", Map.of("timestamp", LocalDateTime.now().toString()));
+        sendEvent(sessionId, "judging_start", Map.of("timestamp", LocalDateTime.now().toString()));
 
         // Get final scores
         Map<String, Object> finalScores = getCurrentScores(sessionId);
@@ -398,7 +600,7 @@ public class DebateOrchestrationService {
                     judgeNum,
                     language,
                     (chunk, isComplete) -> {
-                        sendEvent(emitter, "judge_feedback", Map.of(
+                        sendEvent(sessionId, "judge_feedback", Map.of(
                                 "judgeNumber", judgeNum,
                                 "chunk", chunk,
                                 "complete", isComplete,
@@ -409,7 +611,7 @@ public class DebateOrchestrationService {
         }
 
         // Send final scores
-        sendEvent(emitter, "final_scores", finalScores);
+        sendEvent(sessionId, "final_scores", finalScores);
 
         // Winner announcement
         moderatorService.generateWinnerAnnouncementStream(
@@ -417,7 +619,7 @@ public class DebateOrchestrationService {
                 winner.name(),
                 language,
                 (chunk, isComplete) -> {
-                    sendEvent(emitter, "winner_announcement", Map.of(
+                    sendEvent(sessionId, "winner_announcement", Map.of(
                             "winner", winner.name(),
                             "chunk", chunk,
                             "complete", isComplete,
@@ -430,17 +632,21 @@ public class DebateOrchestrationService {
         DebateSession session = debateSessionMapper.selectById(sessionId);
         session.complete(affirmativeScore, negativeScore, winner);
         debateSessionMapper.updateById(session);
+        scoringService.releaseSession(sessionId);
+        debateStateStore.clear(sessionId);
+        stage.stop();
     }
 
     /**
      * Resume from paused position
      */
-    private void resumeFromPosition(Long sessionId, String language, SseEmitter emitter, String position) {
+    private void resumeFromPosition(Long sessionId, String language, String position) {
         log.info("Resuming session {} from position: {}", sessionId, position);
 
         DebateSession session = debateSessionMapper.selectById(sessionId);
         session.resume();
         debateSessionMapper.updateById(session);
+        debateStateStore.setPaused(sessionId, false, position);
 
         // Parse position and continue
         if (position != null && position.startsWith("round_")) {
@@ -455,7 +661,9 @@ public class DebateOrchestrationService {
                 if (parts.length == 2) {
                     // Old format: round_{n} - resume from that round
                     for (int r = round; r <= 5; r++) {
-                        generateRound(sessionId, r, language, emitter, delayMs);
+                        if (!generateRound(sessionId, r, language, delayMs)) {
+                            return;
+                        }
                     }
                 } else if (parts.length == 4) {
                     // New format: round_{n}_{side}_{timing}
@@ -463,20 +671,21 @@ public class DebateOrchestrationService {
                     String timing = parts[3]; // "before" or "after"
                     
                     // Resume from specific position within the round
-                    resumeFromRoundPosition(sessionId, round, side, timing, language, emitter, delayMs);
+                    resumeFromRoundPosition(sessionId, round, side, timing, language, delayMs);
                     
                     // Continue with remaining rounds
                     for (int r = round + 1; r <= 5; r++) {
-                        generateRound(sessionId, r, language, emitter, delayMs);
+                        if (!generateRound(sessionId, r, language, delayMs)) {
+                            return;
+                        }
                     }
                 }
                 
-                generateJudgingSequence(sessionId, language, emitter);
-                sendEvent(emitter, "debate_complete", Map.of("sessionId", sessionId));
-                emitter.complete();
+                generateJudgingSequence(sessionId, language);
+                sendEvent(sessionId, "debate_complete", Map.of("sessionId", sessionId));
             } catch (Exception e) {
                 log.error("Error resuming debate", e);
-                sendError(emitter, "Resume failed: " + e.getMessage());
+                publishError(sessionId, "Resume failed: " + e.getMessage());
             }
         }
     }
@@ -485,7 +694,17 @@ public class DebateOrchestrationService {
      * Resume from specific position within a round
      */
     private void resumeFromRoundPosition(Long sessionId, int roundNumber, String side, String timing, 
-                                         String language, SseEmitter emitter, long delayMs) throws InterruptedException {
+                                         String language, long delayMs) throws InterruptedException {
+        DebateWriteBatch batch = new DebateWriteBatch();
+        try {
+            resumeRound(sessionId, roundNumber, side, timing, language, delayMs, batch);
+        } finally {
+            flushQuietly(batch);
+        }
+    }
+
+    private void resumeRound(Long sessionId, int roundNumber, String side, String timing, String language,
+                             long delayMs, DebateWriteBatch batch) throws InterruptedException {
         log.info("Resuming round {} from {} {}", roundNumber, side, timing);
         
         DebateSession session = debateSessionMapper.selectById(sessionId);
@@ -526,7 +745,7 @@ public class DebateOrchestrationService {
                     history, aiConfigs.get("affirmative"), "",
                     (chunk, isComplete) -> {
                         affirmativeArg.append(chunk);
-                        sendEvent(emitter, "ai_argument", Map.of(
+                        sendEvent(sessionId, "ai_argument", Map.of(
                                 "side", "AFFIRMATIVE",
                                 "chunk", isComplete ? affirmativeArg.toString() : chunk,
                                 "complete", isComplete,
@@ -538,49 +757,51 @@ public class DebateOrchestrationService {
             
             Argument affirmativeArgument = Argument.builder()
                     .sessionId(sessionId).roleId(affirmativeRole.getRoleId())
+                    .journalKey(journalKey(sessionId, roundNumber, "affirmative"))
                     .roundNumber(roundNumber).argumentText(affirmativeArg.toString())
                     .characterCount(affirmativeArg.length())
                     .validationStatus(Argument.ValidationStatus.APPROVED)
                     .isPreview(false).submittedAt(LocalDateTime.now()).build();
-            argumentMapper.insert(affirmativeArgument);
-            Thread.sleep(delayMs / 2);
+            long affirmativeSeq = debateJournal.insert(affirmativeArgument);
+            delay(delayMs / 2);
+            awaitWritten(affirmativeSeq, affirmativeArgument);
             
             if (!skipAffirmativeModeratorFeedback) {
                 moderatorService.generateArgumentSummaryStream(
-                        affirmativeArgument.getArgumentId(), sessionId, language,
-                        (chunk, isComplete) -> sendEvent(emitter, "moderator_summary", Map.of(
+                        affirmativeArgument, sessionId, language, batch,
+                        (chunk, isComplete) -> sendEvent(sessionId, "moderator_summary", Map.of(
                                 "side", "AFFIRMATIVE", "chunk", chunk, "complete", isComplete,
                                 "round", roundNumber, "timestamp", LocalDateTime.now().toString()
                         ))
                 );
                 moderatorService.generateArgumentEvaluationStream(
-                        affirmativeArgument.getArgumentId(), sessionId, language,
-                        (chunk, isComplete) -> sendEvent(emitter, "moderator_evaluation", Map.of(
+                        affirmativeArgument, sessionId, language, batch,
+                        (chunk, isComplete) -> sendEvent(sessionId, "moderator_evaluation", Map.of(
                                 "side", "AFFIRMATIVE", "chunk", chunk, "complete", isComplete,
                                 "round", roundNumber, "timestamp", LocalDateTime.now().toString()
                         ))
                 );
-                Thread.sleep(delayMs);
+                delay(delayMs);
             }
         } else if (!skipAffirmativeModeratorFeedback) {
             // Affirmative argument exists, generate moderator feedback only
             Argument affirmativeArgument = getLastArgumentForRoundAndSide(sessionId, roundNumber, "AFFIRMATIVE");
             if (affirmativeArgument != null) {
                 moderatorService.generateArgumentSummaryStream(
-                        affirmativeArgument.getArgumentId(), sessionId, language,
-                        (chunk, isComplete) -> sendEvent(emitter, "moderator_summary", Map.of(
+                        affirmativeArgument, sessionId, language, batch,
+                        (chunk, isComplete) -> sendEvent(sessionId, "moderator_summary", Map.of(
                                 "side", "AFFIRMATIVE", "chunk", chunk, "complete", isComplete,
                                 "round", roundNumber, "timestamp", LocalDateTime.now().toString()
                         ))
                 );
                 moderatorService.generateArgumentEvaluationStream(
-                        affirmativeArgument.getArgumentId(), sessionId, language,
-                        (chunk, isComplete) -> sendEvent(emitter, "moderator_evaluation", Map.of(
+                        affirmativeArgument, sessionId, language, batch,
+                        (chunk, isComplete) -> sendEvent(sessionId, "moderator_evaluation", Map.of(
                                 "side", "AFFIRMATIVE", "chunk", chunk, "complete", isComplete,
                                 "round", roundNumber, "timestamp", LocalDateTime.now().toString()
                         ))
                 );
-                Thread.sleep(delayMs);
+                delay(delayMs);
             }
         }
         
@@ -594,7 +815,7 @@ public class DebateOrchestrationService {
                     history, aiConfigs.get("negative"), "",
                     (chunk, isComplete) -> {
                         negativeArg.append(chunk);
-                        sendEvent(emitter, "ai_argument", Map.of(
+                        sendEvent(sessionId, "ai_argument", Map.of(
                                 "side", "NEGATIVE",
                                 "chunk", isComplete ? negativeArg.toString() : chunk,
                                 "complete", isComplete,
@@ -606,23 +827,25 @@ public class DebateOrchestrationService {
             
             Argument negativeArgument = Argument.builder()
                     .sessionId(sessionId).roleId(negativeRole.getRoleId())
+                    .journalKey(journalKey(sessionId, roundNumber, "negative"))
                     .roundNumber(roundNumber).argumentText(negativeArg.toString())
                     .characterCount(negativeArg.length())
                     .validationStatus(Argument.ValidationStatus.APPROVED)
                     .isPreview(false).submittedAt(LocalDateTime.now()).build();
-            argumentMapper.insert(negativeArgument);
-            Thread.sleep(delayMs / 2);
+            long negativeSeq = debateJournal.insert(negativeArgument);
+            delay(delayMs / 2);
+            awaitWritten(negativeSeq, negativeArgument);
             
             moderatorService.generateArgumentSummaryStream(
-                    negativeArgument.getArgumentId(), sessionId, language,
-                    (chunk, isComplete) -> sendEvent(emitter, "moderator_summary", Map.of(
+                    negativeArgument, sessionId, language, batch,
+                    (chunk, isComplete) -> sendEvent(sessionId, "moderator_summary", Map.of(
                             "side", "NEGATIVE", "chunk", chunk, "complete", isComplete,
                             "round", roundNumber, "timestamp", LocalDateTime.now().toString()
                     ))
             );
             moderatorService.generateArgumentEvaluationStream(
-                    negativeArgument.getArgumentId(), sessionId, language,
-                    (chunk, isComplete) -> sendEvent(emitter, "moderator_evaluation", Map.of(
+                    negativeArgument, sessionId, language, batch,
+                    (chunk, isComplete) -> sendEvent(sessionId, "moderator_evaluation", Map.of(
                             "side", "NEGATIVE", "chunk", chunk, "complete", isComplete,
                             "round", roundNumber, "timestamp", LocalDateTime.now().toString()
                     ))
@@ -639,15 +862,15 @@ public class DebateOrchestrationService {
             Argument negativeArgument = getLastArgumentForRoundAndSide(sessionId, roundNumber, "NEGATIVE");
             if (negativeArgument != null) {
                 moderatorService.generateArgumentSummaryStream(
-                        negativeArgument.getArgumentId(), sessionId, language,
-                        (chunk, isComplete) -> sendEvent(emitter, "moderator_summary", Map.of(
+                        negativeArgument, sessionId, language, batch,
+                        (chunk, isComplete) -> sendEvent(sessionId, "moderator_summary", Map.of(
                                 "side", "NEGATIVE", "chunk", chunk, "complete", isComplete,
                                 "round", roundNumber, "timestamp", LocalDateTime.now().toString()
                         ))
                 );
                 moderatorService.generateArgumentEvaluationStream(
-                        negativeArgument.getArgumentId(), sessionId, language,
-                        (chunk, isComplete) -> sendEvent(emitter, "moderator_evaluation", Map.of(
+                        negativeArgument, sessionId, language, batch,
+                        (chunk, isComplete) -> sendEvent(sessionId, "moderator_evaluation", Map.of(
                                 "side", "NEGATIVE", "chunk", chunk, "complete", isComplete,
                                 "round", roundNumber, "timestamp", LocalDateTime.now().toString()
                         ))
@@ -656,10 +879,11 @@ public class DebateOrchestrationService {
         }
         
         // Send scores update
+        batchPersistenceService.flush(batch);
         Map<String, Object> scores = getCurrentScores(sessionId);
-        sendEvent(emitter, "scores_update", scores);
-        sendEvent(emitter, "round_complete", Map.of("round", roundNumber, "timestamp", LocalDateTime.now().toString()));
-        Thread.sleep(delayMs);
+        sendEvent(sessionId, "scores_update", scores);
+        sendEvent(sessionId, "round_complete", Map.of("round", roundNumber, "timestamp", LocalDateTime.now().toString()));
+        delay(delayMs);
     }
 
     /**
@@ -704,6 +928,8 @@ public class DebateOrchestrationService {
 
         session.complete(affirmativeScore, negativeScore, winner);
         debateSessionMapper.updateById(session);
+        scoringService.releaseSession(sessionId);
+        debateStateStore.clear(sessionId);
 
         return Map.of(
                 "status", "COMPLETED",
@@ -725,6 +951,8 @@ public class DebateOrchestrationService {
         
         session.pause(currentPosition);
         debateSessionMapper.updateById(session);
+        // Seen by the run at its next checkpoint, on whichever node it is
+        debateStateStore.setPaused(sessionId, true, null);
 
         return Map.of(
                 "status", "PAUSED",
@@ -751,6 +979,7 @@ public class DebateOrchestrationService {
         // Just update the session state
         session.resume();
         debateSessionMapper.updateById(session);
+        debateStateStore.setPaused(sessionId, false, null);
 
         return Map.of(
                 "status", "RESUMED",
@@ -760,6 +989,40 @@ public class DebateOrchestrationService {
 
     // ========== Helper Methods ==========
 
+    /**
+     * Wait for a journaled argument to be written; the steps after it need its id
+     */
+    private void awaitWritten(long seq, Argument argument) {
+        debateJournal.sync(seq);
+        if (argument.getArgumentId() == null) {
+            throw new RuntimeException("Argument of session " + argument.getSessionId() + " round "
+                    + argument.getRoundNumber() + " was not written");
+        }
+    }
+
+    /**
+     * Pacing delay between steps, shown in the debate trace
+     */
+    private void delay(long delayMs) throws InterruptedException {
+        if (delayMs <= 0) {
+            return;
+        }
+        try (DebateTracer.Span span = debateTracer.start("delay")) {
+            span.tag("delayMs", delayMs);
+            Thread.sleep(delayMs);
+        }
+    }
+
+    private void flushQuietly(DebateWriteBatch batch) {
+        int pending = batch.size();
+        try {
+            // The round's arguments were synced before anything referenced them
+            batchPersistenceService.flush(batch);
+        } catch (Exception e) {
+            log.error("Failed to persist {} pending round rows", pending, e);
+        }
+    }
+
     private int getCurrentRound(Long sessionId) {
         List<Argument> arguments = getSessionArguments(sessionId);
         if (arguments.isEmpty()) {
@@ -783,11 +1046,27 @@ public class DebateOrchestrationService {
         };
     }
 
-    private boolean checkPaused(Long sessionId) {
+    /**
+     * Record the position reached and check for a pause; the pause flag is
+     * read from the state store and from the session only when not known there
+     */
+    private boolean checkPaused(Long sessionId, String position) {
+        Boolean paused = debateStateStore.checkpoint(sessionId, position, debateEventBus.getLastSeq(sessionId));
+        if (paused != null) {
+            return paused;
+        }
         DebateSession session = debateSessionMapper.selectById(sessionId);
         return session.isPaused();
     }
 
+    /**
+     * Journal key of a debater's argument in a round, the same for every run
+     * of the debate, so a run that takes it over cannot write it twice
+     */
+    private static String journalKey(Long sessionId, int roundNumber, String side) {
+        return sessionId + ":" + roundNumber + ":" + side;
+    }
+
     private Role getRole(Long sessionId, String roleType) {
         QueryWrapper<Role> wrapper = new QueryWrapper<>();
         wrapper.eq("session_id", sessionId);
@@ -845,12 +1124,15 @@ public class DebateOrchestrationService {
         }
     }
 
-    private void sendEvent(SseEmitter emitter, String eventName, Map<String, Object> data) {
-        try {
-            emitter.send(SseEmitter.event().name(eventName).data(data));
-        } catch (Exception e) {
-            log.error("Error sending SSE event: {}", eventName, e);
+    private void sendEvent(Long sessionId, String eventName, Map<String, Object> data) {
+        if (headlessSessions.contains(sessionId)) {
+            return;
         }
+        debateEventBus.publish(sessionId, eventName, data);
+    }
+
+    private void publishError(Long sessionId, String message) {
+        debateEventBus.publish(sessionId, "error", Map.of("message", message));
     }
 
     private void sendError(SseEmitter emitter, String message) {
@@ -0,0 +1,496 @@
+package com.aidebate.app.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Debate Replay Log
+ * Records every event a debate publishes, with its time, in an append-only
+ * file per session, so a finished debate can be watched again as a stream
+ * without the LLM or the database
+ *
+ * Records hold the event already rendered as an SSE frame (id, event,
+ * data), so replaying copies each frame out of the memory-mapped file
+ * without rendering it again.
+ * File: magic, version, start time (epoch ms); each record: body length,
+ * frame length, milliseconds since start, sequence number, body. With
+ * debate.replay.compress, frames of compress-min-bytes or more are stored
+ * deflated (body length differs from frame length)
+ *
+ * A recording is written to {sessionId}.events.part and renamed to
+ * {sessionId}.events on debate_complete; only complete logs are replayed.
+ * A run that stops early (error, restart) leaves the .part file, and the
+ * run that resumes the debate continues it with the original start time
+ *
+ * @author AI Debate Team
+ */
+@Slf4j
+@Component
+public class DebateReplayLog {
+
+    private static final int MAGIC = 0x4144524C; // "ADRL"
+    private static final short VERSION = 1;
+    private static final int FILE_HEADER_BYTES = 16;
+    private static final int RECORD_HEADER_BYTES = 16;
+    private static final String SUFFIX = ".events";
+    private static final String PARTIAL_SUFFIX = ".events.part";
+    private static final String COMPLETE_EVENT = "debate_complete";
+    private static final String ERROR_EVENT = "error";
+
+    /**
+     * Receives replayed SSE frames in order
+     */
+    @FunctionalInterface
+    public interface FrameSink {
+        void send(byte[] frame) throws IOException;
+    }
+
+    /**
+     * Open recording of one session
+     */
+    private static final class Recording {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Path path;
+        private final FileChannel channel;
+        private final long startMillis;
+        private final Deflater deflater;
+
+        private Recording(Path path, FileChannel channel, long startMillis, boolean compress) {
+            this.path = path;
+            this.channel = channel;
+            this.startMillis = startMillis;
+            this.deflater = compress ? new Deflater(Deflater.BEST_SPEED, true) : null;
+        }
+    }
+
+    private final boolean enabled;
+    private final Path directory;
+    private final boolean compress;
+    private final int compressMinBytes;
+    private final long maxGapMillis;
+    private final int maxViewers;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicInteger activeReplays = new AtomicInteger();
+
+    private final Map<Long, Recording> recordings = new ConcurrentHashMap<>();
+
+    // Statistics
+    private final LongAdder eventsRecorded = new LongAdder();
+    private final LongAdder frameBytes = new LongAdder();
+    private final LongAdder storedBytes = new LongAdder();
+    private final LongAdder replays = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public DebateReplayLog(@Value("${debate.replay.enabled:true}") boolean enabled,
+                           @Value("${debate.replay.dir:./data/replay}") String directory,
+                           @Value("${debate.replay.compress:false}") boolean compress,
+                           @Value("${debate.replay.compress-min-bytes:512}") int compressMinBytes,
+                           @Value("${debate.replay.max-gap-ms:5000}") long maxGapMillis,
+                           @Value("${debate.replay.threads:4}") int threads,
+                           @Value("${debate.replay.max-viewers:256}") int maxViewers) {
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.compress = compress;
+        this.compressMinBytes = compressMinBytes;
+        this.maxGapMillis = maxGapMillis;
+        this.maxViewers = maxViewers;
+        AtomicInteger threadCount = new AtomicInteger();
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "debate-replay-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        this.scheduler = executor;
+    }
+
+    /**
+     * Append a published event to the session's log
+     * debate_complete closes the log and makes it replayable; error only
+     * closes it, so a resumed run appends to the same log
+     *
+     * @param seq SSE id, 0 or less for none
+     */
+    public void record(Long sessionId, long seq, String eventName, String json) {
+        if (!enabled) {
+            return;
+        }
+        Recording recording;
+        try {
+            recording = recordings.computeIfAbsent(sessionId, this::openRecording);
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Failed to open replay log of session {}: {}", sessionId, e.getMessage());
+            return;
+        }
+
+        byte[] frame = frame(seq, eventName, json);
+        recording.lock.lock();
+        try {
+            byte[] body = frame;
+            int bodyLength = frame.length;
+            if (recording.deflater != null && frame.length >= compressMinBytes) {
+                recording.deflater.reset();
+                recording.deflater.setInput(frame);
+                recording.deflater.finish();
+                byte[] deflated = new byte[frame.length];
+                int length = recording.deflater.deflate(deflated);
+                if (recording.deflater.finished() && length < frame.length) {
+                    body = deflated;
+                    bodyLength = length;
+                }
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_BYTES + bodyLength);
+            buffer.putInt(bodyLength)
+                    .putInt(frame.length)
+                    .putInt((int) Math.max(0, System.currentTimeMillis() - recording.startMillis))
+                    .putInt((int) Math.max(0, seq))
+                    .put(body, 0, bodyLength)
+                    .flip();
+            while (buffer.hasRemaining()) {
+                recording.channel.write(buffer);
+            }
+            eventsRecorded.increment();
+            frameBytes.add(frame.length);
+            storedBytes.add(RECORD_HEADER_BYTES + bodyLength);
+        } catch (IOException e) {
+            failures.increment();
+            log.warn("Failed to record event {} of session {}: {}", eventName, sessionId, e.getMessage());
+        } finally {
+            recording.lock.unlock();
+        }
+
+        if (COMPLETE_EVENT.equals(eventName)) {
+            close(sessionId, true);
+        } else if (ERROR_EVENT.equals(eventName)) {
+            close(sessionId, false);
+        }
+    }
+
+    /**
+     * Check if a complete log exists for the session
+     */
+    public boolean hasReplay(Long sessionId) {
+        return Files.isRegularFile(directory.resolve(sessionId + SUFFIX));
+    }
+
+    /**
+     * Start sending a recorded debate to the sink with its original timing
+     * Replays share a small scheduler: a replay waiting for its next event
+     * holds no thread
+     *
+     * @param speed    1 for the original pace, 2 twice as fast, 0 without waiting
+     * @param afterSeq skip events up to this SSE id (Last-Event-ID), 0 for all
+     * @param onEnd    called once the last frame is sent (null) or sending failed;
+     *                 not called after {@link Replay#cancel()}
+     * @throws IllegalStateException when max-viewers replays are running
+     */
+    public Replay replay(Long sessionId, double speed, long afterSeq, FrameSink sink, Consumer<Throwable> onEnd)
+            throws IOException {
+        if (!(speed >= 0) || Double.isInfinite(speed)) {
+            throw new IllegalArgumentException("Replay speed must be 0 or more: " + speed);
+        }
+        Path path = directory.resolve(sessionId + SUFFIX);
+        if (!Files.isRegularFile(path)) {
+            throw new RuntimeException("No replay recorded for session: " + sessionId);
+        }
+        if (activeReplays.incrementAndGet() > maxViewers) {
+            activeReplays.decrementAndGet();
+            throw new IllegalStateException("Too many replays running (" + maxViewers + ")");
+        }
+        MappedByteBuffer records;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // Mapped pages are shared by every viewer of the same debate and outlive the channel
+            records = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            readFileHeader(records, path);
+        } catch (IOException | RuntimeException e) {
+            activeReplays.decrementAndGet();
+            throw e;
+        }
+        replays.increment();
+        Replay replay = new Replay(sessionId, records, speed, afterSeq, sink, onEnd);
+        synchronized (replay) {
+            // The first step cannot replace next before it is set
+            replay.next = scheduler.submit(replay::step);
+        }
+        return replay;
+    }
+
+    /**
+     * A recorded debate being sent to one viewer
+     */
+    public final class Replay {
+        private final Long sessionId;
+        private final MappedByteBuffer records;
+        private final double speed;
+        private final long afterSeq;
+        private final FrameSink sink;
+        private final Consumer<Throwable> onEnd;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean ended = new AtomicBoolean();
+        private Inflater inflater;
+        private long replayMillis;
+        private int previousOffset = -1;
+        private volatile Future<?> next;
+
+        private Replay(Long sessionId, MappedByteBuffer records, double speed, long afterSeq,
+                       FrameSink sink, Consumer<Throwable> onEnd) {
+            this.sessionId = sessionId;
+            this.records = records;
+            this.speed = speed;
+            this.afterSeq = afterSeq;
+            this.sink = sink;
+            this.onEnd = onEnd;
+        }
+
+        /**
+         * Stop sending, e.g. because the viewer went away
+         */
+        public void cancel() {
+            if (!ended.compareAndSet(false, true)) {
+                return;
+            }
+            Future<?> scheduled = next;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+            release();
+        }
+
+        /**
+         * Send the frames that are due and schedule the next one
+         */
+        private synchronized void step() {
+            if (ended.get()) {
+                return;
+            }
+            try {
+                while (records.remaining() >= RECORD_HEADER_BYTES) {
+                    int recordStart = records.position();
+                    int bodyLength = records.getInt();
+                    int frameLength = records.getInt();
+                    int offset = records.getInt();
+                    long seq = records.getInt();
+                    if (bodyLength < 0 || bodyLength > records.remaining()) {
+                        break;
+                    }
+                    if (seq > 0 && seq <= afterSeq) {
+                        records.position(records.position() + bodyLength);
+                        continue;
+                    }
+
+                    // Pauses and restarts are shortened to max-gap-ms
+                    long dueMillis = replayMillis;
+                    if (previousOffset >= 0) {
+                        dueMillis += Math.min(Math.max(0, offset - previousOffset), maxGapMillis);
+                    }
+                    if (speed > 0) {
+                        long waitMillis = (long) (dueMillis / speed) - (System.nanoTime() - startNanos) / 1_000_000;
+                        if (waitMillis > 0) {
+                            records.position(recordStart);
+                            next = scheduler.schedule(this::step, waitMillis, TimeUnit.MILLISECONDS);
+                            return;
+                        }
+                    }
+                    replayMillis = dueMillis;
+                    previousOffset = offset;
+                    sink.send(readFrame(bodyLength, frameLength));
+                    if (ended.get()) {
+                        return;
+                    }
+                }
+                end(null);
+            } catch (Exception e) {
+                end(e);
+            }
+        }
+
+        private byte[] readFrame(int bodyLength, int frameLength) throws IOException {
+            byte[] frame = new byte[frameLength];
+            if (bodyLength == frameLength) {
+                records.get(frame);
+                return frame;
+            }
+            byte[] body = new byte[bodyLength];
+            records.get(body);
+            if (inflater == null) {
+                inflater = new Inflater(true);
+            }
+            inflater.reset();
+            inflater.setInput(body);
+            try {
+                inflater.inflate(frame);
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupt record in replay log of session " + sessionId, e);
+            }
+            return frame;
+        }
+
+        private void end(Throwable error) {
+            if (!ended.compareAndSet(false, true)) {
+                return;
+            }
+            release();
+            onEnd.accept(error);
+        }
+
+        private void release() {
+            activeReplays.decrementAndGet();
+            // Waits for a step being run; the mapping itself is released when the buffer is collected
+            synchronized (this) {
+                if (inflater != null) {
+                    inflater.end();
+                    inflater = null;
+                }
+            }
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("compress", compress);
+        stats.put("recording", recordings.size());
+        stats.put("eventsRecorded", eventsRecorded.sum());
+        stats.put("frameBytes", frameBytes.sum());
+        stats.put("storedBytes", storedBytes.sum());
+        stats.put("replays", replays.sum());
+        stats.put("activeReplays", activeReplays.get());
+        stats.put("failures", failures.sum());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        // Left as .part, continued if the debate is resumed after the restart
+        recordings.keySet().forEach(sessionId -> close(sessionId, false));
+    }
+
+    private Recording openRecording(Long sessionId) {
+        try {
+            Files.createDirectories(directory);
+            Path path = directory.resolve(sessionId + PARTIAL_SUFFIX);
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            long startMillis;
+            if (channel.size() >= FILE_HEADER_BYTES) {
+                startMillis = continueRecording(channel, path);
+            } else {
+                startMillis = System.currentTimeMillis();
+                ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES);
+                header.putInt(MAGIC).putShort(VERSION).putShort((short) (compress ? 1 : 0)).putLong(startMillis).flip();
+                channel.truncate(0);
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+                channel.position(FILE_HEADER_BYTES);
+            }
+            return new Recording(path, channel, startMillis, compress);
+        } catch (IOException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Position after the last complete record of an existing log, dropping
+     * a record cut short by a crash
+     */
+    private long continueRecording(FileChannel channel, Path path) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES);
+        channel.read(header, 0);
+        header.flip();
+        long startMillis = readFileHeader(header, path);
+
+        long position = FILE_HEADER_BYTES;
+        ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+        while (position + RECORD_HEADER_BYTES <= channel.size()) {
+            recordHeader.clear();
+            channel.read(recordHeader, position);
+            int bodyLength = recordHeader.getInt(0);
+            if (bodyLength < 0 || position + RECORD_HEADER_BYTES + bodyLength > channel.size()) {
+                break;
+            }
+            position += RECORD_HEADER_BYTES + bodyLength;
+        }
+        channel.truncate(position);
+        channel.position(position);
+        return startMillis;
+    }
+
+    private long readFileHeader(ByteBuffer buffer, Path path) throws IOException {
+        if (buffer.remaining() < FILE_HEADER_BYTES || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a replay log: " + path);
+        }
+        short version = buffer.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported replay log version " + version + ": " + path);
+        }
+        buffer.getShort();
+        return buffer.getLong();
+    }
+
+    private void close(Long sessionId, boolean complete) {
+        Recording recording = recordings.remove(sessionId);
+        if (recording == null) {
+            return;
+        }
+        recording.lock.lock();
+        try {
+            recording.channel.close();
+            if (recording.deflater != null) {
+                recording.deflater.end();
+            }
+            if (complete) {
+                Files.move(recording.path, directory.resolve(sessionId + SUFFIX),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            failures.increment();
+            log.warn("Failed to close replay log of session {}: {}", sessionId, e.getMessage());
+        } finally {
+            recording.lock.unlock();
+        }
+    }
+
+    /**
+     * The event as sent on an SSE connection
+     */
+    private static byte[] frame(long seq, String eventName, String json) {
+        StringBuilder frame = new StringBuilder(json.length() + eventName.length() + 32);
+        if (seq > 0) {
+            frame.append("id:").append(seq).append('\n');
+        }
+        frame.append("event:").append(eventName).append('\n');
+        frame.append("data:").append(json).append("\n\n");
+        return frame.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -147,18 +147,10 @@ public class DebateSessionService {
      * Get current scores - updated for AI vs AI debates
      */
     public Map<String, Object> getCurrentScores(Long sessionId) {
-        // Get all arguments for each side
-        List<Argument> affirmativeArgs = getArgumentsForSide(sessionId, "AFFIRMATIVE");
-        List<Argument> negativeArgs = getArgumentsForSide(sessionId, "NEGATIVE");
-        
-        // Calculate total scores
-        BigDecimal affirmativeScore = affirmativeArgs.stream()
-                .map(arg -> scoringService.calculateArgumentScore(arg.getArgumentId()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-                
-        BigDecimal negativeScore = negativeArgs.stream()
-                .map(arg -> scoringService.calculateArgumentScore(arg.getArgumentId()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Weighted argument scores of both sides in one aggregation query
+        Map<String, BigDecimal> sideScores = scoringService.calculateSideScores(sessionId);
+        BigDecimal affirmativeScore = sideScores.get("AFFIRMATIVE");
+        BigDecimal negativeScore = sideScores.get("NEGATIVE");
 
         Map<String, Object> result = new HashMap<>();
         result.put("affirmativeScore", affirmativeScore);
@@ -168,21 +160,6 @@ public class DebateSessionService {
         return result;
     }
     
-    private List<Argument> getArgumentsForSide(Long sessionId, String side) {
-        Role role = getUserRole(sessionId, side);
-        if (role == null) {
-            return List.of();
-        }
-        
-        QueryWrapper<Argument> wrapper = new QueryWrapper<>();
-        wrapper.eq("session_id", sessionId);
-        wrapper.eq("role_id", role.getRoleId());
-        wrapper.eq("is_preview", false);
-        wrapper.orderByAsc("round_number");
-        
-        return argumentMapper.selectList(wrapper);
-    }
-
     /**
      * Get session details
      */
@@ -281,14 +258,6 @@ public class DebateSessionService {
         roleMapper.insert(role);
     }
 
-    private Role getUserRole(Long sessionId, String side) {
-        Role.RoleType roleType = side.equals("AFFIRMATIVE") ? Role.RoleType.AFFIRMATIVE : Role.RoleType.NEGATIVE;
-        QueryWrapper<Role> wrapper = new QueryWrapper<>();
-        wrapper.eq("session_id", sessionId);
-        wrapper.eq("role_type", roleType);
-        return roleMapper.selectOne(wrapper);
-    }
-
     // Legacy method - no longer used
     // Deprecated - use DebateOrchestrationService.generateRound() instead
     private String generateAIResponse(Long sessionId, int roundNumber, String side) {
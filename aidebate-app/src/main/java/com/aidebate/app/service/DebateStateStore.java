@@ -0,0 +1,453 @@
+package com.aidebate.app.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Debate State Store
+ * Progress of running debates (position, pause flag, running scores) and
+ * lease-based ownership of which node runs which debate
+ *
+ * A node runs a debate only while it holds the debate's lease; leases are
+ * renewed in the background and expire when the node dies. The state records
+ * which lease a run holds until the run releases it, so a run whose lease
+ * expired instead can be found ({@link #findExpiredRuns()}) and taken over
+ * from its last position, which is stored with the sequence number of the
+ * last event published before it. Kept in Redis when
+ * debate.state.redis.enabled is set, otherwise in memory, which is enough
+ * for a single node
+ *
+ * @author AI Debate Team
+ */
+@Slf4j
+@Component
+public class DebateStateStore {
+
+    private static final String POSITION = "position";
+    private static final String PAUSED = "paused";
+    private static final String AFFIRMATIVE_SCORE = "affirmativeScore";
+    private static final String NEGATIVE_SCORE = "negativeScore";
+    private static final String UPDATED_AT = "updatedAt";
+    private static final String OWNER = "owner";
+    private static final String EVENT_SEQ = "eventSeq";
+    private static final String LANGUAGE = "language";
+
+    /**
+     * Extends the lease if still owned, or takes it back if it expired and
+     * nobody else took it meanwhile
+     */
+    private static final DefaultRedisScript<Long> RENEW_LEASE = new DefaultRedisScript<>(
+            "local owner = redis.call('get', KEYS[1]) "
+                    + "if owner == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) "
+                    + "elseif not owner then redis.call('set', KEYS[1], ARGV[1], 'PX', ARGV[2]) return 1 "
+                    + "else return 0 end",
+            Long.class);
+    private static final DefaultRedisScript<Long> RELEASE_LEASE = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    /**
+     * Marks a run as ended by its owner, unless another run has taken the debate meanwhile
+     */
+    private static final DefaultRedisScript<Long> END_RUN = new DefaultRedisScript<>(
+            "if redis.call('hget', KEYS[1], 'owner') == ARGV[1] then "
+                    + "redis.call('hdel', KEYS[1], 'owner') redis.call('srem', KEYS[2], ARGV[2]) return 1 "
+                    + "else return 0 end",
+            Long.class);
+
+    /**
+     * Lease held in memory when Redis is not used
+     */
+    private record LocalLease(String token, long expiresAt) {
+    }
+
+    private final ObjectProvider<RedisConnectionFactory> connectionFactory;
+    private final boolean enabled;
+    private final String keyPrefix;
+    private final long leaseTtlMs;
+    private final Duration stateTtl;
+    private final String nodeId;
+
+    /**
+     * Leases held by this node, session id to lease token
+     */
+    private final Map<Long, String> leases = new ConcurrentHashMap<>();
+    private final Map<Long, Map<String, String>> localStates = new ConcurrentHashMap<>();
+    private final Map<Long, LocalLease> localLeases = new ConcurrentHashMap<>();
+
+    private StringRedisTemplate redisTemplate;
+
+    public DebateStateStore(ObjectProvider<RedisConnectionFactory> connectionFactory,
+                            @Value("${debate.state.redis.enabled:false}") boolean enabled,
+                            @Value("${debate.state.redis.key-prefix:aidebate:debate:}") String keyPrefix,
+                            @Value("${debate.state.lease-ttl-ms:30000}") long leaseTtlMs,
+                            @Value("${debate.state.ttl-hours:24}") long stateTtlHours,
+                            @Value("${debate.state.node-id:}") String nodeId) {
+        this.connectionFactory = connectionFactory;
+        this.enabled = enabled;
+        this.keyPrefix = keyPrefix;
+        this.leaseTtlMs = leaseTtlMs;
+        this.stateTtl = Duration.ofHours(stateTtlHours);
+        this.nodeId = nodeId.isBlank() ? defaultNodeId() : nodeId;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        RedisConnectionFactory factory = connectionFactory.getIfAvailable();
+        if (factory == null) {
+            log.warn("Debate state store enabled but no Redis connection factory, keeping state in memory");
+            return;
+        }
+        redisTemplate = new StringRedisTemplate(factory);
+        log.info("Debate state in Redis as node {}, lease TTL {}ms", nodeId, leaseTtlMs);
+    }
+
+    // ========== Leases ==========
+
+    /**
+     * Take the lease of a debate
+     *
+     * @return lease token to release it with, null while another run (on any node) holds it
+     */
+    public String acquireLease(Long sessionId) {
+        String token = nodeId + "/" + UUID.randomUUID();
+        boolean acquired;
+        if (redisTemplate != null) {
+            acquired = Boolean.TRUE.equals(redisTemplate.opsForValue()
+                    .setIfAbsent(leaseKey(sessionId), token, Duration.ofMillis(leaseTtlMs)));
+        } else {
+            long now = System.currentTimeMillis();
+            LocalLease lease = localLeases.compute(sessionId, (id, current) ->
+                    current == null || current.expiresAt() <= now ? new LocalLease(token, now + leaseTtlMs) : current);
+            acquired = token.equals(lease.token());
+        }
+        if (acquired) {
+            leases.put(sessionId, token);
+            try {
+                put(sessionId, Map.of(OWNER, token));
+                if (redisTemplate != null) {
+                    redisTemplate.opsForSet().add(runningKey(), sessionId.toString());
+                }
+            } catch (Exception e) {
+                // The run goes on; it just cannot be taken over automatically if this node dies
+                log.warn("Failed to record the run of session {}: {}", sessionId, e.getMessage());
+            }
+            log.info("Node {} took the lease of session {}", nodeId, sessionId);
+        }
+        return acquired ? token : null;
+    }
+
+    /**
+     * Whether this node still holds the lease of a debate
+     */
+    public boolean holdsLease(Long sessionId) {
+        return leases.containsKey(sessionId);
+    }
+
+    /**
+     * Node holding the lease of a debate, null if none
+     */
+    public String getLeaseOwner(Long sessionId) {
+        String token;
+        if (redisTemplate != null) {
+            token = redisTemplate.opsForValue().get(leaseKey(sessionId));
+        } else {
+            LocalLease lease = localLeases.get(sessionId);
+            token = lease == null || lease.expiresAt() <= System.currentTimeMillis() ? null : lease.token();
+        }
+        return token == null ? null : token.substring(0, token.lastIndexOf('/'));
+    }
+
+    /**
+     * Release a lease taken by acquireLease; a lease since taken by another
+     * run is left alone
+     */
+    public void releaseLease(Long sessionId, String token) {
+        if (token == null) {
+            return;
+        }
+        leases.remove(sessionId, token);
+        try {
+            if (redisTemplate != null) {
+                redisTemplate.execute(END_RUN, List.of(stateKey(sessionId), runningKey()), token, sessionId.toString());
+                redisTemplate.execute(RELEASE_LEASE, List.of(leaseKey(sessionId)), token);
+            } else {
+                localStates.computeIfPresent(sessionId, (id, state) -> {
+                    state.remove(OWNER, token);
+                    return state;
+                });
+                localLeases.computeIfPresent(sessionId, (id, current) -> token.equals(current.token()) ? null : current);
+            }
+        } catch (Exception e) {
+            // Expires on its own
+            log.warn("Failed to release lease of session {}: {}", sessionId, e.getMessage());
+        }
+    }
+
+    /**
+     * Debates whose run lost its lease without releasing it, i.e. whose node
+     * died; they are taken over by whoever acquires the lease next
+     */
+    public List<Long> findExpiredRuns() {
+        List<Long> expired = new ArrayList<>();
+        if (redisTemplate != null) {
+            Set<String> running = redisTemplate.opsForSet().members(runningKey());
+            if (running == null) {
+                return expired;
+            }
+            for (String member : running) {
+                Long sessionId = Long.valueOf(member);
+                if (Boolean.TRUE.equals(redisTemplate.hasKey(leaseKey(sessionId)))) {
+                    continue;
+                }
+                if (get(sessionId, OWNER) == null) {
+                    // State expired or the run ended meanwhile
+                    redisTemplate.opsForSet().remove(runningKey(), member);
+                    continue;
+                }
+                expired.add(sessionId);
+            }
+            return expired;
+        }
+        long now = System.currentTimeMillis();
+        localStates.forEach((sessionId, state) -> {
+            String owner = state.get(OWNER);
+            LocalLease lease = localLeases.get(sessionId);
+            if (owner != null && (lease == null || lease.expiresAt() <= now || !owner.equals(lease.token()))) {
+                expired.add(sessionId);
+            }
+        });
+        return expired;
+    }
+
+    /**
+     * Extend the leases held by this node; a lease that has meanwhile been
+     * taken by another node is dropped, and its run stops at the next checkpoint
+     */
+    @Scheduled(fixedDelayString = "${debate.state.lease-renew-ms:10000}")
+    public void renewLeases() {
+        for (Map.Entry<Long, String> entry : leases.entrySet()) {
+            Long sessionId = entry.getKey();
+            String token = entry.getValue();
+            try {
+                if (!renew(sessionId, token)) {
+                    leases.remove(sessionId, token);
+                    log.warn("Node {} lost the lease of session {}", nodeId, sessionId);
+                }
+            } catch (Exception e) {
+                // Still valid until it expires; retried on the next run
+                log.warn("Failed to renew lease of session {}: {}", sessionId, e.getMessage());
+            }
+        }
+    }
+
+    private boolean renew(Long sessionId, String token) {
+        if (redisTemplate != null) {
+            Long renewed = redisTemplate.execute(RENEW_LEASE, List.of(leaseKey(sessionId)),
+                    token, String.valueOf(leaseTtlMs));
+            return renewed != null && renewed == 1L;
+        }
+        LocalLease lease = localLeases.computeIfPresent(sessionId, (id, current) ->
+                token.equals(current.token()) ? new LocalLease(token, System.currentTimeMillis() + leaseTtlMs) : current);
+        return lease != null && token.equals(lease.token());
+    }
+
+    // ========== State ==========
+
+    /**
+     * Record the position a run has reached and return the pause flag,
+     * null if it is not known here and must be read from the session
+     *
+     * @param eventSeq sequence number of the last event published before the position
+     * @throws IllegalStateException if this node no longer holds the lease
+     */
+    public Boolean checkpoint(Long sessionId, String position, long eventSeq) {
+        if (!holdsLease(sessionId)) {
+            throw new IllegalStateException("Session " + sessionId + " was taken over by node " + getLeaseOwner(sessionId));
+        }
+        try {
+            put(sessionId, Map.of(POSITION, position, EVENT_SEQ, String.valueOf(eventSeq)));
+            String paused = get(sessionId, PAUSED);
+            return paused == null ? null : Boolean.valueOf(paused);
+        } catch (Exception e) {
+            log.warn("Failed to checkpoint session {} at {}: {}", sessionId, position, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Pause flag, written when a debate is paused or resumed from any node
+     */
+    public void setPaused(Long sessionId, boolean paused, String position) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put(PAUSED, String.valueOf(paused));
+        if (position != null) {
+            fields.put(POSITION, position);
+        }
+        put(sessionId, fields);
+    }
+
+    /**
+     * Last recorded position of an unfinished debate, null if none
+     */
+    public String getPosition(Long sessionId) {
+        try {
+            return get(sessionId, POSITION);
+        } catch (Exception e) {
+            log.warn("Failed to read position of session {}: {}", sessionId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Sequence number of the last event published before the last recorded position, 0 if unknown
+     */
+    public long getEventSeq(Long sessionId) {
+        try {
+            String eventSeq = get(sessionId, EVENT_SEQ);
+            return eventSeq == null ? 0 : Long.parseLong(eventSeq);
+        } catch (Exception e) {
+            log.warn("Failed to read event sequence of session {}: {}", sessionId, e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Language a debate is run in, for a run that takes it over
+     */
+    public void recordLanguage(Long sessionId, String language) {
+        if (language == null) {
+            return;
+        }
+        try {
+            put(sessionId, Map.of(LANGUAGE, language));
+        } catch (Exception e) {
+            log.warn("Failed to record language of session {}: {}", sessionId, e.getMessage());
+        }
+    }
+
+    public String getLanguage(Long sessionId) {
+        try {
+            return get(sessionId, LANGUAGE);
+        } catch (Exception e) {
+            log.warn("Failed to read language of session {}: {}", sessionId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Cumulative scores after a round
+     */
+    public void recordScores(Long sessionId, BigDecimal affirmativeScore, BigDecimal negativeScore) {
+        try {
+            put(sessionId, Map.of(
+                    AFFIRMATIVE_SCORE, affirmativeScore.toPlainString(),
+                    NEGATIVE_SCORE, negativeScore.toPlainString()));
+        } catch (Exception e) {
+            log.warn("Failed to record scores of session {}: {}", sessionId, e.getMessage());
+        }
+    }
+
+    /**
+     * Drop the state of a finished debate
+     */
+    public void clear(Long sessionId) {
+        try {
+            if (redisTemplate != null) {
+                redisTemplate.delete(stateKey(sessionId));
+                redisTemplate.opsForSet().remove(runningKey(), sessionId.toString());
+            } else {
+                localStates.remove(sessionId);
+            }
+        } catch (Exception e) {
+            // Expires with the state TTL
+            log.warn("Failed to clear state of session {}: {}", sessionId, e.getMessage());
+        }
+    }
+
+    /**
+     * State and lease owner of a debate
+     */
+    public Map<String, Object> getState(Long sessionId) {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("sessionId", sessionId);
+        if (redisTemplate != null) {
+            redisTemplate.<String, String>opsForHash().entries(stateKey(sessionId)).forEach(state::put);
+        } else {
+            state.putAll(localStates.getOrDefault(sessionId, Map.of()));
+        }
+        state.put("leaseOwner", getLeaseOwner(sessionId));
+        return state;
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("nodeId", nodeId);
+        stats.put("backend", redisTemplate != null ? "redis" : "memory");
+        stats.put("leaseTtlMs", leaseTtlMs);
+        stats.put("leasesHeld", new ArrayList<>(leases.keySet()));
+        return stats;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void put(Long sessionId, Map<String, String> fields) {
+        Map<String, String> values = new HashMap<>(fields);
+        values.put(UPDATED_AT, LocalDateTime.now().toString());
+        if (redisTemplate != null) {
+            String key = stateKey(sessionId);
+            redisTemplate.opsForHash().putAll(key, values);
+            redisTemplate.expire(key, stateTtl);
+        } else {
+            localStates.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>()).putAll(values);
+        }
+    }
+
+    private String get(Long sessionId, String field) {
+        if (redisTemplate != null) {
+            return redisTemplate.<String, String>opsForHash().get(stateKey(sessionId), field);
+        }
+        return localStates.getOrDefault(sessionId, Map.of()).get(field);
+    }
+
+    private String stateKey(Long sessionId) {
+        return keyPrefix + sessionId;
+    }
+
+    private String runningKey() {
+        return keyPrefix + "running";
+    }
+
+    private String leaseKey(Long sessionId) {
+        return keyPrefix + sessionId + ":lease";
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,432 @@
+package com.aidebate.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Debate Tracer
+ * Per-debate timeline of spans (orchestrator stages, LLM calls, mapper
+ * calls, TTS requests and pacing delays) kept in memory for the trace
+ * waterfall endpoint
+ *
+ * A run binds its debate's trace to the running thread; spans started on a
+ * thread without a trace are no-ops, so the cost outside debates is one
+ * thread-local read. Traces are kept for the last debate.trace.max-sessions
+ * debates with at most debate.trace.max-spans spans each. When
+ * debate.trace.otlp.endpoint is set, each finished run is also posted to an
+ * OpenTelemetry collector as OTLP/HTTP JSON
+ *
+ * @author AI Debate Team
+ */
+@Slf4j
+@Component
+public class DebateTracer {
+
+    /**
+     * Trace of one debate; spans of all its runs, in start order
+     */
+    private static final class Trace {
+        private final Long sessionId;
+        private final String traceId;
+        private final long startEpochNanos;
+        private final long startNanos;
+        private final List<Span> spans = new ArrayList<>();
+        private int nextSpanId;
+        private int droppedSpans;
+
+        private Trace(Long sessionId) {
+            this.sessionId = sessionId;
+            this.traceId = randomHex(2);
+            Instant now = Instant.now();
+            this.startEpochNanos = now.getEpochSecond() * 1_000_000_000L + now.getNano();
+            this.startNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Trace bound to a thread and the spans open on it
+     */
+    private static final class Context {
+        private final Trace trace;
+        private final Span parent;
+        private final Deque<Span> open = new ArrayDeque<>();
+
+        private Context(Trace trace, Span parent) {
+            this.trace = trace;
+            this.parent = parent;
+        }
+
+        private Span current() {
+            Span top = open.peek();
+            return top != null ? top : parent;
+        }
+    }
+
+    /**
+     * Timed step of a debate; ended spans stay in the trace
+     */
+    public static final class Span implements AutoCloseable {
+
+        private static final Span NOOP = new Span(null, 0, 0, null, 0);
+
+        private final Context context;
+        private final int id;
+        private final int parentId;
+        private final String name;
+        private final String thread;
+        private final long startNanos;
+        private volatile long endNanos;
+        private Map<String, Object> attributes;
+        private boolean exported;
+
+        private Span(Context context, int id, int parentId, String name, long startNanos) {
+            this.context = context;
+            this.id = id;
+            this.parentId = parentId;
+            this.name = name;
+            this.thread = context == null ? null : Thread.currentThread().getName();
+            this.startNanos = startNanos;
+        }
+
+        public Span tag(String key, Object value) {
+            if (context != null && value != null) {
+                synchronized (this) {
+                    if (attributes == null) {
+                        attributes = new LinkedHashMap<>();
+                    }
+                    attributes.put(key, value);
+                }
+            }
+            return this;
+        }
+
+        public void end() {
+            if (context == null || endNanos != 0) {
+                return;
+            }
+            endNanos = System.nanoTime();
+            if (context.open.peek() == this) {
+                context.open.pop();
+            } else {
+                context.open.remove(this);
+            }
+        }
+
+        @Override
+        public void close() {
+            end();
+        }
+
+        private synchronized Map<String, Object> attributes() {
+            return attributes == null ? Map.of() : new LinkedHashMap<>(attributes);
+        }
+    }
+
+    /**
+     * Binding of a trace to the current thread, undone by close
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final Scope NOOP_SCOPE = () -> { };
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int maxSpans;
+    private final String otlpEndpoint;
+    private final String serviceName;
+    private final Map<Long, Trace> traces;
+    private final ThreadLocal<Context> current = new ThreadLocal<>();
+
+    private HttpClient httpClient;
+
+    public DebateTracer(ObjectMapper objectMapper,
+                        @Value("${debate.trace.enabled:true}") boolean enabled,
+                        @Value("${debate.trace.max-sessions:100}") int maxSessions,
+                        @Value("${debate.trace.max-spans:2000}") int maxSpans,
+                        @Value("${debate.trace.otlp.endpoint:}") String otlpEndpoint,
+                        @Value("${spring.application.name:aidebate}") String serviceName) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxSpans = maxSpans;
+        this.otlpEndpoint = otlpEndpoint;
+        this.serviceName = serviceName;
+        this.traces = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Trace> eldest) {
+                return size() > maxSessions;
+            }
+        });
+        if (!otlpEndpoint.isBlank()) {
+            httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+            log.info("Exporting debate traces to {}", otlpEndpoint);
+        }
+    }
+
+    // ========== Recording ==========
+
+    /**
+     * Bind a run of a debate to the current thread under a new root span;
+     * a resumed debate continues its existing trace
+     */
+    public Scope begin(Long sessionId) {
+        if (!enabled) {
+            return NOOP_SCOPE;
+        }
+        Trace trace = traces.computeIfAbsent(sessionId, Trace::new);
+        Context previous = current.get();
+        Context context = new Context(trace, null);
+        current.set(context);
+        start("debate.run");
+        return () -> {
+            // Spans left open by a failed step end with the run
+            while (!context.open.isEmpty()) {
+                context.open.peek().end();
+            }
+            restore(previous);
+            export(trace);
+        };
+    }
+
+    /**
+     * Bind the current thread to a debate that is already traced, e.g. for
+     * its TTS requests; spans recorded under it are top-level
+     */
+    public Scope join(Long sessionId) {
+        Trace trace = sessionId == null || !enabled ? null : traces.get(sessionId);
+        if (trace == null) {
+            return NOOP_SCOPE;
+        }
+        Context previous = current.get();
+        current.set(new Context(trace, null));
+        return () -> restore(previous);
+    }
+
+    /**
+     * Whether spans on this thread are recorded
+     */
+    public boolean isActive() {
+        return current.get() != null;
+    }
+
+    /**
+     * Start a span under the innermost open one; end it on the same thread
+     */
+    public Span start(String name) {
+        Context context = current.get();
+        if (context == null) {
+            return Span.NOOP;
+        }
+        Span span = newSpan(context, name, System.nanoTime());
+        context.open.push(span);
+        return span;
+    }
+
+    /**
+     * Record a span that has just finished after {@code nanos}
+     */
+    public Span record(String name, long nanos) {
+        Context context = current.get();
+        if (context == null) {
+            return Span.NOOP;
+        }
+        long now = System.nanoTime();
+        Span span = newSpan(context, name, now - nanos);
+        span.endNanos = now;
+        return span;
+    }
+
+    /**
+     * Carry the current trace and span over to the thread that runs the task
+     */
+    public <T> Supplier<T> wrap(Supplier<T> task) {
+        Context context = current.get();
+        if (context == null) {
+            return task;
+        }
+        Span parent = context.current();
+        return () -> {
+            Context previous = current.get();
+            current.set(new Context(context.trace, parent));
+            try {
+                return task.get();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    private Span newSpan(Context context, String name, long startNanos) {
+        Trace trace = context.trace;
+        Span parent = context.current();
+        synchronized (trace) {
+            Span span = new Span(context, ++trace.nextSpanId, parent == null ? 0 : parent.id, name, startNanos);
+            if (trace.spans.size() < maxSpans) {
+                trace.spans.add(span);
+            } else {
+                trace.droppedSpans++;
+            }
+            return span;
+        }
+    }
+
+    private void restore(Context previous) {
+        if (previous == null) {
+            current.remove();
+        } else {
+            current.set(previous);
+        }
+    }
+
+    // ========== Waterfall ==========
+
+    /**
+     * Spans of a debate as a waterfall, offsets and durations in milliseconds
+     * from the start of the trace; null if the debate is not traced here
+     */
+    public Map<String, Object> getWaterfall(Long sessionId) {
+        Trace trace = traces.get(sessionId);
+        if (trace == null) {
+            return null;
+        }
+        List<Span> spans;
+        int dropped;
+        synchronized (trace) {
+            spans = new ArrayList<>(trace.spans);
+            dropped = trace.droppedSpans;
+        }
+        spans.sort(Comparator.comparingLong(span -> span.startNanos));
+
+        long now = System.nanoTime();
+        long endNanos = trace.startNanos;
+        List<Map<String, Object>> rows = new ArrayList<>(spans.size());
+        for (Span span : spans) {
+            long spanEnd = span.endNanos;
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", span.id);
+            row.put("parentId", span.parentId == 0 ? null : span.parentId);
+            row.put("name", span.name);
+            row.put("startMs", millis(span.startNanos - trace.startNanos));
+            row.put("durationMs", millis((spanEnd == 0 ? now : spanEnd) - span.startNanos));
+            row.put("open", spanEnd == 0);
+            row.put("thread", span.thread);
+            row.put("attributes", span.attributes());
+            rows.add(row);
+            endNanos = Math.max(endNanos, spanEnd == 0 ? now : spanEnd);
+        }
+
+        Map<String, Object> waterfall = new LinkedHashMap<>();
+        waterfall.put("sessionId", trace.sessionId);
+        waterfall.put("traceId", trace.traceId);
+        waterfall.put("startedAt", Instant.ofEpochSecond(0, trace.startEpochNanos).toString());
+        waterfall.put("durationMs", millis(endNanos - trace.startNanos));
+        waterfall.put("spanCount", rows.size());
+        waterfall.put("droppedSpans", dropped);
+        waterfall.put("spans", rows);
+        return waterfall;
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("sessions", traces.size());
+        stats.put("maxSpans", maxSpans);
+        stats.put("otlpEndpoint", otlpEndpoint.isBlank() ? null : otlpEndpoint);
+        return stats;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    // ========== OpenTelemetry export ==========
+
+    /**
+     * Post the finished spans not yet exported, asynchronously
+     */
+    private void export(Trace trace) {
+        if (httpClient == null) {
+            return;
+        }
+        List<Map<String, Object>> otlpSpans = new ArrayList<>();
+        synchronized (trace) {
+            for (Span span : trace.spans) {
+                if (span.endNanos != 0 && !span.exported) {
+                    span.exported = true;
+                    otlpSpans.add(toOtlp(trace, span));
+                }
+            }
+        }
+        if (otlpSpans.isEmpty()) {
+            return;
+        }
+        Map<String, Object> payload = Map.of("resourceSpans", List.of(Map.of(
+                "resource", Map.of("attributes", List.of(otlpAttribute("service.name", serviceName))),
+                "scopeSpans", List.of(Map.of(
+                        "scope", Map.of("name", "aidebate.debate"),
+                        "spans", otlpSpans)))));
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(otlpEndpoint))
+                    .timeout(Duration.ofSeconds(10))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(payload)))
+                    .build();
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        if (error != null) {
+                            log.warn("Failed to export trace of session {}: {}", trace.sessionId, error.getMessage());
+                        } else if (response.statusCode() >= 300) {
+                            log.warn("Trace export of session {} rejected with HTTP {}", trace.sessionId, response.statusCode());
+                        }
+                    });
+        } catch (Exception e) {
+            log.warn("Failed to export trace of session {}: {}", trace.sessionId, e.getMessage());
+        }
+    }
+
+    private Map<String, Object> toOtlp(Trace trace, Span span) {
+        List<Map<String, Object>> attributes = new ArrayList<>();
+        attributes.add(otlpAttribute("debate.session_id", String.valueOf(trace.sessionId)));
+        attributes.add(otlpAttribute("thread.name", span.thread));
+        span.attributes().forEach((key, value) -> attributes.add(otlpAttribute(key, String.valueOf(value))));
+
+        Map<String, Object> otlp = new LinkedHashMap<>();
+        otlp.put("traceId", trace.traceId);
+        otlp.put("spanId", String.format("%016x", span.id));
+        if (span.parentId != 0) {
+            otlp.put("parentSpanId", String.format("%016x", span.parentId));
+        }
+        otlp.put("name", span.name);
+        otlp.put("kind", 1);
+        otlp.put("startTimeUnixNano", String.valueOf(trace.startEpochNanos + span.startNanos - trace.startNanos));
+        otlp.put("endTimeUnixNano", String.valueOf(trace.startEpochNanos + span.endNanos - trace.startNanos));
+        otlp.put("attributes", attributes);
+        return otlp;
+    }
+
+    private static Map<String, Object> otlpAttribute(String key, String value) {
+        return Map.of("key", key, "value", Map.of("stringValue", value));
+    }
+
+    private static String randomHex(int longs) {
+        StringBuilder hex = new StringBuilder();
+        for (int i = 0; i < longs; i++) {
+            hex.append(String.format("%016x", ThreadLocalRandom.current().nextLong()));
+        }
+        return hex.toString();
+    }
+}
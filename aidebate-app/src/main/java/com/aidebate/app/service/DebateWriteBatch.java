@@ -0,0 +1,89 @@
+package com.aidebate.app.service;
+
+import com.aidebate.domain.model.ModeratorMessage;
+import com.aidebate.domain.model.RoundScoreRecord;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Debate Write Batch
+ * Rows produced while a round is played, held back so the whole round is
+ * written in one transaction by {@link BatchPersistenceService#flush}
+ *
+ * Arguments are not batched: their generated ids are needed right away by
+ * the moderator streams. Work that must only see rows once they are in the
+ * database registers an after-flush action
+ *
+ * @author AI Debate Team
+ */
+public class DebateWriteBatch {
+
+    private final List<ModeratorMessage> moderatorMessages = new ArrayList<>();
+    private final List<RoundScoreRecord> roundScoreRecords = new ArrayList<>();
+    private final List<Runnable> afterFlush = new ArrayList<>();
+
+    public synchronized void add(ModeratorMessage message) {
+        moderatorMessages.add(message);
+    }
+
+    public synchronized void addAll(List<RoundScoreRecord> records) {
+        roundScoreRecords.addAll(records);
+    }
+
+    /**
+     * Run an action once the rows added so far are committed; dropped if the flush fails
+     */
+    public synchronized void afterFlush(Runnable action) {
+        afterFlush.add(action);
+    }
+
+    public synchronized boolean isEmpty() {
+        return moderatorMessages.isEmpty() && roundScoreRecords.isEmpty();
+    }
+
+    public synchronized int size() {
+        return moderatorMessages.size() + roundScoreRecords.size();
+    }
+
+    /**
+     * Copy of the pending rows; they stay pending until {@link #remove} after a commit
+     */
+    synchronized DebateWriteBatch snapshot() {
+        DebateWriteBatch snapshot = new DebateWriteBatch();
+        snapshot.moderatorMessages.addAll(moderatorMessages);
+        snapshot.roundScoreRecords.addAll(roundScoreRecords);
+        snapshot.afterFlush.addAll(afterFlush);
+        return snapshot;
+    }
+
+    /**
+     * Drop the rows of a committed snapshot, keeping anything added since
+     */
+    synchronized void remove(DebateWriteBatch written) {
+        removeSame(moderatorMessages, written.moderatorMessages);
+        removeSame(roundScoreRecords, written.roundScoreRecords);
+        removeSame(afterFlush, written.afterFlush);
+    }
+
+    private static <T> void removeSame(List<T> pending, List<T> written) {
+        Set<T> same = Collections.newSetFromMap(new IdentityHashMap<>());
+        same.addAll(written);
+        pending.removeIf(same::contains);
+    }
+
+    List<ModeratorMessage> getModeratorMessages() {
+        return moderatorMessages;
+    }
+
+    List<RoundScoreRecord> getRoundScoreRecords() {
+        return roundScoreRecords;
+    }
+
+    List<Runnable> getAfterFlush() {
+        return afterFlush;
+    }
+}
@@ -0,0 +1,218 @@
+package com.aidebate.app.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fake Chat Model
+ * Local stand-in for the debate LLM, used instead of Ollama under the
+ * fake-llm profile so load tests and benchmarks of the full debate flow run
+ * offline and reproducibly
+ *
+ * Streams canned Chinese or English debate text (following the language of
+ * the system prompt), or the {"score", "feedback"} JSON that judge prompts
+ * ask for. Time to first token, token rate, jitter and error rate come from
+ * debate.llm.fake.*. Output, timing and failures are derived from the seed,
+ * the prompt and how often that prompt was sent before, so a run repeats
+ * exactly regardless of thread interleaving
+ *
+ * @author AI Debate Team
+ */
+@Slf4j
+@Profile("fake-llm")
+@Component
+public class FakeChatModel implements ChatModel {
+
+    private static final String[] ZH_SENTENCES = {
+            "首先，我们需要明确这一问题的核心在于长期的社会影响。",
+            "从现有的数据来看，这一观点得到了大量实证研究的支持。",
+            "对方辩友忽略了一个关键事实，即成本与收益并不对等。",
+            "历史经验告诉我们，类似的政策往往会带来意想不到的结果。",
+            "我们不能只看眼前的利益，而应当考虑对下一代的责任。",
+            "这一论点在逻辑上存在明显的跳跃，缺乏必要的论证。",
+            "综合以上几点，我方的立场更符合公共利益。",
+            "事实上，多个国家的实践已经证明了这一做法的可行性。",
+            "如果按照对方的逻辑推演下去，结论将难以令人接受。",
+            "因此，我们认为应当以更加审慎的态度对待这一问题。"
+    };
+
+    private static final String[] EN_SENTENCES = {
+            "First, we must be clear that the core of this issue is its long-term social impact.",
+            "The available evidence strongly supports this position.",
+            "My opponent overlooks a key fact: the costs and benefits are not evenly shared.",
+            "History shows that similar policies often have unintended consequences.",
+            "We cannot focus only on short-term gains while ignoring our duty to the next generation.",
+            "This argument makes a clear logical leap without the necessary support.",
+            "Taken together, these points show that our side better serves the public interest.",
+            "In fact, experience in several countries has already proven this approach workable.",
+            "Followed to its conclusion, the opposing logic leads somewhere hard to accept.",
+            "We therefore believe this question deserves a more careful approach."
+    };
+
+    /**
+     * Distinct prompts whose send count is remembered before the counts restart
+     */
+    private static final int MAX_TRACKED_PROMPTS = 10_000;
+
+    /**
+     * One call's response, worked out up front from its seed
+     */
+    private record Script(List<String> tokens, long firstTokenMs, List<Long> gapsMs, int failAtToken) {
+    }
+
+    private final long seed;
+    private final long ttftMs;
+    private final double tokensPerSecond;
+    private final double jitter;
+    private final double errorRate;
+    private final int maxTokens;
+    private final Map<Integer, AtomicInteger> promptCounts = new ConcurrentHashMap<>();
+
+    public FakeChatModel(@Value("${debate.llm.fake.seed:42}") long seed,
+                         @Value("${debate.llm.fake.ttft-ms:300}") long ttftMs,
+                         @Value("${debate.llm.fake.tokens-per-second:40}") double tokensPerSecond,
+                         @Value("${debate.llm.fake.jitter:0.2}") double jitter,
+                         @Value("${debate.llm.fake.error-rate:0}") double errorRate,
+                         @Value("${debate.llm.fake.max-tokens:200}") int maxTokens) {
+        this.seed = seed;
+        this.ttftMs = ttftMs;
+        this.tokensPerSecond = tokensPerSecond;
+        this.jitter = jitter;
+        this.errorRate = errorRate;
+        this.maxTokens = maxTokens;
+        log.info("Fake chat model: TTFT {}ms, {} tokens/s, jitter {}, error rate {}",
+                ttftMs, tokensPerSecond, jitter, errorRate);
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        Script script = script(prompt);
+        long totalMs = script.firstTokenMs() + script.gapsMs().stream().mapToLong(Long::longValue).sum();
+        try {
+            Thread.sleep(totalMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Fake model call interrupted", e);
+        }
+        if (script.failAtToken() >= 0) {
+            throw new RuntimeException("Fake model error (debate.llm.fake.error-rate)");
+        }
+        return response(String.join("", script.tokens()));
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        Script script = script(prompt);
+        List<Mono<ChatResponse>> chunks = new ArrayList<>();
+        for (int i = 0; i < script.tokens().size(); i++) {
+            long delayMs = i == 0 ? script.firstTokenMs() : script.gapsMs().get(i - 1);
+            Mono<ChatResponse> chunk = i == script.failAtToken()
+                    ? Mono.error(new RuntimeException("Fake model stream error (debate.llm.fake.error-rate)"))
+                    : Mono.just(response(script.tokens().get(i)));
+            chunks.add(chunk.delaySubscription(Duration.ofMillis(delayMs)));
+        }
+        return Flux.concat(chunks);
+    }
+
+    /**
+     * Tokens, timing and failure point of a call
+     */
+    private Script script(Prompt prompt) {
+        String text = prompt.getContents();
+        int promptHash = text.hashCode();
+        if (promptCounts.size() > MAX_TRACKED_PROMPTS) {
+            promptCounts.clear();
+        }
+        int occurrence = promptCounts.computeIfAbsent(promptHash, hash -> new AtomicInteger()).getAndIncrement();
+        Random random = new Random(seed * 31 + promptHash * 17L + occurrence);
+
+        String instructions = prompt.getInstructions().stream()
+                .filter(message -> message instanceof SystemMessage)
+                .map(Message::getText)
+                .findFirst()
+                .orElse(text);
+        boolean chinese = instructions.codePoints().anyMatch(c -> Character.UnicodeScript.of(c) == Character.UnicodeScript.HAN);
+        List<String> tokens = text.contains("\"score\"")
+                ? tokenize(judgment(random, chinese), chinese)
+                : tokenize(argument(random, chinese), chinese);
+
+        List<Long> gaps = new ArrayList<>(tokens.size());
+        double gapMs = 1000.0 / tokensPerSecond;
+        for (int i = 1; i < tokens.size(); i++) {
+            gaps.add(jittered(random, gapMs));
+        }
+        int failAtToken = random.nextDouble() < errorRate ? random.nextInt(tokens.size()) : -1;
+        return new Script(tokens, jittered(random, ttftMs), gaps, failAtToken);
+    }
+
+    private String argument(Random random, boolean chinese) {
+        String[] sentences = chinese ? ZH_SENTENCES : EN_SENTENCES;
+        StringBuilder text = new StringBuilder();
+        int tokens = 0;
+        while (tokens < maxTokens) {
+            String sentence = sentences[random.nextInt(sentences.length)];
+            if (!chinese && !text.isEmpty()) {
+                text.append(' ');
+            }
+            text.append(sentence);
+            tokens += chinese ? (sentence.length() + 1) / 2 : sentence.split(" ").length;
+        }
+        return text.toString();
+    }
+
+    private String judgment(Random random, boolean chinese) {
+        double score = 60 + random.nextInt(3500) / 100.0;
+        String feedback = chinese
+                ? ZH_SENTENCES[random.nextInt(ZH_SENTENCES.length)]
+                : EN_SENTENCES[random.nextInt(EN_SENTENCES.length)];
+        return String.format("{\"score\": %.2f, \"feedback\": \"%s\"}", score, feedback);
+    }
+
+    /**
+     * Two characters per token for Chinese, a word (with its space) for English
+     */
+    private static List<String> tokenize(String text, boolean chinese) {
+        List<String> tokens = new ArrayList<>();
+        if (chinese) {
+            for (int i = 0; i < text.length(); i += 2) {
+                tokens.add(text.substring(i, Math.min(i + 2, text.length())));
+            }
+        } else {
+            int start = 0;
+            for (int i = 1; i <= text.length(); i++) {
+                if (i == text.length() || text.charAt(i - 1) == ' ') {
+                    tokens.add(text.substring(start, i));
+                    start = i;
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private long jittered(Random random, double ms) {
+        return Math.max(0, Math.round(ms * (1 + jitter * (2 * random.nextDouble() - 1))));
+    }
+
+    private static ChatResponse response(String text) {
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(text))));
+    }
+}
@@ -0,0 +1,70 @@
+package com.aidebate.app.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed Score
+ * Score arithmetic on primitive longs: scores are held in hundredths
+ * (87.25 -> 8725) and weighted sums in ten-thousandths, matching the
+ * DECIMAL(5,2) score and DECIMAL(3,2) weight columns
+ *
+ * Rounding follows the BigDecimal code it replaces (2 decimals, HALF_UP),
+ * so results are identical; BigDecimal is only used to convert at the
+ * database and API edges
+ *
+ * @author AI Debate Team
+ */
+public final class FixedScore {
+
+    /**
+     * Hundredths per point
+     */
+    public static final long SCALE = 100;
+
+    private FixedScore() {
+    }
+
+    /**
+     * Score in hundredths, rounded HALF_UP like a DECIMAL(x,2) column
+     */
+    public static long of(BigDecimal score) {
+        return score.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Hundredths back to a 2-decimal BigDecimal
+     */
+    public static BigDecimal toBigDecimal(long hundredths) {
+        return BigDecimal.valueOf(hundredths, 2);
+    }
+
+    /**
+     * Average of {@code count} scores summing to {@code sum} hundredths, HALF_UP to hundredths
+     */
+    public static long average(long sum, long count) {
+        if (count == 0) {
+            return 0;
+        }
+        return divideHalfUp(sum, count);
+    }
+
+    /**
+     * Score times weight, both in hundredths; the product is in ten-thousandths
+     */
+    public static long weighted(long score, long weight) {
+        return score * weight;
+    }
+
+    /**
+     * Ten-thousandths rounded HALF_UP to hundredths
+     */
+    public static long roundWeighted(long tenThousandths) {
+        return divideHalfUp(tenThousandths, SCALE);
+    }
+
+    private static long divideHalfUp(long dividend, long divisor) {
+        long magnitude = (2 * Math.abs(dividend) + divisor) / (2 * divisor);
+        return dividend < 0 ? -magnitude : magnitude;
+    }
+}
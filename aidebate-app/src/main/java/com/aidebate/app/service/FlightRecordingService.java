@@ -0,0 +1,178 @@
+package com.aidebate.app.service;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Flight Recording Service
+ * Starts, reconfigures and dumps an in-process JDK Flight Recorder recording
+ * with the debate events (llm, sse and db categories) on top of the JDK's
+ * default profile, so a tail-latency incident can be captured on a live
+ * node without attaching a profiler
+ *
+ * Categories can be switched on and off while the recording runs; an
+ * optional threshold keeps only the slow calls. The profile's environment
+ * variable and system property events are left out, since they would put
+ * API keys and passwords into every dump
+ *
+ * @author AI Debate Team
+ */
+@Slf4j
+@Service
+public class FlightRecordingService {
+
+    /**
+     * Debate event categories and their event names
+     */
+    public static final Map<String, String> CATEGORIES = Map.of(
+            "llm", LlmCallEvent.NAME,
+            "sse", SseSendEvent.NAME,
+            "db", DbWriteEvent.NAME);
+
+    /**
+     * Events of the default profile that capture the process's secrets
+     */
+    private static final List<String> EXCLUDED_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty");
+
+    private final Path dumpDir;
+    private final Duration defaultMaxAge;
+
+    private Recording recording;
+    private final Set<String> enabledCategories = new TreeSet<>();
+    private Duration threshold = Duration.ZERO;
+    private Path lastDump;
+
+    public FlightRecordingService(@Value("${debate.jfr.dir:./data/jfr}") String dumpDir,
+                                  @Value("${debate.jfr.max-age-minutes:30}") long maxAgeMinutes) {
+        this.dumpDir = Path.of(dumpDir);
+        this.defaultMaxAge = Duration.ofMinutes(maxAgeMinutes);
+    }
+
+    /**
+     * Start a recording, replacing a running one
+     *
+     * @param categories  categories to enable, all when empty
+     * @param thresholdMs record only debate events at least this long, 0 for all
+     * @param maxAge      how much history the recording keeps, default if null
+     */
+    public synchronized Map<String, Object> start(Collection<String> categories, long thresholdMs, Duration maxAge) {
+        Set<String> selected = validate(categories == null || categories.isEmpty() ? CATEGORIES.keySet() : categories);
+        stopRecording();
+
+        Recording started;
+        try {
+            started = new Recording(Configuration.getConfiguration("default"));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load the default recording profile: " + e.getMessage(), e);
+        }
+        EXCLUDED_EVENTS.forEach(started::disable);
+        started.setName("aidebate");
+        started.setToDisk(true);
+        started.setMaxAge(maxAge != null ? maxAge : defaultMaxAge);
+        recording = started;
+        threshold = Duration.ofMillis(Math.max(thresholdMs, 0));
+        enabledCategories.clear();
+        for (String category : CATEGORIES.keySet()) {
+            setEnabled(category, selected.contains(category));
+        }
+        recording.start();
+        log.info("Flight recording started: categories {}, threshold {}ms", enabledCategories, thresholdMs);
+        return getStatus();
+    }
+
+    /**
+     * Switch a category on or off in the running recording
+     */
+    public synchronized Map<String, Object> setEnabled(String category, boolean enabled) {
+        String key = validate(List.of(category)).iterator().next();
+        if (recording == null) {
+            throw new IllegalStateException("No flight recording is running");
+        }
+        String eventName = CATEGORIES.get(key);
+        if (enabled) {
+            recording.enable(eventName).withThreshold(threshold);
+            enabledCategories.add(key);
+        } else {
+            recording.disable(eventName);
+            enabledCategories.remove(key);
+        }
+        return getStatus();
+    }
+
+    /**
+     * Write what the running recording holds to a file; the previous dump is deleted
+     */
+    public synchronized Path dump() {
+        if (recording == null) {
+            throw new IllegalStateException("No flight recording is running");
+        }
+        try {
+            Files.createDirectories(dumpDir);
+            Path file = dumpDir.resolve("aidebate-" + Instant.now().toEpochMilli() + ".jfr");
+            recording.dump(file);
+            if (lastDump != null) {
+                Files.deleteIfExists(lastDump);
+            }
+            lastDump = file;
+            log.info("Flight recording dumped to {} ({} bytes)", file, Files.size(file));
+            return file;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to dump flight recording: " + e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        stopRecording();
+    }
+
+    public synchronized Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        boolean running = recording != null && recording.getState() == RecordingState.RUNNING;
+        status.put("running", running);
+        status.put("categories", CATEGORIES.keySet().stream().sorted().toList());
+        if (running) {
+            status.put("enabled", new ArrayList<>(enabledCategories));
+            status.put("thresholdMs", threshold.toMillis());
+            status.put("startedAt", String.valueOf(recording.getStartTime()));
+            status.put("maxAgeMinutes", recording.getMaxAge().toMinutes());
+        }
+        status.put("lastDump", lastDump == null ? null : lastDump.toString());
+        return status;
+    }
+
+    private void stopRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+            enabledCategories.clear();
+            log.info("Flight recording stopped");
+        }
+    }
+
+    private static Set<String> validate(Collection<String> categories) {
+        Set<String> selected = new TreeSet<>();
+        for (String category : categories) {
+            String key = category.trim().toLowerCase(Locale.ROOT);
+            if (!CATEGORIES.containsKey(key)) {
+                throw new IllegalArgumentException("Unknown event category: " + category + ", expected one of " + CATEGORIES.keySet());
+            }
+            selected.add(key);
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,235 @@
+package com.aidebate.app.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.ollama.OllamaChatModel;
+import org.springframework.ai.ollama.api.OllamaApi;
+import org.springframework.ai.ollama.api.OllamaOptions;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LLM Backend Pool
+ * Debate model endpoints and how many calls each may run at once. Every
+ * call takes a free slot on the least loaded backend that has one, so batch
+ * runs spread over all of them; a call waits, up to acquire-timeout-ms, only
+ * when every backend is full
+ *
+ * The configured Ollama (or the fake model under the fake-llm profile) is
+ * always a backend; debate.llm.backends adds more Ollama servers running
+ * the same model. debate.llm.backend-concurrency limits each backend and
+ * debate.llm.max-concurrency all of them together, the budget shared by
+ * live debates, batch jobs and tournaments; 0 for no limit
+ *
+ * @author AI Debate Team
+ */
+@Slf4j
+@Component
+public class LlmBackendPool {
+
+    /**
+     * A model endpoint with its call limit
+     */
+    public static final class Backend {
+        private final String name;
+        private final String model;
+        private final ChatModel chatModel;
+        private final int maxConcurrency;
+        private final Semaphore permits;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final LongAdder calls = new LongAdder();
+
+        private Backend(String name, String model, ChatModel chatModel, int maxConcurrency) {
+            this.name = name;
+            this.model = model;
+            this.chatModel = chatModel;
+            this.maxConcurrency = maxConcurrency;
+            this.permits = maxConcurrency > 0 ? new Semaphore(maxConcurrency, true) : null;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getModel() {
+            return model;
+        }
+
+        public ChatModel getChatModel() {
+            return chatModel;
+        }
+
+        /**
+         * Share of the limit in use, in-flight calls when unlimited
+         */
+        private double load() {
+            return permits == null ? inFlight.get() : (double) inFlight.get() / maxConcurrency;
+        }
+    }
+
+    // While every backend is full, a waiting call looks again this often for one that freed up
+    private static final long RESCAN_MILLIS = 50;
+
+    private final List<Backend> backends = new ArrayList<>();
+    private final int maxConcurrency;
+    private final Semaphore budget;
+    private final long acquireTimeoutMillis;
+
+    public LlmBackendPool(ObjectProvider<OllamaChatModel> ollamaChatModel,
+                          ObjectProvider<FakeChatModel> fakeChatModel,
+                          @Value("${spring.ai.ollama.base-url:http://localhost:11434}") String ollamaUrl,
+                          @Value("${spring.ai.ollama.chat.model:unknown}") String ollamaModel,
+                          @Value("${debate.llm.backends:}") String extraBackends,
+                          @Value("${debate.llm.backend-concurrency:0}") int backendConcurrency,
+                          @Value("${debate.llm.max-concurrency:0}") int maxConcurrency,
+                          @Value("${debate.llm.acquire-timeout-ms:300000}") long acquireTimeoutMillis) {
+        this.maxConcurrency = maxConcurrency;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.budget = maxConcurrency > 0 ? new Semaphore(maxConcurrency, true) : null;
+        FakeChatModel fake = fakeChatModel.getIfAvailable();
+        if (fake != null) {
+            backends.add(new Backend("fake", "fake", fake, backendConcurrency));
+        } else {
+            OllamaChatModel ollama = ollamaChatModel.getObject();
+            backends.add(new Backend(ollamaUrl, ollamaModel, ollama, backendConcurrency));
+            for (String url : extraBackends.split(",")) {
+                url = url.trim();
+                if (url.isEmpty() || url.equals(ollamaUrl)) {
+                    continue;
+                }
+                OllamaChatModel model = OllamaChatModel.builder()
+                        .ollamaApi(new OllamaApi(url))
+                        .defaultOptions(OllamaOptions.fromOptions((OllamaOptions) ollama.getDefaultOptions()))
+                        .build();
+                backends.add(new Backend(url, ollamaModel, model, backendConcurrency));
+            }
+        }
+        log.info("LLM backends: {} (concurrency {} each, {} in total)",
+                backends.stream().map(Backend::getName).toList(), backendConcurrency > 0 ? backendConcurrency : "unlimited",
+                maxConcurrency > 0 ? maxConcurrency : "unlimited");
+    }
+
+    /**
+     * Take a call slot on the least loaded backend with one free, waiting if
+     * all are full; every acquire must be paired with {@link #release(Backend)}
+     *
+     * @throws RuntimeException if no slot frees up within the acquire timeout
+     */
+    public Backend acquire() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMillis);
+        try {
+            if (budget != null && !budget.tryAcquire(remainingNanos(deadline), TimeUnit.NANOSECONDS)) {
+                throw new RuntimeException("No LLM call slot free within " + acquireTimeoutMillis + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting for the LLM concurrency budget", e);
+        }
+        try {
+            Backend backend = acquireBackend(deadline);
+            backend.inFlight.incrementAndGet();
+            backend.calls.increment();
+            return backend;
+        } catch (RuntimeException e) {
+            if (budget != null) {
+                budget.release();
+            }
+            throw e;
+        }
+    }
+
+    private Backend acquireBackend(long deadline) {
+        try {
+            while (true) {
+                List<Backend> byLoad = new ArrayList<>(backends);
+                byLoad.sort(Comparator.comparingDouble(Backend::load));
+                for (Backend backend : byLoad) {
+                    if (backend.permits == null || backend.permits.tryAcquire()) {
+                        return backend;
+                    }
+                }
+                // All full: wait briefly on the least loaded one, then look at all of them again
+                long remaining = remainingNanos(deadline);
+                if (remaining <= 0) {
+                    throw new RuntimeException("No LLM backend free within " + acquireTimeoutMillis + "ms");
+                }
+                Backend backend = byLoad.get(0);
+                if (backend.permits.tryAcquire(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(RESCAN_MILLIS)),
+                        TimeUnit.NANOSECONDS)) {
+                    return backend;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting for an LLM backend", e);
+        }
+    }
+
+    private static long remainingNanos(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    public void release(Backend backend) {
+        backend.inFlight.decrementAndGet();
+        if (backend.permits != null) {
+            backend.permits.release();
+        }
+        if (budget != null) {
+            budget.release();
+        }
+    }
+
+    /**
+     * Model of the primary backend, for metrics not tied to one call
+     */
+    public String getDefaultModel() {
+        return backends.get(0).model;
+    }
+
+    /**
+     * Calls all backends can run at once, 0 if unlimited
+     */
+    public int getCapacity() {
+        int capacity = 0;
+        for (Backend backend : backends) {
+            if (backend.maxConcurrency <= 0) {
+                return maxConcurrency;
+            }
+            capacity += backend.maxConcurrency;
+        }
+        return maxConcurrency > 0 ? Math.min(capacity, maxConcurrency) : capacity;
+    }
+
+    /**
+     * Debates to run at once so the backends stay busy, most of a debate
+     * having one call in flight
+     *
+     * @param fallback used when the capacity is unlimited
+     */
+    public int getDebateParallelism(int fallback) {
+        int capacity = getCapacity();
+        return capacity > 0 ? capacity : fallback;
+    }
+
+    public List<Map<String, Object>> getStatistics() {
+        List<Map<String, Object>> stats = new ArrayList<>();
+        for (Backend backend : backends) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", backend.name);
+            entry.put("model", backend.model);
+            entry.put("maxConcurrency", backend.maxConcurrency);
+            entry.put("inFlight", backend.inFlight.get());
+            entry.put("waiting", backend.permits == null ? 0 : backend.permits.getQueueLength());
+            entry.put("calls", backend.calls.sum());
+            stats.add(entry);
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,43 @@
+package com.aidebate.app.service;
+
+import jdk.jfr.*;
+
+/**
+ * LLM Call Event
+ * JDK Flight Recorder event for one chat model call; the event duration is
+ * the call's latency
+ *
+ * @author AI Debate Team
+ */
+@Name(LlmCallEvent.NAME)
+@Label("LLM Call")
+@Category({"AI Debate", "LLM"})
+@Description("Blocking or streamed chat model call")
+@StackTrace(false)
+public class LlmCallEvent extends Event {
+
+    public static final String NAME = "aidebate.LlmCall";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Model")
+    String model;
+
+    @Label("Streamed")
+    boolean streamed;
+
+    @Label("Prompt Characters")
+    int promptChars;
+
+    @Label("Output Characters")
+    int outputChars;
+
+    @Label("Time to First Token")
+    @Description("Streamed calls only")
+    @Timespan(Timespan.NANOSECONDS)
+    long timeToFirstToken;
+
+    @Label("Success")
+    boolean success;
+}
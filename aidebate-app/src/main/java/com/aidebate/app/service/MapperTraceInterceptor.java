@@ -0,0 +1,110 @@
+package com.aidebate.app.service;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Mapper Trace Interceptor
+ * Records mapper statements and batch flushes run by a traced debate as
+ * spans of its trace, named after the mapper method (ArgumentMapper.insert),
+ * and writes from any thread (including the journal writer) as Flight
+ * Recorder DB write events; other queries pass straight through
+ *
+ * @author AI Debate Team
+ */
+@Component
+@RequiredArgsConstructor
+@Intercepts({
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class,
+                        CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "flushStatements", args = {})
+})
+public class MapperTraceInterceptor implements Interceptor {
+
+    private final DebateTracer debateTracer;
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        boolean query = "query".equals(invocation.getMethod().getName());
+        if (query && !debateTracer.isActive()) {
+            return invocation.proceed();
+        }
+        MappedStatement statement = invocation.getArgs().length == 0 ? null : (MappedStatement) invocation.getArgs()[0];
+        String name = statement == null ? "flush" : shortId(statement.getId());
+        DebateTracer.Span span = debateTracer.isActive() ? debateTracer.start("mapper " + name) : null;
+        DbWriteEvent event = query ? null : new DbWriteEvent();
+        if (event != null) {
+            event.begin();
+        }
+        Object result = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } catch (Throwable e) {
+            if (span != null) {
+                span.tag("error", e.getClass().getSimpleName());
+            }
+            throw e;
+        } finally {
+            if (span != null) {
+                span.tag("command", statement == null ? null : statement.getSqlCommandType()).end();
+            }
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.statement = name;
+                    event.command = statement == null ? "FLUSH" : statement.getSqlCommandType().name();
+                    event.rows = rows(result);
+                    event.commit();
+                }
+            }
+        }
+    }
+
+    /**
+     * Rows written by an update or a batch flush, -1 if not known yet
+     */
+    private static int rows(Object result) {
+        if (result instanceof Integer count) {
+            // Batched updates return a placeholder until the flush
+            return count < 0 ? -1 : count;
+        }
+        if (result instanceof List<?> batchResults) {
+            int rows = 0;
+            for (Object batchResult : batchResults) {
+                for (int count : ((BatchResult) batchResult).getUpdateCounts()) {
+                    rows += Math.max(count, 0);
+                }
+            }
+            return rows;
+        }
+        return -1;
+    }
+
+    /**
+     * com.aidebate.infrastructure.mapper.ArgumentMapper.insert to ArgumentMapper.insert
+     */
+    private static String shortId(String statementId) {
+        int method = statementId.lastIndexOf('.');
+        int type = method > 0 ? statementId.lastIndexOf('.', method - 1) : -1;
+        return statementId.substring(type + 1);
+    }
+}
@@ -0,0 +1,192 @@
+package com.aidebate.app.service;
+
+import com.aidebate.domain.model.SensitiveWord;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Moderation Stream
+ * Incremental moderation of one LLM response; the normalizer and automaton
+ * state survive chunk boundaries so a word split across tokens is still caught
+ *
+ * Only the trailing chars that could still grow into a match are held back,
+ * everything before them is released as soon as its chunk is scanned, so the
+ * cost per chunk is O(chunk length). Matches are mapped back to the original
+ * text, so masking covers any separators the writer slipped into the word
+ *
+ * Not thread-safe; one instance per stream
+ *
+ * @author AI Debate Team
+ */
+public class ModerationStream implements TextNormalizer.Sink {
+
+    private static final char MASK_CHAR = '*';
+
+    private final SensitiveWordMatcher matcher;
+    private final SensitiveWord.Severity maskMinSeverity;
+    private final boolean cutOnCritical;
+    private final ContentModerationService.StreamStatistics statistics;
+    private final TextNormalizer normalizer = new TextNormalizer(this);
+
+    // Original text not yet released; pendingStart is the stream offset of its first char
+    private final StringBuilder pending = new StringBuilder();
+    private int pendingStart;
+    private int offset;
+
+    // Stream offsets of the last normalized chars fed to the automaton
+    private final int[] recentPositions;
+    private int fed;
+
+    private int state;
+    private boolean cut;
+    private BitSet violated;
+    private SensitiveWord.Severity maxSeverity;
+
+    ModerationStream(SensitiveWordMatcher matcher, SensitiveWord.Severity maskMinSeverity, boolean cutOnCritical,
+                     ContentModerationService.StreamStatistics statistics) {
+        this.matcher = matcher;
+        this.maskMinSeverity = maskMinSeverity;
+        this.cutOnCritical = cutOnCritical;
+        this.statistics = statistics;
+        this.recentPositions = new int[matcher.maxPatternLength()];
+        this.state = matcher.root();
+    }
+
+    /**
+     * Scan a chunk and return the text that is safe to forward now
+     *
+     * @param chunk Raw chunk from the model
+     * @return Moderated text, possibly empty while a potential match is pending
+     */
+    public String accept(String chunk) {
+        long start = System.nanoTime();
+        if (cut || chunk == null || chunk.isEmpty()) {
+            return "";
+        }
+
+        for (int i = 0; i < chunk.length() && !cut; i++) {
+            pending.append(chunk.charAt(i));
+            normalizer.feed(chunk.charAt(i), offset++);
+        }
+
+        // Hold back the tail that may still become part of a match
+        int holdFrom = offset;
+        if (!cut) {
+            int depth = matcher.depth(state);
+            if (depth > 0) {
+                holdFrom = recentPosition(depth);
+            }
+            int unfed = normalizer.pendingPosition();
+            if (unfed >= 0) {
+                holdFrom = Math.min(holdFrom, unfed);
+            }
+        }
+        String out = release(holdFrom - pendingStart);
+
+        if (statistics != null) {
+            statistics.recordChunk(System.nanoTime() - start);
+        }
+        return out;
+    }
+
+    /**
+     * Release whatever is still held back at the end of the stream
+     */
+    public String finish() {
+        if (!cut) {
+            normalizer.finish();
+        }
+        return release(pending.length());
+    }
+
+    /**
+     * Whether the stream was cut because of a CRITICAL word
+     */
+    public boolean isCut() {
+        return cut;
+    }
+
+    /**
+     * Words found so far, in dictionary order
+     */
+    public List<String> getViolatedWords() {
+        List<String> words = new ArrayList<>();
+        if (violated != null) {
+            for (int p = violated.nextSetBit(0); p >= 0; p = violated.nextSetBit(p + 1)) {
+                words.add(matcher.word(p));
+            }
+        }
+        return words;
+    }
+
+    public SensitiveWord.Severity getMaxSeverity() {
+        return maxSeverity;
+    }
+
+    /**
+     * Normalized char from the normalizer
+     */
+    @Override
+    public void accept(char c, int position) {
+        if (cut) {
+            return;
+        }
+        state = matcher.step(state, c);
+        recentPositions[fed++ % recentPositions.length] = position;
+        if (matcher.hasOutput(state)) {
+            handleMatches(position);
+        }
+    }
+
+    private void handleMatches(int end) {
+        for (int node = matcher.firstOutputNode(state); node >= 0; node = matcher.nextOutputNode(node)) {
+            for (int p = matcher.patternAt(node); p >= 0; p = matcher.nextSamePattern(p)) {
+                SensitiveWord.Severity severity = matcher.severity(p);
+                if (violated == null) {
+                    violated = new BitSet(matcher.size());
+                }
+                violated.set(p);
+                if (maxSeverity == null || severity.ordinal() > maxSeverity.ordinal()) {
+                    maxSeverity = severity;
+                }
+
+                // The whole word is still pending: the held-back tail covered its prefix
+                int wordStart = Math.max(0, recentPosition(matcher.patternLength(p)) - pendingStart);
+                int wordEnd = end - pendingStart;
+                if (cutOnCritical && severity == SensitiveWord.Severity.CRITICAL) {
+                    pending.setLength(wordStart);
+                    cut = true;
+                    if (statistics != null) {
+                        statistics.recordCut();
+                    }
+                    return;
+                }
+                if (severity.ordinal() >= maskMinSeverity.ordinal()) {
+                    for (int i = wordStart; i <= wordEnd; i++) {
+                        pending.setCharAt(i, MASK_CHAR);
+                    }
+                    if (statistics != null) {
+                        statistics.recordMask();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Stream offset of the n-th most recent normalized char (n = 1 is the last one)
+     */
+    private int recentPosition(int n) {
+        return recentPositions[(fed - n) % recentPositions.length];
+    }
+
+    private String release(int count) {
+        int length = Math.min(count, pending.length());
+        String out = pending.substring(0, length);
+        pending.delete(0, length);
+        pendingStart += length;
+        return out;
+    }
+}
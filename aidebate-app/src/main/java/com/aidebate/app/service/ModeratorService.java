@@ -342,6 +342,14 @@ public class ModeratorService {
         return "AFFIRMATIVE";
     }
 
+    private void saveMessage(ModeratorMessage message, DebateWriteBatch batch) {
+        if (batch != null) {
+            batch.add(message);
+        } else {
+            moderatorMessageMapper.insert(message);
+        }
+    }
+
     private Map<String, Object> createMessageResponse(ModeratorMessage message) {
         Map<String, Object> response = new HashMap<>();
         response.put("messageId", message.getMessageId());
@@ -359,15 +367,25 @@ public class ModeratorService {
     /**
      * Generate argument summary with streaming
      */
-    @Transactional
-    public void generateArgumentSummaryStream(Long argumentId, Long sessionId, String language, 
+    public void generateArgumentSummaryStream(Long argumentId, Long sessionId, String language,
                                               AlibabaAIService.StreamCallback callback) {
-        log.info("Generating argument summary with streaming for argument: {}", argumentId);
-
         Argument argument = argumentMapper.selectById(argumentId);
         if (argument == null) {
             throw new RuntimeException("Argument not found: " + argumentId);
         }
+        generateArgumentSummaryStream(argument, sessionId, language, null, callback);
+    }
+
+    /**
+     * Generate argument summary with streaming for an argument the caller already holds
+     * (it may still be on its way to the database)
+     * The stored message goes into the round's batch when one is given
+     */
+    @Transactional
+    public void generateArgumentSummaryStream(Argument argument, Long sessionId, String language,
+                                              DebateWriteBatch batch, AlibabaAIService.StreamCallback callback) {
+        Long argumentId = argument.getArgumentId();
+        log.info("Generating argument summary with streaming for argument: {}", argumentId);
 
         DebateSession session = debateSessionMapper.selectById(sessionId);
         DebateTopic topic = topicMapper.selectById(session.getTopicId());
@@ -396,7 +414,7 @@ public class ModeratorService {
                         .speakerSide(determineSpeakerSide(argument, session))
                         .createdAt(LocalDateTime.now())
                         .build();
-                moderatorMessageMapper.insert(message);
+                saveMessage(message, batch);
             }
         };
 
@@ -412,15 +430,25 @@ public class ModeratorService {
     /**
      * Generate argument evaluation with streaming
      */
-    @Transactional
     public void generateArgumentEvaluationStream(Long argumentId, Long sessionId, String language,
                                                  AlibabaAIService.StreamCallback callback) {
-        log.info("Generating argument evaluation with streaming for argument: {}", argumentId);
-
         Argument argument = argumentMapper.selectById(argumentId);
         if (argument == null) {
             throw new RuntimeException("Argument not found: " + argumentId);
         }
+        generateArgumentEvaluationStream(argument, sessionId, language, null, callback);
+    }
+
+    /**
+     * Generate argument evaluation with streaming for an argument the caller already holds
+     * (it may still be on its way to the database)
+     * The stored message goes into the round's batch when one is given
+     */
+    @Transactional
+    public void generateArgumentEvaluationStream(Argument argument, Long sessionId, String language,
+                                                 DebateWriteBatch batch, AlibabaAIService.StreamCallback callback) {
+        Long argumentId = argument.getArgumentId();
+        log.info("Generating argument evaluation with streaming for argument: {}", argumentId);
 
         DebateSession session = debateSessionMapper.selectById(sessionId);
         DebateTopic topic = topicMapper.selectById(session.getTopicId());
@@ -452,7 +480,7 @@ public class ModeratorService {
                         .speakerSide(determineSpeakerSide(argument, session))
                         .createdAt(LocalDateTime.now())
                         .build();
-                moderatorMessageMapper.insert(message);
+                saveMessage(message, batch);
             }
         };
 
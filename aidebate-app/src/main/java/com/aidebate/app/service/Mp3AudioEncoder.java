@@ -0,0 +1,117 @@
+package com.aidebate.app.service;
+
+import de.sciss.jump3r.lowlevel.LameEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sound.sampled.AudioFormat;
+
+/**
+ * MP3 Audio Encoder
+ * Encodes PCM incrementally with LAME as deltas arrive, so compressed frames
+ * reach the client while synthesis is still running
+ *
+ * At the default 32 kbps a listener pulls about 4 KB/s instead of 48 KB/s for WAV
+ *
+ * @author AI Debate Team
+ */
+@Component
+public class Mp3AudioEncoder implements AudioEncoder {
+
+    private final int bitrateKbps;
+    private final int quality;
+
+    public Mp3AudioEncoder(@Value("${voice.audio.mp3.bitrate-kbps:32}") int bitrateKbps,
+                           @Value("${voice.audio.mp3.quality:7}") int quality) {
+        this.bitrateKbps = bitrateKbps;
+        this.quality = quality;
+    }
+
+    @Override
+    public String getFormat() {
+        return "mp3";
+    }
+
+    @Override
+    public String getContentType() {
+        return "audio/mpeg";
+    }
+
+    @Override
+    public Session open(VoiceAIService.AudioStreamCallback sink, int estimatedPcmBytes) {
+        AudioFormat sourceFormat = new AudioFormat(VoiceAIService.SAMPLE_RATE, VoiceAIService.BITS_PER_SAMPLE,
+                VoiceAIService.CHANNELS, true, false);
+        LameEncoder encoder = new LameEncoder(sourceFormat, bitrateKbps, LameEncoder.CHANNEL_MODE_MONO, quality, false);
+        return new Mp3Session(encoder, sink);
+    }
+
+    /**
+     * One LAME encoder per utterance; scratch arrays are reused across deltas
+     */
+    private static class Mp3Session implements Session {
+
+        private final LameEncoder encoder;
+        private final VoiceAIService.AudioStreamCallback sink;
+        private final int pcmChunkSize;
+        private final byte[] mp3Buffer;
+        private byte[] pcmScratch = new byte[8192];
+        // Odd trailing byte of a 16-bit sample split across deltas
+        private int carry = -1;
+        private boolean closed;
+
+        Mp3Session(LameEncoder encoder, VoiceAIService.AudioStreamCallback sink) {
+            this.encoder = encoder;
+            this.sink = sink;
+            // Keep whole samples per encodeBuffer call
+            this.pcmChunkSize = encoder.getPCMBufferSize() & ~1;
+            this.mp3Buffer = new byte[encoder.getMP3BufferSize()];
+        }
+
+        @Override
+        public synchronized void appendBase64(String base64) throws Exception {
+            int needed = PcmAudioBuffer.maxDecodedLength(base64) + 1;
+            if (pcmScratch.length < needed) {
+                pcmScratch = new byte[Math.max(needed, pcmScratch.length * 2)];
+            }
+
+            int start = 0;
+            if (carry >= 0) {
+                pcmScratch[0] = (byte) carry;
+                start = 1;
+                carry = -1;
+            }
+            int length = start + PcmAudioBuffer.decodeBase64(base64, pcmScratch, start);
+            if ((length & 1) == 1) {
+                carry = pcmScratch[length - 1] & 0xff;
+                length--;
+            }
+            encode(pcmScratch, length);
+        }
+
+        @Override
+        public synchronized void finish() throws Exception {
+            int written = encoder.encodeFinish(mp3Buffer);
+            sink.onChunk(mp3Buffer, 0, Math.max(written, 0), true);
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!closed) {
+                closed = true;
+                encoder.close();
+            }
+        }
+
+        private void encode(byte[] pcm, int length) throws Exception {
+            for (int offset = 0; offset < length; offset += pcmChunkSize) {
+                int n = Math.min(pcmChunkSize, length - offset);
+                int written = encoder.encodeBuffer(pcm, offset, n, mp3Buffer);
+                if (written > 0) {
+                    sink.onChunk(mp3Buffer, 0, written, false);
+                } else if (written < 0) {
+                    throw new IllegalStateException("MP3 encoder error: " + written);
+                }
+            }
+        }
+    }
+}
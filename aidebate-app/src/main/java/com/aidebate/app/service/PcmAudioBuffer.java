@@ -0,0 +1,254 @@
+package com.aidebate.app.service;
+
+import java.util.Arrays;
+
+/**
+ * PCM Audio Buffer
+ * Accumulates TTS audio deltas in pooled segments, decoding Base64 text
+ * directly into the segments and reserving room for the WAV header in front
+ * of the first segment so the final file never needs to be copied
+ *
+ * Not reused after {@link #release()}; all mutators are synchronized because
+ * TTS callbacks arrive on the websocket thread
+ *
+ * @author AI Debate Team
+ */
+public class PcmAudioBuffer {
+
+    private static final int[] BASE64_DECODE = new int[128];
+
+    static {
+        Arrays.fill(BASE64_DECODE, -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64_DECODE[alphabet.charAt(i)] = i;
+        }
+    }
+
+    private final AudioBufferPool pool;
+    private byte[][] segments;
+    private int segmentCount;
+    private byte[] current;
+    private int writeIndex;
+    private int pcmSize;
+    private boolean released;
+
+    PcmAudioBuffer(AudioBufferPool pool, int estimatedPcmBytes) {
+        this.pool = pool;
+        int estimatedSegments = (WavFormat.HEADER_SIZE + Math.max(0, estimatedPcmBytes)) / AudioBufferPool.SEGMENT_SIZE + 1;
+        this.segments = new byte[estimatedSegments][];
+    }
+
+    /**
+     * Decode a Base64 audio delta straight into the buffer
+     *
+     * @param base64 Standard (RFC 4648) Base64 text, padding optional
+     */
+    public synchronized void appendBase64(String base64) {
+        ensureWritable();
+        int bits = 0;
+        int count = 0;
+        int length = base64.length();
+
+        for (int i = 0; i < length; i++) {
+            char c = base64.charAt(i);
+            if (c == '=') {
+                break;
+            }
+            int value = c < 128 ? BASE64_DECODE[c] : -1;
+            if (value < 0) {
+                if (Character.isWhitespace(c)) {
+                    continue;
+                }
+                throw new IllegalArgumentException("Illegal Base64 character: " + c);
+            }
+            bits = (bits << 6) | value;
+            if (++count == 4) {
+                putTriple(bits);
+                bits = 0;
+                count = 0;
+            }
+        }
+
+        if (count == 2) {
+            putByte(bits >> 4);
+        } else if (count == 3) {
+            putByte(bits >> 10);
+            putByte(bits >> 2);
+        } else if (count == 1) {
+            throw new IllegalArgumentException("Truncated Base64 audio delta");
+        }
+    }
+
+    /**
+     * Decode Base64 text into an existing array without intermediate allocation
+     *
+     * @param base64 Standard (RFC 4648) Base64 text, padding optional
+     * @param dst    Destination, needs {@link #maxDecodedLength(String)} bytes from offset
+     * @param offset Offset to start writing at
+     * @return Number of bytes written
+     */
+    public static int decodeBase64(String base64, byte[] dst, int offset) {
+        int bits = 0;
+        int count = 0;
+        int position = offset;
+        int length = base64.length();
+
+        for (int i = 0; i < length; i++) {
+            char c = base64.charAt(i);
+            if (c == '=') {
+                break;
+            }
+            int value = c < 128 ? BASE64_DECODE[c] : -1;
+            if (value < 0) {
+                if (Character.isWhitespace(c)) {
+                    continue;
+                }
+                throw new IllegalArgumentException("Illegal Base64 character: " + c);
+            }
+            bits = (bits << 6) | value;
+            if (++count == 4) {
+                dst[position] = (byte) (bits >> 16);
+                dst[position + 1] = (byte) (bits >> 8);
+                dst[position + 2] = (byte) bits;
+                position += 3;
+                bits = 0;
+                count = 0;
+            }
+        }
+
+        if (count == 2) {
+            dst[position++] = (byte) (bits >> 4);
+        } else if (count == 3) {
+            dst[position++] = (byte) (bits >> 10);
+            dst[position++] = (byte) (bits >> 2);
+        } else if (count == 1) {
+            throw new IllegalArgumentException("Truncated Base64 audio delta");
+        }
+        return position - offset;
+    }
+
+    /**
+     * Upper bound of decoded bytes for a Base64 string
+     */
+    public static int maxDecodedLength(String base64) {
+        return (base64.length() + 3) / 4 * 3;
+    }
+
+    /**
+     * Append raw PCM bytes
+     */
+    public synchronized void append(byte[] data, int offset, int length) {
+        ensureWritable();
+        while (length > 0) {
+            if (current == null || writeIndex == current.length) {
+                nextSegment();
+            }
+            int n = Math.min(length, current.length - writeIndex);
+            System.arraycopy(data, offset, current, writeIndex, n);
+            writeIndex += n;
+            pcmSize += n;
+            offset += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * @return Number of PCM bytes collected so far
+     */
+    public synchronized int getPcmSize() {
+        return pcmSize;
+    }
+
+    /**
+     * Emit the buffer as a WAV file, one segment per callback
+     * The header is written in place into the reserved front of the first segment
+     *
+     * @param callback      Receives each segment slice; the last one is flagged complete
+     */
+    public synchronized void emitWav(VoiceAIService.AudioStreamCallback callback,
+                                     int sampleRate, int channels, int bitsPerSample) throws Exception {
+        ensureWritable();
+        if (segmentCount == 0) {
+            nextSegment();
+        }
+        WavFormat.writeHeader(segments[0], 0, pcmSize, sampleRate, channels, bitsPerSample);
+        for (int i = 0; i < segmentCount; i++) {
+            boolean last = i == segmentCount - 1;
+            int length = last ? writeIndex : AudioBufferPool.SEGMENT_SIZE;
+            callback.onChunk(segments[i], 0, length, last);
+        }
+    }
+
+    /**
+     * Build the WAV file as one exactly-sized array (single copy)
+     */
+    public synchronized byte[] toWavBytes(int sampleRate, int channels, int bitsPerSample) {
+        ensureWritable();
+        byte[] wav = new byte[WavFormat.HEADER_SIZE + pcmSize];
+        WavFormat.writeHeader(wav, 0, pcmSize, sampleRate, channels, bitsPerSample);
+        int position = WavFormat.HEADER_SIZE;
+        for (int i = 0; i < segmentCount; i++) {
+            int start = i == 0 ? WavFormat.HEADER_SIZE : 0;
+            int end = i == segmentCount - 1 ? writeIndex : AudioBufferPool.SEGMENT_SIZE;
+            System.arraycopy(segments[i], start, wav, position, end - start);
+            position += end - start;
+        }
+        return wav;
+    }
+
+    /**
+     * Return all segments to the pool; the buffer must not be used afterwards
+     */
+    public synchronized void release() {
+        if (released) {
+            return;
+        }
+        released = true;
+        for (int i = 0; i < segmentCount; i++) {
+            pool.release(segments[i]);
+            segments[i] = null;
+        }
+        segmentCount = 0;
+        current = null;
+    }
+
+    private void putTriple(int bits) {
+        if (current != null && writeIndex + 3 <= current.length) {
+            current[writeIndex] = (byte) (bits >> 16);
+            current[writeIndex + 1] = (byte) (bits >> 8);
+            current[writeIndex + 2] = (byte) bits;
+            writeIndex += 3;
+            pcmSize += 3;
+        } else {
+            putByte(bits >> 16);
+            putByte(bits >> 8);
+            putByte(bits);
+        }
+    }
+
+    private void putByte(int value) {
+        if (current == null || writeIndex == current.length) {
+            nextSegment();
+        }
+        current[writeIndex++] = (byte) value;
+        pcmSize++;
+    }
+
+    private void nextSegment() {
+        if (segmentCount == segments.length) {
+            segments = Arrays.copyOf(segments, segments.length * 2);
+        }
+        current = pool.acquire();
+        segments[segmentCount] = current;
+        // First segment keeps room for the WAV header
+        writeIndex = segmentCount == 0 ? WavFormat.HEADER_SIZE : 0;
+        segmentCount++;
+    }
+
+    private void ensureWritable() {
+        if (released) {
+            throw new IllegalStateException("Audio buffer already released");
+        }
+    }
+}
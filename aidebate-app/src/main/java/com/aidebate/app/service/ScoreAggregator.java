@@ -0,0 +1,72 @@
+package com.aidebate.app.service;
+
+import com.aidebate.domain.model.RoundScoreRecord;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Score Aggregator
+ * Running per-round, per-side judge score sums for one debate session
+ *
+ * A round's score is the average of its judges (2 decimals, HALF_UP) and
+ * the cumulative score is the sum of the round scores, the same as
+ * recomputing them from round_score_record. Each judge result updates the
+ * affected round and the running total in constant time, in fixed-point
+ * hundredths ({@link FixedScore})
+ *
+ * @author AI Debate Team
+ */
+public final class ScoreAggregator {
+
+    private static final int AFFIRMATIVE = 0;
+    private static final int NEGATIVE = 1;
+
+    /**
+     * Judge score sum and count for both sides of one round
+     */
+    private static final class RoundTally {
+        private final long[] sums = new long[2];
+        private final int[] counts = new int[2];
+
+        private long average(int side) {
+            return FixedScore.average(sums[side], counts[side]);
+        }
+    }
+
+    private final Map<Integer, RoundTally> rounds = new TreeMap<>();
+    private final long[] totals = new long[2];
+
+    /**
+     * Add one judge's score
+     */
+    public synchronized void add(RoundScoreRecord record) {
+        int side = sideIndex(record.getDebaterSide());
+        RoundTally tally = rounds.computeIfAbsent(record.getRoundNumber(), k -> new RoundTally());
+
+        long before = tally.average(side);
+        tally.sums[side] += FixedScore.of(record.getScore());
+        tally.counts[side]++;
+        totals[side] += tally.average(side) - before;
+    }
+
+    /**
+     * Average judge score of a side in a round, 0 if not scored yet
+     */
+    public synchronized BigDecimal getRoundAverage(int roundNumber, String side) {
+        RoundTally tally = rounds.get(roundNumber);
+        return tally == null ? BigDecimal.ZERO : FixedScore.toBigDecimal(tally.average(sideIndex(side)));
+    }
+
+    /**
+     * Sum of the round averages of a side
+     */
+    public synchronized BigDecimal getTotal(String side) {
+        return FixedScore.toBigDecimal(totals[sideIndex(side)]);
+    }
+
+    private static int sideIndex(String side) {
+        return "AFFIRMATIVE".equals(side) ? AFFIRMATIVE : NEGATIVE;
+    }
+}
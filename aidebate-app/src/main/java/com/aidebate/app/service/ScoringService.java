@@ -12,10 +12,13 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -30,6 +33,9 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ScoringService {
 
+    private static final int RULE_WEIGHT_CACHE_SIZE = 1000;
+    private static final long RULE_WEIGHT_TTL_MILLIS = 10 * 60 * 1000L;
+
     private final ScoringRuleMapper scoringRuleMapper;
     private final ScoreRecordMapper scoreRecordMapper;
     private final RoleMapper roleMapper;
@@ -38,6 +44,28 @@ public class ScoringService {
     private final RoundScoreRecordMapper roundScoreRecordMapper;
     private final DebateTopicMapper topicMapper;
     private final DebateSessionMapper debateSessionMapper;
+    private final BatchPersistenceService batchPersistenceService;
+    private final DebateTracer debateTracer;
+
+    // Running round scores of debates being run on this node, built from the database
+    // when a run first scores and dropped when it stops; only committed scores are added
+    private final Map<Long, ScoreAggregator> aggregators = new ConcurrentHashMap<>();
+
+    /**
+     * Rule weights of a session (rule id -> weight in hundredths) and when they were loaded
+     */
+    private record CachedWeights(Map<Long, Long> weights, long loadedAt) {
+    }
+
+    // Rules never change once created; score reads of any session pass through
+    // here, so the cache is bounded (least recently used first) and entries expire
+    private final Map<Long, CachedWeights> ruleWeights = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, CachedWeights> eldest) {
+                    return size() > RULE_WEIGHT_CACHE_SIZE;
+                }
+            });
 
     /**
      * Create scoring rules for a session
@@ -53,6 +81,7 @@ public class ScoringService {
                 "Assesses the argument's convincing power and rhetorical effectiveness");
         createRule(sessionId, "Fluency", 100, new BigDecimal("0.25"),
                 "Measures clarity, coherence, and linguistic quality");
+        ruleWeights.remove(sessionId);
     }
 
     /**
@@ -74,6 +103,7 @@ public class ScoringService {
         List<ScoringRule> rules = getScoringRules(sessionId);
 
         // Each judge scores based on each criterion
+        List<ScoreRecord> records = new ArrayList<>();
         for (Role judge : judges) {
             for (ScoringRule rule : rules) {
                 Map<String, Object> judgment = alibabaAIService.judgeArgument(
@@ -93,9 +123,12 @@ public class ScoringService {
                         .scoredAt(LocalDateTime.now())
                         .build();
 
-                scoreRecordMapper.insert(record);
+                records.add(record);
             }
         }
+
+        // One batched insert instead of one round-trip per judge and criterion
+        batchPersistenceService.saveAll(records);
     }
 
     /**
@@ -133,27 +166,66 @@ public class ScoringService {
         Map<Long, List<ScoreRecord>> scoresByRule = scores.stream()
                 .collect(java.util.stream.Collectors.groupingBy(ScoreRecord::getRuleId));
 
-        BigDecimal weightedTotal = BigDecimal.ZERO;
+        Map<Long, Long> weights = getRuleWeights(scores.get(0).getSessionId());
 
         // For each criterion, average the 3 judge scores and apply weight
+        long weightedTotal = 0;
         for (Map.Entry<Long, List<ScoreRecord>> entry : scoresByRule.entrySet()) {
-            Long ruleId = entry.getKey();
-            List<ScoreRecord> ruleScores = entry.getValue();
+            long sum = 0;
+            for (ScoreRecord score : entry.getValue()) {
+                sum += FixedScore.of(score.getScore());
+            }
+            long avgScore = FixedScore.average(sum, entry.getValue().size());
+            weightedTotal += FixedScore.weighted(avgScore, weights.getOrDefault(entry.getKey(), 0L));
+        }
+
+        return FixedScore.toBigDecimal(FixedScore.roundWeighted(weightedTotal));
+    }
 
-            ScoringRule rule = scoringRuleMapper.selectById(ruleId);
+    /**
+     * Total weighted argument score per side ("AFFIRMATIVE", "NEGATIVE") of a session
+     * Same result as summing calculateArgumentScore over the side's arguments, in one query
+     */
+    public Map<String, BigDecimal> calculateSideScores(Long sessionId) {
+        List<Map<String, Object>> rows = scoreRecordMapper.selectRuleTotalsBySession(sessionId);
+        return sumWeightedScores(rows, getRuleWeights(sessionId));
+    }
 
-            // Average of 3 judges for this criterion
-            BigDecimal avgScore = ruleScores.stream()
-                    .map(ScoreRecord::getScore)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add)
-                    .divide(BigDecimal.valueOf(ruleScores.size()), 2, RoundingMode.HALF_UP);
+    /**
+     * Fold per-rule score sums into per-side totals
+     * Each argument is rounded like calculateArgumentScore before it is added to its side
+     */
+    public static Map<String, BigDecimal> sumWeightedScores(List<Map<String, Object>> rows,
+                                                            Map<Long, Long> weights) {
+        Map<Long, String> argumentSides = new HashMap<>();
+        Map<Long, long[]> argumentScores = new HashMap<>();
+        for (Map<String, Object> row : rows) {
+            Long argumentId = ((Number) row.get("argument_id")).longValue();
+            // A score whose rule is not among the session's rules counts for nothing, as in calculateArgumentScore
+            long weight = weights.getOrDefault(((Number) row.get("rule_id")).longValue(), 0L);
+            long sum = FixedScore.of(new BigDecimal(row.get("score_sum").toString()));
+            long count = ((Number) row.get("score_count")).longValue();
+
+            argumentSides.put(argumentId, row.get("role_type").toString());
+            argumentScores.computeIfAbsent(argumentId, k -> new long[1])[0] +=
+                    FixedScore.weighted(FixedScore.average(sum, count), weight);
+        }
 
-            // Apply weight
-            BigDecimal weightedScore = avgScore.multiply(rule.getWeight());
-            weightedTotal = weightedTotal.add(weightedScore);
+        long affirmative = 0;
+        long negative = 0;
+        for (Map.Entry<Long, long[]> entry : argumentScores.entrySet()) {
+            long score = FixedScore.roundWeighted(entry.getValue()[0]);
+            if ("AFFIRMATIVE".equals(argumentSides.get(entry.getKey()))) {
+                affirmative += score;
+            } else {
+                negative += score;
+            }
         }
 
-        return weightedTotal.setScale(2, RoundingMode.HALF_UP);
+        Map<String, BigDecimal> totals = new HashMap<>();
+        totals.put("AFFIRMATIVE", FixedScore.toBigDecimal(affirmative));
+        totals.put("NEGATIVE", FixedScore.toBigDecimal(negative));
+        return totals;
     }
 
     /**
@@ -178,8 +250,17 @@ public class ScoringService {
      * Score both sides after a round completes
      * This is the main entry point for per-round scoring
      */
-    @Transactional
     public Map<String, BigDecimal> scoreRound(Long sessionId, Integer roundNumber, String language) {
+        return scoreRound(sessionId, roundNumber, language, null);
+    }
+
+    /**
+     * Score both sides after a round completes
+     * With a batch the score records are written by the round's flush, otherwise right away
+     */
+    @Transactional
+    public Map<String, BigDecimal> scoreRound(Long sessionId, Integer roundNumber, String language,
+                                              DebateWriteBatch batch) {
         log.info("Scoring round {} for session {}", roundNumber, sessionId);
 
         // Get session context
@@ -203,16 +284,20 @@ public class ScoringService {
         
         // Get all judges
         List<Role> judges = getJudges(sessionId);
+
+        // Built before this round's scores exist, which are added once committed
+        ScoreAggregator aggregator = getAggregator(sessionId);
         
         // ========== PARALLEL SCORING EXECUTION ==========
         // Create list of all scoring tasks (3 judges × 2 sides = 6 tasks)
+        // Tasks keep the debate trace, so judge calls show under the scoring stage
         List<CompletableFuture<RoundScoreRecord>> scoringTasks = new ArrayList<>();
         
         for (Role judge : judges) {
             int judgeNumber = getJudgeNumber(judge);
             
             // Task for scoring AFFIRMATIVE side (async)
-            CompletableFuture<RoundScoreRecord> affirmativeTask = CompletableFuture.supplyAsync(() -> {
+            CompletableFuture<RoundScoreRecord> affirmativeTask = CompletableFuture.supplyAsync(debateTracer.wrap(() -> {
                 try {
                     Map<String, Object> affirmativeEval = alibabaAIService.evaluateRoundPerformance(
                         "AFFIRMATIVE",
@@ -247,10 +332,10 @@ public class ScoringService {
                         .scoredAt(LocalDateTime.now())
                         .build();
                 }
-            });
+            }));
             
             // Task for scoring NEGATIVE side (async)
-            CompletableFuture<RoundScoreRecord> negativeTask = CompletableFuture.supplyAsync(() -> {
+            CompletableFuture<RoundScoreRecord> negativeTask = CompletableFuture.supplyAsync(debateTracer.wrap(() -> {
                 try {
                     Map<String, Object> negativeEval = alibabaAIService.evaluateRoundPerformance(
                         "NEGATIVE",
@@ -285,7 +370,7 @@ public class ScoringService {
                         .scoredAt(LocalDateTime.now())
                         .build();
                 }
-            });
+            }));
             
             scoringTasks.add(affirmativeTask);
             scoringTasks.add(negativeTask);
@@ -303,14 +388,22 @@ public class ScoringService {
                 .collect(Collectors.toList())
         ).join();
         
-        // Batch insert all score records
-        for (RoundScoreRecord record : scoreRecords) {
-            roundScoreRecordMapper.insert(record);
+        // Batch insert all score records; the running tally only takes them once written,
+        // so a failed write leaves memory and database in agreement
+        Runnable tally = () -> scoreRecords.forEach(aggregator::add);
+        if (batch != null) {
+            batch.addAll(scoreRecords);
+            batch.afterFlush(tally);
+        } else {
+            batchPersistenceService.saveAll(scoreRecords);
+            batchPersistenceService.afterCommit(tally);
         }
         
-        // Calculate round averages
-        BigDecimal affirmativeScore = calculateRoundAverage(sessionId, roundNumber, "AFFIRMATIVE");
-        BigDecimal negativeScore = calculateRoundAverage(sessionId, roundNumber, "NEGATIVE");
+        // Round averages from this round's records, no need to read them back
+        ScoreAggregator round = new ScoreAggregator();
+        scoreRecords.forEach(round::add);
+        BigDecimal affirmativeScore = round.getRoundAverage(roundNumber, "AFFIRMATIVE");
+        BigDecimal negativeScore = round.getRoundAverage(roundNumber, "NEGATIVE");
         
         Map<String, BigDecimal> result = new HashMap<>();
         result.put("affirmativeScore", affirmativeScore);
@@ -331,64 +424,41 @@ public class ScoringService {
             return BigDecimal.ZERO;
         }
         
-        BigDecimal sum = scores.stream()
-            .map(RoundScoreRecord::getScore)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long sum = 0;
+        for (RoundScoreRecord score : scores) {
+            sum += FixedScore.of(score.getScore());
+        }
         
-        return sum.divide(BigDecimal.valueOf(scores.size()), 2, RoundingMode.HALF_UP);
+        return FixedScore.toBigDecimal(FixedScore.average(sum, scores.size()));
     }
 
     /**
      * Get cumulative scores for both sides across all rounds
+     * Served from the running tally of a debate run here, otherwise read from the records
      */
     public Map<String, BigDecimal> getCumulativeScores(Long sessionId) {
-        // Get all round scores for AFFIRMATIVE
-        List<RoundScoreRecord> affirmativeScores = roundScoreRecordMapper.selectBySideAllRounds(
-            sessionId, "AFFIRMATIVE"
-        );
-        
-        // Calculate cumulative score by averaging judges per round, then summing rounds
-        Map<Integer, List<RoundScoreRecord>> affirmativeByRound = new HashMap<>();
-        for (RoundScoreRecord score : affirmativeScores) {
-            affirmativeByRound.computeIfAbsent(score.getRoundNumber(), k -> new ArrayList<>()).add(score);
+        ScoreAggregator aggregator = aggregators.get(sessionId);
+        if (aggregator == null) {
+            aggregator = loadAggregator(sessionId);
         }
-        
-        BigDecimal affirmativeTotal = affirmativeByRound.values().stream()
-            .map(roundScores -> {
-                BigDecimal sum = roundScores.stream()
-                    .map(RoundScoreRecord::getScore)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-                return sum.divide(BigDecimal.valueOf(roundScores.size()), 2, RoundingMode.HALF_UP);
-            })
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        // Get all round scores for NEGATIVE
-        List<RoundScoreRecord> negativeScores = roundScoreRecordMapper.selectBySideAllRounds(
-            sessionId, "NEGATIVE"
-        );
-        
-        Map<Integer, List<RoundScoreRecord>> negativeByRound = new HashMap<>();
-        for (RoundScoreRecord score : negativeScores) {
-            negativeByRound.computeIfAbsent(score.getRoundNumber(), k -> new ArrayList<>()).add(score);
-        }
-        
-        BigDecimal negativeTotal = negativeByRound.values().stream()
-            .map(roundScores -> {
-                BigDecimal sum = roundScores.stream()
-                    .map(RoundScoreRecord::getScore)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-                return sum.divide(BigDecimal.valueOf(roundScores.size()), 2, RoundingMode.HALF_UP);
-            })
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
+
         Map<String, BigDecimal> result = new HashMap<>();
-        result.put("affirmativeTotal", affirmativeTotal.setScale(2, RoundingMode.HALF_UP));
-        result.put("negativeTotal", negativeTotal.setScale(2, RoundingMode.HALF_UP));
+        result.put("affirmativeTotal", aggregator.getTotal("AFFIRMATIVE"));
+        result.put("negativeTotal", aggregator.getTotal("NEGATIVE"));
         result.put("maxPossible", new BigDecimal("500.00"));
         
         return result;
     }
 
+    /**
+     * Drop the running tally of a debate whose run has stopped (finished,
+     * paused, failed or taken over); the next run rebuilds it from the records
+     */
+    public void releaseSession(Long sessionId) {
+        aggregators.remove(sessionId);
+        ruleWeights.remove(sessionId);
+    }
+
     /**
      * Get detailed score breakdown for a specific round
      */
@@ -423,6 +493,29 @@ public class ScoringService {
 
     // ========== Private Helper Methods ==========
 
+    private ScoreAggregator getAggregator(Long sessionId) {
+        return aggregators.computeIfAbsent(sessionId, this::loadAggregator);
+    }
+
+    private ScoreAggregator loadAggregator(Long sessionId) {
+        ScoreAggregator aggregator = new ScoreAggregator();
+        roundScoreRecordMapper.selectBySession(sessionId).forEach(aggregator::add);
+        return aggregator;
+    }
+
+    private Map<Long, Long> getRuleWeights(Long sessionId) {
+        long now = System.currentTimeMillis();
+        CachedWeights cached = ruleWeights.get(sessionId);
+        if (cached != null && now - cached.loadedAt() < RULE_WEIGHT_TTL_MILLIS) {
+            return cached.weights();
+        }
+        // Loaded outside the lock; a concurrent load of the same rules is harmless
+        Map<Long, Long> weights = getScoringRules(sessionId).stream()
+                .collect(Collectors.toUnmodifiableMap(ScoringRule::getRuleId, rule -> FixedScore.of(rule.getWeight())));
+        ruleWeights.put(sessionId, new CachedWeights(weights, now));
+        return weights;
+    }
+
     private void createRule(Long sessionId, String name, int maxScore, BigDecimal weight, String description) {
         ScoringRule rule = ScoringRule.builder()
                 .sessionId(sessionId)
@@ -0,0 +1,105 @@
+package com.aidebate.app.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Sensitive Word Change Bus
+ * Spreads dictionary invalidations to the other application nodes over Redis
+ * pub/sub, so they rebuild right away instead of waiting for the next version poll
+ *
+ * Messages are only hints; the receiving node still compares dictionary
+ * versions, so lost or duplicate messages are harmless. Disabled unless
+ * moderation.sensitive-word.pubsub.enabled is set (Redis is optional)
+ *
+ * @author AI Debate Team
+ */
+@Slf4j
+@Component
+public class SensitiveWordChangeBus {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private final ObjectProvider<RedisConnectionFactory> connectionFactory;
+    private final boolean enabled;
+    private final String channel;
+
+    private StringRedisTemplate redisTemplate;
+    private RedisMessageListenerContainer container;
+
+    public SensitiveWordChangeBus(ObjectProvider<RedisConnectionFactory> connectionFactory,
+                                  @Value("${moderation.sensitive-word.pubsub.enabled:false}") boolean enabled,
+                                  @Value("${moderation.sensitive-word.pubsub.channel:aidebate:sensitive-word:changed}") String channel) {
+        this.connectionFactory = connectionFactory;
+        this.enabled = enabled;
+        this.channel = channel;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        RedisConnectionFactory factory = connectionFactory.getIfAvailable();
+        if (factory == null) {
+            log.warn("Sensitive word pub/sub enabled but no Redis connection factory, relying on version poll");
+            return;
+        }
+
+        redisTemplate = new StringRedisTemplate(factory);
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        container.addMessageListener((message, pattern) -> {
+            String origin = new String(message.getBody(), StandardCharsets.UTF_8);
+            if (!nodeId.equals(origin)) {
+                log.info("Sensitive word change announced by node {}", origin);
+                listeners.forEach(Runnable::run);
+            }
+        }, new ChannelTopic(channel));
+        container.afterPropertiesSet();
+        container.start();
+        log.info("Listening for sensitive word changes on Redis channel {}", channel);
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        if (container != null) {
+            container.destroy();
+        }
+    }
+
+    /**
+     * Register a callback for changes made on other nodes
+     */
+    public void subscribe(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Announce a local dictionary change to the other nodes
+     * Failures are logged only; the version poll catches up eventually
+     */
+    public void publish() {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(channel, nodeId);
+        } catch (Exception e) {
+            log.warn("Failed to publish sensitive word change: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,411 @@
+package com.aidebate.app.service;
+
+import com.aidebate.domain.model.SensitiveWord;
+
+import java.util.*;
+
+/**
+ * Sensitive Word Matcher
+ * Immutable Aho–Corasick automaton compiled from the active sensitive words,
+ * so a text is checked against the whole dictionary in one pass
+ *
+ * Matching works on UTF-16 chars (CJK included) of text folded by
+ * {@link TextNormalizer}, applied to both the dictionary and the input. Each node also stores the highest severity reachable through its output
+ * links, so states without any match are skipped in O(1)
+ *
+ * Instances are safe to share between threads
+ *
+ * @author AI Debate Team
+ */
+public final class SensitiveWordMatcher {
+
+    private static final int ROOT = 0;
+    private static final byte NO_SEVERITY = -1;
+
+    // Patterns, ids follow dictionary order
+    private final String[] words;
+    private final SensitiveWord.Severity[] severities;
+    // Normalized lengths
+    private final int[] patternLengths;
+    private final int maxPatternLength;
+    // Next pattern with the same folded text (duplicates in the dictionary)
+    private final int[] samePatternNext;
+
+    // Goto function: direct table for the root, sorted edge slices for other nodes
+    private final int[] rootTable;
+    private final int[] edgeStart;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+
+    private final int[] fail;
+    // First pattern ending exactly at a node, -1 if none
+    private final int[] patternAt;
+    // Nearest node on the fail chain that has a pattern, -1 if none
+    private final int[] outputLink;
+    // Max severity ordinal over all outputs of a node, -1 if none
+    private final byte[] maxSeverity;
+    // Length of the string spelled by a node (longest suffix of the input that may still grow into a match)
+    private final int[] depth;
+
+    private SensitiveWordMatcher(String[] words, SensitiveWord.Severity[] severities, int[] patternLengths,
+                                 int[] samePatternNext, int[] rootTable, int[] edgeStart, char[] edgeChars,
+                                 int[] edgeTargets, int[] fail, int[] patternAt, int[] outputLink, byte[] maxSeverity,
+                                 int[] depth) {
+        this.words = words;
+        this.severities = severities;
+        this.patternLengths = patternLengths;
+        int longest = 1;
+        for (int length : patternLengths) {
+            longest = Math.max(longest, length);
+        }
+        this.maxPatternLength = longest;
+        this.samePatternNext = samePatternNext;
+        this.rootTable = rootTable;
+        this.edgeStart = edgeStart;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.fail = fail;
+        this.patternAt = patternAt;
+        this.outputLink = outputLink;
+        this.maxSeverity = maxSeverity;
+        this.depth = depth;
+    }
+
+    /**
+     * Compile active words into an automaton; inactive entries and words that
+     * normalize to nothing are skipped
+     *
+     * @param dictionary Sensitive words as loaded from the database
+     * @return Matcher for the dictionary
+     */
+    public static SensitiveWordMatcher compile(List<SensitiveWord> dictionary) {
+        List<SensitiveWord> active = new ArrayList<>();
+        List<String> normalized = new ArrayList<>();
+        for (SensitiveWord word : dictionary) {
+            if (word.isActive() && word.getWord() != null) {
+                String text = TextNormalizer.normalize(word.getWord()).toString();
+                if (!text.isEmpty()) {
+                    active.add(word);
+                    normalized.add(text);
+                }
+            }
+        }
+
+        int patternCount = active.size();
+        String[] words = new String[patternCount];
+        SensitiveWord.Severity[] severities = new SensitiveWord.Severity[patternCount];
+        int[] patternLengths = new int[patternCount];
+        int[] samePatternNext = new int[patternCount];
+        Arrays.fill(samePatternNext, -1);
+
+        // Build the trie with a (node, char) -> child map
+        Map<Long, Integer> children = new HashMap<>();
+        List<Integer> terminalPattern = new ArrayList<>();
+        terminalPattern.add(-1);
+        int nodeCount = 1;
+
+        for (int p = 0; p < patternCount; p++) {
+            SensitiveWord word = active.get(p);
+            words[p] = word.getWord();
+            severities[p] = word.getSeverity() != null ? word.getSeverity() : SensitiveWord.Severity.LOW;
+            String text = normalized.get(p);
+            patternLengths[p] = text.length();
+
+            int node = ROOT;
+            for (int i = 0; i < text.length(); i++) {
+                long key = edgeKey(node, text.charAt(i));
+                Integer child = children.get(key);
+                if (child == null) {
+                    child = nodeCount++;
+                    children.put(key, child);
+                    terminalPattern.add(-1);
+                }
+                node = child;
+            }
+
+            // Chain duplicates behind the first pattern with the same folded text
+            int existing = terminalPattern.get(node);
+            if (existing < 0) {
+                terminalPattern.set(node, p);
+            } else {
+                while (samePatternNext[existing] >= 0) {
+                    existing = samePatternNext[existing];
+                }
+                samePatternNext[existing] = p;
+            }
+        }
+
+        // Flatten edges into per-node slices sorted by char
+        long[] keys = new long[children.size()];
+        int e = 0;
+        for (Long key : children.keySet()) {
+            keys[e++] = key;
+        }
+        Arrays.sort(keys);
+
+        int[] edgeStart = new int[nodeCount + 1];
+        char[] edgeChars = new char[keys.length];
+        int[] edgeTargets = new int[keys.length];
+        int[] rootTable = new int[Character.MAX_VALUE + 1];
+        for (int i = 0; i < keys.length; i++) {
+            int parent = (int) (keys[i] >>> 16);
+            char c = (char) keys[i];
+            edgeChars[i] = c;
+            edgeTargets[i] = children.get(keys[i]);
+            edgeStart[parent + 1]++;
+            if (parent == ROOT) {
+                rootTable[c] = edgeTargets[i];
+            }
+        }
+        for (int n = 0; n < nodeCount; n++) {
+            edgeStart[n + 1] += edgeStart[n];
+        }
+
+        int[] patternAt = new int[nodeCount];
+        for (int n = 0; n < nodeCount; n++) {
+            patternAt[n] = terminalPattern.get(n);
+        }
+
+        int[] fail = new int[nodeCount];
+        int[] outputLink = new int[nodeCount];
+        byte[] maxSeverity = new byte[nodeCount];
+        int[] depth = new int[nodeCount];
+        Arrays.fill(outputLink, -1);
+        maxSeverity[ROOT] = NO_SEVERITY;
+
+        SensitiveWordMatcher matcher = new SensitiveWordMatcher(words, severities, patternLengths, samePatternNext,
+                rootTable, edgeStart, edgeChars, edgeTargets, fail, patternAt, outputLink, maxSeverity, depth);
+
+        // Breadth-first so every fail target is finished before its dependants
+        int[] queue = new int[nodeCount];
+        int head = 0;
+        int tail = 0;
+        for (int i = edgeStart[ROOT]; i < edgeStart[ROOT + 1]; i++) {
+            int child = edgeTargets[i];
+            fail[child] = ROOT;
+            depth[child] = 1;
+            queue[tail++] = child;
+        }
+        while (head < tail) {
+            int node = queue[head++];
+            maxSeverity[node] = higher(matcher.ownSeverity(node), maxSeverity[fail[node]]);
+            outputLink[node] = patternAt[fail[node]] >= 0 ? fail[node] : outputLink[fail[node]];
+
+            for (int i = edgeStart[node]; i < edgeStart[node + 1]; i++) {
+                int child = edgeTargets[i];
+                fail[child] = matcher.transition(fail[node], edgeChars[i]);
+                depth[child] = depth[node] + 1;
+                queue[tail++] = child;
+            }
+        }
+        return matcher;
+    }
+
+    /**
+     * Matcher with no words; validates everything
+     */
+    public static SensitiveWordMatcher empty() {
+        return compile(Collections.emptyList());
+    }
+
+    /**
+     * Check a text against the dictionary; the text is normalized on the fly
+     * Violated words are reported once each, in dictionary order
+     */
+    public ContentModerationService.ValidationResult validate(CharSequence text) {
+        Scan scan = new Scan();
+        TextNormalizer normalizer = new TextNormalizer(scan);
+        for (int i = 0; i < text.length(); i++) {
+            normalizer.feed(text.charAt(i), i);
+        }
+        normalizer.finish();
+
+        BitSet matched = scan.matched;
+        if (matched == null) {
+            return ContentModerationService.ValidationResult.valid();
+        }
+        List<String> violations = new ArrayList<>(matched.cardinality());
+        SensitiveWord.Severity max = null;
+        for (int p = matched.nextSetBit(0); p >= 0; p = matched.nextSetBit(p + 1)) {
+            violations.add(words[p]);
+            if (max == null || severities[p].ordinal() > max.ordinal()) {
+                max = severities[p];
+            }
+        }
+        return ContentModerationService.ValidationResult.invalid(violations, max);
+    }
+
+    /**
+     * Open an incremental scan over this dictionary without statistics
+     *
+     * @param maskMinSeverity Lowest severity that gets masked
+     * @param cutOnCritical   Cut the stream at a CRITICAL word instead of masking it
+     */
+    public ModerationStream openStream(SensitiveWord.Severity maskMinSeverity, boolean cutOnCritical) {
+        return new ModerationStream(this, maskMinSeverity, cutOnCritical, null);
+    }
+
+    /**
+     * Number of compiled patterns
+     */
+    public int size() {
+        return words.length;
+    }
+
+    /**
+     * Number of automaton states
+     */
+    public int stateCount() {
+        return fail.length;
+    }
+
+    /**
+     * Longest normalized pattern, at least 1
+     */
+    public int maxPatternLength() {
+        return maxPatternLength;
+    }
+
+    // Low-level access for incremental scanning (see ModerationStream)
+
+    /**
+     * Start state
+     */
+    int root() {
+        return ROOT;
+    }
+
+    /**
+     * Advance the automaton by one normalized char
+     */
+    int step(int state, char c) {
+        return transition(state, c);
+    }
+
+    /**
+     * Whether any pattern ends at this state
+     */
+    boolean hasOutput(int state) {
+        return maxSeverity[state] != NO_SEVERITY;
+    }
+
+    /**
+     * Number of trailing input chars that could still be part of a future match
+     */
+    int depth(int state) {
+        return depth[state];
+    }
+
+    /**
+     * First node on the output chain of a state, -1 if none
+     */
+    int firstOutputNode(int state) {
+        return patternAt[state] >= 0 ? state : outputLink[state];
+    }
+
+    /**
+     * Next node on the output chain, -1 at the end
+     */
+    int nextOutputNode(int node) {
+        return outputLink[node];
+    }
+
+    /**
+     * First pattern ending at an output node
+     */
+    int patternAt(int node) {
+        return patternAt[node];
+    }
+
+    /**
+     * Next pattern with the same text, -1 at the end
+     */
+    int nextSamePattern(int pattern) {
+        return samePatternNext[pattern];
+    }
+
+    int patternLength(int pattern) {
+        return patternLengths[pattern];
+    }
+
+    String word(int pattern) {
+        return words[pattern];
+    }
+
+    SensitiveWord.Severity severity(int pattern) {
+        return severities[pattern];
+    }
+
+    /**
+     * Advance the automaton by one normalized char
+     */
+    int transition(int state, char c) {
+        while (true) {
+            if (state == ROOT) {
+                return rootTable[c];
+            }
+            int target = child(state, c);
+            if (target >= 0) {
+                return target;
+            }
+            state = fail[state];
+        }
+    }
+
+    private int child(int node, char c) {
+        int low = edgeStart[node];
+        int high = edgeStart[node + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = edgeChars[mid];
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return -1;
+    }
+
+    private byte ownSeverity(int node) {
+        byte max = NO_SEVERITY;
+        for (int p = patternAt[node]; p >= 0; p = samePatternNext[p]) {
+            max = higher(max, (byte) severities[p].ordinal());
+        }
+        return max;
+    }
+
+    private static byte higher(byte a, byte b) {
+        return a >= b ? a : b;
+    }
+
+    private static long edgeKey(int node, char c) {
+        return ((long) node << 16) | c;
+    }
+
+    /**
+     * Collects the patterns hit by a normalized text
+     */
+    private final class Scan implements TextNormalizer.Sink {
+        private int state = ROOT;
+        private BitSet matched;
+
+        @Override
+        public void accept(char c, int position) {
+            state = transition(state, c);
+            if (maxSeverity[state] == NO_SEVERITY) {
+                return;
+            }
+            if (matched == null) {
+                matched = new BitSet(words.length);
+            }
+            for (int node = patternAt[state] >= 0 ? state : outputLink[state]; node >= 0; node = outputLink[node]) {
+                for (int p = patternAt[node]; p >= 0; p = samePatternNext[p]) {
+                    matched.set(p);
+                }
+            }
+        }
+    }
+}
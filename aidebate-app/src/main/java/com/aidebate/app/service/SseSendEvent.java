@@ -0,0 +1,36 @@
+package com.aidebate.app.service;
+
+import jdk.jfr.*;
+
+/**
+ * SSE Send Event
+ * JDK Flight Recorder event for publishing one debate event: serialization,
+ * sequencing and delivery to the subscribers on this node
+ *
+ * @author AI Debate Team
+ */
+@Name(SseSendEvent.NAME)
+@Label("SSE Send")
+@Category({"AI Debate", "SSE"})
+@Description("Debate event published to SSE subscribers")
+@StackTrace(false)
+public class SseSendEvent extends Event {
+
+    public static final String NAME = "aidebate.SseSend";
+
+    @Label("Session Id")
+    long sessionId;
+
+    @Label("Event Name")
+    String eventName;
+
+    @Label("Payload Size")
+    @DataAmount
+    int payloadBytes;
+
+    @Label("Sequence")
+    long sequence;
+
+    @Label("Local Subscribers")
+    int subscribers;
+}
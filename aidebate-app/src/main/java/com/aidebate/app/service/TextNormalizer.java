@@ -0,0 +1,316 @@
+package com.aidebate.app.service;
+
+import java.util.Arrays;
+
+/**
+ * Text Normalizer
+ * Single-pass folding of moderation input so common evasions still match the
+ * dictionary: full-width forms, case, traditional/simplified variants and
+ * separators inserted between the characters of a word ("敏 感", "b.a.d")
+ *
+ * Every output char keeps the position of the input char it came from, so a
+ * match in the normalized text maps back to a span of the original.
+ * Separator runs are dropped next to CJK characters and between single
+ * letters; elsewhere they collapse into one space. Zero-width characters are
+ * always dropped. Sentence and clause punctuation (。！？，；、) is kept as a
+ * boundary, so words never match across it ("过敏。感觉" holds no "敏感")
+ *
+ * Instances are incremental and not thread-safe; the static helpers are
+ *
+ * @author AI Debate Team
+ */
+public final class TextNormalizer {
+
+    /**
+     * Receives normalized chars with the input position they map to
+     */
+    public interface Sink {
+        void accept(char c, int position);
+    }
+
+    private static final byte KIND_TEXT = 0;
+    private static final byte KIND_SEPARATOR = 1;
+    private static final byte KIND_IGNORABLE = 2;
+    private static final byte KIND_CJK = 3;
+    private static final byte KIND_BOUNDARY = 4;
+
+    // Sentence and clause punctuation, after width folding
+    private static final String BOUNDARIES = "。！？，；、!?,;";
+
+    // Traditional forms and their simplified counterparts, index by index
+    private static final String TRADITIONAL = "個們來這時為說國會對學麼發經動進現關與種長開問見點從無後過還樣當實機體愛邊變標別"
+            + "幣筆報寶備貝倉層產場車塵稱誠處傳創詞錯達帶單擔導燈敵電調東鬥讀斷隊頓兒爾範飛費豐"
+            + "風鳳婦復負該剛綱鋼歸貴館廣規鍋號漢紅華話畫壞歡環換黃揮輝匯獲積極級計記際繼價間簡"
+            + "將講獎節結緊盡舊劇據覺軍課塊寬礦蘭藍攔覽勞樂類離禮裡裏歷麗聯連煉練糧兩輛療遼獵臨"
+            + "靈領劉龍樓錄陸論羅馬買賣滿門夢滅鳴難腦鬧內鳥寧農濃歐盤賠噴騎豈啟氣棄錢淺強橋親輕"
+            + "傾請慶窮區勸確讓熱認榮軟賽傘喪掃曬傷燒紹設審聲勝聖濕師詩識試勢視適釋壽書數樹雙誰"
+            + "順絲歲孫損態談歎湯討題鐵聽廳頭圖團萬網衛偉聞穩務誤習係戲嚇鮮閒顯險線鄉響項蕭協寫"
+            + "謝興許選訓壓亞嚴顏驗陽楊養藥爺業葉頁醫遺億藝議陰銀飲應營擁優郵遊魚語預園員遠願約"
+            + "躍運雜災載讚責擇賊贈張帳賬漲趙針陣鎮爭證織職執紙誌製質鐘終眾週豬諸燭囑築莊裝狀準"
+            + "資總縱組鑽殺戰槍彈賭騙黨權獨亂罵髒媽幹乾惡罰屍劊毆賤辯評贏輸觀駁辭";
+    private static final String SIMPLIFIED = "个们来这时为说国会对学么发经动进现关与种长开问见点从无后过还样当实机体爱边变标别"
+            + "币笔报宝备贝仓层产场车尘称诚处传创词错达带单担导灯敌电调东斗读断队顿儿尔范飞费丰"
+            + "风凤妇复负该刚纲钢归贵馆广规锅号汉红华话画坏欢环换黄挥辉汇获积极级计记际继价间简"
+            + "将讲奖节结紧尽旧剧据觉军课块宽矿兰蓝拦览劳乐类离礼里里历丽联连炼练粮两辆疗辽猎临"
+            + "灵领刘龙楼录陆论罗马买卖满门梦灭鸣难脑闹内鸟宁农浓欧盘赔喷骑岂启气弃钱浅强桥亲轻"
+            + "倾请庆穷区劝确让热认荣软赛伞丧扫晒伤烧绍设审声胜圣湿师诗识试势视适释寿书数树双谁"
+            + "顺丝岁孙损态谈叹汤讨题铁听厅头图团万网卫伟闻稳务误习系戏吓鲜闲显险线乡响项萧协写"
+            + "谢兴许选训压亚严颜验阳杨养药爷业叶页医遗亿艺议阴银饮应营拥优邮游鱼语预园员远愿约"
+            + "跃运杂灾载赞责择贼赠张帐账涨赵针阵镇争证织职执纸志制质钟终众周猪诸烛嘱筑庄装状准"
+            + "资总纵组钻杀战枪弹赌骗党权独乱骂脏妈干干恶罚尸刽殴贱辩评赢输观驳辞";
+
+    // Width, case and variant folding in one lookup
+    private static final char[] FOLD = new char[Character.MAX_VALUE + 1];
+    private static final byte[] KIND = new byte[Character.MAX_VALUE + 1];
+
+    static {
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            int folded = c;
+            if (folded >= 0xFF01 && folded <= 0xFF5E) {
+                // Full-width ASCII variants
+                folded -= 0xFEE0;
+            } else if (folded == 0x3000) {
+                // Ideographic space
+                folded = ' ';
+            }
+            FOLD[c] = Character.toLowerCase((char) folded);
+            KIND[c] = kindOf(FOLD[c]);
+        }
+        for (int i = 0; i < TRADITIONAL.length(); i++) {
+            FOLD[TRADITIONAL.charAt(i)] = SIMPLIFIED.charAt(i);
+        }
+        // Zero-width and format characters disappear before folding
+        KIND[0x00AD] = KIND_IGNORABLE;
+        KIND[0x200B] = KIND_IGNORABLE;
+        KIND[0x200C] = KIND_IGNORABLE;
+        KIND[0x200D] = KIND_IGNORABLE;
+        KIND[0x2060] = KIND_IGNORABLE;
+        KIND[0xFEFF] = KIND_IGNORABLE;
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            if (BOUNDARIES.indexOf(FOLD[c]) >= 0) {
+                KIND[c] = KIND_BOUNDARY;
+            }
+        }
+    }
+
+    private final Sink sink;
+
+    // Output state
+    private boolean emittedAny;
+    private boolean lastCjk;
+    private int segmentLength;
+
+    // Pending separator run and, after it, a char whose segment length decides the run
+    private boolean inSeparator;
+    private int separatorPosition;
+    private boolean deferred;
+    private char deferredChar;
+    private int deferredPosition;
+
+    public TextNormalizer(Sink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Feed one input char
+     *
+     * @param c        Raw char
+     * @param position Its position in the input, passed through to the sink
+     */
+    public void feed(char c, int position) {
+        byte kind = KIND[c];
+        if (kind == KIND_IGNORABLE) {
+            return;
+        }
+        char folded = FOLD[c];
+
+        if (deferred) {
+            deferred = false;
+            // A letter right after the deferred one means a real word, so keep the space
+            if (kind == KIND_TEXT) {
+                emit(' ', separatorPosition, false);
+            }
+            emit(deferredChar, deferredPosition, false);
+            segmentLength = 1;
+        }
+
+        if (kind == KIND_BOUNDARY) {
+            // Kept so no match spans it; separators before it go
+            inSeparator = false;
+            emit(folded, position, false);
+            segmentLength = 0;
+            return;
+        }
+
+        if (kind == KIND_SEPARATOR) {
+            if (emittedAny && !inSeparator) {
+                inSeparator = true;
+                separatorPosition = position;
+            }
+            return;
+        }
+
+        boolean cjk = kind == KIND_CJK;
+        if (inSeparator) {
+            inSeparator = false;
+            if (!lastCjk && !cjk) {
+                if (segmentLength == 1) {
+                    // Possibly spelled out letter by letter; decide on the next char
+                    deferred = true;
+                    deferredChar = folded;
+                    deferredPosition = position;
+                    return;
+                }
+                emit(' ', separatorPosition, false);
+            }
+            segmentLength = 0;
+        }
+        emit(folded, position, cjk);
+        segmentLength++;
+    }
+
+    /**
+     * End of input: release a deferred char; trailing separators are dropped
+     */
+    public void finish() {
+        if (deferred) {
+            deferred = false;
+            emit(deferredChar, deferredPosition, false);
+            segmentLength = 1;
+        }
+        inSeparator = false;
+    }
+
+    /**
+     * Earliest input position that was fed but not yet emitted, or -1
+     */
+    public int pendingPosition() {
+        return deferred ? deferredPosition : -1;
+    }
+
+    private void emit(char c, int position, boolean cjk) {
+        sink.accept(c, position);
+        emittedAny = true;
+        lastCjk = cjk;
+    }
+
+    /**
+     * Normalize a whole text
+     */
+    public static NormalizedText normalize(CharSequence text) {
+        return normalize(text, new NormalizedText(text.length()));
+    }
+
+    /**
+     * Normalize a whole text into a reusable target
+     */
+    public static NormalizedText normalize(CharSequence text, NormalizedText target) {
+        target.reset(text.length());
+        TextNormalizer normalizer = new TextNormalizer(target);
+        for (int i = 0; i < text.length(); i++) {
+            normalizer.feed(text.charAt(i), i);
+        }
+        normalizer.finish();
+        return target;
+    }
+
+    /**
+     * Width, case and variant folding of a single char
+     */
+    public static char fold(char c) {
+        return FOLD[c];
+    }
+
+    private static byte kindOf(char c) {
+        if (isCjk(c)) {
+            return KIND_CJK;
+        }
+        if (Character.isLetterOrDigit(c)) {
+            return KIND_TEXT;
+        }
+        switch (Character.getType(c)) {
+            case Character.NON_SPACING_MARK:
+            case Character.ENCLOSING_MARK:
+            case Character.COMBINING_SPACING_MARK:
+            case Character.SURROGATE:
+            case Character.PRIVATE_USE:
+                return KIND_TEXT;
+            case Character.FORMAT:
+                return KIND_IGNORABLE;
+            default:
+                // Whitespace, punctuation, symbols, controls
+                return KIND_SEPARATOR;
+        }
+    }
+
+    private static boolean isCjk(char c) {
+        return (c >= 0x4E00 && c <= 0x9FFF)   // Unified ideographs
+                || (c >= 0x3400 && c <= 0x4DBF) // Extension A
+                || (c >= 0xF900 && c <= 0xFAFF) // Compatibility ideographs
+                || (c >= 0x3040 && c <= 0x30FF); // Hiragana and katakana
+    }
+
+    /**
+     * Normalized chars plus, for each, the position of its source char
+     */
+    public static final class NormalizedText implements CharSequence, Sink {
+
+        private char[] chars;
+        private int[] positions;
+        private int length;
+
+        public NormalizedText(int capacity) {
+            chars = new char[Math.max(capacity, 16)];
+            positions = new int[chars.length];
+        }
+
+        void reset(int capacity) {
+            if (chars.length < capacity) {
+                chars = new char[capacity];
+                positions = new int[capacity];
+            }
+            length = 0;
+        }
+
+        @Override
+        public void accept(char c, int position) {
+            if (length == chars.length) {
+                chars = Arrays.copyOf(chars, length * 2);
+                positions = Arrays.copyOf(positions, length * 2);
+            }
+            chars[length] = c;
+            positions[length++] = position;
+        }
+
+        /**
+         * Position in the original text of normalized char {@code index}
+         */
+        public int originalPosition(int index) {
+            return positions[index];
+        }
+
+        public char[] buffer() {
+            return chars;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return chars[index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(chars, start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, 0, length);
+        }
+    }
+}
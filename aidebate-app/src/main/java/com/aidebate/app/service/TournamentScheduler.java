@@ -0,0 +1,221 @@
+package com.aidebate.app.service;
+
+import com.aidebate.domain.model.DebateSession;
+import com.aidebate.domain.model.Tournament;
+import com.aidebate.domain.model.TournamentEntrant;
+import com.aidebate.domain.model.TournamentMatch;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Tournament Scheduler
+ * Pairings and Elo ratings for tournaments between AI debater configs
+ *
+ * Round-robin uses the circle method: every pair meets once per topic, with
+ * sides alternating between topics and rounds. Swiss pairs entrants with
+ * equal points (then rating) who have not met yet, one round at a time, and
+ * gives the lowest ranked entrant without one a bye when the count is odd.
+ * The search for a pairing without rematches is bounded; past the bound
+ * entrants are paired greedily, allowing rematches only where unavoidable
+ *
+ * @author AI Debate Team
+ */
+public final class TournamentScheduler {
+
+    public static final BigDecimal INITIAL_RATING = BigDecimal.valueOf(1500);
+
+    /**
+     * Pairings tried before falling back to greedy pairing
+     */
+    private static final int MAX_PAIRING_NODES = 10_000;
+
+    private TournamentScheduler() {
+    }
+
+    /**
+     * Rounds a tournament of this many entrants plays
+     *
+     * @param requested Swiss rounds asked for, null or 0 for log2 of the entrants
+     */
+    public static int totalRounds(Tournament.Format format, int entrants, Integer requested) {
+        if (format == Tournament.Format.ROUND_ROBIN) {
+            return entrants % 2 == 0 ? entrants - 1 : entrants;
+        }
+        if (requested != null && requested > 0) {
+            return Math.min(requested, entrants % 2 == 0 ? entrants - 1 : entrants);
+        }
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(entrants - 1));
+    }
+
+    /**
+     * All matches of a round-robin tournament
+     */
+    public static List<TournamentMatch> roundRobin(Long tournamentId, List<TournamentEntrant> entrants, List<Long> topicIds) {
+        List<Long> ids = new ArrayList<>(entrants.stream().map(TournamentEntrant::getEntrantId).toList());
+        if (ids.size() % 2 == 1) {
+            // Whoever is paired with the null sits the round out
+            ids.add(null);
+        }
+        int n = ids.size();
+        List<TournamentMatch> matches = new ArrayList<>();
+        for (int round = 0; round < n - 1; round++) {
+            for (int i = 0; i < n / 2; i++) {
+                Long first = ids.get(i);
+                Long second = ids.get(n - 1 - i);
+                if (first == null || second == null) {
+                    continue;
+                }
+                for (int t = 0; t < topicIds.size(); t++) {
+                    boolean swap = (round + i + t) % 2 == 1;
+                    matches.add(match(tournamentId, round + 1, topicIds.get(t),
+                            swap ? second : first, swap ? first : second));
+                }
+            }
+            // Keep the first entrant fixed and rotate the others
+            ids.add(1, ids.remove(n - 1));
+        }
+        return matches;
+    }
+
+    /**
+     * Pair the next Swiss round from the standings and the matches played so far
+     */
+    public static List<TournamentMatch> swissRound(Long tournamentId, int round, Long topicId,
+                                                   List<TournamentEntrant> entrants, List<TournamentMatch> played) {
+        Set<String> met = new HashSet<>();
+        Set<Long> hadBye = new HashSet<>();
+        Map<Long, Integer> affirmativeCount = new HashMap<>();
+        for (TournamentMatch match : played) {
+            if (match.isBye()) {
+                hadBye.add(match.getAffirmativeEntrantId());
+                continue;
+            }
+            met.add(pairKey(match.getAffirmativeEntrantId(), match.getNegativeEntrantId()));
+            affirmativeCount.merge(match.getAffirmativeEntrantId(), 1, Integer::sum);
+        }
+
+        List<TournamentEntrant> ranked = new ArrayList<>(entrants);
+        ranked.sort(standingsOrder());
+
+        List<TournamentMatch> matches = new ArrayList<>();
+        if (ranked.size() % 2 == 1) {
+            TournamentEntrant bye = ranked.get(ranked.size() - 1);
+            for (int i = ranked.size() - 1; i >= 0; i--) {
+                if (!hadBye.contains(ranked.get(i).getEntrantId())) {
+                    bye = ranked.get(i);
+                    break;
+                }
+            }
+            ranked.remove(bye);
+            TournamentMatch match = match(tournamentId, round, topicId, bye.getEntrantId(), null);
+            match.setStatus(TournamentMatch.Status.COMPLETED);
+            match.setWinner(DebateSession.Winner.AFFIRMATIVE);
+            matches.add(match);
+        }
+
+        List<Long> ids = ranked.stream().map(TournamentEntrant::getEntrantId).toList();
+        List<Long[]> pairs = pair(ids, met, new int[]{MAX_PAIRING_NODES});
+        if (pairs == null) {
+            // Every pairing would have a rematch, or the search ran out of budget
+            pairs = pairGreedy(ids, met);
+        }
+        for (Long[] pair : pairs) {
+            int first = affirmativeCount.getOrDefault(pair[0], 0);
+            int second = affirmativeCount.getOrDefault(pair[1], 0);
+            boolean swap = first > second || (first == second && round % 2 == 0);
+            matches.add(match(tournamentId, round, topicId, swap ? pair[1] : pair[0], swap ? pair[0] : pair[1]));
+        }
+        return matches;
+    }
+
+    /**
+     * Elo rating changes of a match
+     *
+     * @return change for the affirmative entrant; the negative one gets the opposite
+     */
+    public static double ratingChange(double affirmativeRating, double negativeRating,
+                                      DebateSession.Winner winner, double kFactor) {
+        double expected = 1 / (1 + Math.pow(10, (negativeRating - affirmativeRating) / 400));
+        double actual = switch (winner) {
+            case AFFIRMATIVE -> 1;
+            case NEGATIVE -> 0;
+            case DRAW -> 0.5;
+        };
+        return kFactor * (actual - expected);
+    }
+
+    /**
+     * Points first, then rating, then entry order
+     */
+    public static Comparator<TournamentEntrant> standingsOrder() {
+        return Comparator.comparing(TournamentEntrant::getPoints).reversed()
+                .thenComparing(Comparator.comparing(TournamentEntrant::getRating).reversed())
+                .thenComparing(TournamentEntrant::getEntrantId);
+    }
+
+    /**
+     * Pair neighbours in ranking order, backtracking past rematches
+     *
+     * @param budget Pairings left to try; null is returned once it runs out
+     */
+    private static List<Long[]> pair(List<Long> ids, Set<String> met, int[] budget) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Long first = ids.get(0);
+        for (int i = 1; i < ids.size(); i++) {
+            Long opponent = ids.get(i);
+            if (met.contains(pairKey(first, opponent))) {
+                continue;
+            }
+            if (--budget[0] < 0) {
+                return null;
+            }
+            List<Long> rest = new ArrayList<>(ids.subList(1, ids.size()));
+            rest.remove(opponent);
+            List<Long[]> pairs = pair(rest, met, budget);
+            if (pairs != null) {
+                pairs.add(0, new Long[]{first, opponent});
+                return pairs;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Pair each entrant in ranking order with the next one it has not met,
+     * or with the next one if it has met them all
+     */
+    private static List<Long[]> pairGreedy(List<Long> ids, Set<String> met) {
+        List<Long> rest = new ArrayList<>(ids);
+        List<Long[]> pairs = new ArrayList<>();
+        while (rest.size() > 1) {
+            Long first = rest.remove(0);
+            int opponent = 0;
+            for (int i = 0; i < rest.size(); i++) {
+                if (!met.contains(pairKey(first, rest.get(i)))) {
+                    opponent = i;
+                    break;
+                }
+            }
+            pairs.add(new Long[]{first, rest.remove(opponent)});
+        }
+        return pairs;
+    }
+
+    private static String pairKey(Long a, Long b) {
+        return a < b ? a + ":" + b : b + ":" + a;
+    }
+
+    private static TournamentMatch match(Long tournamentId, int round, Long topicId, Long affirmative, Long negative) {
+        return TournamentMatch.builder()
+                .tournamentId(tournamentId)
+                .roundNumber(round)
+                .topicId(topicId)
+                .affirmativeEntrantId(affirmative)
+                .negativeEntrantId(negative)
+                .status(TournamentMatch.Status.PENDING)
+                .build();
+    }
+}
@@ -0,0 +1,675 @@
+package com.aidebate.app.service;
+
+import com.aidebate.domain.model.DebateSession;
+import com.aidebate.domain.model.Tournament;
+import com.aidebate.domain.model.TournamentEntrant;
+import com.aidebate.domain.model.TournamentMatch;
+import com.aidebate.infrastructure.mapper.DebateSessionMapper;
+import com.aidebate.infrastructure.mapper.DebateTopicMapper;
+import com.aidebate.infrastructure.mapper.TournamentEntrantMapper;
+import com.aidebate.infrastructure.mapper.TournamentMapper;
+import com.aidebate.infrastructure.mapper.TournamentMatchMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Tournament Service
+ * Round-robin and Swiss tournaments between AI debater configs (personality
+ * and expertise level) over a set of topics. Matches are headless debates;
+ * the ones of a round are independent and run in parallel, their LLM calls
+ * drawing on the shared {@link LlmBackendPool} budget. Elo ratings and
+ * points are updated as each result comes in
+ *
+ * Results are written together with the standings every flush-size
+ * matches. A match records its debate session when it starts, so resuming
+ * an interrupted tournament takes the result of a debate that finished but
+ * was not written yet from its session and only replays the unfinished ones
+ *
+ * @author AI Debate Team
+ */
+@Slf4j
+@Service
+public class TournamentService {
+
+    private static final int MAX_ENTRANTS = 64;
+    private static final Long TOURNAMENT_USER_ID = 1L;
+
+    /**
+     * Entrant to create: label may be null
+     */
+    public record EntrantSpec(String label, String personality, String expertiseLevel) {
+    }
+
+    /**
+     * A tournament being played on this node
+     */
+    private static final class Run {
+        private final Tournament tournament;
+        private final Map<Long, TournamentEntrant> entrants = new LinkedHashMap<>();
+        private final List<TournamentMatch> matches = new ArrayList<>();
+        private final List<TournamentMatch> unwritten = new ArrayList<>();
+        private final ExecutorService executor;
+        private int resultSeq;
+        private volatile boolean cancelled;
+        private volatile boolean stopping;
+
+        private Run(Tournament tournament, int concurrency) {
+            this.tournament = tournament;
+            AtomicInteger threads = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+                Thread thread = new Thread(runnable, "tournament-" + tournament.getTournamentId() + "-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private final TournamentMapper tournamentMapper;
+    private final TournamentEntrantMapper entrantMapper;
+    private final TournamentMatchMapper matchMapper;
+    private final DebateSessionMapper debateSessionMapper;
+    private final DebateTopicMapper topicMapper;
+    private final DebateSessionService debateSessionService;
+    private final DebateOrchestrationService debateOrchestrationService;
+    private final BatchPersistenceService batchPersistenceService;
+    private final LlmBackendPool llmBackendPool;
+    private final int concurrency;
+    private final int flushSize;
+    private final double defaultKFactor;
+    private final long staleSeconds;
+
+    private final Map<Long, Run> runs = new ConcurrentHashMap<>();
+
+    public TournamentService(TournamentMapper tournamentMapper,
+                             TournamentEntrantMapper entrantMapper,
+                             TournamentMatchMapper matchMapper,
+                             DebateSessionMapper debateSessionMapper,
+                             DebateTopicMapper topicMapper,
+                             DebateSessionService debateSessionService,
+                             DebateOrchestrationService debateOrchestrationService,
+                             BatchPersistenceService batchPersistenceService,
+                             LlmBackendPool llmBackendPool,
+                             @Value("${debate.tournament.concurrency:0}") int concurrency,
+                             @Value("${debate.tournament.flush-size:8}") int flushSize,
+                             @Value("${debate.tournament.k-factor:32}") double defaultKFactor,
+                             @Value("${debate.state.lease-ttl-ms:30000}") long leaseTtlMs) {
+        this.tournamentMapper = tournamentMapper;
+        this.entrantMapper = entrantMapper;
+        this.matchMapper = matchMapper;
+        this.debateSessionMapper = debateSessionMapper;
+        this.topicMapper = topicMapper;
+        this.debateSessionService = debateSessionService;
+        this.debateOrchestrationService = debateOrchestrationService;
+        this.batchPersistenceService = batchPersistenceService;
+        this.llmBackendPool = llmBackendPool;
+        this.concurrency = concurrency;
+        this.flushSize = Math.max(1, flushSize);
+        this.defaultKFactor = defaultKFactor;
+        this.staleSeconds = Math.max(1, leaseTtlMs / 1000);
+    }
+
+    /**
+     * Create a tournament, schedule its first round (all rounds for
+     * round-robin) and start playing it
+     *
+     * @param rounds Swiss rounds, null for log2 of the entrants
+     */
+    public Map<String, Object> createTournament(String name, String format, List<EntrantSpec> entrantSpecs,
+                                                List<Long> topicIds, Integer rounds, Double kFactor, String language) {
+        Tournament.Format tournamentFormat = Tournament.Format.valueOf(format.toUpperCase());
+        if (entrantSpecs == null || entrantSpecs.size() < 2 || entrantSpecs.size() > MAX_ENTRANTS) {
+            throw new IllegalArgumentException("A tournament needs 2 to " + MAX_ENTRANTS + " entrants");
+        }
+        if (topicIds == null || topicIds.isEmpty()) {
+            throw new IllegalArgumentException("A tournament needs at least one topic");
+        }
+        List<Long> topics = topicIds.stream().distinct().toList();
+        if (topicMapper.selectBatchIds(topics).size() != topics.size()) {
+            throw new IllegalArgumentException("Unknown topic in " + topics);
+        }
+
+        Tournament tournament = Tournament.builder()
+                .name(name != null && !name.isBlank() ? name : "Tournament " + LocalDateTime.now().withNano(0))
+                .format(tournamentFormat)
+                .status(Tournament.Status.RUNNING)
+                .topicIds(topics.stream().map(String::valueOf).collect(Collectors.joining(",")))
+                .language(language != null ? language : "en")
+                .totalRounds(TournamentScheduler.totalRounds(tournamentFormat, entrantSpecs.size(), rounds))
+                .currentRound(0)
+                .ratingKFactor(BigDecimal.valueOf(kFactor != null ? kFactor : defaultKFactor))
+                .createdAt(LocalDateTime.now())
+                .build();
+        tournamentMapper.insert(tournament);
+
+        List<TournamentEntrant> entrants = new ArrayList<>();
+        for (EntrantSpec spec : entrantSpecs) {
+            entrants.add(TournamentEntrant.builder()
+                    .tournamentId(tournament.getTournamentId())
+                    .label(spec.label() != null && !spec.label().isBlank()
+                            ? spec.label() : spec.personality() + "/" + spec.expertiseLevel())
+                    .personality(spec.personality())
+                    .expertiseLevel(spec.expertiseLevel())
+                    .rating(TournamentScheduler.INITIAL_RATING)
+                    .points(BigDecimal.ZERO)
+                    .wins(0)
+                    .draws(0)
+                    .losses(0)
+                    .build());
+        }
+        batchPersistenceService.saveAll(entrants);
+
+        List<TournamentMatch> matches;
+        if (tournamentFormat == Tournament.Format.ROUND_ROBIN) {
+            matches = TournamentScheduler.roundRobin(tournament.getTournamentId(), entrants, topics);
+            tournament.setCurrentRound(tournament.getTotalRounds());
+        } else {
+            matches = TournamentScheduler.swissRound(tournament.getTournamentId(), 1, topics.get(0), entrants, List.of());
+            tournament.setCurrentRound(1);
+        }
+        batchPersistenceService.saveAll(matches);
+        tournamentMapper.updateById(tournament);
+        log.info("Tournament {} created: {} {}, {} entrants, {} topics, {} rounds, {} matches scheduled",
+                tournament.getTournamentId(), tournament.getName(), tournamentFormat, entrants.size(), topics.size(),
+                tournament.getTotalRounds(), matches.size());
+
+        start(tournament);
+        return getTournament(tournament.getTournamentId());
+    }
+
+    /**
+     * Continue a tournament that was interrupted, cancelled, or left running
+     * by a node that stopped; finished matches are not played again
+     */
+    public Map<String, Object> resumeTournament(Long tournamentId) {
+        Tournament tournament = tournamentMapper.selectById(tournamentId);
+        if (tournament == null) {
+            throw new RuntimeException("Tournament not found: " + tournamentId);
+        }
+        if (tournament.getStatus() == Tournament.Status.COMPLETED) {
+            throw new IllegalStateException("Tournament " + tournamentId + " is already completed");
+        }
+        if (runs.containsKey(tournamentId)) {
+            throw new IllegalStateException("Tournament " + tournamentId + " is already running");
+        }
+        // Only one caller on any node wins the claim
+        if (tournamentMapper.claimForResume(tournamentId, staleSeconds) != 1) {
+            throw new IllegalStateException("Tournament " + tournamentId + " is already running");
+        }
+        tournament.setStatus(Tournament.Status.RUNNING);
+        start(tournament);
+        return getTournament(tournamentId);
+    }
+
+    /**
+     * Stop starting matches; the ones being played finish and are written
+     */
+    public Map<String, Object> cancelTournament(Long tournamentId) {
+        Run run = runs.get(tournamentId);
+        if (run == null) {
+            throw new IllegalStateException("Tournament " + tournamentId + " is not running on this node");
+        }
+        run.cancelled = true;
+        log.info("Tournament {} cancelled", tournamentId);
+        return getTournament(tournamentId);
+    }
+
+    /**
+     * Tournament progress and standings
+     */
+    public Map<String, Object> getTournament(Long tournamentId) {
+        Tournament tournament = tournamentMapper.selectById(tournamentId);
+        if (tournament == null) {
+            throw new RuntimeException("Tournament not found: " + tournamentId);
+        }
+        Run run = runs.get(tournamentId);
+        List<TournamentEntrant> entrants;
+        List<TournamentMatch> matches;
+        if (run != null) {
+            // Newer than the database until the next flush
+            synchronized (run) {
+                entrants = run.entrants.values().stream().map(this::copy).toList();
+                matches = new ArrayList<>(run.matches);
+            }
+        } else {
+            entrants = entrantMapper.selectByTournament(tournamentId);
+            matches = matchMapper.selectByTournament(tournamentId);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("tournamentId", tournament.getTournamentId());
+        result.put("name", tournament.getName());
+        result.put("format", tournament.getFormat().name());
+        result.put("status", tournament.getStatus().name());
+        result.put("active", run != null);
+        result.put("language", tournament.getLanguage());
+        result.put("topicIds", parseTopicIds(tournament.getTopicIds()));
+        result.put("currentRound", tournament.getCurrentRound());
+        result.put("totalRounds", tournament.getTotalRounds());
+        result.put("kFactor", tournament.getRatingKFactor());
+        Map<String, Long> matchCounts = new TreeMap<>();
+        for (TournamentMatch match : matches) {
+            matchCounts.merge(match.getStatus().name(), 1L, Long::sum);
+        }
+        result.put("matches", matchCounts);
+        result.put("standings", standings(entrants));
+        result.put("createdAt", tournament.getCreatedAt());
+        result.put("completedAt", tournament.getCompletedAt());
+        return result;
+    }
+
+    public List<Map<String, Object>> listTournaments() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Tournament tournament : tournamentMapper.selectList(null)) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("tournamentId", tournament.getTournamentId());
+            entry.put("name", tournament.getName());
+            entry.put("format", tournament.getFormat().name());
+            entry.put("status", tournament.getStatus().name());
+            entry.put("active", runs.containsKey(tournament.getTournamentId()));
+            entry.put("currentRound", tournament.getCurrentRound());
+            entry.put("totalRounds", tournament.getTotalRounds());
+            entry.put("createdAt", tournament.getCreatedAt());
+            result.add(entry);
+        }
+        return result;
+    }
+
+    /**
+     * Matches of a tournament in schedule order
+     */
+    public List<TournamentMatch> getMatches(Long tournamentId) {
+        Run run = runs.get(tournamentId);
+        if (run != null) {
+            synchronized (run) {
+                return new ArrayList<>(run.matches);
+            }
+        }
+        return matchMapper.selectByTournament(tournamentId);
+    }
+
+    /**
+     * Keep the tournaments played on this node from looking abandoned to resume
+     */
+    @Scheduled(fixedDelayString = "${debate.state.lease-renew-ms:10000}")
+    public void heartbeat() {
+        for (Long tournamentId : runs.keySet()) {
+            try {
+                tournamentMapper.heartbeat(tournamentId);
+            } catch (Exception e) {
+                log.warn("Tournament {}: failed to write heartbeat: {}", tournamentId, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runs.values().forEach(run -> {
+            run.stopping = true;
+            run.executor.shutdownNow();
+        });
+    }
+
+    private void start(Tournament tournament) {
+        int threads = concurrency > 0 ? concurrency : llmBackendPool.getDebateParallelism(4);
+        Run run = new Run(tournament, threads);
+        if (runs.putIfAbsent(tournament.getTournamentId(), run) != null) {
+            run.executor.shutdown();
+            throw new IllegalStateException("Tournament " + tournament.getTournamentId() + " is already running");
+        }
+        Thread coordinator = new Thread(() -> play(run), "tournament-" + tournament.getTournamentId());
+        coordinator.setDaemon(true);
+        coordinator.start();
+    }
+
+    /**
+     * Play the tournament to the end, one round of independent matches at
+     * a time (all of round-robin at once)
+     */
+    private void play(Run run) {
+        Tournament tournament = run.tournament;
+        Long tournamentId = tournament.getTournamentId();
+        try {
+            load(run);
+            while (!run.cancelled && !run.stopping) {
+                List<TournamentMatch> pending;
+                synchronized (run) {
+                    pending = run.matches.stream()
+                            .filter(match -> match.getStatus() == TournamentMatch.Status.PENDING)
+                            .toList();
+                }
+                if (pending.isEmpty()) {
+                    if (!scheduleNextRound(run)) {
+                        break;
+                    }
+                    continue;
+                }
+
+                log.info("Tournament {} round {}: playing {} matches", tournamentId, tournament.getCurrentRound(), pending.size());
+                List<Future<?>> futures = new ArrayList<>();
+                for (TournamentMatch match : pending) {
+                    futures.add(run.executor.submit(() -> playMatch(run, match)));
+                }
+                for (Future<?> future : futures) {
+                    try {
+                        future.get();
+                    } catch (ExecutionException e) {
+                        log.error("Tournament {} match task failed", tournamentId, e.getCause());
+                    }
+                }
+                flush(run);
+
+                boolean failed;
+                synchronized (run) {
+                    failed = run.matches.stream().anyMatch(match -> match.getStatus() == TournamentMatch.Status.FAILED);
+                }
+                if (failed) {
+                    log.warn("Tournament {} stopped after failed matches, resume to replay them", tournamentId);
+                    break;
+                }
+            }
+            finish(run);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finish(run);
+        } catch (Exception e) {
+            log.error("Tournament {} failed", tournamentId, e);
+            finish(run);
+        } finally {
+            runs.remove(tournamentId);
+            run.executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Load the tournament and settle matches an earlier run left behind
+     */
+    private void load(Run run) {
+        Long tournamentId = run.tournament.getTournamentId();
+        List<TournamentEntrant> entrants = entrantMapper.selectByTournament(tournamentId);
+        List<TournamentMatch> matches = matchMapper.selectByTournament(tournamentId);
+        int recovered = 0;
+        int replayed = 0;
+        synchronized (run) {
+            entrants.forEach(entrant -> run.entrants.put(entrant.getEntrantId(), entrant));
+            run.matches.addAll(matches);
+            run.resultSeq = matches.stream().map(TournamentMatch::getResultSeq).filter(Objects::nonNull)
+                    .max(Integer::compare).orElse(0);
+            // Standings are only written with results, so rebuild them from the results
+            recomputeStandings(run);
+            for (TournamentMatch match : matches) {
+                if (match.getStatus() == TournamentMatch.Status.COMPLETED) {
+                    continue;
+                }
+                DebateSession session = match.getSessionId() == null ? null
+                        : debateSessionMapper.selectById(match.getSessionId());
+                if (session != null && session.isCompleted() && session.getWinner() != null) {
+                    record(run, match, session);
+                    recovered++;
+                } else if (match.getStatus() != TournamentMatch.Status.PENDING) {
+                    match.setStatus(TournamentMatch.Status.PENDING);
+                    match.setError("");
+                    run.unwritten.add(match);
+                    replayed++;
+                }
+            }
+        }
+        flush(run);
+        if (recovered + replayed > 0) {
+            log.info("Tournament {} resumed: {} results recovered from finished debates, {} matches to replay",
+                    tournamentId, recovered, replayed);
+        }
+    }
+
+    /**
+     * Schedule the next Swiss round
+     *
+     * @return false when the tournament has no more rounds
+     */
+    private boolean scheduleNextRound(Run run) {
+        Tournament tournament = run.tournament;
+        if (tournament.getFormat() != Tournament.Format.SWISS || tournament.getCurrentRound() >= tournament.getTotalRounds()) {
+            return false;
+        }
+        int round = tournament.getCurrentRound() + 1;
+        List<Long> topics = parseTopicIds(tournament.getTopicIds());
+        List<TournamentMatch> matches;
+        synchronized (run) {
+            matches = TournamentScheduler.swissRound(tournament.getTournamentId(), round,
+                    topics.get((round - 1) % topics.size()), new ArrayList<>(run.entrants.values()), run.matches);
+        }
+        batchPersistenceService.saveAll(matches);
+        tournament.setCurrentRound(round);
+        tournamentMapper.updateById(tournament);
+        synchronized (run) {
+            run.matches.addAll(matches);
+            matches.stream().filter(TournamentMatch::isBye).forEach(match -> applyBye(run, match));
+        }
+        return true;
+    }
+
+    private void playMatch(Run run, TournamentMatch match) {
+        if (run.cancelled || run.stopping) {
+            return;
+        }
+        TournamentEntrant affirmative = run.entrants.get(match.getAffirmativeEntrantId());
+        TournamentEntrant negative = run.entrants.get(match.getNegativeEntrantId());
+        try {
+            Map<String, Map<String, String>> aiConfigs = Map.of(
+                    "affirmative", Map.of("personality", affirmative.getPersonality(), "expertiseLevel", affirmative.getExpertiseLevel()),
+                    "negative", Map.of("personality", negative.getPersonality(), "expertiseLevel", negative.getExpertiseLevel()));
+            Map<String, Object> session = debateSessionService.initializeSession(match.getTopicId(), TOURNAMENT_USER_ID, aiConfigs, "FAST");
+            Long sessionId = (Long) session.get("sessionId");
+            // Written right away so a restart can take the result from the session
+            matchMapper.markRunning(match.getMatchId(), sessionId);
+            synchronized (run) {
+                match.setSessionId(sessionId);
+                match.setStatus(TournamentMatch.Status.RUNNING);
+            }
+            debateSessionService.startSession(sessionId);
+            debateOrchestrationService.runHeadless(sessionId, run.tournament.getLanguage());
+
+            DebateSession completed = debateSessionMapper.selectById(sessionId);
+            synchronized (run) {
+                record(run, match, completed);
+                if (run.unwritten.size() >= flushSize) {
+                    flush(run);
+                }
+            }
+        } catch (Exception e) {
+            if (run.stopping) {
+                return;
+            }
+            log.error("Tournament {} match {} failed", run.tournament.getTournamentId(), match.getMatchId(), e);
+            synchronized (run) {
+                match.setStatus(TournamentMatch.Status.FAILED);
+                String error = String.valueOf(e.getMessage());
+                match.setError(error.length() > 500 ? error.substring(0, 500) : error);
+                run.unwritten.add(match);
+            }
+        }
+    }
+
+    /**
+     * Apply a finished debate to the match and the two entrants' ratings and
+     * points; caller holds the run lock
+     */
+    private void record(Run run, TournamentMatch match, DebateSession session) {
+        TournamentEntrant affirmative = run.entrants.get(match.getAffirmativeEntrantId());
+        TournamentEntrant negative = run.entrants.get(match.getNegativeEntrantId());
+        DebateSession.Winner winner = session.getWinner();
+        double change = TournamentScheduler.ratingChange(affirmative.getRating().doubleValue(),
+                negative.getRating().doubleValue(), winner, run.tournament.getRatingKFactor().doubleValue());
+        BigDecimal delta = BigDecimal.valueOf(change).setScale(2, RoundingMode.HALF_UP);
+
+        match.setStatus(TournamentMatch.Status.COMPLETED);
+        match.setSessionId(session.getSessionId());
+        match.setWinner(winner);
+        match.setAffirmativeScore(session.getFinalScoreAffirmative());
+        match.setNegativeScore(session.getFinalScoreNegative());
+        match.setAffirmativeRatingChange(delta);
+        match.setNegativeRatingChange(delta.negate());
+        match.setError("");
+        match.setCompletedAt(LocalDateTime.now());
+        match.setResultSeq(++run.resultSeq);
+        applyResult(affirmative, negative, match);
+        run.unwritten.add(match);
+    }
+
+    private void applyBye(Run run, TournamentMatch match) {
+        TournamentEntrant entrant = run.entrants.get(match.getAffirmativeEntrantId());
+        entrant.setPoints(entrant.getPoints().add(BigDecimal.ONE));
+    }
+
+    private void applyResult(TournamentEntrant affirmative, TournamentEntrant negative, TournamentMatch match) {
+        affirmative.setRating(affirmative.getRating().add(match.getAffirmativeRatingChange()));
+        negative.setRating(negative.getRating().add(match.getNegativeRatingChange()));
+        switch (match.getWinner()) {
+            case AFFIRMATIVE -> {
+                win(affirmative);
+                lose(negative);
+            }
+            case NEGATIVE -> {
+                win(negative);
+                lose(affirmative);
+            }
+            case DRAW -> {
+                draw(affirmative);
+                draw(negative);
+            }
+        }
+    }
+
+    /**
+     * Replay the results in the order they were recorded, as the live run applied them
+     */
+    private void recomputeStandings(Run run) {
+        for (TournamentEntrant entrant : run.entrants.values()) {
+            entrant.setRating(TournamentScheduler.INITIAL_RATING);
+            entrant.setPoints(BigDecimal.ZERO);
+            entrant.setWins(0);
+            entrant.setDraws(0);
+            entrant.setLosses(0);
+        }
+        run.matches.stream()
+                .filter(match -> match.getStatus() == TournamentMatch.Status.COMPLETED)
+                .sorted(Comparator.comparing(TournamentMatch::getResultSeq, Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(TournamentMatch::getMatchId))
+                .forEach(match -> {
+                    if (match.isBye()) {
+                        applyBye(run, match);
+                    } else {
+                        applyResult(run.entrants.get(match.getAffirmativeEntrantId()),
+                                run.entrants.get(match.getNegativeEntrantId()), match);
+                    }
+                });
+    }
+
+    /**
+     * Write the results gathered since the last flush and the standings in
+     * one transaction
+     */
+    private void flush(Run run) {
+        synchronized (run) {
+            if (run.unwritten.isEmpty()) {
+                return;
+            }
+            List<TournamentMatch> matches = new ArrayList<>(run.unwritten);
+            try {
+                batchPersistenceService.updateAll(matches, run.entrants.values());
+                run.unwritten.clear();
+                log.debug("Tournament {}: wrote {} match results and standings", run.tournament.getTournamentId(), matches.size());
+            } catch (Exception e) {
+                // Kept for the next flush
+                log.error("Tournament {}: failed to write {} match results", run.tournament.getTournamentId(), matches.size(), e);
+            }
+        }
+    }
+
+    private void finish(Run run) {
+        flush(run);
+        Tournament tournament = run.tournament;
+        boolean done;
+        synchronized (run) {
+            done = tournament.getCurrentRound() >= tournament.getTotalRounds()
+                    && run.matches.stream().allMatch(match -> match.getStatus() == TournamentMatch.Status.COMPLETED);
+        }
+        if (done) {
+            tournament.setStatus(Tournament.Status.COMPLETED);
+            tournament.setCompletedAt(LocalDateTime.now());
+        } else {
+            tournament.setStatus(run.cancelled ? Tournament.Status.CANCELLED : Tournament.Status.INTERRUPTED);
+        }
+        try {
+            tournamentMapper.updateById(tournament);
+        } catch (Exception e) {
+            log.error("Tournament {}: failed to write status {}", tournament.getTournamentId(), tournament.getStatus(), e);
+        }
+        log.info("Tournament {} {}", tournament.getTournamentId(), tournament.getStatus());
+    }
+
+    private List<Map<String, Object>> standings(List<TournamentEntrant> entrants) {
+        List<TournamentEntrant> ranked = new ArrayList<>(entrants);
+        ranked.sort(TournamentScheduler.standingsOrder());
+        List<Map<String, Object>> standings = new ArrayList<>();
+        int rank = 1;
+        for (TournamentEntrant entrant : ranked) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("rank", rank++);
+            entry.put("entrantId", entrant.getEntrantId());
+            entry.put("label", entrant.getLabel());
+            entry.put("personality", entrant.getPersonality());
+            entry.put("expertiseLevel", entrant.getExpertiseLevel());
+            entry.put("rating", entrant.getRating());
+            entry.put("points", entrant.getPoints());
+            entry.put("wins", entrant.getWins());
+            entry.put("draws", entrant.getDraws());
+            entry.put("losses", entrant.getLosses());
+            standings.add(entry);
+        }
+        return standings;
+    }
+
+    private TournamentEntrant copy(TournamentEntrant entrant) {
+        return TournamentEntrant.builder()
+                .entrantId(entrant.getEntrantId())
+                .tournamentId(entrant.getTournamentId())
+                .label(entrant.getLabel())
+                .personality(entrant.getPersonality())
+                .expertiseLevel(entrant.getExpertiseLevel())
+                .rating(entrant.getRating())
+                .points(entrant.getPoints())
+                .wins(entrant.getWins())
+                .draws(entrant.getDraws())
+                .losses(entrant.getLosses())
+                .build();
+    }
+
+    private static void win(TournamentEntrant entrant) {
+        entrant.setWins(entrant.getWins() + 1);
+        entrant.setPoints(entrant.getPoints().add(BigDecimal.ONE));
+    }
+
+    private static void lose(TournamentEntrant entrant) {
+        entrant.setLosses(entrant.getLosses() + 1);
+    }
+
+    private static void draw(TournamentEntrant entrant) {
+        entrant.setDraws(entrant.getDraws() + 1);
+        entrant.setPoints(entrant.getPoints().add(new BigDecimal("0.5")));
+    }
+
+    private static List<Long> parseTopicIds(String topicIds) {
+        return Arrays.stream(topicIds.split(",")).map(String::trim).map(Long::valueOf).toList();
+    }
+}
@@ -0,0 +1,335 @@
+package com.aidebate.app.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * TTS Scheduler
+ * Admission control for realtime TTS sessions: a global and a per-session
+ * concurrency cap, priority for the debate being played over prefetches, and
+ * round-robin fairness between users inside each priority
+ *
+ * Requests beyond the bounded queue are rejected up front so a burst of
+ * observers cannot pile up blocked threads. Admitted requests run on the
+ * scheduler's own executor, sized for every running and queued request, so
+ * TTS neither waits behind nor starves the application's other async work
+ *
+ * @author AI Debate Team
+ */
+@Slf4j
+@Component
+public class TtsScheduler {
+
+    /**
+     * Request priority; PLAYING is audio the listener is waiting on right now
+     */
+    public enum Priority {
+        PLAYING,
+        PREFETCH
+    }
+
+    private static final int LATENCY_SAMPLES = 1024;
+
+    private final int maxConcurrent;
+    private final int maxPerSession;
+    private final int maxQueued;
+    private final long maxQueueWaitMillis;
+    private final long requestTimeoutMillis;
+    private final ThreadPoolTaskExecutor executor;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Per priority: users in round-robin order, each with its own FIFO of tickets
+    private final EnumMap<Priority, LinkedHashMap<String, ArrayDeque<Ticket>>> queues = new EnumMap<>(Priority.class);
+    private final Map<String, Integer> runningPerSession = new HashMap<>();
+    private int running;
+    private int queued;
+
+    // Queue latency statistics, guarded by lock
+    private final long[] latencySamples = new long[LATENCY_SAMPLES];
+    private int latencyIndex;
+    private long grantedCount;
+    private long totalWaitMillis;
+    private long maxWaitMillis;
+    private long rejectedCount;
+    private long timedOutCount;
+    private long cancelledCount;
+
+    public TtsScheduler(@Value("${voice.tts.max-concurrent:8}") int maxConcurrent,
+                        @Value("${voice.tts.max-per-session:2}") int maxPerSession,
+                        @Value("${voice.tts.max-queued:64}") int maxQueued,
+                        @Value("${voice.tts.max-queue-wait-seconds:20}") int maxQueueWaitSeconds,
+                        @Value("${voice.tts.request-timeout-seconds:90}") int requestTimeoutSeconds) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxPerSession = maxPerSession;
+        this.maxQueued = maxQueued;
+        this.maxQueueWaitMillis = TimeUnit.SECONDS.toMillis(maxQueueWaitSeconds);
+        this.requestTimeoutMillis = TimeUnit.SECONDS.toMillis(requestTimeoutSeconds);
+        // Queued requests wait for their slot on a thread too; admission keeps the pool from overflowing
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.max(1, maxConcurrent));
+        executor.setMaxPoolSize(Math.max(1, maxConcurrent + maxQueued));
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("tts-");
+        executor.setDaemon(true);
+        executor.initialize();
+        for (Priority priority : Priority.values()) {
+            queues.put(priority, new LinkedHashMap<>());
+        }
+    }
+
+    /**
+     * Thrown when the queue is full or the wait for a slot times out
+     */
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public static class TtsRejectedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public TtsRejectedException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Executor the bodies of admitted TTS requests run on
+     */
+    public AsyncTaskExecutor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Async timeout of a TTS request, covering queue wait and synthesis
+     */
+    public long getRequestTimeoutMillis() {
+        return requestTimeoutMillis;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Enqueue a TTS request without blocking
+     *
+     * @param userKey    Fairness key (user or client)
+     * @param sessionKey Concurrency key (debate session), falls back to the user key
+     * @param priority   PLAYING or PREFETCH
+     * @return Ticket to {@link Ticket#await()} on and release when done
+     * @throws TtsRejectedException if the queue is full
+     */
+    public Ticket submit(String userKey, String sessionKey, Priority priority) {
+        String user = userKey != null ? userKey : "anonymous";
+        Ticket ticket = new Ticket(user, sessionKey != null ? sessionKey : user, priority);
+
+        lock.lock();
+        try {
+            if (queued >= maxQueued) {
+                rejectedCount++;
+                log.warn("TTS queue full ({} queued, {} running), rejecting {} request for user: {}",
+                        queued, running, priority, user);
+                throw new TtsRejectedException("TTS queue is full, try again later");
+            }
+            queues.get(priority).computeIfAbsent(user, k -> new ArrayDeque<>()).addLast(ticket);
+            queued++;
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+        return ticket;
+    }
+
+    /**
+     * One admission slot; waits in the queue until granted
+     */
+    public class Ticket implements AutoCloseable {
+
+        private final String userKey;
+        private final String sessionKey;
+        private final Priority priority;
+        private final long enqueuedAt = System.currentTimeMillis();
+        private final CompletableFuture<Void> grant = new CompletableFuture<>();
+        private boolean granted;
+        private boolean finished;
+
+        private Ticket(String userKey, String sessionKey, Priority priority) {
+            this.userKey = userKey;
+            this.sessionKey = sessionKey;
+            this.priority = priority;
+        }
+
+        /**
+         * Block until a slot is granted
+         * The wait is bounded; interruption (client gone, async timeout) cancels the ticket
+         */
+        public void await() throws InterruptedException {
+            try {
+                grant.get(maxQueueWaitMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                lock.lock();
+                try {
+                    timedOutCount++;
+                } finally {
+                    lock.unlock();
+                }
+                close();
+                throw new TtsRejectedException("Timed out waiting for a TTS slot");
+            } catch (InterruptedException e) {
+                close();
+                throw e;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        /**
+         * Release the slot, or withdraw from the queue if not yet granted
+         */
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                if (finished) {
+                    return;
+                }
+                finished = true;
+                if (granted) {
+                    running--;
+                    runningPerSession.computeIfPresent(sessionKey, (k, v) -> v > 1 ? v - 1 : null);
+                } else {
+                    ArrayDeque<Ticket> userQueue = queues.get(priority).get(userKey);
+                    if (userQueue != null && userQueue.remove(this)) {
+                        queued--;
+                        cancelledCount++;
+                        if (userQueue.isEmpty()) {
+                            queues.get(priority).remove(userKey);
+                        }
+                    }
+                    grant.cancel(false);
+                }
+                dispatch();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Grant free slots: PLAYING before PREFETCH, users round-robin, skipping
+     * users whose head request belongs to a session already at its cap
+     * Must be called with the lock held
+     */
+    private void dispatch() {
+        while (running < maxConcurrent) {
+            Ticket next = pollEligible();
+            if (next == null) {
+                return;
+            }
+            next.granted = true;
+            queued--;
+            running++;
+            runningPerSession.merge(next.sessionKey, 1, Integer::sum);
+            recordWait(System.currentTimeMillis() - next.enqueuedAt);
+            next.grant.complete(null);
+        }
+    }
+
+    private Ticket pollEligible() {
+        for (Priority priority : Priority.values()) {
+            LinkedHashMap<String, ArrayDeque<Ticket>> users = queues.get(priority);
+            Iterator<Map.Entry<String, ArrayDeque<Ticket>>> iterator = users.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, ArrayDeque<Ticket>> entry = iterator.next();
+                ArrayDeque<Ticket> userQueue = entry.getValue();
+                Ticket head = userQueue.peekFirst();
+                if (head == null || runningPerSession.getOrDefault(head.sessionKey, 0) >= maxPerSession) {
+                    continue;
+                }
+                userQueue.pollFirst();
+                // Move the user to the back of the rotation
+                iterator.remove();
+                if (!userQueue.isEmpty()) {
+                    users.put(entry.getKey(), userQueue);
+                }
+                return head;
+            }
+        }
+        return null;
+    }
+
+    private void recordWait(long waitMillis) {
+        latencySamples[latencyIndex++ % LATENCY_SAMPLES] = waitMillis;
+        grantedCount++;
+        totalWaitMillis += waitMillis;
+        maxWaitMillis = Math.max(maxWaitMillis, waitMillis);
+    }
+
+    /**
+     * Snapshot of scheduler state and queue latency (p50/p95/p99 over the last 1024 grants)
+     */
+    public Map<String, Object> getStatistics() {
+        lock.lock();
+        try {
+            int samples = (int) Math.min(grantedCount, LATENCY_SAMPLES);
+            long[] sorted = Arrays.copyOf(latencySamples, samples);
+            Arrays.sort(sorted);
+
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("running", running);
+            stats.put("queued", queued);
+            stats.put("maxConcurrent", maxConcurrent);
+            stats.put("maxPerSession", maxPerSession);
+            stats.put("maxQueued", maxQueued);
+            stats.put("granted", grantedCount);
+            stats.put("rejected", rejectedCount);
+            stats.put("timedOut", timedOutCount);
+            stats.put("cancelled", cancelledCount);
+            stats.put("queueWaitAvgMs", grantedCount > 0 ? totalWaitMillis / grantedCount : 0);
+            stats.put("queueWaitMaxMs", maxWaitMillis);
+            stats.put("queueWaitP50Ms", percentile(sorted, 0.50));
+            stats.put("queueWaitP95Ms", percentile(sorted, 0.95));
+            stats.put("queueWaitP99Ms", percentile(sorted, 0.99));
+            return stats;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getRunning() {
+        lock.lock();
+        try {
+            return running;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
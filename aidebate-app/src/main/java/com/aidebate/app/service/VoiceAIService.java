@@ -6,11 +6,14 @@ import com.google.gson.JsonObject;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
-import java.util.Base64;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -29,9 +32,30 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 public class VoiceAIService {
 
+    private final AudioBufferPool audioBufferPool;
+    private final WavAudioEncoder wavAudioEncoder;
+    private final List<AudioEncoder> audioEncoders;
+    private final DebateMetrics debateMetrics;
+    private final DebateTracer debateTracer;
+
     @Value("${spring.ai.alibaba.api-key}")
     private String apiKey;
 
+    /**
+     * Realtime TTS endpoint; the fake-tts profile points it at the local stub
+     */
+    @Value("${voice.tts.url:wss://dashscope.aliyuncs.com/api-ws/v1/realtime}")
+    private String ttsUrl;
+
+    @Value("${voice.tts.model:qwen3-tts-flash-realtime}")
+    private String ttsModel;
+
+    // PCM_24000HZ_MONO_16BIT output format
+    static final int SAMPLE_RATE = 24000;
+    static final int CHANNELS = 1;
+    static final int BITS_PER_SAMPLE = 16;
+    private static final int PCM_BYTES_PER_SECOND = SAMPLE_RATE * CHANNELS * BITS_PER_SAMPLE / 8;
+
     // Voice configuration maps for different roles and languages
     private static final Map<String, String> VOICE_PROFILES_ZH = new HashMap<>();
     private static final Map<String, String> VOICE_PROFILES_EN = new HashMap<>();
@@ -68,6 +92,9 @@ public class VoiceAIService {
 
         QwenTtsRealtime qwenTtsRealtime = null;
         final boolean[] connectionClosed = {false};
+        long startNanos = System.nanoTime();
+        // Pooled PCM buffer, Base64 deltas are decoded straight into it
+        PcmAudioBuffer audioBuffer = audioBufferPool.newBuffer(estimatePcmBytes(text, language));
         
         try {
             // Get voice profile for role and language
@@ -75,15 +102,14 @@ public class VoiceAIService {
             log.info("Using voice profile: {} for role: {}", voiceId, role);
 
             // Prepare to collect audio data
-            ByteArrayOutputStream audioStream = new ByteArrayOutputStream();
             CountDownLatch completeLatch = new CountDownLatch(1);
             final boolean[] hasError = {false};
             final String[] errorMessage = {null};
             
             // Configure TTS parameters
             QwenTtsRealtimeParam param = QwenTtsRealtimeParam.builder()
-                    .model("qwen3-tts-flash-realtime")
-                    .url("wss://dashscope.aliyuncs.com/api-ws/v1/realtime")
+                    .model(ttsModel)
+                    .url(ttsUrl)
                     .apikey(apiKey)
                     .build();
 
@@ -102,20 +128,19 @@ public class VoiceAIService {
                         
                         switch(type) {
                             case "response.audio.delta":
-                                // Decode and collect audio data
-                                String recvAudioB64 = message.get("delta").getAsString();
-                                byte[] audioChunk = Base64.getDecoder().decode(recvAudioB64);
-                                synchronized (audioStream) {
-                                    audioStream.write(audioChunk);
+                                if (audioBuffer.getPcmSize() == 0) {
+                                    debateMetrics.recordFirstAudio("buffered", System.nanoTime() - startNanos);
                                 }
-                                log.debug("Received audio chunk: {} bytes", audioChunk.length);
+                                // Decode and collect audio data
+                                audioBuffer.appendBase64(message.get("delta").getAsString());
+                                log.debug("Received audio chunk (total: {} bytes)", audioBuffer.getPcmSize());
                                 break;
                             case "response.done":
                                 log.debug("Response done, audio generation complete");
                                 break;
                             case "session.finished":
                                 // Audio generation complete
-                                log.info("Session finished, total audio collected: {} bytes", audioStream.size());
+                                log.info("Session finished, total audio collected: {} bytes", audioBuffer.getPcmSize());
                                 completeLatch.countDown();
                                 break;
                             case "error":
@@ -179,18 +204,19 @@ public class VoiceAIService {
                 throw new RuntimeException("TTS generation error: " + errorMessage[0]);
             }
 
-            byte[] audioData = audioStream.toByteArray();
+            int pcmSize = audioBuffer.getPcmSize();
             
-            if (audioData.length == 0) {
+            if (pcmSize == 0) {
                 log.error("No audio data received from TTS service");
                 throw new RuntimeException("No audio data generated");
             }
             
             // Convert PCM to WAV for browser compatibility
-            byte[] wavAudio = convertPcmToWav(audioData, 24000, 1, 16);
+            byte[] wavAudio = audioBuffer.toWavBytes(SAMPLE_RATE, CHANNELS, BITS_PER_SAMPLE);
             
             log.info("Speech generated successfully, PCM size: {} bytes, WAV size: {} bytes", 
-                    audioData.length, wavAudio.length);
+                    pcmSize, wavAudio.length);
+            debateMetrics.recordAudioBytes("buffered", pcmSize);
             return wavAudio;
 
         } catch (NoApiKeyException e) {
@@ -220,6 +246,11 @@ public class VoiceAIService {
             } else if (connectionClosed[0]) {
                 log.debug("TTS connection already closed by server, skipping manual close");
             }
+            debateTracer.record("tts buffered", System.nanoTime() - startNanos)
+                    .tag("role", role)
+                    .tag("pcmBytes", audioBuffer.getPcmSize());
+            // Segments go back to the pool once the connection can no longer deliver deltas
+            audioBuffer.release();
         }
     }
 
@@ -229,10 +260,13 @@ public class VoiceAIService {
     public interface AudioStreamCallback {
         /**
          * Called when audio chunk is received
-         * @param chunk Audio data chunk
+         * The buffer is pooled and only valid for the duration of the call
+         * @param buffer Buffer holding the audio data
+         * @param offset Start of the chunk within the buffer
+         * @param length Number of bytes in the chunk
          * @param isComplete Whether this is the final chunk
          */
-        void onChunk(byte[] chunk, boolean isComplete) throws Exception;
+        void onChunk(byte[] buffer, int offset, int length, boolean isComplete) throws Exception;
     }
 
     /**
@@ -245,26 +279,44 @@ public class VoiceAIService {
      * @param callback Callback to receive audio chunks
      */
     public void generateSpeechStream(String text, String role, String language, AudioStreamCallback callback) {
-        log.info("Generating streaming speech for role: {}, language: {}, text length: {}", role, language, text.length());
+        generateSpeechStream(text, role, language, wavAudioEncoder, callback);
+    }
+
+    /**
+     * Generate speech with streaming callback using the given output encoder
+     * PCM deltas are handed to the encoder as they arrive; WAV buffers until the end,
+     * compressed encoders emit frames incrementally
+     * 
+     * @param text     Text content to convert to speech
+     * @param role     Speaker role
+     * @param language Language code
+     * @param encoder  Output encoder negotiated with the client
+     * @param callback Callback to receive encoded audio chunks
+     */
+    public void generateSpeechStream(String text, String role, String language,
+                                     AudioEncoder encoder, AudioStreamCallback callback) {
+        log.info("Generating streaming speech for role: {}, language: {}, format: {}, text length: {}",
+                role, language, encoder.getFormat(), text.length());
 
         QwenTtsRealtime qwenTtsRealtime = null;
         final boolean[] connectionClosed = {false};
+        long startNanos = System.nanoTime();
+        final long[] pcmBytes = {0};
+        AudioEncoder.Session encoderSession = encoder.open(callback, estimatePcmBytes(text, language));
         
         try {
             // Get voice profile for role and language
             String voiceId = getVoiceProfile(role, language);
             log.info("Using voice profile: {} for role: {}", voiceId, role);
 
-            // Collect all PCM audio before converting to WAV (needed for correct header)
-            ByteArrayOutputStream pcmAccumulator = new ByteArrayOutputStream();
             CountDownLatch completeLatch = new CountDownLatch(1);
             final boolean[] hasError = {false};
             final String[] errorMessage = {null};
             
             // Configure TTS parameters
             QwenTtsRealtimeParam param = QwenTtsRealtimeParam.builder()
-                    .model("qwen3-tts-flash-realtime")
-                    .url("wss://dashscope.aliyuncs.com/api-ws/v1/realtime")
+                    .model(ttsModel)
+                    .url(ttsUrl)
                     .apikey(apiKey)
                     .build();
 
@@ -283,15 +335,13 @@ public class VoiceAIService {
                         
                         switch(type) {
                             case "response.audio.delta":
-                                // Decode and accumulate audio chunk
-                                String recvAudioB64 = message.get("delta").getAsString();
-                                byte[] pcmChunk = Base64.getDecoder().decode(recvAudioB64);
-                                
-                                synchronized (pcmAccumulator) {
-                                    pcmAccumulator.write(pcmChunk);
-                                    log.debug("Accumulated PCM chunk: {} bytes (total: {} bytes)", 
-                                            pcmChunk.length, pcmAccumulator.size());
+                                String delta = message.get("delta").getAsString();
+                                if (pcmBytes[0] == 0) {
+                                    debateMetrics.recordFirstAudio("stream", System.nanoTime() - startNanos);
                                 }
+                                pcmBytes[0] += decodedLength(delta);
+                                // Hand the Base64 delta to the encoder, which decodes it in place
+                                encoderSession.appendBase64(delta);
                                 break;
                                 
                             case "response.done":
@@ -299,18 +349,9 @@ public class VoiceAIService {
                                 break;
                                 
                             case "session.finished":
-                                // Convert accumulated PCM to WAV and send as one complete file
-                                byte[] pcmData = pcmAccumulator.toByteArray();
-                                log.info("Session finished, converting {} bytes PCM to WAV", pcmData.length);
-                                
-                                if (pcmData.length > 0) {
-                                    byte[] wavAudio = convertPcmToWav(pcmData, 24000, 1, 16);
-                                    log.info("Sending complete WAV file: {} bytes", wavAudio.length);
-                                    callback.onChunk(wavAudio, true);
-                                } else {
-                                    log.warn("No audio data generated");
-                                    callback.onChunk(new byte[0], true);
-                                }
+                                // Flush the encoder; WAV sends the complete file here
+                                log.info("Session finished, flushing {} encoder", encoder.getFormat());
+                                encoderSession.finish();
                                 completeLatch.countDown();
                                 break;
                                 
@@ -376,6 +417,7 @@ public class VoiceAIService {
             }
 
             log.info("Speech streaming completed successfully");
+            debateMetrics.recordAudioBytes("stream", pcmBytes[0]);
 
         } catch (NoApiKeyException e) {
             log.error("API key not configured for TTS streaming service", e);
@@ -402,11 +444,60 @@ public class VoiceAIService {
             } else if (connectionClosed[0]) {
                 log.debug("TTS streaming connection already closed by server, skipping manual close");
             }
+            debateTracer.record("tts stream", System.nanoTime() - startNanos)
+                    .tag("role", role)
+                    .tag("format", encoder.getFormat())
+                    .tag("pcmBytes", pcmBytes[0]);
+            encoderSession.close();
         }
     }
 
 
 
+    /**
+     * Pick the output encoder for an HTTP Accept header
+     * Wildcards and a missing header keep the WAV default; q=0 entries are skipped
+     *
+     * @param acceptHeader Raw Accept header value, may be null
+     * @return Encoder, or null if none of the accepted types can be produced
+     */
+    public AudioEncoder negotiateEncoder(String acceptHeader) {
+        if (acceptHeader == null || acceptHeader.isBlank()) {
+            return wavAudioEncoder;
+        }
+
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(acceptHeader));
+        } catch (InvalidMediaTypeException e) {
+            log.warn("Ignoring malformed Accept header: {}", acceptHeader);
+            return wavAudioEncoder;
+        }
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+
+        for (MediaType mediaType : accepted) {
+            if (mediaType.getQualityValue() <= 0) {
+                continue;
+            }
+            if (mediaType.isWildcardSubtype() && mediaType.includes(MediaType.parseMediaType(wavAudioEncoder.getContentType()))) {
+                return wavAudioEncoder;
+            }
+            for (AudioEncoder encoder : audioEncoders) {
+                if (mediaType.equalsTypeAndSubtype(MediaType.parseMediaType(encoder.getContentType()))) {
+                    return encoder;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get content types the voice endpoint can produce
+     */
+    public String[] getSupportedFormats() {
+        return audioEncoders.stream().map(AudioEncoder::getContentType).toArray(String[]::new);
+    }
+
     /**
      * Get voice profile ID for a specific role and language
      * 
@@ -462,113 +553,21 @@ public class VoiceAIService {
     }
 
     /**
-     * Convert PCM audio data to WAV format
-     * WAV format is PCM with a RIFF header that browsers can play
-     * 
-     * @param pcmData Raw PCM audio data
-     * @param sampleRate Sample rate (e.g., 24000)
-     * @param channels Number of channels (1 for mono, 2 for stereo)
-     * @param bitsPerSample Bits per sample (e.g., 16)
-     * @return WAV formatted audio data
+     * Bytes a Base64 string decodes to
      */
-    private byte[] convertPcmToWav(byte[] pcmData, int sampleRate, int channels, int bitsPerSample) {
-        byte[] wavHeader = createWavHeader(pcmData.length, sampleRate, channels, bitsPerSample);
-        byte[] wavData = new byte[wavHeader.length + pcmData.length];
-        
-        // Copy header and PCM data
-        System.arraycopy(wavHeader, 0, wavData, 0, wavHeader.length);
-        System.arraycopy(pcmData, 0, wavData, wavHeader.length, pcmData.length);
-        
-        return wavData;
+    private static long decodedLength(String base64) {
+        int padding = base64.endsWith("==") ? 2 : base64.endsWith("=") ? 1 : 0;
+        return (long) base64.length() / 4 * 3 - padding;
     }
 
     /**
-     * Create WAV header for PCM audio
-     * 
-     * @param pcmDataSize Size of PCM data (0 for streaming/unknown size)
-     * @param sampleRate Sample rate
-     * @param channels Number of channels
-     * @param bitsPerSample Bits per sample
-     * @return WAV header bytes (44 bytes)
+     * Estimate PCM size for a text so the buffer segment table is sized up front
+     * Roughly 4 Chinese characters or 14 English characters per second of speech
      */
-    private byte[] createWavHeader(int pcmDataSize, int sampleRate, int channels, int bitsPerSample) {
-        int byteRate = sampleRate * channels * bitsPerSample / 8;
-        int blockAlign = channels * bitsPerSample / 8;
-        
-        // WAV header is 44 bytes
-        byte[] wavHeader = new byte[44];
-        
-        // RIFF header
-        wavHeader[0] = 'R';
-        wavHeader[1] = 'I';
-        wavHeader[2] = 'F';
-        wavHeader[3] = 'F';
-        
-        // File size (total size - 8 bytes for RIFF header)
-        int fileSize = 36 + pcmDataSize;
-        wavHeader[4] = (byte) (fileSize & 0xff);
-        wavHeader[5] = (byte) ((fileSize >> 8) & 0xff);
-        wavHeader[6] = (byte) ((fileSize >> 16) & 0xff);
-        wavHeader[7] = (byte) ((fileSize >> 24) & 0xff);
-        
-        // WAVE header
-        wavHeader[8] = 'W';
-        wavHeader[9] = 'A';
-        wavHeader[10] = 'V';
-        wavHeader[11] = 'E';
-        
-        // fmt subchunk
-        wavHeader[12] = 'f';
-        wavHeader[13] = 'm';
-        wavHeader[14] = 't';
-        wavHeader[15] = ' ';
-        
-        // Subchunk1 size (16 for PCM)
-        wavHeader[16] = 16;
-        wavHeader[17] = 0;
-        wavHeader[18] = 0;
-        wavHeader[19] = 0;
-        
-        // Audio format (1 = PCM)
-        wavHeader[20] = 1;
-        wavHeader[21] = 0;
-        
-        // Number of channels
-        wavHeader[22] = (byte) channels;
-        wavHeader[23] = 0;
-        
-        // Sample rate
-        wavHeader[24] = (byte) (sampleRate & 0xff);
-        wavHeader[25] = (byte) ((sampleRate >> 8) & 0xff);
-        wavHeader[26] = (byte) ((sampleRate >> 16) & 0xff);
-        wavHeader[27] = (byte) ((sampleRate >> 24) & 0xff);
-        
-        // Byte rate
-        wavHeader[28] = (byte) (byteRate & 0xff);
-        wavHeader[29] = (byte) ((byteRate >> 8) & 0xff);
-        wavHeader[30] = (byte) ((byteRate >> 16) & 0xff);
-        wavHeader[31] = (byte) ((byteRate >> 24) & 0xff);
-        
-        // Block align
-        wavHeader[32] = (byte) blockAlign;
-        wavHeader[33] = 0;
-        
-        // Bits per sample
-        wavHeader[34] = (byte) bitsPerSample;
-        wavHeader[35] = 0;
-        
-        // data subchunk
-        wavHeader[36] = 'd';
-        wavHeader[37] = 'a';
-        wavHeader[38] = 't';
-        wavHeader[39] = 'a';
-        
-        // Subchunk2 size (actual audio data size)
-        wavHeader[40] = (byte) (pcmDataSize & 0xff);
-        wavHeader[41] = (byte) ((pcmDataSize >> 8) & 0xff);
-        wavHeader[42] = (byte) ((pcmDataSize >> 16) & 0xff);
-        wavHeader[43] = (byte) ((pcmDataSize >> 24) & 0xff);
-        
-        return wavHeader;
+    static int estimatePcmBytes(String text, String language) {
+        int bytesPerChar = "zh".equalsIgnoreCase(language)
+                ? PCM_BYTES_PER_SECOND / 4
+                : PCM_BYTES_PER_SECOND / 14;
+        return (int) Math.min(Integer.MAX_VALUE / 2, (long) text.length() * bytesPerChar);
     }
 }
@@ -0,0 +1,54 @@
+package com.aidebate.app.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * WAV Audio Encoder
+ * Buffers the whole utterance in pooled segments because the WAV header
+ * carries the data size; emits one complete file on finish
+ *
+ * @author AI Debate Team
+ */
+@Component
+@RequiredArgsConstructor
+public class WavAudioEncoder implements AudioEncoder {
+
+    private final AudioBufferPool audioBufferPool;
+
+    @Override
+    public String getFormat() {
+        return "wav";
+    }
+
+    @Override
+    public String getContentType() {
+        return "audio/wav";
+    }
+
+    @Override
+    public Session open(VoiceAIService.AudioStreamCallback sink, int estimatedPcmBytes) {
+        PcmAudioBuffer buffer = audioBufferPool.newBuffer(estimatedPcmBytes);
+
+        return new Session() {
+            @Override
+            public void appendBase64(String base64) {
+                buffer.appendBase64(base64);
+            }
+
+            @Override
+            public void finish() throws Exception {
+                if (buffer.getPcmSize() > 0) {
+                    buffer.emitWav(sink, VoiceAIService.SAMPLE_RATE, VoiceAIService.CHANNELS, VoiceAIService.BITS_PER_SAMPLE);
+                } else {
+                    sink.onChunk(new byte[0], 0, 0, true);
+                }
+            }
+
+            @Override
+            public void close() {
+                buffer.release();
+            }
+        };
+    }
+}
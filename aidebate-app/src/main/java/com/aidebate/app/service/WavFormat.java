@@ -0,0 +1,79 @@
+package com.aidebate.app.service;
+
+/**
+ * WAV Format helper
+ * Writes the 44-byte RIFF/WAVE header for PCM audio into an existing buffer
+ *
+ * @author AI Debate Team
+ */
+public final class WavFormat {
+
+    /**
+     * Size of the canonical PCM WAV header
+     */
+    public static final int HEADER_SIZE = 44;
+
+    private WavFormat() {
+    }
+
+    /**
+     * Write WAV header for PCM audio at the given offset
+     *
+     * @param dst           Destination buffer (needs 44 bytes from offset)
+     * @param offset        Offset to start writing at
+     * @param pcmDataSize   Size of PCM data that follows the header
+     * @param sampleRate    Sample rate (e.g., 24000)
+     * @param channels      Number of channels (1 for mono, 2 for stereo)
+     * @param bitsPerSample Bits per sample (e.g., 16)
+     */
+    public static void writeHeader(byte[] dst, int offset, int pcmDataSize, int sampleRate, int channels, int bitsPerSample) {
+        int byteRate = sampleRate * channels * bitsPerSample / 8;
+        int blockAlign = channels * bitsPerSample / 8;
+
+        // RIFF header, file size excludes the first 8 bytes
+        writeAscii(dst, offset, "RIFF");
+        writeIntLE(dst, offset + 4, 36 + pcmDataSize);
+        writeAscii(dst, offset + 8, "WAVE");
+
+        // fmt subchunk: size 16, format 1 (PCM)
+        writeAscii(dst, offset + 12, "fmt ");
+        writeIntLE(dst, offset + 16, 16);
+        writeShortLE(dst, offset + 20, 1);
+        writeShortLE(dst, offset + 22, channels);
+        writeIntLE(dst, offset + 24, sampleRate);
+        writeIntLE(dst, offset + 28, byteRate);
+        writeShortLE(dst, offset + 32, blockAlign);
+        writeShortLE(dst, offset + 34, bitsPerSample);
+
+        // data subchunk
+        writeAscii(dst, offset + 36, "data");
+        writeIntLE(dst, offset + 40, pcmDataSize);
+    }
+
+    /**
+     * Create a standalone WAV header
+     */
+    public static byte[] createHeader(int pcmDataSize, int sampleRate, int channels, int bitsPerSample) {
+        byte[] header = new byte[HEADER_SIZE];
+        writeHeader(header, 0, pcmDataSize, sampleRate, channels, bitsPerSample);
+        return header;
+    }
+
+    private static void writeAscii(byte[] dst, int offset, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            dst[offset + i] = (byte) value.charAt(i);
+        }
+    }
+
+    private static void writeIntLE(byte[] dst, int offset, int value) {
+        dst[offset] = (byte) (value & 0xff);
+        dst[offset + 1] = (byte) ((value >> 8) & 0xff);
+        dst[offset + 2] = (byte) ((value >> 16) & 0xff);
+        dst[offset + 3] = (byte) ((value >> 24) & 0xff);
+    }
+
+    private static void writeShortLE(byte[] dst, int offset, int value) {
+        dst[offset] = (byte) (value & 0xff);
+        dst[offset + 1] = (byte) ((value >> 8) & 0xff);
+    }
+}
@@ -0,0 +1,120 @@
+package com.aidebate.benchmarks;
+
+import com.aidebate.app.service.AudioBufferPool;
+import com.aidebate.app.service.PcmAudioBuffer;
+import com.aidebate.app.service.WavFormat;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Audio Buffer Benchmark
+ * Compares the original ByteArrayOutputStream TTS accumulation against the
+ * pooled PcmAudioBuffer path for a whole argument's worth of audio deltas
+ *
+ * Run with the GC profiler to see allocation per operation:
+ * java -jar aidebate-benchmarks/target/benchmarks.jar AudioBufferBenchmark -prof gc
+ *
+ * @author AI Debate Team
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AudioBufferBenchmark {
+
+    private static final int SAMPLE_RATE = 24000;
+    private static final int PCM_BYTES_PER_SECOND = SAMPLE_RATE * 2;
+
+    /**
+     * Seconds of speech; 180s is a long 500-character Chinese argument
+     */
+    @Param({"10", "60", "180"})
+    private int audioSeconds;
+
+    /**
+     * Bytes of PCM per response.audio.delta event
+     */
+    @Param({"4800"})
+    private int deltaBytes;
+
+    private String[] deltas;
+    private int estimatedPcmBytes;
+    private AudioBufferPool pool;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        int totalBytes = audioSeconds * PCM_BYTES_PER_SECOND;
+        int count = (totalBytes + deltaBytes - 1) / deltaBytes;
+        deltas = new String[count];
+        byte[] pcm = new byte[deltaBytes];
+        for (int i = 0; i < count; i++) {
+            random.nextBytes(pcm);
+            deltas[i] = Base64.getEncoder().encodeToString(pcm);
+        }
+        estimatedPcmBytes = totalBytes;
+        pool = new AudioBufferPool(256);
+    }
+
+    /**
+     * Original path: decode each delta into a fresh array, grow an unsized
+     * ByteArrayOutputStream, then copy once more to prepend the header
+     */
+    @Benchmark
+    public void legacyByteArrayOutputStream(Blackhole blackhole) {
+        ByteArrayOutputStream audioStream = new ByteArrayOutputStream();
+        for (String delta : deltas) {
+            byte[] chunk = Base64.getDecoder().decode(delta);
+            synchronized (audioStream) {
+                audioStream.write(chunk, 0, chunk.length);
+            }
+        }
+        byte[] pcmData = audioStream.toByteArray();
+        byte[] header = WavFormat.createHeader(pcmData.length, SAMPLE_RATE, 1, 16);
+        byte[] wavData = new byte[header.length + pcmData.length];
+        System.arraycopy(header, 0, wavData, 0, header.length);
+        System.arraycopy(pcmData, 0, wavData, header.length, pcmData.length);
+        blackhole.consume(wavData);
+    }
+
+    /**
+     * Pooled path used by generateSpeechStream: decode into recycled segments
+     * and hand out slices with the header written in place
+     */
+    @Benchmark
+    public void pooledStream(Blackhole blackhole) throws Exception {
+        PcmAudioBuffer buffer = pool.newBuffer(estimatedPcmBytes);
+        try {
+            for (String delta : deltas) {
+                buffer.appendBase64(delta);
+            }
+            buffer.emitWav((segment, offset, length, isComplete) -> blackhole.consume(segment),
+                    SAMPLE_RATE, 1, 16);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * Pooled path used by generateSpeech: one exactly-sized copy for the caller
+     */
+    @Benchmark
+    public void pooledToArray(Blackhole blackhole) {
+        PcmAudioBuffer buffer = pool.newBuffer(estimatedPcmBytes);
+        try {
+            for (String delta : deltas) {
+                buffer.appendBase64(delta);
+            }
+            blackhole.consume(buffer.toWavBytes(SAMPLE_RATE, 1, 16));
+        } finally {
+            buffer.release();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.aidebate.benchmarks;
+
+import com.aidebate.app.service.AudioBufferPool;
+import com.aidebate.app.service.AudioEncoder;
+import com.aidebate.app.service.Mp3AudioEncoder;
+import com.aidebate.app.service.WavAudioEncoder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Audio Encoder Benchmark
+ * CPU cost of each voice output encoder for one utterance, plus the
+ * bytes-per-second each one puts on the wire (printed at the end of a trial)
+ *
+ * java -jar aidebate-benchmarks/target/benchmarks.jar AudioEncoderBenchmark
+ *
+ * @author AI Debate Team
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AudioEncoderBenchmark {
+
+    private static final int SAMPLE_RATE = 24000;
+    private static final int DELTA_BYTES = 4800;
+
+    @Param({"wav", "mp3"})
+    private String format;
+
+    @Param({"30"})
+    private int audioSeconds;
+
+    private String[] deltas;
+    private AudioEncoder encoder;
+    private long outputBytes;
+
+    @Setup
+    public void setup() {
+        encoder = "mp3".equals(format)
+                ? new Mp3AudioEncoder(32, 7)
+                : new WavAudioEncoder(new AudioBufferPool(256));
+
+        // Voice-like signal: a few harmonics with a slow amplitude envelope
+        int totalSamples = audioSeconds * SAMPLE_RATE;
+        byte[] pcm = new byte[totalSamples * 2];
+        for (int i = 0; i < totalSamples; i++) {
+            double t = (double) i / SAMPLE_RATE;
+            double envelope = 0.5 + 0.5 * Math.sin(2 * Math.PI * 3 * t);
+            double value = envelope * (0.5 * Math.sin(2 * Math.PI * 180 * t)
+                    + 0.3 * Math.sin(2 * Math.PI * 360 * t)
+                    + 0.2 * Math.sin(2 * Math.PI * 720 * t));
+            short sample = (short) (value * 12000);
+            pcm[2 * i] = (byte) sample;
+            pcm[2 * i + 1] = (byte) (sample >> 8);
+        }
+
+        int count = (pcm.length + DELTA_BYTES - 1) / DELTA_BYTES;
+        deltas = new String[count];
+        for (int i = 0; i < count; i++) {
+            int from = i * DELTA_BYTES;
+            int length = Math.min(DELTA_BYTES, pcm.length - from);
+            byte[] delta = new byte[length];
+            System.arraycopy(pcm, from, delta, 0, length);
+            deltas[i] = Base64.getEncoder().encodeToString(delta);
+        }
+    }
+
+    @Benchmark
+    public long encodeUtterance(Blackhole blackhole) throws Exception {
+        long[] written = {0};
+        try (AudioEncoder.Session session = encoder.open((buffer, offset, length, isComplete) -> {
+            written[0] += length;
+            blackhole.consume(buffer);
+        }, audioSeconds * SAMPLE_RATE * 2)) {
+            for (String delta : deltas) {
+                session.appendBase64(delta);
+            }
+            session.finish();
+        }
+        outputBytes = written[0];
+        return written[0];
+    }
+
+    @TearDown(Level.Trial)
+    public void report() {
+        System.out.printf("%n%s: %d bytes for %ds of audio = %d bytes/s%n",
+                format, outputBytes, audioSeconds, outputBytes / audioSeconds);
+    }
+}
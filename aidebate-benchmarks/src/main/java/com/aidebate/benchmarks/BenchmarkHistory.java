@@ -0,0 +1,101 @@
+package com.aidebate.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Benchmark History
+ * Compares two JMH JSON results (-rf json) benchmark by benchmark and exits
+ * with status 1 when one got slower than the threshold allows and the
+ * difference is larger than the two runs' error margins together
+ *
+ * java -cp aidebate-benchmarks/target/benchmarks.jar com.aidebate.benchmarks.BenchmarkHistory baseline.json current.json [threshold%]
+ *
+ * scripts/benchmarks/run_benchmarks.sh records a result per commit and runs
+ * this against the newest result of an earlier commit
+ *
+ * @author AI Debate Team
+ */
+public class BenchmarkHistory {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10;
+
+    /**
+     * Primary metric of one benchmark and parameter combination
+     */
+    private record Score(double score, double error, String unit, boolean higherIsBetter) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkHistory <baseline.json> <current.json> [threshold%]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        Map<String, Score> baseline = read(new File(args[0]));
+        Map<String, Score> current = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-78s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-78s %14s %14.3f %9s  new%n", entry.getKey(), "-", now.score(), "");
+                continue;
+            }
+            double change = (now.score() - before.score()) / before.score() * 100;
+            double worse = now.higherIsBetter() ? -change : change;
+            boolean beyondError = Math.abs(now.score() - before.score()) > safe(now.error()) + safe(before.error());
+            String verdict = "";
+            if (worse > threshold && beyondError) {
+                verdict = "  REGRESSION";
+                regressions++;
+            } else if (-worse > threshold && beyondError) {
+                verdict = "  improved";
+            }
+            System.out.printf("%-78s %14.3f %14.3f %+8.1f%%%s  %s%n",
+                    entry.getKey(), before.score(), now.score(), change, verdict, now.unit());
+        }
+        for (String removed : baseline.keySet()) {
+            if (!current.containsKey(removed)) {
+                System.out.printf("%-78s %14.3f %14s %9s  not run%n", removed, baseline.get(removed).score(), "-", "");
+            }
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.0f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(File file) throws Exception {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText()
+                    .replace("com.aidebate.benchmarks.", ""));
+            Map<String, String> params = new TreeMap<>();
+            run.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            if (!params.isEmpty()) {
+                key.append(params);
+            }
+            JsonNode metric = run.path("primaryMetric");
+            String mode = run.path("mode").asText();
+            scores.put(key.toString(), new Score(metric.path("score").asDouble(), metric.path("scoreError").asDouble(),
+                    metric.path("scoreUnit").asText(), "thrpt".equals(mode)));
+        }
+        return scores;
+    }
+
+    /**
+     * JMH reports NaN as the error of single-iteration runs
+     */
+    private static double safe(double error) {
+        return Double.isNaN(error) ? 0 : error;
+    }
+}
@@ -0,0 +1,98 @@
+package com.aidebate.benchmarks;
+
+import com.aidebate.app.service.DebateEventBus;
+import com.aidebate.app.service.DebateReplayLog;
+import com.aidebate.app.service.DebateStateStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event Serialization Benchmark
+ * Cost of publishing one debate event to a session's SSE subscribers on the
+ * in-memory event bus: JSON serialization, sequencing, the replay ring and
+ * building the SSE frame for every subscriber. A token chunk is published
+ * per streamed token, the complete argument once per speech
+ *
+ * Subscribers build the frame and drop it instead of writing to a socket;
+ * the replay log is disabled
+ *
+ * java -jar aidebate-benchmarks/target/benchmarks.jar EventSerializationBenchmark -prof gc
+ *
+ * @author AI Debate Team
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventSerializationBenchmark {
+
+    private static final long SESSION_ID = 1L;
+
+    @Param({"1", "10", "100"})
+    private int subscribers;
+
+    private DebateEventBus eventBus;
+    private String argument;
+
+    /**
+     * Emitter that builds each SSE frame and discards it
+     */
+    private static final class BuildingEmitter extends SseEmitter {
+        private long frames;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            Set<ResponseBodyEmitter.DataWithMediaType> frame = builder.build();
+            frames += frame.size();
+        }
+    }
+
+    @Setup
+    public void setup() {
+        var noRedis = new StaticListableBeanFactory().getBeanProvider(RedisConnectionFactory.class);
+        DebateStateStore stateStore = new DebateStateStore(noRedis, false, "aidebate:debate:", 30000, 24, "bench");
+        eventBus = new DebateEventBus(new ObjectMapper(), noRedis, stateStore,
+                new DebateReplayLog(false, "", false, 0, 0, 1, 1), false, "aidebate:debate:", 1000, 24);
+        for (int i = 0; i < subscribers; i++) {
+            eventBus.subscribe(SESSION_ID, new BuildingEmitter(), null);
+        }
+
+        Random random = new Random(3);
+        StringBuilder builder = new StringBuilder(500);
+        for (int i = 0; i < 500; i++) {
+            builder.append((char) (0x4E00 + random.nextInt(3000)));
+        }
+        argument = builder.toString();
+    }
+
+    @Benchmark
+    public void tokenChunk() {
+        eventBus.publish(SESSION_ID, "ai_argument", Map.of(
+                "side", "AFFIRMATIVE",
+                "chunk", "辩论",
+                "complete", false,
+                "round", 3,
+                "timestamp", "2025-01-01T12:00:00.123456"));
+    }
+
+    @Benchmark
+    public void completeArgument() {
+        eventBus.publish(SESSION_ID, "ai_argument", Map.of(
+                "side", "AFFIRMATIVE",
+                "chunk", argument,
+                "complete", true,
+                "round", 3,
+                "timestamp", "2025-01-01T12:00:00.123456"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.aidebate.benchmarks;
+
+import com.aidebate.app.service.AlibabaAIService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Judgment Parsing Benchmark
+ * Cost of turning a judge's reply into a score: extracting the JSON object
+ * from the model output and parsing it, for a bare JSON reply and one
+ * wrapped in a markdown code fence. Six judgments are parsed per round
+ *
+ * Both methods are private to AlibabaAIService and are called through
+ * method handles
+ *
+ * java -jar aidebate-benchmarks/target/benchmarks.jar JudgmentParsingBenchmark
+ *
+ * @author AI Debate Team
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JudgmentParsingBenchmark {
+
+    private static final String JUDGMENT = "{\"score\": 82.5, \"feedback\": \"论点结构清晰，论据充分，"
+            + "但对对方第二个论点的回应略显薄弱，建议补充具体数据支撑。\"}";
+
+    @Param({"plain", "fenced"})
+    private String format;
+
+    private AlibabaAIService service;
+    private MethodHandle extractJson;
+    private MethodHandle parseJudgment;
+    private String response;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        service = new AlibabaAIService(null, null, null, null);
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(AlibabaAIService.class, MethodHandles.lookup());
+        extractJson = lookup.findVirtual(AlibabaAIService.class, "extractJSON",
+                MethodType.methodType(String.class, String.class));
+        parseJudgment = lookup.findVirtual(AlibabaAIService.class, "parseJudgmentResponse",
+                MethodType.methodType(Map.class, String.class, int.class));
+        response = "fenced".equals(format) ? "```json\n" + JUDGMENT + "\n```\n" : JUDGMENT;
+    }
+
+    @Benchmark
+    public String extractJSON() throws Throwable {
+        return (String) extractJson.invoke(service, response);
+    }
+
+    @Benchmark
+    public Object parseJudgmentResponse() throws Throwable {
+        return parseJudgment.invoke(service, response, 100);
+    }
+}
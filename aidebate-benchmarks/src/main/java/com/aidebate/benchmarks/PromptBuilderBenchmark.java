@@ -0,0 +1,73 @@
+package com.aidebate.benchmarks;
+
+import com.aidebate.app.service.AlibabaAIService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prompt Builder Benchmark
+ * Cost of building the debate argument user prompt, which runs once per
+ * argument with the debate history so far, from the first round to a
+ * 20-round debate (the prompt keeps the last six arguments)
+ *
+ * The builder is private to AlibabaAIService and is called through a
+ * method handle; the service is created without models since none are used
+ *
+ * java -jar aidebate-benchmarks/target/benchmarks.jar PromptBuilderBenchmark -prof gc
+ *
+ * @author AI Debate Team
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PromptBuilderBenchmark {
+
+    @Param({"1", "5", "10", "20"})
+    private int round;
+
+    private AlibabaAIService service;
+    private MethodHandle buildUserPrompt;
+    private List<String> history;
+    private String topic;
+    private String moderatorInstruction;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        service = new AlibabaAIService(null, null, null, null);
+        buildUserPrompt = MethodHandles.privateLookupIn(AlibabaAIService.class, MethodHandles.lookup())
+                .findVirtual(AlibabaAIService.class, "buildDebateArgumentUserPrompt", MethodType.methodType(
+                        String.class, String.class, String.class, int.class, List.class, String.class));
+
+        Random random = new Random(11);
+        topic = "人工智能的发展利大于弊";
+        moderatorInstruction = "请双方围绕对方上一轮的核心论据进行回应。";
+        // Both sides have spoken in every earlier round
+        history = new ArrayList<>();
+        for (int i = 0; i < 2 * (round - 1); i++) {
+            history.add(argument(random, 300 + random.nextInt(200)));
+        }
+    }
+
+    @Benchmark
+    public String debateArgumentUserPrompt() throws Throwable {
+        return (String) buildUserPrompt.invoke(service, topic, "AFFIRMATIVE", round, history, moderatorInstruction);
+    }
+
+    private static String argument(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(i % 25 == 24 ? '，' : (char) (0x4E00 + random.nextInt(3000)));
+        }
+        return builder.toString();
+    }
+}
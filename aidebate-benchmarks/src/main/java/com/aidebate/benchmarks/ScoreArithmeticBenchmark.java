@@ -0,0 +1,148 @@
+package com.aidebate.benchmarks;
+
+import com.aidebate.app.service.FixedScore;
+import com.aidebate.app.service.ScoreAggregator;
+import com.aidebate.domain.model.DebateSession;
+import com.aidebate.domain.model.RoundScoreRecord;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Score Arithmetic Benchmark
+ * BigDecimal stream arithmetic against fixed-point hundredths for the two
+ * score aggregations that run repeatedly: cumulative round scores of a
+ * debate and the final score averages of the admin user statistics
+ *
+ * java -jar aidebate-benchmarks/target/benchmarks.jar ScoreArithmeticBenchmark -prof gc
+ *
+ * @author AI Debate Team
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoreArithmeticBenchmark {
+
+    private static final String[] SIDES = {"AFFIRMATIVE", "NEGATIVE"};
+
+    @Param({"5", "50"})
+    private int rounds;
+
+    /**
+     * Completed debates in the user statistics
+     */
+    @Param({"1000"})
+    private int debates;
+
+    private List<RoundScoreRecord> records;
+    private List<DebateSession> completedDebates;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(37);
+        records = new ArrayList<>();
+        for (int round = 1; round <= rounds; round++) {
+            for (String side : SIDES) {
+                for (int judge = 1; judge <= 3; judge++) {
+                    records.add(RoundScoreRecord.builder().roundNumber(round).debaterSide(side)
+                            .score(BigDecimal.valueOf(6000 + random.nextInt(4000), 2)).build());
+                }
+            }
+        }
+
+        completedDebates = new ArrayList<>();
+        for (int i = 0; i < debates; i++) {
+            completedDebates.add(DebateSession.builder()
+                    .finalScoreAffirmative(BigDecimal.valueOf(30000 + random.nextInt(20000), 2))
+                    .finalScoreNegative(i % 10 == 0 ? null : BigDecimal.valueOf(30000 + random.nextInt(20000), 2))
+                    .build());
+        }
+    }
+
+    /**
+     * Cumulative scores as getCumulativeScores computed them: group by round,
+     * average each round with BigDecimal, sum the averages
+     */
+    @Benchmark
+    public Map<String, BigDecimal> cumulativeBigDecimal() {
+        Map<String, BigDecimal> result = new HashMap<>();
+        for (String side : SIDES) {
+            Map<Integer, List<RoundScoreRecord>> byRound = new HashMap<>();
+            for (RoundScoreRecord record : records) {
+                if (side.equals(record.getDebaterSide())) {
+                    byRound.computeIfAbsent(record.getRoundNumber(), k -> new ArrayList<>()).add(record);
+                }
+            }
+            BigDecimal total = byRound.values().stream()
+                    .map(roundScores -> roundScores.stream()
+                            .map(RoundScoreRecord::getScore)
+                            .reduce(BigDecimal.ZERO, BigDecimal::add)
+                            .divide(BigDecimal.valueOf(roundScores.size()), 2, RoundingMode.HALF_UP))
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            result.put(side, total.setScale(2, RoundingMode.HALF_UP));
+        }
+        return result;
+    }
+
+    /**
+     * The same totals through the fixed-point aggregator, built from scratch
+     */
+    @Benchmark
+    public Map<String, BigDecimal> cumulativeFixedPoint() {
+        ScoreAggregator aggregator = new ScoreAggregator();
+        for (RoundScoreRecord record : records) {
+            aggregator.add(record);
+        }
+        Map<String, BigDecimal> result = new HashMap<>();
+        for (String side : SIDES) {
+            result.put(side, aggregator.getTotal(side));
+        }
+        return result;
+    }
+
+    /**
+     * Final score averages as getUserStatistics computed them before
+     */
+    @Benchmark
+    public String userStatisticsStreams() {
+        double affirmative = completedDebates.stream()
+                .map(DebateSession::getFinalScoreAffirmative)
+                .filter(Objects::nonNull)
+                .mapToDouble(BigDecimal::doubleValue)
+                .average()
+                .orElse(0.0);
+        double negative = completedDebates.stream()
+                .map(DebateSession::getFinalScoreNegative)
+                .filter(Objects::nonNull)
+                .mapToDouble(BigDecimal::doubleValue)
+                .average()
+                .orElse(0.0);
+        return String.format("%.2f", affirmative) + String.format("%.2f", negative);
+    }
+
+    @Benchmark
+    public String userStatisticsFixedPoint() {
+        long affirmativeSum = 0;
+        long negativeSum = 0;
+        int affirmativeCount = 0;
+        int negativeCount = 0;
+        for (DebateSession debate : completedDebates) {
+            if (debate.getFinalScoreAffirmative() != null) {
+                affirmativeSum += FixedScore.of(debate.getFinalScoreAffirmative());
+                affirmativeCount++;
+            }
+            if (debate.getFinalScoreNegative() != null) {
+                negativeSum += FixedScore.of(debate.getFinalScoreNegative());
+                negativeCount++;
+            }
+        }
+        return FixedScore.toBigDecimal(FixedScore.average(affirmativeSum, affirmativeCount)).toPlainString()
+                + FixedScore.toBigDecimal(FixedScore.average(negativeSum, negativeCount)).toPlainString();
+    }
+}
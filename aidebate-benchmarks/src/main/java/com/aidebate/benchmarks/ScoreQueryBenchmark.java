@@ -0,0 +1,232 @@
+package com.aidebate.benchmarks;
+
+import com.aidebate.app.service.ScoringService;
+import com.aidebate.domain.model.Argument;
+import com.aidebate.domain.model.Role;
+import com.aidebate.domain.model.ScoreRecord;
+import com.aidebate.domain.model.ScoringRule;
+import com.aidebate.infrastructure.mapper.ArgumentMapper;
+import com.aidebate.infrastructure.mapper.RoleMapper;
+import com.aidebate.infrastructure.mapper.ScoreRecordMapper;
+import com.aidebate.infrastructure.mapper.ScoringRuleMapper;
+import com.baomidou.mybatisplus.core.conditions.AbstractWrapper;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Score Query Benchmark
+ * Current-score read for a whole session: the per-argument path (one score
+ * query per argument plus one rule lookup per criterion) against the single
+ * aggregation query with cached rule weights
+ *
+ * The mappers are in-memory stubs that spin for a fixed round-trip time per
+ * call, so the result is dominated by the number of queries, as it is
+ * against MySQL. Query counts per operation are printed after each trial
+ *
+ * java -jar aidebate-benchmarks/target/benchmarks.jar ScoreQueryBenchmark
+ *
+ * @author AI Debate Team
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoreQueryBenchmark {
+
+    private static final long SESSION_ID = 1L;
+    private static final long AFFIRMATIVE_ROLE = 10L;
+    private static final long NEGATIVE_ROLE = 11L;
+    private static final long[] JUDGE_ROLES = {20L, 21L, 22L};
+
+    @Param({"5", "50"})
+    private int rounds;
+
+    /**
+     * Simulated database round trip per query
+     */
+    @Param({"200"})
+    private int roundTripMicros;
+
+    private List<Argument> arguments;
+    private List<ScoreRecord> scores;
+    private Map<Long, ScoringRule> rules;
+
+    private ScoreRecordMapper scoreRecordMapper;
+    private ScoringRuleMapper scoringRuleMapper;
+    private ArgumentMapper argumentMapper;
+    private RoleMapper roleMapper;
+    private ScoringService scoringService;
+
+    private final AtomicLong queries = new AtomicLong();
+    private final AtomicLong operations = new AtomicLong();
+
+    @Setup
+    public void setup() {
+        Random random = new Random(5);
+        rules = new LinkedHashMap<>();
+        String[] criteria = {"Logic", "Persuasiveness", "Fluency"};
+        String[] weights = {"0.40", "0.35", "0.25"};
+        for (int i = 0; i < criteria.length; i++) {
+            long ruleId = 100L + i;
+            rules.put(ruleId, ScoringRule.builder().ruleId(ruleId).sessionId(SESSION_ID)
+                    .criteriaName(criteria[i]).maxScore(100).weight(new BigDecimal(weights[i])).build());
+        }
+
+        arguments = new ArrayList<>();
+        scores = new ArrayList<>();
+        long argumentId = 1000L;
+        for (int round = 1; round <= rounds; round++) {
+            for (long roleId : new long[]{AFFIRMATIVE_ROLE, NEGATIVE_ROLE}) {
+                Argument argument = Argument.builder().argumentId(argumentId++).sessionId(SESSION_ID)
+                        .roleId(roleId).roundNumber(round).isPreview(false).build();
+                arguments.add(argument);
+                for (long judge : JUDGE_ROLES) {
+                    for (Long ruleId : rules.keySet()) {
+                        scores.add(ScoreRecord.builder().sessionId(SESSION_ID)
+                                .argumentId(argument.getArgumentId()).judgeRoleId(judge).ruleId(ruleId)
+                                .score(BigDecimal.valueOf(6000 + random.nextInt(4000), 2)).build());
+                    }
+                }
+            }
+        }
+
+        scoreRecordMapper = stub(ScoreRecordMapper.class, (method, args) -> switch (method) {
+            case "selectList" -> {
+                Object argumentIdParam = param(args[0]);
+                yield scores.stream().filter(s -> s.getArgumentId().equals(argumentIdParam)).toList();
+            }
+            case "selectRuleTotalsBySession" -> ruleTotals();
+            default -> throw new UnsupportedOperationException(method);
+        });
+        scoringRuleMapper = stub(ScoringRuleMapper.class, (method, args) -> switch (method) {
+            case "selectById" -> rules.get((Long) args[0]);
+            case "selectList" -> new ArrayList<>(rules.values());
+            default -> throw new UnsupportedOperationException(method);
+        });
+        argumentMapper = stub(ArgumentMapper.class, (method, args) -> {
+            Object roleIdParam = param(args[0]);
+            return arguments.stream().filter(a -> a.getRoleId().equals(roleIdParam)).toList();
+        });
+        roleMapper = stub(RoleMapper.class, (method, args) -> {
+            Object roleType = param(args[0]);
+            return Role.builder().roleId(roleType == Role.RoleType.AFFIRMATIVE ? AFFIRMATIVE_ROLE : NEGATIVE_ROLE)
+                    .roleType((Role.RoleType) roleType).build();
+        });
+        scoringService = new ScoringService(scoringRuleMapper, scoreRecordMapper, roleMapper, argumentMapper,
+                null, null, null, null, null, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void report() {
+        System.out.printf("%n%d rounds: %.1f queries per operation%n", rounds,
+                (double) queries.get() / Math.max(1, operations.get()));
+        queries.set(0);
+        operations.set(0);
+    }
+
+    /**
+     * Read path before the aggregation query: role and argument lookups per side,
+     * then per argument its score records and every criterion's rule
+     */
+    @Benchmark
+    public Map<String, BigDecimal> perArgument() {
+        operations.incrementAndGet();
+        Map<String, BigDecimal> result = new HashMap<>();
+        for (Role.RoleType side : new Role.RoleType[]{Role.RoleType.AFFIRMATIVE, Role.RoleType.NEGATIVE}) {
+            Role role = roleMapper.selectOne(new QueryWrapper<Role>().eq("role_type", side));
+            List<Argument> sideArguments = argumentMapper.selectList(
+                    new QueryWrapper<Argument>().eq("role_id", role.getRoleId()));
+            BigDecimal total = BigDecimal.ZERO;
+            for (Argument argument : sideArguments) {
+                total = total.add(argumentScore(argument.getArgumentId()));
+            }
+            result.put(side.name(), total);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> aggregated() {
+        operations.incrementAndGet();
+        return scoringService.calculateSideScores(SESSION_ID);
+    }
+
+    private BigDecimal argumentScore(Long argumentId) {
+        List<ScoreRecord> argumentScores = scoreRecordMapper.selectList(
+                new QueryWrapper<ScoreRecord>().eq("argument_id", argumentId));
+        Map<Long, List<ScoreRecord>> byRule = new HashMap<>();
+        argumentScores.forEach(s -> byRule.computeIfAbsent(s.getRuleId(), k -> new ArrayList<>()).add(s));
+
+        BigDecimal weightedTotal = BigDecimal.ZERO;
+        for (Map.Entry<Long, List<ScoreRecord>> entry : byRule.entrySet()) {
+            ScoringRule rule = scoringRuleMapper.selectById(entry.getKey());
+            BigDecimal average = entry.getValue().stream().map(ScoreRecord::getScore)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add)
+                    .divide(BigDecimal.valueOf(entry.getValue().size()), 2, RoundingMode.HALF_UP);
+            weightedTotal = weightedTotal.add(average.multiply(rule.getWeight()));
+        }
+        return weightedTotal.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * What the GROUP BY returns
+     */
+    private List<Map<String, Object>> ruleTotals() {
+        Map<Long, Argument> byId = new HashMap<>();
+        arguments.forEach(a -> byId.put(a.getArgumentId(), a));
+        Map<List<Long>, BigDecimal[]> groups = new LinkedHashMap<>();
+        for (ScoreRecord score : scores) {
+            BigDecimal[] group = groups.computeIfAbsent(List.of(score.getArgumentId(), score.getRuleId()),
+                    k -> new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+            group[0] = group[0].add(score.getScore());
+            group[1] = group[1].add(BigDecimal.ONE);
+        }
+        List<Map<String, Object>> rows = new ArrayList<>();
+        groups.forEach((key, group) -> {
+            Map<String, Object> row = new HashMap<>();
+            long roleId = byId.get(key.get(0)).getRoleId();
+            row.put("role_type", roleId == AFFIRMATIVE_ROLE ? "AFFIRMATIVE" : "NEGATIVE");
+            row.put("argument_id", key.get(0));
+            row.put("rule_id", key.get(1));
+            row.put("score_sum", group[0]);
+            row.put("score_count", group[1].longValue());
+            rows.add(row);
+        });
+        return rows;
+    }
+
+    private interface Query {
+        Object run(String method, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T stub(Class<T> mapper, Query query) {
+        return (T) Proxy.newProxyInstance(mapper.getClassLoader(), new Class<?>[]{mapper}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(this, args);
+            }
+            queries.incrementAndGet();
+            long until = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(roundTripMicros);
+            while (System.nanoTime() < until) {
+                Thread.onSpinWait();
+            }
+            return query.run(method.getName(), args);
+        });
+    }
+
+    private static Object param(Object wrapper) {
+        AbstractWrapper<?, ?, ?> conditions = (AbstractWrapper<?, ?, ?>) wrapper;
+        // Values are bound when the SQL segment is rendered
+        conditions.getSqlSegment();
+        return conditions.getParamNameValuePairs().values().iterator().next();
+    }
+}
@@ -0,0 +1,142 @@
+package com.aidebate.benchmarks;
+
+import com.aidebate.app.service.ModerationStream;
+import com.aidebate.app.service.SensitiveWordMatcher;
+import com.aidebate.domain.model.SensitiveWord;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sensitive Word Matcher Benchmark
+ * Per-text cost of the Aho–Corasick matcher against the original
+ * lowercase-and-contains loop, for growing dictionaries, and the cost of
+ * moderating the same text as a stream of LLM-sized chunks
+ *
+ * java -jar aidebate-benchmarks/target/benchmarks.jar SensitiveWordMatcherBenchmark
+ *
+ * @author AI Debate Team
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SensitiveWordMatcherBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int dictionarySize;
+
+    /**
+     * Argument-sized text (the debate limit is 500 characters)
+     */
+    @Param({"500"})
+    private int textLength;
+
+    private List<SensitiveWord> dictionary;
+    private SensitiveWordMatcher matcher;
+    private String text;
+    private String[] chunks;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(7);
+        SensitiveWord.Severity[] severities = SensitiveWord.Severity.values();
+
+        dictionary = new ArrayList<>(dictionarySize);
+        for (int i = 0; i < dictionarySize; i++) {
+            // Mix of 2-4 char CJK words and 4-8 letter mixed-case Latin words
+            String word = i % 2 == 0
+                    ? randomCjk(random, 2 + random.nextInt(3))
+                    : randomLatin(random, 4 + random.nextInt(5));
+            dictionary.add(SensitiveWord.builder()
+                    .wordId((long) i)
+                    .word(word)
+                    .severity(severities[random.nextInt(severities.length)])
+                    .isActive(true)
+                    .build());
+        }
+        matcher = SensitiveWordMatcher.compile(dictionary);
+
+        // Mostly clean text with a couple of dictionary hits
+        StringBuilder builder = new StringBuilder(textLength);
+        while (builder.length() < textLength) {
+            builder.append(random.nextInt(4) == 0 ? randomLatin(random, 5) + " " : randomCjk(random, 6));
+        }
+        builder.insert(textLength / 3, dictionary.get(0).getWord());
+        builder.insert(textLength / 2, dictionary.get(1).getWord().toUpperCase());
+        text = builder.substring(0, textLength);
+
+        // Streamed tokens are typically 1-4 characters
+        List<String> parts = new ArrayList<>();
+        for (int i = 0; i < text.length(); ) {
+            int end = Math.min(text.length(), i + 1 + random.nextInt(4));
+            parts.add(text.substring(i, end));
+            i = end;
+        }
+        chunks = parts.toArray(new String[0]);
+    }
+
+    /**
+     * Original ContentModerationService loop: O(words x text length)
+     */
+    @Benchmark
+    public int legacyContainsLoop() {
+        String lowerText = text.toLowerCase();
+        int violations = 0;
+        SensitiveWord.Severity maxSeverity = null;
+        for (SensitiveWord word : dictionary) {
+            if (word.isActive()) {
+                String pattern = word.getWord().toLowerCase();
+                if (lowerText.contains(pattern)) {
+                    violations++;
+                    if (maxSeverity == null || word.getSeverity().ordinal() > maxSeverity.ordinal()) {
+                        maxSeverity = word.getSeverity();
+                    }
+                }
+            }
+        }
+        return violations + (maxSeverity != null ? maxSeverity.ordinal() : 0);
+    }
+
+    @Benchmark
+    public Object ahoCorasick() {
+        return matcher.validate(text);
+    }
+
+    /**
+     * Whole text pushed through a moderation stream chunk by chunk
+     * (divide by the chunk count for the latency added per token)
+     */
+    @Benchmark
+    public int streamedChunks() {
+        ModerationStream stream = matcher.openStream(SensitiveWord.Severity.HIGH, false);
+        int released = 0;
+        for (String chunk : chunks) {
+            released += stream.accept(chunk).length();
+        }
+        return released + stream.finish().length();
+    }
+
+    private static String randomCjk(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            // Common CJK unified ideographs
+            builder.append((char) (0x4E00 + random.nextInt(3000)));
+        }
+        return builder.toString();
+    }
+
+    private static String randomLatin(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            char c = (char) ('a' + random.nextInt(26));
+            builder.append(random.nextBoolean() ? Character.toUpperCase(c) : c);
+        }
+        return builder.toString();
+    }
+}
@@ -34,6 +34,7 @@ public class Argument {
     private Integer characterCount;
     private ValidationStatus validationStatus;
     private String validationMessage;
+    private String journalKey;
     
     /**
      * Validation status enumeration
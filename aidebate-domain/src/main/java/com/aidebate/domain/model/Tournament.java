@@ -0,0 +1,79 @@
+package com.aidebate.domain.model;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.IdType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Tournament domain entity
+ * A round-robin or Swiss tournament between AI debater configs
+ *
+ * @author AI Debate Team
+ */
+@TableName("tournament")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Tournament {
+
+    @TableId(value = "tournament_id", type = IdType.AUTO)
+    private Long tournamentId;
+
+    private String name;
+
+    private Format format;
+
+    private Status status;
+
+    /**
+     * Comma-separated topics the matches are played on
+     */
+    private String topicIds;
+
+    private String language;
+
+    /**
+     * Rounds to play; round-robin schedules them all up front, Swiss one at a time
+     */
+    private Integer totalRounds;
+
+    /**
+     * Latest scheduled round
+     */
+    private Integer currentRound;
+
+    /**
+     * Elo K-factor
+     */
+    private BigDecimal ratingKFactor;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+
+    /**
+     * Scheduling format enumeration
+     */
+    public enum Format {
+        ROUND_ROBIN,
+        SWISS
+    }
+
+    /**
+     * Tournament status enumeration
+     */
+    public enum Status {
+        RUNNING,
+        INTERRUPTED,
+        COMPLETED,
+        CANCELLED
+    }
+}
@@ -0,0 +1,52 @@
+package com.aidebate.domain.model;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.IdType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Tournament Entrant domain entity
+ * An AI debater config playing in a tournament, with its rating and standing
+ *
+ * @author AI Debate Team
+ */
+@TableName("tournament_entrant")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentEntrant {
+
+    @TableId(value = "entrant_id", type = IdType.AUTO)
+    private Long entrantId;
+
+    private Long tournamentId;
+
+    private String label;
+
+    private String personality;
+
+    private String expertiseLevel;
+
+    /**
+     * Current Elo rating
+     */
+    private BigDecimal rating;
+
+    /**
+     * Standing points: win 1, draw 0.5, bye 1
+     */
+    private BigDecimal points;
+
+    private Integer wins;
+
+    private Integer draws;
+
+    private Integer losses;
+}
@@ -0,0 +1,85 @@
+package com.aidebate.domain.model;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.IdType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Tournament Match domain entity
+ * One debate between two entrants, or a bye when there is no negative entrant
+ *
+ * @author AI Debate Team
+ */
+@TableName("tournament_match")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentMatch {
+
+    @TableId(value = "match_id", type = IdType.AUTO)
+    private Long matchId;
+
+    private Long tournamentId;
+
+    private Integer roundNumber;
+
+    private Long topicId;
+
+    private Long affirmativeEntrantId;
+
+    /**
+     * Null for a bye
+     */
+    private Long negativeEntrantId;
+
+    private Status status;
+
+    /**
+     * Debate session playing the match, set when it starts
+     */
+    private Long sessionId;
+
+    private DebateSession.Winner winner;
+
+    private BigDecimal affirmativeScore;
+
+    private BigDecimal negativeScore;
+
+    private BigDecimal affirmativeRatingChange;
+
+    private BigDecimal negativeRatingChange;
+
+    private String error;
+
+    /**
+     * Order in which the result was recorded, for replaying ratings on resume; null for a bye
+     */
+    private Integer resultSeq;
+
+    private LocalDateTime completedAt;
+
+    /**
+     * Check if this is a bye
+     */
+    public boolean isBye() {
+        return negativeEntrantId == null;
+    }
+
+    /**
+     * Match status enumeration
+     */
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -3,6 +3,11 @@ package com.aidebate.infrastructure.mapper;
 import com.aidebate.domain.model.DebateSession;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+import java.util.Map;
 
 /**
  * Debate Session Mapper interface
@@ -11,4 +16,24 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface DebateSessionMapper extends BaseMapper<DebateSession> {
+
+    /**
+     * One page of the debate history export, keyset-paged on session_id
+     * Rows: session_id, topic_id, topic_title, user_id, status, winner, final_score_affirmative,
+     * final_score_negative, auto_play_speed, started_at, completed_at
+     *
+     * @param afterId last session_id of the previous page, 0 for the first
+     * @param status  null for all
+     * @param userId  null for all
+     */
+    @Select("SELECT s.session_id, s.topic_id, t.title AS topic_title, s.user_id, s.status, s.winner, "
+            + "s.final_score_affirmative, s.final_score_negative, s.auto_play_speed, s.started_at, s.completed_at "
+            + "FROM debate_session s "
+            + "LEFT JOIN debate_topic t ON t.topic_id = s.topic_id "
+            + "WHERE s.session_id > #{afterId} "
+            + "AND (#{status,jdbcType=VARCHAR} IS NULL OR s.status = #{status,jdbcType=VARCHAR}) "
+            + "AND (#{userId,jdbcType=BIGINT} IS NULL OR s.user_id = #{userId,jdbcType=BIGINT}) "
+            + "ORDER BY s.session_id LIMIT #{limit}")
+    List<Map<String, Object>> selectExportPage(@Param("afterId") long afterId, @Param("status") String status,
+                                               @Param("userId") Long userId, @Param("limit") int limit);
 }
@@ -17,6 +17,12 @@ import java.util.List;
 @Mapper
 public interface RoundScoreRecordMapper extends BaseMapper<RoundScoreRecord> {
     
+    /**
+     * Get all scores of a session
+     */
+    @Select("SELECT * FROM round_score_record WHERE session_id = #{sessionId}")
+    List<RoundScoreRecord> selectBySession(@Param("sessionId") Long sessionId);
+
     /**
      * Get all scores for a specific round
      */
@@ -3,6 +3,11 @@ package com.aidebate.infrastructure.mapper;
 import com.aidebate.domain.model.ScoreRecord;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+import java.util.Map;
 
 /**
  * Score Record Mapper
@@ -12,4 +17,17 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface ScoreRecordMapper extends BaseMapper<ScoreRecord> {
+
+    /**
+     * Judge score sum and count per side, argument and rule of a session
+     * Rows: role_type, argument_id, rule_id, score_sum, score_count
+     */
+    @Select("SELECT ro.role_type, s.argument_id, s.rule_id, SUM(s.score) AS score_sum, COUNT(*) AS score_count "
+            + "FROM score_record s "
+            + "JOIN argument a ON a.argument_id = s.argument_id "
+            + "JOIN role ro ON ro.role_id = a.role_id "
+            + "JOIN scoring_rule r ON r.rule_id = s.rule_id "
+            + "WHERE s.session_id = #{sessionId} AND a.is_preview = 0 "
+            + "GROUP BY ro.role_type, s.argument_id, s.rule_id")
+    List<Map<String, Object>> selectRuleTotalsBySession(@Param("sessionId") Long sessionId);
 }
@@ -20,4 +20,10 @@ public interface SensitiveWordMapper extends BaseMapper<SensitiveWord> {
      */
     @Select("SELECT * FROM sensitive_word WHERE is_active = true")
     List<SensitiveWord> selectAllActive();
+
+    /**
+     * Current dictionary version, bumped by triggers on every change to sensitive_word
+     */
+    @Select("SELECT version FROM dictionary_version WHERE dictionary_name = 'sensitive_word'")
+    Long selectDictionaryVersion();
 }
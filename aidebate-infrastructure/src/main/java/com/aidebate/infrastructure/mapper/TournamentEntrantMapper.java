@@ -0,0 +1,25 @@
+package com.aidebate.infrastructure.mapper;
+
+import com.aidebate.domain.model.TournamentEntrant;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+/**
+ * Tournament Entrant Mapper
+ * Handles database operations for tournament entrants and standings
+ *
+ * @author AI Debate Team
+ */
+@Mapper
+public interface TournamentEntrantMapper extends BaseMapper<TournamentEntrant> {
+
+    /**
+     * Get the entrants of a tournament in entry order
+     */
+    @Select("SELECT * FROM tournament_entrant WHERE tournament_id = #{tournamentId} ORDER BY entrant_id")
+    List<TournamentEntrant> selectByTournament(@Param("tournamentId") Long tournamentId);
+}
@@ -0,0 +1,34 @@
+package com.aidebate.infrastructure.mapper;
+
+import com.aidebate.domain.model.Tournament;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+/**
+ * Tournament Mapper
+ * Handles database operations for tournaments
+ *
+ * @author AI Debate Team
+ */
+@Mapper
+public interface TournamentMapper extends BaseMapper<Tournament> {
+
+    /**
+     * Claim a tournament for resuming: interrupted or cancelled, or running
+     * without a heartbeat for staleSeconds
+     *
+     * @return 1 if this caller now plays the tournament, 0 otherwise
+     */
+    @Update("UPDATE tournament SET status = 'RUNNING', heartbeat_at = NOW() WHERE tournament_id = #{tournamentId} " +
+            "AND (status IN ('INTERRUPTED', 'CANCELLED') " +
+            "OR (status = 'RUNNING' AND (heartbeat_at IS NULL OR heartbeat_at < NOW() - INTERVAL #{staleSeconds} SECOND)))")
+    int claimForResume(@Param("tournamentId") Long tournamentId, @Param("staleSeconds") long staleSeconds);
+
+    /**
+     * Refresh the heartbeat of a tournament being played
+     */
+    @Update("UPDATE tournament SET heartbeat_at = NOW() WHERE tournament_id = #{tournamentId} AND status = 'RUNNING'")
+    int heartbeat(@Param("tournamentId") Long tournamentId);
+}
@@ -0,0 +1,32 @@
+package com.aidebate.infrastructure.mapper;
+
+import com.aidebate.domain.model.TournamentMatch;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.List;
+
+/**
+ * Tournament Match Mapper
+ * Handles database operations for tournament matches
+ *
+ * @author AI Debate Team
+ */
+@Mapper
+public interface TournamentMatchMapper extends BaseMapper<TournamentMatch> {
+
+    /**
+     * Get all matches of a tournament in schedule order
+     */
+    @Select("SELECT * FROM tournament_match WHERE tournament_id = #{tournamentId} ORDER BY round_number, match_id")
+    List<TournamentMatch> selectByTournament(@Param("tournamentId") Long tournamentId);
+
+    /**
+     * Record the debate session a match is played in
+     */
+    @Update("UPDATE tournament_match SET status = 'RUNNING', session_id = #{sessionId} WHERE match_id = #{matchId}")
+    int markRunning(@Param("matchId") Long matchId, @Param("sessionId") Long sessionId);
+}
@@ -0,0 +1,107 @@
+package com.aidebate.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Debate Run
+ * Drives one debate through the public API: /init, /start, then
+ * {@code observers} concurrent /stream-debate connections. The first
+ * connection to take the run lease runs the debate, the rest watch it
+ *
+ * @author AI Debate Team
+ */
+class DebateRun implements Runnable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient client;
+    private final LoadTest.Options options;
+    private final long topicId;
+
+    final List<SseObserver> observers = new ArrayList<>();
+    long sessionId = -1;
+    long startedNanos;
+    String error;
+
+    DebateRun(HttpClient client, LoadTest.Options options, long topicId) {
+        this.client = client;
+        this.options = options;
+        this.topicId = topicId;
+    }
+
+    @Override
+    public void run() {
+        try {
+            JsonNode session = post("/api/debates/init", Map.of(
+                    "topicId", topicId,
+                    "userId", options.userId(),
+                    "autoPlaySpeed", options.speed()));
+            sessionId = session.path("sessionId").asLong(-1);
+            if (sessionId < 0) {
+                error = "init returned no sessionId: " + session;
+                return;
+            }
+            post("/api/debates/" + sessionId + "/start", Map.of());
+        } catch (Exception e) {
+            error = "setup failed: " + e.getMessage();
+            return;
+        }
+
+        URI stream = URI.create(options.url() + "/api/debates/" + sessionId
+                + "/stream-debate?language=" + options.language());
+        List<Thread> threads = new ArrayList<>();
+        startedNanos = System.nanoTime();
+        for (int i = 0; i < options.observers(); i++) {
+            SseObserver observer = new SseObserver(client, stream, options.timeout());
+            observers.add(observer);
+            threads.add(Thread.ofVirtual().name("observer-" + sessionId + "-" + i).start(observer));
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                error = "interrupted";
+                return;
+            }
+        }
+    }
+
+    /**
+     * Nanoseconds from the first connection to debate_complete at the first observer, -1 if never
+     */
+    long durationNanos() {
+        return observers.stream()
+                .filter(observer -> observer.completed)
+                .mapToLong(observer -> observer.completedNanos - startedNanos)
+                .min()
+                .orElse(-1);
+    }
+
+    boolean completed() {
+        return error == null && observers.stream().anyMatch(observer -> observer.completed);
+    }
+
+    private JsonNode post(String path, Map<String, Object> body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(options.url() + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body)))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(path + " returned HTTP " + response.statusCode());
+        }
+        return MAPPER.readTree(response.body());
+    }
+}
@@ -0,0 +1,224 @@
+package com.aidebate.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.Executors;
+
+/**
+ * Load Test
+ * Answers how many concurrent debates one node sustains: runs a step per
+ * concurrency level, each with that many debates and a number of SSE
+ * observers per debate, and reports client-side event delivery next to
+ * the node's threads, heap and Hikari pool wait, as JSON and as an HTML
+ * page of saturation curves
+ *
+ * Run it against a node started with the fake-llm profile (and fake-tts if
+ * voice is exercised) so the LLM is not the bottleneck:
+ *
+ * java -jar aidebate-loadtest/target/loadtest.jar --url=http://localhost:8081 --debates=1,10,50,100 --observers=20
+ *
+ * Event latency is measured as fan-out skew: how long after the first
+ * observer of a debate each other observer received the same event. Debate
+ * duration against the lowest level shows how far the run itself slows down
+ *
+ * @author AI Debate Team
+ */
+public class LoadTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Command line settings, --name=value
+     */
+    record Options(String url, List<Integer> levels, int observers, long topicId, long userId, String speed,
+                   String language, Duration timeout, Duration sampleInterval, Duration pause, Path out) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Expected --name=value, got " + arg);
+                }
+                values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+            List<Integer> levels = Arrays.stream(values.getOrDefault("debates", "1,5,10,25,50").split(","))
+                    .map(String::trim).map(Integer::parseInt).sorted().toList();
+            return new Options(
+                    values.getOrDefault("url", "http://localhost:8081").replaceAll("/+$", ""),
+                    levels,
+                    Integer.parseInt(values.getOrDefault("observers", "10")),
+                    Long.parseLong(values.getOrDefault("topic", "-1")),
+                    Long.parseLong(values.getOrDefault("user", "1")),
+                    values.getOrDefault("speed", "FAST"),
+                    values.getOrDefault("language", "en"),
+                    Duration.ofSeconds(Long.parseLong(values.getOrDefault("timeout-seconds", "900"))),
+                    Duration.ofMillis(Long.parseLong(values.getOrDefault("sample-ms", "1000"))),
+                    Duration.ofSeconds(Long.parseLong(values.getOrDefault("pause-seconds", "5"))),
+                    Path.of(values.getOrDefault("out", "./data/loadtest")));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        long topicId = options.topicId() > 0 ? options.topicId() : firstTopic(client, options.url());
+        System.out.printf("Load test against %s, topic %d, levels %s, %d observers per debate%n",
+                options.url(), topicId, options.levels(), options.observers());
+
+        List<Map<String, Object>> steps = new ArrayList<>();
+        for (int level : options.levels()) {
+            Map<String, Object> step = runStep(client, options, topicId, level);
+            steps.add(step);
+            System.out.printf("%4d debates: %d/%d completed, skew p95 %s ms, duration p50 %s s, dropped %s, threads %s%n",
+                    level, step.get("completedDebates"), level, step.get("skewP95Ms"), step.get("durationP50S"),
+                    step.get("droppedEvents"), ((Map<?, ?>) step.get("server")).get("threadsMax"));
+            Thread.sleep(options.pause().toMillis());
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", Instant.now().toString());
+        report.put("url", options.url());
+        report.put("topicId", topicId);
+        report.put("observersPerDebate", options.observers());
+        report.put("speed", options.speed());
+        report.put("language", options.language());
+        report.put("steps", steps);
+        Path[] files = ReportWriter.write(options.out(), report);
+        System.out.printf("Report: %s, %s%n", files[0], files[1]);
+    }
+
+    /**
+     * Run {@code level} debates at once and summarize them
+     */
+    static Map<String, Object> runStep(HttpClient client, Options options, long topicId, int level) throws InterruptedException {
+        ServerSampler sampler = new ServerSampler(client, options.url(), options.sampleInterval());
+        Thread samplerThread = Thread.ofVirtual().name("sampler").start(sampler);
+
+        long stepStarted = System.nanoTime();
+        List<DebateRun> runs = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < level; i++) {
+            DebateRun run = new DebateRun(client, options, topicId);
+            runs.add(run);
+            threads.add(Thread.ofVirtual().name("debate-" + i).start(run));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long stepNanos = System.nanoTime() - stepStarted;
+        sampler.stop();
+        samplerThread.interrupt();
+        samplerThread.join();
+
+        List<Long> skews = new ArrayList<>();
+        List<Long> firstEvents = new ArrayList<>();
+        List<Long> durations = new ArrayList<>();
+        long events = 0;
+        int dropped = 0;
+        int incomplete = 0;
+        int lateJoins = 0;
+        Map<String, Integer> errors = new TreeMap<>();
+        for (DebateRun run : runs) {
+            if (run.error != null) {
+                errors.merge(run.error, 1, Integer::sum);
+            }
+            long duration = run.durationNanos();
+            if (duration >= 0) {
+                durations.add(duration);
+            }
+            Map<Long, Long> firstArrival = new HashMap<>();
+            long firstSeq = Long.MAX_VALUE;
+            for (SseObserver observer : run.observers) {
+                observer.arrivals.forEach((seq, nanos) -> firstArrival.merge(seq, nanos, Math::min));
+                if (observer.firstSeq > 0) {
+                    firstSeq = Math.min(firstSeq, observer.firstSeq);
+                }
+            }
+            for (SseObserver observer : run.observers) {
+                events += observer.events;
+                dropped += observer.dropped;
+                if (!observer.completed) {
+                    incomplete++;
+                }
+                if (observer.firstSeq > firstSeq) {
+                    lateJoins++;
+                }
+                if (observer.error != null) {
+                    errors.merge(observer.error, 1, Integer::sum);
+                }
+                if (observer.firstEventNanos > 0) {
+                    firstEvents.add(observer.firstEventNanos - observer.connectedNanos);
+                }
+                observer.arrivals.forEach((seq, nanos) -> skews.add(nanos - firstArrival.get(seq)));
+            }
+        }
+
+        Map<String, Object> step = new LinkedHashMap<>();
+        step.put("debates", level);
+        step.put("observers", level * options.observers());
+        step.put("completedDebates", runs.stream().filter(DebateRun::completed).count());
+        step.put("elapsedS", seconds(stepNanos));
+        step.put("events", events);
+        step.put("eventsPerSecond", Math.round(events / (stepNanos / 1e9) * 10) / 10.0);
+        step.put("droppedEvents", dropped);
+        step.put("incompleteObservers", incomplete);
+        step.put("lateJoins", lateJoins);
+        step.put("skewP50Ms", millis(percentile(skews, 50)));
+        step.put("skewP95Ms", millis(percentile(skews, 95)));
+        step.put("skewP99Ms", millis(percentile(skews, 99)));
+        step.put("skewMaxMs", millis(percentile(skews, 100)));
+        step.put("firstEventP50Ms", millis(percentile(firstEvents, 50)));
+        step.put("firstEventP95Ms", millis(percentile(firstEvents, 95)));
+        step.put("durationP50S", seconds(percentile(durations, 50)));
+        step.put("durationP95S", seconds(percentile(durations, 95)));
+        step.put("durationMaxS", seconds(percentile(durations, 100)));
+        step.put("server", sampler.result());
+        step.put("errors", errors);
+        return step;
+    }
+
+    /**
+     * Nearest-rank percentile, -1 for no values
+     */
+    static long percentile(List<Long> values, double percentile) {
+        if (values.isEmpty()) {
+            return -1;
+        }
+        long[] sorted = values.stream().mapToLong(Long::longValue).sorted().toArray();
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    private static double millis(long nanos) {
+        return nanos < 0 ? -1 : Math.round(nanos / 1e4) / 100.0;
+    }
+
+    private static double seconds(long nanos) {
+        return nanos < 0 ? -1 : Math.round(nanos / 1e7) / 100.0;
+    }
+
+    private static long firstTopic(HttpClient client, String url) throws Exception {
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(URI.create(url + "/api/topics")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        JsonNode topics = MAPPER.readTree(response.body());
+        if (response.statusCode() != 200 || !topics.isArray() || topics.isEmpty()) {
+            throw new IllegalStateException("No active topic to debate, pass --topic=<id>");
+        }
+        return topics.get(0).path("topicId").asLong();
+    }
+}
@@ -0,0 +1,169 @@
+package com.aidebate.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Report Writer
+ * Writes a load test report as JSON and as a self-contained HTML page with
+ * one saturation curve per measure, plotted against concurrent debates
+ *
+ * @author AI Debate Team
+ */
+final class ReportWriter {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private static final String[] COLORS = {"#2563eb", "#dc2626", "#16a34a", "#9333ea"};
+
+    /**
+     * Chart title, unit and the step keys plotted on it ("server." for node metrics)
+     */
+    private static final String[][] CHARTS = {
+            {"Event fan-out skew", "ms", "skewP50Ms", "skewP95Ms", "skewP99Ms"},
+            {"Debate duration", "s", "durationP50S", "durationP95S", "durationMaxS"},
+            {"Time to first event", "ms", "firstEventP50Ms", "firstEventP95Ms"},
+            {"Lost events", "count", "droppedEvents", "incompleteObservers"},
+            {"Event throughput", "events/s", "eventsPerSecond"},
+            {"Live threads", "threads", "server.threadsMax"},
+            {"Heap used", "MB", "server.heapUsedMbMax"},
+            {"Hikari connection wait", "ms", "server.hikariAcquireMeanMs", "server.hikariAcquireMaxMs"},
+            {"Hikari pending connections", "count", "server.hikariPendingMax"}
+    };
+
+    private ReportWriter() {
+    }
+
+    /**
+     * @return the JSON and HTML files written
+     */
+    static Path[] write(Path dir, Map<String, Object> report) throws IOException {
+        Files.createDirectories(dir);
+        String name = "loadtest-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path json = dir.resolve(name + ".json");
+        Path html = dir.resolve(name + ".html");
+        MAPPER.writeValue(json.toFile(), report);
+        Files.writeString(html, html(report));
+        return new Path[]{json, html};
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String html(Map<String, Object> report) {
+        List<Map<String, Object>> steps = (List<Map<String, Object>>) report.get("steps");
+        StringBuilder page = new StringBuilder();
+        page.append("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>AI Debate load test</title><style>")
+                .append("body{font-family:sans-serif;margin:24px;color:#111}")
+                .append(".chart{display:inline-block;margin:8px;vertical-align:top}")
+                .append("table{border-collapse:collapse;font-size:13px}td,th{border:1px solid #ccc;padding:4px 8px;text-align:right}")
+                .append("</style></head><body>");
+        page.append("<h1>AI Debate load test</h1><p>")
+                .append(escape(String.valueOf(report.get("url")))).append(", ")
+                .append(report.get("observersPerDebate")).append(" observers per debate, speed ")
+                .append(escape(String.valueOf(report.get("speed")))).append(", ")
+                .append(escape(String.valueOf(report.get("startedAt")))).append("</p>");
+
+        for (String[] chart : CHARTS) {
+            page.append(chart(steps, chart));
+        }
+
+        page.append("<h2>Steps</h2><table><tr><th>debates</th><th>observers</th><th>completed</th><th>events/s</th>")
+                .append("<th>skew p95 ms</th><th>skew p99 ms</th><th>duration p50 s</th><th>dropped</th>")
+                .append("<th>incomplete</th><th>threads</th><th>heap MB</th><th>hikari wait max ms</th><th>errors</th></tr>");
+        for (Map<String, Object> step : steps) {
+            page.append("<tr>");
+            for (String key : new String[]{"debates", "observers", "completedDebates", "eventsPerSecond", "skewP95Ms",
+                    "skewP99Ms", "durationP50S", "droppedEvents", "incompleteObservers", "server.threadsMax",
+                    "server.heapUsedMbMax", "server.hikariAcquireMaxMs"}) {
+                Number value = value(step, key);
+                page.append("<td>").append(value == null ? "" : value).append("</td>");
+            }
+            page.append("<td style=\"text-align:left\">").append(escape(String.valueOf(step.get("errors")))).append("</td></tr>");
+        }
+        return page.append("</table></body></html>").toString();
+    }
+
+    /**
+     * Line chart of the given keys against the number of debates
+     */
+    private static String chart(List<Map<String, Object>> steps, String[] chart) {
+        int width = 420, height = 240, left = 56, right = 12, top = 28, bottom = 36;
+        double maxX = steps.stream().mapToDouble(step -> ((Number) step.get("debates")).doubleValue()).max().orElse(1);
+        double maxY = 0;
+        for (Map<String, Object> step : steps) {
+            for (int i = 2; i < chart.length; i++) {
+                Number value = value(step, chart[i]);
+                if (value != null) {
+                    maxY = Math.max(maxY, value.doubleValue());
+                }
+            }
+        }
+        if (maxY <= 0) {
+            maxY = 1;
+        }
+
+        StringBuilder svg = new StringBuilder();
+        svg.append("<svg class=\"chart\" width=\"").append(width).append("\" height=\"").append(height)
+                .append("\" xmlns=\"http://www.w3.org/2000/svg\" font-size=\"11\">");
+        svg.append("<text x=\"").append(left).append("\" y=\"16\" font-size=\"13\" font-weight=\"bold\">")
+                .append(escape(chart[0])).append(" (").append(escape(chart[1])).append(")</text>");
+        int plotWidth = width - left - right, plotHeight = height - top - bottom;
+        svg.append(String.format("<rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"%d\" fill=\"none\" stroke=\"#999\"/>",
+                left, top, plotWidth, plotHeight));
+        svg.append(String.format("<text x=\"%d\" y=\"%d\" text-anchor=\"end\">%s</text>", left - 4, top + 4, format(maxY)));
+        svg.append(String.format("<text x=\"%d\" y=\"%d\" text-anchor=\"end\">0</text>", left - 4, top + plotHeight));
+        for (Map<String, Object> step : steps) {
+            double debates = ((Number) step.get("debates")).doubleValue();
+            svg.append(String.format("<text x=\"%.1f\" y=\"%d\" text-anchor=\"middle\">%s</text>",
+                    left + debates / maxX * plotWidth, top + plotHeight + 14, format(debates)));
+        }
+        svg.append(String.format("<text x=\"%d\" y=\"%d\" text-anchor=\"middle\">concurrent debates</text>",
+                left + plotWidth / 2, height - 4));
+
+        for (int i = 2; i < chart.length; i++) {
+            String color = COLORS[(i - 2) % COLORS.length];
+            StringBuilder points = new StringBuilder();
+            for (Map<String, Object> step : steps) {
+                Number value = value(step, chart[i]);
+                if (value == null || value.doubleValue() < 0) {
+                    continue;
+                }
+                double x = left + ((Number) step.get("debates")).doubleValue() / maxX * plotWidth;
+                double y = top + plotHeight - value.doubleValue() / maxY * plotHeight;
+                points.append(String.format("%.1f,%.1f ", x, y));
+                svg.append(String.format("<circle cx=\"%.1f\" cy=\"%.1f\" r=\"3\" fill=\"%s\"/>", x, y, color));
+            }
+            svg.append("<polyline fill=\"none\" stroke=\"").append(color).append("\" stroke-width=\"2\" points=\"")
+                    .append(points.toString().trim()).append("\"/>");
+            svg.append(String.format("<text x=\"%d\" y=\"%d\" fill=\"%s\">%s</text>",
+                    left + 6, top + 14 + (i - 2) * 13, color, escape(chart[i].replace("server.", ""))));
+        }
+        return svg.append("</svg>").toString();
+    }
+
+    /**
+     * Step value by key, "server.x" reads the node metrics
+     */
+    @SuppressWarnings("unchecked")
+    private static Number value(Map<String, Object> step, String key) {
+        Object value = key.startsWith("server.")
+                ? ((Map<String, Object>) step.get("server")).get(key.substring("server.".length()))
+                : step.get(key);
+        return value instanceof Number number ? number : null;
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.format("%.2f", value);
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
@@ -0,0 +1,160 @@
+package com.aidebate.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Server Sampler
+ * Polls the node's actuator metrics while a load step runs and keeps the
+ * peak of each gauge: live threads, heap used, Hikari pending and active
+ * connections, active debates and SSE emitters, process CPU. Hikari
+ * connection acquire time is reported as the step's mean and peak
+ *
+ * Metrics the node does not expose are left out of the result
+ *
+ * @author AI Debate Team
+ */
+class ServerSampler implements Runnable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Report key, actuator metric and tag
+     */
+    private static final String[][] GAUGES = {
+            {"threads", "jvm.threads.live", null},
+            {"heapUsedMb", "jvm.memory.used", "area:heap"},
+            {"hikariPending", "hikaricp.connections.pending", null},
+            {"hikariActive", "hikaricp.connections.active", null},
+            {"activeDebates", "debate.active", null},
+            {"sseEmitters", "debate.emitters", null},
+            {"processCpu", "process.cpu.usage", null}
+    };
+
+    private final HttpClient client;
+    private final String url;
+    private final Duration interval;
+
+    private final Map<String, Double> peaks = new LinkedHashMap<>();
+    private double acquireMaxMs = -1;
+    private double[] acquireAtStart;
+    private volatile boolean running = true;
+    private int samples;
+
+    ServerSampler(HttpClient client, String url, Duration interval) {
+        this.client = client;
+        this.url = url;
+        this.interval = interval;
+    }
+
+    @Override
+    public void run() {
+        acquireAtStart = acquireTotals();
+        while (running) {
+            sample();
+            try {
+                Thread.sleep(interval.toMillis());
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    void stop() {
+        running = false;
+    }
+
+    /**
+     * Peaks of the step, taken after {@link #stop()}
+     */
+    Map<String, Object> result() {
+        double[] acquireAtEnd = acquireTotals();
+        Map<String, Object> result = new LinkedHashMap<>();
+        synchronized (this) {
+            result.put("samples", samples);
+            peaks.forEach((key, value) -> {
+                if (key.equals("heapUsedMb") || key.equals("processCpu")) {
+                    result.put(key + "Max", Math.round(value * 100) / 100.0);
+                } else {
+                    result.put(key + "Max", Math.round(value));
+                }
+            });
+            if (acquireAtStart != null && acquireAtEnd != null && acquireAtEnd[0] > acquireAtStart[0]) {
+                double count = acquireAtEnd[0] - acquireAtStart[0];
+                double seconds = acquireAtEnd[1] - acquireAtStart[1];
+                result.put("hikariAcquires", (long) count);
+                result.put("hikariAcquireMeanMs", Math.round(seconds * 1000 / count * 1000) / 1000.0);
+            }
+            if (acquireMaxMs >= 0) {
+                result.put("hikariAcquireMaxMs", Math.round(acquireMaxMs * 1000) / 1000.0);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Fetch outside the lock: a virtual thread blocking while it holds a monitor pins its carrier
+     */
+    private void sample() {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (String[] gauge : GAUGES) {
+            Double value = measurement(metric(gauge[1], gauge[2]), "VALUE");
+            if (value != null) {
+                values.put(gauge[0], gauge[0].equals("heapUsedMb") ? value / (1024 * 1024) : value);
+            }
+        }
+        Double max = measurement(metric("hikaricp.connections.acquire", null), "MAX");
+        synchronized (this) {
+            values.forEach((key, value) -> peaks.merge(key, value, Math::max));
+            if (max != null) {
+                acquireMaxMs = Math.max(acquireMaxMs, max * 1000);
+            }
+            samples++;
+        }
+    }
+
+    /**
+     * Hikari acquire count and total seconds so far, null if not exposed
+     */
+    private double[] acquireTotals() {
+        JsonNode metric = metric("hikaricp.connections.acquire", null);
+        Double count = measurement(metric, "COUNT");
+        Double total = measurement(metric, "TOTAL_TIME");
+        return count == null || total == null ? null : new double[]{count, total};
+    }
+
+    private JsonNode metric(String name, String tag) {
+        String uri = url + "/actuator/metrics/" + name + (tag == null ? "" : "?tag=" + tag);
+        try {
+            HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(URI.create(uri)).timeout(Duration.ofSeconds(5)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            return response.statusCode() == 200 ? MAPPER.readTree(response.body()) : null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static Double measurement(JsonNode metric, String statistic) {
+        if (metric == null) {
+            return null;
+        }
+        for (JsonNode measurement : metric.path("measurements")) {
+            if (statistic.equals(measurement.path("statistic").asText())) {
+                return measurement.path("value").asDouble();
+            }
+        }
+        return null;
+    }
+}
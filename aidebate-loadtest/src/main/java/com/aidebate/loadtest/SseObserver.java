@@ -0,0 +1,125 @@
+package com.aidebate.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * SSE Observer
+ * One client watching a debate through /stream-debate: records when each
+ * event arrives (by its SSE id), sequence gaps and whether the stream
+ * reached its terminal event
+ *
+ * @author AI Debate Team
+ */
+class SseObserver implements Runnable {
+
+    private final HttpClient client;
+    private final URI uri;
+    private final Duration timeout;
+
+    /**
+     * Arrival time (System.nanoTime) of each event, by sequence number
+     */
+    final Map<Long, Long> arrivals = new HashMap<>();
+    long connectedNanos;
+    long firstEventNanos;
+    long completedNanos;
+    long firstSeq = -1;
+    long lastSeq = -1;
+    int events;
+    int dropped;
+    boolean completed;
+    String error;
+
+    SseObserver(HttpClient client, URI uri, Duration timeout) {
+        this.client = client;
+        this.uri = uri;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run() {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Accept", "text/event-stream")
+                .timeout(timeout)
+                .GET()
+                .build();
+        connectedNanos = System.nanoTime();
+        try {
+            HttpResponse<Stream<String>> response = client.send(request, HttpResponse.BodyHandlers.ofLines());
+            if (response.statusCode() != 200) {
+                error = "HTTP " + response.statusCode();
+                response.body().close();
+                return;
+            }
+            try (Stream<String> lines = response.body()) {
+                read(lines.iterator());
+            }
+        } catch (IOException e) {
+            error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = "interrupted";
+        }
+        if (!completed && error == null) {
+            error = "stream ended before debate_complete";
+        }
+    }
+
+    private void read(Iterator<String> lines) {
+        long seq = -1;
+        String name = "message";
+        while (lines.hasNext()) {
+            String line = lines.next();
+            if (line.isEmpty()) {
+                if (onEvent(seq, name)) {
+                    return;
+                }
+                seq = -1;
+                name = "message";
+            } else if (line.startsWith("id:")) {
+                seq = Long.parseLong(line.substring(3).trim());
+            } else if (line.startsWith("event:")) {
+                name = line.substring(6).trim();
+            }
+        }
+    }
+
+    /**
+     * @return true once the stream is over
+     */
+    private boolean onEvent(long seq, String name) {
+        long now = System.nanoTime();
+        events++;
+        if (firstEventNanos == 0) {
+            firstEventNanos = now;
+        }
+        if (seq > 0) {
+            arrivals.putIfAbsent(seq, now);
+            if (firstSeq < 0) {
+                firstSeq = seq;
+            } else if (seq > lastSeq + 1) {
+                dropped += (int) (seq - lastSeq - 1);
+            }
+            lastSeq = Math.max(lastSeq, seq);
+        }
+        if ("debate_complete".equals(name)) {
+            completed = true;
+            completedNanos = now;
+            return true;
+        }
+        if ("error".equals(name)) {
+            error = "error event";
+            return true;
+        }
+        return false;
+    }
+}
@@ -3,12 +3,15 @@ package com.aidebate;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
 /**
  * AI Debate Simulator Application
  *
  * @author AI Debate Team
  */
 @SpringBootApplication
+@EnableScheduling
 @MapperScan("com.aidebate.infrastructure.mapper")
 public class AiDebateApplication {
 
@@ -0,0 +1,52 @@
+package com.aidebate.actuate;
+
+import com.aidebate.app.service.AdminService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Flight Recording Access Filter
+ * The jfr and jfrdump endpoints control and download recordings of the
+ * running node, so they need an admin token like the admin API
+ *
+ * Header: Authorization: Bearer {token}
+ *
+ * @author AI Debate Team
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FlightRecordingAccessFilter extends OncePerRequestFilter {
+
+    private static final String JFR_PATH = "/actuator/jfr";
+    private static final String JFR_DUMP_PATH = "/actuator/jfrdump";
+
+    private final AdminService adminService;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.equals(JFR_PATH) && !path.startsWith(JFR_PATH + "/") && !path.startsWith(JFR_DUMP_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")
+                || !adminService.validateToken(authHeader.substring(7))) {
+            log.warn("Rejected unauthenticated flight recording request: {} {}", request.getMethod(), request.getRequestURI());
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,35 @@
+package com.aidebate.actuate;
+
+import com.aidebate.app.service.FlightRecordingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Flight Recording Dump Endpoint
+ * GET /actuator/jfrdump dumps the running debate flight recording and
+ * returns it as a .jfr file for JDK Mission Control or the jfr tool;
+ * 404 when no recording is running
+ *
+ * @author AI Debate Team
+ */
+@Component
+@WebEndpoint(id = "jfrdump")
+@RequiredArgsConstructor
+public class FlightRecordingDumpEndpoint {
+
+    private final FlightRecordingService flightRecordingService;
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump() {
+        if (!Boolean.TRUE.equals(flightRecordingService.getStatus().get("running"))) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(flightRecordingService.dump()),
+                WebEndpointResponse.STATUS_OK);
+    }
+}
@@ -0,0 +1,63 @@
+package com.aidebate.actuate;
+
+import com.aidebate.app.service.FlightRecordingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flight Recording Endpoint
+ * Controls the debate flight recording; the recording itself is downloaded
+ * from the jfrdump endpoint
+ *
+ * GET    /actuator/jfr              status
+ * POST   /actuator/jfr              start, body {categories: "llm,sse,db", thresholdMs, maxAgeMinutes}
+ * POST   /actuator/jfr/{category}   switch a category, body {enabled: true}
+ * DELETE /actuator/jfr              stop
+ *
+ * @author AI Debate Team
+ */
+@Component
+@Endpoint(id = "jfr")
+@RequiredArgsConstructor
+public class FlightRecordingEndpoint {
+
+    private final FlightRecordingService flightRecordingService;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return flightRecordingService.getStatus();
+    }
+
+    @WriteOperation
+    public Map<String, Object> start(@Nullable String categories, @Nullable Long thresholdMs,
+                                     @Nullable Long maxAgeMinutes) {
+        List<String> selected = categories == null || categories.isBlank()
+                ? List.of()
+                : Arrays.asList(categories.split(","));
+        return flightRecordingService.start(selected,
+                thresholdMs == null ? 0 : thresholdMs,
+                maxAgeMinutes == null ? null : Duration.ofMinutes(maxAgeMinutes));
+    }
+
+    @WriteOperation
+    public Map<String, Object> setEnabled(@Selector String category, boolean enabled) {
+        return flightRecordingService.setEnabled(category, enabled);
+    }
+
+    @DeleteOperation
+    public Map<String, Object> stop() {
+        flightRecordingService.stop();
+        return flightRecordingService.getStatus();
+    }
+}
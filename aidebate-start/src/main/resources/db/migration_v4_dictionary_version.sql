@@ -0,0 +1,27 @@
+-- Migration: Sensitive Word Dictionary Version
+-- Version: 4
+-- Date: 2026-10-19
+-- Description: Adds a version counter that every change to sensitive_word bumps,
+--              so application nodes can detect dictionary changes with a cheap poll
+
+CREATE TABLE IF NOT EXISTS `dictionary_version` (
+    `dictionary_name` VARCHAR(50) NOT NULL COMMENT 'Dictionary identifier',
+    `version` BIGINT NOT NULL DEFAULT 0 COMMENT 'Incremented on every change',
+    `updated_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT 'Last change time',
+    PRIMARY KEY (`dictionary_name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='Change counters for cached dictionaries';
+
+INSERT IGNORE INTO `dictionary_version` (`dictionary_name`, `version`) VALUES ('sensitive_word', 1);
+
+-- Bump the version on any change, including manual SQL edits
+DROP TRIGGER IF EXISTS `trg_sensitive_word_insert`;
+CREATE TRIGGER `trg_sensitive_word_insert` AFTER INSERT ON `sensitive_word` FOR EACH ROW
+    UPDATE `dictionary_version` SET `version` = `version` + 1 WHERE `dictionary_name` = 'sensitive_word';
+
+DROP TRIGGER IF EXISTS `trg_sensitive_word_update`;
+CREATE TRIGGER `trg_sensitive_word_update` AFTER UPDATE ON `sensitive_word` FOR EACH ROW
+    UPDATE `dictionary_version` SET `version` = `version` + 1 WHERE `dictionary_name` = 'sensitive_word';
+
+DROP TRIGGER IF EXISTS `trg_sensitive_word_delete`;
+CREATE TRIGGER `trg_sensitive_word_delete` AFTER DELETE ON `sensitive_word` FOR EACH ROW
+    UPDATE `dictionary_version` SET `version` = `version` + 1 WHERE `dictionary_name` = 'sensitive_word';
@@ -0,0 +1,54 @@
+-- Migration: Composite Indexes for Debate Lookups
+-- Version: 5
+-- Date: 2026-10-19
+-- Description: Replaces single-column indexes with composite indexes matching the
+--              session/round/side lookups of a running debate, plus a covering
+--              index for the score aggregation query.
+--              Verify with scripts/query-plans/check_query_plans.sh
+
+-- argument: getSessionArguments / getArgumentHistory
+--   WHERE session_id = ? AND is_preview = ? [AND round_number <= ?] ORDER BY round_number, submitted_at
+ALTER TABLE `argument`
+    ADD INDEX `idx_session_preview_round` (`session_id`, `is_preview`, `round_number`, `submitted_at`);
+
+-- argument: getArgumentForRound / getLastArgumentForRoundAndSide
+--   WHERE session_id = ? AND round_number = ? AND role_id = ? [AND is_preview = ?] [ORDER BY submitted_at DESC LIMIT 1]
+ALTER TABLE `argument`
+    ADD INDEX `idx_session_round_role` (`session_id`, `round_number`, `role_id`, `is_preview`, `submitted_at`);
+
+-- Prefixes of the indexes above (fk_argument_session now uses idx_session_preview_round)
+ALTER TABLE `argument`
+    DROP INDEX `idx_session_id`,
+    DROP INDEX `idx_round_number`;
+
+-- moderator_message: getRecentModeratorMessages
+--   WHERE session_id = ? AND round_number <= ? ORDER BY created_at DESC LIMIT 10
+-- Walks the session's messages newest first and filters the round inside the index
+ALTER TABLE `moderator_message`
+    ADD INDEX `idx_session_created_round` (`session_id`, `created_at`, `round_number`);
+
+ALTER TABLE `moderator_message`
+    DROP INDEX `idx_session_id`,
+    DROP INDEX `idx_round_number`;
+
+-- score_record: selectRuleTotalsBySession
+--   WHERE session_id = ? GROUP BY argument_id, rule_id with SUM(score)
+-- Covering: the aggregation never touches the table rows
+ALTER TABLE `score_record`
+    ADD INDEX `idx_session_argument_rule_score` (`session_id`, `argument_id`, `rule_id`, `score`);
+
+ALTER TABLE `score_record`
+    DROP INDEX `idx_session_id`;
+
+-- role: getRole / getJudges
+--   WHERE session_id = ? AND role_type = ? | IN (...)
+ALTER TABLE `role`
+    ADD INDEX `idx_session_role_type` (`session_id`, `role_type`);
+
+ALTER TABLE `role`
+    DROP INDEX `idx_session_id`;
+
+-- round_score_record needs nothing new: selectBySessionRoundAndSide is served by
+-- idx_session_side (session_id, debater_side, round_number) from migration v3
+
+ANALYZE TABLE `argument`, `moderator_message`, `score_record`, `role`;
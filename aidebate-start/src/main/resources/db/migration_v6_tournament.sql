@@ -0,0 +1,59 @@
+-- Migration: AI Debater Tournaments
+-- Version: 6
+-- Date: 2026-10-19
+-- Description: Adds tournament tables for round-robin and Swiss tournaments between
+--              AI debater configs (personality and expertise level), with Elo ratings
+
+CREATE TABLE IF NOT EXISTS `tournament` (
+    `tournament_id` BIGINT NOT NULL AUTO_INCREMENT COMMENT 'Unique tournament identifier',
+    `name` VARCHAR(200) NOT NULL COMMENT 'Tournament name',
+    `format` ENUM('ROUND_ROBIN', 'SWISS') NOT NULL COMMENT 'Scheduling format',
+    `status` ENUM('RUNNING', 'INTERRUPTED', 'COMPLETED', 'CANCELLED') NOT NULL DEFAULT 'RUNNING' COMMENT 'Tournament status',
+    `topic_ids` VARCHAR(1000) NOT NULL COMMENT 'Comma-separated topics the matches are played on',
+    `language` VARCHAR(10) NOT NULL DEFAULT 'en' COMMENT 'Debate language',
+    `total_rounds` INT NOT NULL COMMENT 'Rounds to play',
+    `current_round` INT NOT NULL DEFAULT 0 COMMENT 'Latest scheduled round',
+    `rating_k_factor` DECIMAL(6,2) NOT NULL DEFAULT 32.00 COMMENT 'Elo K-factor',
+    `created_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT 'Creation time',
+    `completed_at` TIMESTAMP NULL COMMENT 'Completion time',
+    PRIMARY KEY (`tournament_id`),
+    INDEX `idx_status` (`status`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='Tournaments between AI debater configs';
+
+CREATE TABLE IF NOT EXISTS `tournament_entrant` (
+    `entrant_id` BIGINT NOT NULL AUTO_INCREMENT COMMENT 'Unique entrant identifier',
+    `tournament_id` BIGINT NOT NULL COMMENT 'Reference to tournament',
+    `label` VARCHAR(100) NOT NULL COMMENT 'Display name',
+    `personality` VARCHAR(50) NOT NULL COMMENT 'AI debater personality',
+    `expertise_level` VARCHAR(50) NOT NULL COMMENT 'AI debater expertise level',
+    `rating` DECIMAL(7,2) NOT NULL DEFAULT 1500.00 COMMENT 'Current Elo rating',
+    `points` DECIMAL(5,1) NOT NULL DEFAULT 0.0 COMMENT 'Standing points (win 1, draw 0.5, bye 1)',
+    `wins` INT NOT NULL DEFAULT 0,
+    `draws` INT NOT NULL DEFAULT 0,
+    `losses` INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (`entrant_id`),
+    INDEX `idx_tournament` (`tournament_id`),
+    CONSTRAINT `fk_entrant_tournament` FOREIGN KEY (`tournament_id`) REFERENCES `tournament` (`tournament_id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='AI debater configs playing in a tournament';
+
+CREATE TABLE IF NOT EXISTS `tournament_match` (
+    `match_id` BIGINT NOT NULL AUTO_INCREMENT COMMENT 'Unique match identifier',
+    `tournament_id` BIGINT NOT NULL COMMENT 'Reference to tournament',
+    `round_number` INT NOT NULL COMMENT 'Tournament round',
+    `topic_id` BIGINT NOT NULL COMMENT 'Debate topic',
+    `affirmative_entrant_id` BIGINT NOT NULL COMMENT 'Entrant debating the affirmative side',
+    `negative_entrant_id` BIGINT NULL COMMENT 'Entrant debating the negative side, NULL for a bye',
+    `status` ENUM('PENDING', 'RUNNING', 'COMPLETED', 'FAILED') NOT NULL DEFAULT 'PENDING' COMMENT 'Match status',
+    `session_id` BIGINT NULL COMMENT 'Debate session playing the match',
+    `winner` ENUM('AFFIRMATIVE', 'NEGATIVE', 'DRAW') NULL COMMENT 'Match result',
+    `affirmative_score` DECIMAL(5,2) NULL COMMENT 'Affirmative final debate score',
+    `negative_score` DECIMAL(5,2) NULL COMMENT 'Negative final debate score',
+    `affirmative_rating_change` DECIMAL(7,2) NULL COMMENT 'Elo change applied to the affirmative entrant',
+    `negative_rating_change` DECIMAL(7,2) NULL COMMENT 'Elo change applied to the negative entrant',
+    `error` VARCHAR(500) NULL COMMENT 'Failure reason',
+    `completed_at` TIMESTAMP NULL COMMENT 'Result time',
+    PRIMARY KEY (`match_id`),
+    UNIQUE KEY `uk_pairing` (`tournament_id`, `round_number`, `topic_id`, `affirmative_entrant_id`),
+    INDEX `idx_tournament_status` (`tournament_id`, `status`),
+    CONSTRAINT `fk_match_tournament` FOREIGN KEY (`tournament_id`) REFERENCES `tournament` (`tournament_id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='Scheduled and played tournament matches';
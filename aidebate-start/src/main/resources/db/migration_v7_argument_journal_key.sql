@@ -0,0 +1,10 @@
+-- Migration: Argument Journal Key
+-- Version: 7
+-- Date: 2026-10-19
+-- Description: Arguments written through the debate journal keep their database
+--              generated ids; the journal identifies its rows by this key instead,
+--              so replaying the journal after a crash skips rows already written
+
+ALTER TABLE `argument`
+    ADD COLUMN `journal_key` VARCHAR(36) NULL COMMENT 'Debate journal entry that wrote the row' AFTER `validation_message`,
+    ADD UNIQUE INDEX `uk_journal_key` (`journal_key`);
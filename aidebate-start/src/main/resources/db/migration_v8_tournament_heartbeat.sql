@@ -0,0 +1,9 @@
+-- Migration: Tournament Heartbeat
+-- Version: 8
+-- Date: 2026-10-19
+-- Description: The node playing a tournament refreshes its heartbeat; resuming claims
+--              the tournament with a conditional update, so only one node plays it and
+--              a RUNNING tournament is taken over only once its heartbeat has gone stale
+
+ALTER TABLE `tournament`
+    ADD COLUMN `heartbeat_at` TIMESTAMP NULL DEFAULT CURRENT_TIMESTAMP COMMENT 'Last heartbeat of the node playing the tournament' AFTER `rating_k_factor`;
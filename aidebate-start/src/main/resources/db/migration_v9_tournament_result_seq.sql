@@ -0,0 +1,8 @@
+-- Migration: Tournament Result Order
+-- Version: 9
+-- Date: 2026-10-19
+-- Description: Results are numbered in the order they are recorded, so standings rebuilt
+--              on resume replay Elo updates in the same order as the live run
+
+ALTER TABLE `tournament_match`
+    ADD COLUMN `result_seq` INT NULL COMMENT 'Order in which the result was recorded within the tournament, NULL for byes' AFTER `error`;
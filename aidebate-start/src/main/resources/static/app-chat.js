@@ -1275,7 +1275,8 @@ async function playMessageAudio(message) {
         const requestBody = {
             text: message.content,
             role: message.speaker,
-            language: appState.language
+            language: appState.language,
+            sessionId: appState.sessionId ? String(appState.sessionId) : null
         };
 
         console.log('Requesting audio for message:', message.id);
@@ -1284,7 +1285,9 @@ async function playMessageAudio(message) {
         const response = await fetch('/api/voice/generate-speech', {
             method: 'POST',
             headers: {
-                'Content-Type': 'application/json'
+                'Content-Type': 'application/json',
+                // Prefer compressed MP3, fall back to WAV
+                'Accept': 'audio/mpeg, audio/wav;q=0.5'
             },
             body: JSON.stringify(requestBody)
         });
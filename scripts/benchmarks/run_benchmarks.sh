@@ -0,0 +1,51 @@
+#!/usr/bin/env bash
+# Run the JMH suites, record the result for the current commit and compare it
+# with the newest recorded result of an earlier commit
+#
+#   scripts/benchmarks/run_benchmarks.sh                              # all suites
+#   scripts/benchmarks/run_benchmarks.sh PromptBuilderBenchmark -f 1  # any JMH arguments
+#
+# Results are kept as <commit>.json in BENCHMARK_RESULTS_DIR (default data/benchmarks);
+# a dirty tree is recorded as <commit>-dirty.json and never used as a baseline.
+# Exits with status 1 when a benchmark regressed by more than BENCHMARK_THRESHOLD
+# percent (default 10) beyond the error margins.
+
+set -euo pipefail
+
+HERE=$(cd "$(dirname "$0")" && pwd)
+ROOT=$(cd "$HERE/../.." && pwd)
+RESULTS_DIR=${BENCHMARK_RESULTS_DIR:-$ROOT/data/benchmarks}
+THRESHOLD=${BENCHMARK_THRESHOLD:-10}
+JAR="$ROOT/aidebate-benchmarks/target/benchmarks.jar"
+
+# Always rebuilt, so the result recorded for this commit measures this commit's code
+echo "Building $JAR ..."
+(cd "$ROOT" && mvn -B -q package -DskipTests -pl aidebate-benchmarks -am)
+
+commit=$(git -C "$ROOT" rev-parse --short=12 HEAD)
+if [[ -n "$(git -C "$ROOT" status --porcelain --untracked-files=no)" ]]; then
+    name="$commit-dirty"
+else
+    name="$commit"
+fi
+mkdir -p "$RESULTS_DIR"
+result="$RESULTS_DIR/$name.json"
+
+java -jar "$JAR" -rf json -rff "$result" "$@"
+
+# Newest clean result of a commit before this one (or this commit, for a dirty run)
+baseline=""
+start=$([[ "$name" == "$commit" ]] && echo "HEAD~1" || echo "HEAD")
+for sha in $(git -C "$ROOT" rev-list --max-count=500 "$start" 2>/dev/null | cut -c1-12); do
+    if [[ -f "$RESULTS_DIR/$sha.json" ]]; then
+        baseline="$RESULTS_DIR/$sha.json"
+        break
+    fi
+done
+
+if [[ -z "$baseline" ]]; then
+    echo "Recorded $result; no earlier result to compare with"
+    exit 0
+fi
+echo "Comparing with $(basename "$baseline" .json)"
+java -cp "$JAR" com.aidebate.benchmarks.BenchmarkHistory "$baseline" "$result" "$THRESHOLD"
@@ -0,0 +1,87 @@
+#!/usr/bin/env bash
+# Query plan regression check for the debate lookup indexes (migration v5)
+#
+# Runs EXPLAIN for each hot query against a scratch database and fails when a
+# query stops using its index or falls back to a filesort/full scan.
+#
+#   MYSQL="mysql -uroot -psecret" scripts/query-plans/check_query_plans.sh --seed   # build dataset, then check
+#   MYSQL="mysql -uroot -psecret" scripts/query-plans/check_query_plans.sh          # check only
+#
+# PLAN_DB selects the scratch database (default aidebate_plans). Seeding takes a few minutes.
+
+set -euo pipefail
+
+MYSQL=${MYSQL:-mysql -uroot}
+PLAN_DB=${PLAN_DB:-aidebate_plans}
+HERE=$(cd "$(dirname "$0")" && pwd)
+DB_DIR="$HERE/../../aidebate-start/src/main/resources/db"
+
+if [[ "${1:-}" == "--seed" ]]; then
+    echo "Seeding $PLAN_DB ..."
+    $MYSQL -e "DROP DATABASE IF EXISTS \`$PLAN_DB\`; CREATE DATABASE \`$PLAN_DB\` DEFAULT CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci"
+    # schema.sql selects the aidebate database itself
+    sed -e '/^CREATE DATABASE/d' -e '/^USE /d' "$DB_DIR/schema.sql" | $MYSQL "$PLAN_DB"
+    for migration in migration_v3_round_scoring.sql migration_v4_dictionary_version.sql migration_v5_composite_indexes.sql; do
+        $MYSQL "$PLAN_DB" < "$DB_DIR/$migration"
+    done
+    $MYSQL "$PLAN_DB" < "$HERE/seed_1m_arguments.sql"
+fi
+
+# A session in the middle of the dataset with scores, messages and arguments
+SESSION=742
+AFFIRMATIVE_ROLE=$(( (SESSION - 1) * 5 + 1 ))
+
+failures=0
+
+# check <name> <table> <expected key regex> <forbidden Extra regex> <sql> [required Extra regex]
+check() {
+    local name=$1 table=$2 expected=$3 forbidden=$4 sql=$5 required=${6:-}
+    local row key extra
+    # Columns: id select_type table partitions type possible_keys key key_len ref rows filtered Extra
+    row=$($MYSQL -N -B "$PLAN_DB" -e "EXPLAIN $sql" | awk -F'\t' -v t="$table" '$3 == t { print; exit }')
+    key=$(cut -f7 <<< "$row")
+    extra=$(cut -f12 <<< "$row")
+    if [[ ! "$key" =~ ^($expected)$ ]]; then
+        echo "FAIL $name: $table uses key '$key', expected $expected"
+        failures=$((failures + 1))
+    elif [[ -n "$forbidden" && "$extra" =~ $forbidden ]]; then
+        echo "FAIL $name: $table plan has '$extra'"
+        failures=$((failures + 1))
+    elif [[ -n "$required" && ! "$extra" =~ $required ]]; then
+        echo "FAIL $name: $table plan lacks '$required' ($extra)"
+        failures=$((failures + 1))
+    else
+        echo "ok   $name: $table via $key${extra:+ ($extra)}"
+    fi
+}
+
+check "getSessionArguments" argument idx_session_preview_round "filesort" \
+    "SELECT * FROM argument WHERE session_id = $SESSION AND is_preview = 0 ORDER BY round_number ASC, submitted_at ASC"
+
+check "getArgumentHistory" argument idx_session_preview_round "filesort" \
+    "SELECT * FROM argument WHERE session_id = $SESSION AND is_preview = 0 AND round_number <= 30 ORDER BY round_number ASC, submitted_at ASC"
+
+check "getArgumentForRound" argument idx_session_round_role "" \
+    "SELECT * FROM argument WHERE session_id = $SESSION AND round_number = 17 AND role_id = $AFFIRMATIVE_ROLE"
+
+check "getLastArgumentForRoundAndSide" argument idx_session_round_role "filesort" \
+    "SELECT * FROM argument WHERE session_id = $SESSION AND role_id = $AFFIRMATIVE_ROLE AND round_number = 17 AND is_preview = 0 ORDER BY submitted_at DESC LIMIT 1"
+
+check "selectBySessionRoundAndSide" round_score_record "idx_session_side|idx_session_round" "" \
+    "SELECT * FROM round_score_record WHERE session_id = $SESSION AND round_number = 17 AND debater_side = 'AFFIRMATIVE'"
+
+check "getRecentModeratorMessages" moderator_message idx_session_created_round "filesort" \
+    "SELECT * FROM moderator_message WHERE session_id = $SESSION AND round_number <= 30 ORDER BY created_at DESC LIMIT 10"
+
+check "getRole" role idx_session_role_type "" \
+    "SELECT * FROM role WHERE session_id = $SESSION AND role_type = 'AFFIRMATIVE'"
+
+check "selectRuleTotalsBySession (covering)" s idx_session_argument_rule_score "" \
+    "SELECT ro.role_type, s.argument_id, s.rule_id, SUM(s.score) AS score_sum, COUNT(*) AS score_count FROM score_record s JOIN argument a ON a.argument_id = s.argument_id JOIN role ro ON ro.role_id = a.role_id JOIN scoring_rule r ON r.rule_id = s.rule_id WHERE s.session_id = $SESSION AND a.is_preview = 0 GROUP BY ro.role_type, s.argument_id, s.rule_id" \
+    "Using index(;|$)"
+
+if (( failures > 0 )); then
+    echo "$failures query plan regression(s)"
+    exit 1
+fi
+echo "All query plans use their indexes"
@@ -0,0 +1,79 @@
+-- Query plan dataset: 10,000 completed debates x 50 rounds x 2 sides = 1,000,000 arguments
+-- Load into a scratch database only (check_query_plans.sh --seed does this)
+-- Requires MySQL 8 (recursive CTEs)
+
+SET SESSION cte_max_recursion_depth = 1000000;
+SET foreign_key_checks = 0;
+SET unique_checks = 0;
+
+INSERT INTO `user` (`user_id`, `username`, `email`, `password_hash`)
+VALUES (1, 'plan_user', 'plan_user@example.com', 'x');
+
+INSERT INTO `debate_topic` (`topic_id`, `title`, `source`, `category`)
+VALUES (1, 'Query plan topic', 'HOT_TOPIC', 'Technology');
+
+-- Sessions 1..10000
+INSERT INTO `debate_session` (`session_id`, `topic_id`, `user_id`, `ai_debater_configs`, `status`, `started_at`, `completed_at`)
+WITH RECURSIVE s (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM s WHERE n < 10000)
+SELECT n, 1, 1, JSON_OBJECT(), 'COMPLETED', '2026-01-01 00:00:00', '2026-01-01 01:00:00' FROM s;
+
+-- Roles: session s has role ids (s - 1) * 5 + 1..5 = AFFIRMATIVE, NEGATIVE, JUDGE_1..3
+INSERT INTO `role` (`role_id`, `session_id`, `role_type`, `is_ai`)
+WITH RECURSIVE s (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM s WHERE n < 10000)
+SELECT (s.n - 1) * 5 + t.k, s.n, t.role_type, TRUE
+FROM s
+CROSS JOIN (SELECT 1 AS k, 'AFFIRMATIVE' AS role_type UNION ALL SELECT 2, 'NEGATIVE'
+            UNION ALL SELECT 3, 'JUDGE_1' UNION ALL SELECT 4, 'JUDGE_2' UNION ALL SELECT 5, 'JUDGE_3') t;
+
+-- Arguments: one per session, round and side; every 20th is a preview
+INSERT INTO `argument` (`session_id`, `role_id`, `round_number`, `argument_text`, `is_preview`,
+                        `submitted_at`, `character_count`, `validation_status`)
+WITH RECURSIVE s (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM s WHERE n < 10000),
+               r (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM r WHERE n < 50)
+SELECT s.n, (s.n - 1) * 5 + side.k, r.n, REPEAT('argument ', 20), (r.n * 2 + side.k) % 20 = 0,
+       TIMESTAMP('2026-01-01 00:00:00') + INTERVAL (s.n * 1000 + r.n * 10 + side.k) SECOND, 180, 'APPROVED'
+FROM s
+CROSS JOIN r
+CROSS JOIN (SELECT 1 AS k UNION ALL SELECT 2) side;
+
+-- Moderator messages for the first 2,000 debates: a summary and an evaluation per argument
+INSERT INTO `moderator_message` (`session_id`, `argument_id`, `round_number`, `message_type`, `content`,
+                                 `speaker_side`, `created_at`)
+SELECT a.session_id, a.argument_id, a.round_number, m.message_type, REPEAT('moderator ', 10),
+       IF(a.role_id % 5 = 1, 'AFFIRMATIVE', 'NEGATIVE'), a.submitted_at + INTERVAL m.k SECOND
+FROM `argument` a
+CROSS JOIN (SELECT 1 AS k, 'SUMMARY' AS message_type UNION ALL SELECT 2, 'EVALUATION') m
+WHERE a.session_id <= 2000 AND a.is_preview = FALSE;
+
+-- Round scores for the first 2,000 debates: 3 judges per side and round
+INSERT INTO `round_score_record` (`session_id`, `round_number`, `judge_role_id`, `debater_side`, `score`, `scored_at`)
+WITH RECURSIVE s (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM s WHERE n < 2000),
+               r (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM r WHERE n < 50)
+SELECT s.n, r.n, (s.n - 1) * 5 + j.k, side.debater_side, 60 + (s.n * 7 + r.n * 3 + j.k) % 40,
+       TIMESTAMP('2026-01-01 00:00:00') + INTERVAL (s.n * 1000 + r.n * 10) SECOND
+FROM s
+CROSS JOIN r
+CROSS JOIN (SELECT 3 AS k UNION ALL SELECT 4 UNION ALL SELECT 5) j
+CROSS JOIN (SELECT 'AFFIRMATIVE' AS debater_side UNION ALL SELECT 'NEGATIVE') side;
+
+-- Legacy rules and argument scores for the first 1,000 debates: 3 judges x 3 rules per argument
+INSERT INTO `scoring_rule` (`rule_id`, `session_id`, `criteria_name`, `max_score`, `weight`)
+WITH RECURSIVE s (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM s WHERE n < 1000)
+SELECT (s.n - 1) * 3 + c.k, s.n, c.criteria_name, 100, c.weight
+FROM s
+CROSS JOIN (SELECT 1 AS k, 'Logic' AS criteria_name, 0.40 AS weight UNION ALL SELECT 2, 'Persuasiveness', 0.35
+            UNION ALL SELECT 3, 'Fluency', 0.25) c;
+
+INSERT INTO `score_record` (`session_id`, `argument_id`, `judge_role_id`, `rule_id`, `score`)
+SELECT a.session_id, a.argument_id, (a.session_id - 1) * 5 + j.k, (a.session_id - 1) * 3 + c.k,
+       60 + (a.argument_id * 7 + j.k * 3 + c.k) % 40
+FROM `argument` a
+CROSS JOIN (SELECT 3 AS k UNION ALL SELECT 4 UNION ALL SELECT 5) j
+CROSS JOIN (SELECT 1 AS k UNION ALL SELECT 2 UNION ALL SELECT 3) c
+WHERE a.session_id <= 1000 AND a.is_preview = FALSE;
+
+SET unique_checks = 1;
+SET foreign_key_checks = 1;
+
+ANALYZE TABLE `debate_session`, `role`, `argument`, `moderator_message`, `round_score_record`,
+              `scoring_rule`, `score_record`;